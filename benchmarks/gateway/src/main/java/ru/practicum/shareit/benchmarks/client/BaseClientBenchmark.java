@@ -0,0 +1,101 @@
+package ru.practicum.shareit.benchmarks.client;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.booking.model.BookingRequestDto;
+import ru.practicum.shareit.client.BaseClient;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BaseClientBenchmark {
+    private static final byte[] RESPONSE_BODY = ("[{\"id\":1,\"start\":\"2030-01-01T10:00:00\"," +
+            "\"end\":\"2030-01-02T10:00:00\",\"item\":{\"id\":1,\"name\":\"Item 1\"," +
+            "\"description\":\"Item 1 description\",\"available\":true,\"ownerId\":1,\"requestId\":null}," +
+            "\"booker\":{\"id\":2,\"name\":\"User 2\",\"email\":\"user2@shareit.ru\"},\"status\":\"WAITING\"}]")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private BenchmarkClient client;
+    private BookingRequestDto bookingRequestDto;
+
+    @Setup
+    public void setup() {
+        client = new BenchmarkClient();
+        bookingRequestDto = BookingRequestDto.builder()
+                .start(LocalDateTime.of(2030, 1, 1, 10, 0))
+                .end(LocalDateTime.of(2030, 1, 2, 10, 0))
+                .itemId(1L)
+                .build();
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> getWithParameters() {
+        return client.getAllByOwnerId(1L, "PAST", 0, 10);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> getById() {
+        return client.getById(1L, 1L);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> postWithBody() {
+        return client.create(1L, bookingRequestDto);
+    }
+
+    private static class BenchmarkClient extends BaseClient {
+        BenchmarkClient() {
+            super(new RestTemplateBuilder()
+                    .uriTemplateHandler(new DefaultUriBuilderFactory("http://localhost:9090/bookings"))
+                    .requestFactory(() -> (uri, httpMethod) -> {
+                        MockClientHttpRequest request = new MockClientHttpRequest(httpMethod, uri);
+                        MockClientHttpResponse response = new MockClientHttpResponse(RESPONSE_BODY, HttpStatus.OK);
+                        response.getHeaders().set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+                        request.setResponse(response);
+                        return request;
+                    })
+                    .build());
+        }
+
+        ResponseEntity<Object> getAllByOwnerId(Long userId, String state, Integer from, Integer size) {
+            Map<String, Object> parameters = Map.of(
+                    "state", state,
+                    "from", from,
+                    "size", size
+            );
+            return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+        }
+
+        ResponseEntity<Object> getById(Long userId, Long id) {
+            return get("/" + id, userId);
+        }
+
+        ResponseEntity<Object> create(Long userId, BookingRequestDto bookingRequestDto) {
+            return post("", userId, bookingRequestDto);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.benchmarks.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.SingleFlight;
+import ru.practicum.shareit.client.SingleFlightProperties;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Одновременный поиск по одной строке при задержке ответа сервера 1 мс
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class SingleFlightBenchmark {
+    private static final byte[] RESPONSE_BODY = ("[{\"id\":1,\"name\":\"Drill\",\"description\":\"Cordless drill\"," +
+            "\"available\":true,\"ownerId\":1,\"requestId\":null}]").getBytes(StandardCharsets.UTF_8);
+    private static final long SERVER_LATENCY_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Param({"false", "true"})
+    private boolean coalescing;
+
+    private BenchmarkClient client;
+
+    @Setup
+    public void setup() {
+        SingleFlightProperties properties = new SingleFlightProperties();
+        properties.setEnabled(coalescing);
+        client = new BenchmarkClient();
+        client.setSingleFlight(new SingleFlight(properties, new SimpleMeterRegistry()));
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> search() {
+        return client.search("drill", 0, 10);
+    }
+
+    private static class BenchmarkClient extends BaseClient {
+        BenchmarkClient() {
+            super(new RestTemplateBuilder()
+                    .uriTemplateHandler(new DefaultUriBuilderFactory("http://localhost:9090/items"))
+                    .requestFactory(() -> (uri, httpMethod) -> {
+                        LockSupport.parkNanos(SERVER_LATENCY_NANOS);
+                        MockClientHttpRequest request = new MockClientHttpRequest(httpMethod, uri);
+                        MockClientHttpResponse response = new MockClientHttpResponse(RESPONSE_BODY, HttpStatus.OK);
+                        response.getHeaders().set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+                        request.setResponse(response);
+                        return request;
+                    })
+                    .build());
+        }
+
+        ResponseEntity<Object> search(String text, Integer from, Integer size) {
+            Map<String, Object> parameters = Map.of(
+                    "text", text,
+                    "from", from,
+                    "size", size
+            );
+            return get("/search?text={text}&from={from}&size={size}", null, parameters);
+        }
+    }
+}
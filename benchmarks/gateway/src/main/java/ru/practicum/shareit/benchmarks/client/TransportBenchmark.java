@@ -0,0 +1,181 @@
+package ru.practicum.shareit.benchmarks.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.Compression;
+import org.springframework.boot.web.server.Http2;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.JdkClientHttpRequestFactory;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Страница из 20 бронирований с вложенными вещью и автором через настоящий Tomcat: задержка (p99 в режиме
+// SampleTime) под нагрузкой 32 потоков для HTTP/1.1 и h2c, со сжатием ответов и без. Размер тела на проводе
+// печатается при запуске каждого варианта
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(32)
+@Fork(1)
+public class TransportBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"http1", "h2c"})
+    private String transport;
+
+    @Param({"false", "true"})
+    private boolean compression;
+
+    private WebServer server;
+    private CloseableHttpClient apacheHttpClient;
+    private BenchmarkClient client;
+
+    @Setup
+    public void setup() throws Exception {
+        byte[] page = bookingPage();
+        server = startServer(page);
+        String url = "http://localhost:" + server.getPort() + "/bookings";
+
+        ClientHttpRequestFactory requestFactory;
+        if (transport.equals("h2c")) {
+            requestFactory = new JdkClientHttpRequestFactory(HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .build());
+        } else {
+            apacheHttpClient = HttpClientBuilder.create()
+                    .setMaxConnTotal(200)
+                    .setMaxConnPerRoute(200)
+                    .build();
+            requestFactory = new HttpComponentsClientHttpRequestFactory(apacheHttpClient);
+        }
+        client = new BenchmarkClient(url, requestFactory);
+
+        HttpResponse<byte[]> response = HttpClient.newHttpClient().send(HttpRequest.newBuilder(URI.create(url))
+                .header("Accept-Encoding", "gzip")
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+        System.out.printf("%nТело ответа на проводе: %d байт (JSON %d байт)%n", response.body().length,
+                page.length);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        server.stop();
+        if (apacheHttpClient != null) {
+            apacheHttpClient.close();
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> getBookingPage() {
+        return client.getPage(1L);
+    }
+
+    private WebServer startServer(byte[] page) {
+        TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory(0);
+        Http2 http2 = new Http2();
+        http2.setEnabled(true);
+        factory.setHttp2(http2);
+        Compression serverCompression = new Compression();
+        serverCompression.setEnabled(compression);
+        serverCompression.setMimeTypes(new String[]{MediaType.APPLICATION_JSON_VALUE});
+        serverCompression.setMinResponseSize(DataSize.ofKilobytes(2));
+        factory.setCompression(serverCompression);
+        WebServer webServer = factory.getWebServer(servletContext -> servletContext
+                .addServlet("bookings", new PageServlet(page))
+                .addMapping("/*"));
+        webServer.start();
+        return webServer;
+    }
+
+    private static byte[] bookingPage() throws JsonProcessingException {
+        List<Map<String, Object>> bookings = new ArrayList<>();
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", id % 5 + 1);
+            item.put("name", "Аккумуляторная дрель " + (id % 5 + 1));
+            item.put("description", "Аккумуляторная дрель-шуруповёрт, два аккумулятора и набор бит в кейсе");
+            item.put("available", true);
+            item.put("ownerId", 1);
+            item.put("requestId", null);
+            Map<String, Object> booker = new LinkedHashMap<>();
+            booker.put("id", 2);
+            booker.put("name", "Test user 2");
+            booker.put("email", "tester2@yandex.ru");
+            Map<String, Object> booking = new LinkedHashMap<>();
+            booking.put("id", id);
+            booking.put("start", "2026-10-" + (10 + id % 10) + "T12:00:00");
+            booking.put("end", "2026-10-" + (11 + id % 10) + "T12:00:00");
+            booking.put("status", "APPROVED");
+            booking.put("item", item);
+            booking.put("booker", booker);
+            bookings.add(booking);
+        }
+        return new ObjectMapper().writeValueAsBytes(bookings);
+    }
+
+    private static class PageServlet extends HttpServlet {
+        private final byte[] page;
+
+        PageServlet(byte[] page) {
+            this.page = page;
+        }
+
+        @Override
+        protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setContentLength(page.length);
+            response.getOutputStream().write(page);
+        }
+    }
+
+    private static class BenchmarkClient extends BaseClient {
+        BenchmarkClient(String url, ClientHttpRequestFactory requestFactory) {
+            super(new RestTemplateBuilder()
+                    .uriTemplateHandler(new DefaultUriBuilderFactory(url))
+                    .requestFactory(() -> requestFactory)
+                    .build());
+        }
+
+        ResponseEntity<Object> getPage(long userId) {
+            return get("?state=ALL&from=0&size=20", userId);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class Arguments {
+    private final Map<String, String> values;
+
+    private Arguments(Map<String, String> values) {
+        this.values = values;
+    }
+
+    public static Arguments parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Неизвестный аргумент: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                values.put(arg.substring(2), "true");
+            } else {
+                values.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+        }
+        return new Arguments(values);
+    }
+
+    public boolean has(String key) {
+        return values.containsKey(key);
+    }
+
+    public String get(String key) {
+        String value = values.get(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Не задан обязательный аргумент --" + key);
+        }
+        return value;
+    }
+
+    public String get(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    public int getInt(String key, int defaultValue) {
+        return has(key) ? Integer.parseInt(values.get(key)) : defaultValue;
+    }
+
+    public long getLong(String key, long defaultValue) {
+        return has(key) ? Long.parseLong(values.get(key)) : defaultValue;
+    }
+
+    public double getDouble(String key, double defaultValue) {
+        return has(key) ? Double.parseDouble(values.get(key)) : defaultValue;
+    }
+}
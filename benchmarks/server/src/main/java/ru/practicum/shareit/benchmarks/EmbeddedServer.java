@@ -0,0 +1,41 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.benchmarks.dataset.Dataset;
+import ru.practicum.shareit.benchmarks.dataset.JdbcDatasetLoader;
+import ru.practicum.shareit.item.summary.service.ItemSummaryMaintenance;
+
+import javax.sql.DataSource;
+
+public final class EmbeddedServer {
+    private static final String H2_URL = "jdbc:h2:mem:benchmarks;DB_CLOSE_DELAY=-1";
+
+    private EmbeddedServer() {
+    }
+
+    public static ConfigurableApplicationContext start(Dataset dataset) {
+        ConfigurableApplicationContext context = start(H2_URL, "sa", "");
+        new JdbcDatasetLoader(context.getBean(DataSource.class)).load(dataset);
+        context.getBean(ItemSummaryMaintenance.class).backfill();
+        return context;
+    }
+
+    public static ConfigurableApplicationContext start(String url, String username, String password) {
+        return new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .run("--spring.datasource.url=" + url,
+                        "--spring.datasource.username=" + username,
+                        "--spring.datasource.password=" + password,
+                        "--spring.datasource.driverClassName=" + DatabaseDriver.fromJdbcUrl(url).getDriverClassName(),
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework.transaction.interceptor=WARN",
+                        "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN");
+    }
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.benchmarks.booking;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.benchmarks.EmbeddedServer;
+import ru.practicum.shareit.benchmarks.dataset.Dataset;
+import ru.practicum.shareit.benchmarks.dataset.DatasetConfig;
+import ru.practicum.shareit.benchmarks.dataset.DatasetGenerator;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingResponseDto;
+import ru.practicum.shareit.booking.searcher.booker.BookerSearchers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Страница GET /bookings?state=ALL в read-only транзакции: сущности против проекции; память видна с -prof gc
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingReadBenchmark {
+    @Param({"100", "10000"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private BookingMapper bookingMapper;
+    private BookerSearchers bookerSearchers;
+    private TransactionTemplate transactionTemplate;
+    private Pageable pageable;
+    private long bookerId;
+
+    @Setup
+    public void setup() {
+        Dataset dataset = new DatasetGenerator(DatasetConfig.builder()
+                .users(10)
+                .build()).generate();
+        context = EmbeddedServer.start(dataset);
+        bookingMapper = context.getBean(BookingMapper.class);
+        bookerSearchers = context.getBean(BookerSearchers.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+        pageable = PageRequest.of(0, pageSize);
+
+        Map<Long, Long> counts = dataset.getBookings().stream()
+                .collect(Collectors.groupingBy(booking -> booking.getBooker().getId(), Collectors.counting()));
+        bookerId = counts.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .orElseThrow();
+        if (counts.get(bookerId) < pageSize) {
+            throw new IllegalStateException("У самого активного пользователя меньше " + pageSize + " бронирований.");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookingResponseDto> entities() {
+        return transactionTemplate.execute(status -> {
+            List<Booking> bookings = bookerSearchers.search(bookerId,
+                    ru.practicum.shareit.booking.enums.State.ALL, pageable, LocalDateTime.now());
+            return bookings.stream()
+                    .map(bookingMapper::bookingToBookingResponseDto)
+                    .collect(Collectors.toList());
+        });
+    }
+
+    @Benchmark
+    public List<BookingResponseDto> views() {
+        return transactionTemplate.execute(status -> bookerSearchers.searchViews(bookerId,
+                        ru.practicum.shareit.booking.enums.State.ALL, pageable, LocalDateTime.now()).stream()
+                .map(bookingMapper::bookingViewToBookingResponseDto)
+                .collect(Collectors.toList()));
+    }
+}
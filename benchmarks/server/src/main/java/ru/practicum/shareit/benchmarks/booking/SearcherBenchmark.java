@@ -0,0 +1,103 @@
+package ru.practicum.shareit.benchmarks.booking;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.benchmarks.EmbeddedServer;
+import ru.practicum.shareit.benchmarks.dataset.Dataset;
+import ru.practicum.shareit.benchmarks.dataset.DatasetConfig;
+import ru.practicum.shareit.benchmarks.dataset.DatasetGenerator;
+import ru.practicum.shareit.booking.index.BookingStateIndex;
+import ru.practicum.shareit.booking.index.BookingStateIndexProperties;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingView;
+import ru.practicum.shareit.booking.searcher.booker.BookerSearcher;
+import ru.practicum.shareit.booking.searcher.booker.BookerSearchers;
+import ru.practicum.shareit.booking.searcher.owner.OwnerSearcher;
+import ru.practicum.shareit.booking.searcher.owner.OwnerSearchers;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearcherBenchmark {
+    @Param({"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"})
+    private ru.practicum.shareit.booking.enums.State state;
+
+    @Param({"false", "true"})
+    private boolean stateIndex;
+
+    private final Pageable pageable = PageRequest.of(0, 10);
+
+    private ConfigurableApplicationContext context;
+    private BookerSearchers bookerSearchers;
+    private OwnerSearchers ownerSearchers;
+    private long bookerId;
+    private long ownerId;
+
+    @Setup
+    public void setup() {
+        Dataset dataset = new DatasetGenerator(DatasetConfig.builder().build()).generate();
+        context = EmbeddedServer.start(dataset);
+        BookingStateIndexProperties properties = new BookingStateIndexProperties();
+        properties.setEnabled(stateIndex);
+        BookingStateIndex bookingStateIndex = new BookingStateIndex(properties,
+                context.getBean(BookingRepository.class), context.getBean(PlatformTransactionManager.class),
+                new SimpleMeterRegistry());
+        bookerSearchers = new BookerSearchers(context.getBeanProvider(BookerSearcher.class).orderedStream()
+                .collect(Collectors.toList()), bookingStateIndex);
+        ownerSearchers = new OwnerSearchers(context.getBeanProvider(OwnerSearcher.class).orderedStream()
+                .collect(Collectors.toList()), bookingStateIndex);
+
+        bookerId = mostFrequent(dataset.getBookings(), booking -> booking.getBooker().getId());
+        ownerId = mostFrequent(dataset.getBookings(), booking -> booking.getItem().getOwner().getId());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookingView> searchByBooker() {
+        return bookerSearchers.searchViews(bookerId, state, pageable, LocalDateTime.now());
+    }
+
+    @Benchmark
+    public List<BookingView> searchByOwner() {
+        return ownerSearchers.searchViews(ownerId, state, pageable, LocalDateTime.now());
+    }
+
+    private static long mostFrequent(List<Booking> bookings, Function<Booking, Long> key) {
+        Map<Long, Long> counts = bookings.stream()
+                .collect(Collectors.groupingBy(key, Collectors.counting()));
+        return counts.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .orElseThrow();
+    }
+}
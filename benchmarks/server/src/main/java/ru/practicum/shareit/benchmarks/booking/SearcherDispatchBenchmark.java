@@ -0,0 +1,67 @@
+package ru.practicum.shareit.benchmarks.booking;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.searcher.Searcher;
+import ru.practicum.shareit.booking.searcher.booker.BookerSearcher;
+import ru.practicum.shareit.booking.searcher.booker.SearcherByBookerIdAndStateAll;
+import ru.practicum.shareit.booking.searcher.booker.SearcherByBookerIdAndStateCurrent;
+import ru.practicum.shareit.booking.searcher.booker.SearcherByBookerIdAndStateFuture;
+import ru.practicum.shareit.booking.searcher.booker.SearcherByBookerIdAndStatePast;
+import ru.practicum.shareit.booking.searcher.booker.SearcherByBookerIdAndStateRejected;
+import ru.practicum.shareit.booking.searcher.booker.SearcherByBookerIdAndStateWaiting;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Только выбор поисковика, без запроса к базе; аллокации видны с -prof gc
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearcherDispatchBenchmark {
+    @Param({"ALL", "REJECTED"})
+    private ru.practicum.shareit.booking.enums.State state;
+
+    private Map<ru.practicum.shareit.booking.enums.State, BookerSearcher> searchers;
+
+    @Setup
+    public void setup() {
+        searchers = Searcher.byState(newSearchers());
+    }
+
+    @Benchmark
+    public Searcher enumMapDispatch() {
+        return Searcher.forState(searchers, state);
+    }
+
+    // Прежний путь: цепочка собиралась заново на каждый запрос и обходилась с упаковкой результата в Boolean
+    @Benchmark
+    public Searcher chainPerRequest() {
+        for (BookerSearcher searcher : newSearchers()) {
+            Boolean shouldSearch = searcher.getState().equals(state);
+            if (shouldSearch) {
+                return searcher;
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private static List<BookerSearcher> newSearchers() {
+        return List.of(new SearcherByBookerIdAndStateAll(null), new SearcherByBookerIdAndStateCurrent(null),
+                new SearcherByBookerIdAndStatePast(null), new SearcherByBookerIdAndStateFuture(null),
+                new SearcherByBookerIdAndStateWaiting(null), new SearcherByBookerIdAndStateRejected(null));
+    }
+}
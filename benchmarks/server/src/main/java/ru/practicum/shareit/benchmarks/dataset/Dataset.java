@@ -0,0 +1,24 @@
+package ru.practicum.shareit.benchmarks.dataset;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.comment.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Getter
+@RequiredArgsConstructor
+public class Dataset {
+    List<User> users;
+    List<ItemRequest> requests;
+    List<Item> items;
+    List<Booking> bookings;
+    List<Comment> comments;
+}
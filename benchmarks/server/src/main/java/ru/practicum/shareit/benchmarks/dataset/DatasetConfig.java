@@ -0,0 +1,55 @@
+package ru.practicum.shareit.benchmarks.dataset;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.benchmarks.Arguments;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Getter
+@Builder(toBuilder = true)
+@ToString
+public class DatasetConfig {
+    @Builder.Default
+    long seed = 42L;
+
+    @Builder.Default
+    int users = 1_000;
+
+    @Builder.Default
+    int items = 5_000;
+
+    @Builder.Default
+    int bookings = 50_000;
+
+    @Builder.Default
+    int comments = 20_000;
+
+    @Builder.Default
+    int requests = 500;
+
+    @Builder.Default
+    double skew = 0.8;
+
+    @Builder.Default
+    LocalDateTime anchor = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+
+    public static DatasetConfig fromArguments(Arguments arguments) {
+        DatasetConfig defaults = DatasetConfig.builder().build();
+        return DatasetConfig.builder()
+                .seed(arguments.getLong("seed", defaults.getSeed()))
+                .users(arguments.getInt("users", defaults.getUsers()))
+                .items(arguments.getInt("items", defaults.getItems()))
+                .bookings(arguments.getInt("bookings", defaults.getBookings()))
+                .comments(arguments.getInt("comments", defaults.getComments()))
+                .requests(arguments.getInt("requests", defaults.getRequests()))
+                .skew(arguments.getDouble("skew", defaults.getSkew()))
+                .anchor(arguments.has("anchor") ? LocalDateTime.parse(arguments.get("anchor")) : defaults.getAnchor())
+                .build();
+    }
+}
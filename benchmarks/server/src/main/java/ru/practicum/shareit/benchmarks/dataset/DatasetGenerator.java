@@ -0,0 +1,132 @@
+package ru.practicum.shareit.benchmarks.dataset;
+
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.comment.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class DatasetGenerator {
+    private static final String[] ITEM_NAMES = {"Дрель", "Палатка", "Велосипед", "Самокат", "Перфоратор",
+            "Лестница", "Проектор", "Байдарка", "Шуруповерт", "Гитара", "Фотоаппарат", "Спальник"};
+    private static final int BOOKING_WINDOW_DAYS = 180;
+
+    private final DatasetConfig config;
+
+    public DatasetGenerator(DatasetConfig config) {
+        this.config = config;
+    }
+
+    public Dataset generate() {
+        Random random = new Random(config.getSeed());
+        ZipfSampler userSampler = new ZipfSampler(config.getUsers(), config.getSkew());
+        LocalDateTime anchor = config.getAnchor();
+
+        List<User> users = new ArrayList<>(config.getUsers());
+        for (long id = 1; id <= config.getUsers(); id++) {
+            users.add(User.builder()
+                    .id(id)
+                    .name("User " + id)
+                    .email("user" + id + "@shareit.ru")
+                    .build());
+        }
+
+        List<ItemRequest> requests = new ArrayList<>(config.getRequests());
+        for (long id = 1; id <= config.getRequests(); id++) {
+            requests.add(ItemRequest.builder()
+                    .id(id)
+                    .description("Нужна " + ITEM_NAMES[random.nextInt(ITEM_NAMES.length)].toLowerCase() + " " + id)
+                    .requesterId(users.get(userSampler.sample(random)))
+                    .created(anchor.minusMinutes(random.nextInt(60 * 24 * 365)))
+                    .items(new ArrayList<>())
+                    .build());
+        }
+
+        List<Item> items = new ArrayList<>(config.getItems());
+        for (long id = 1; id <= config.getItems(); id++) {
+            String name = ITEM_NAMES[random.nextInt(ITEM_NAMES.length)];
+            ItemRequest request = requests.isEmpty() || random.nextInt(10) != 0
+                    ? null
+                    : requests.get(random.nextInt(requests.size()));
+            Item item = Item.builder()
+                    .id(id)
+                    .name(name + " " + id)
+                    .description(name + " в хорошем состоянии, вещь " + id)
+                    .available(random.nextInt(5) != 0)
+                    .owner(users.get(userSampler.sample(random)))
+                    .comments(new ArrayList<>())
+                    .requestId(request == null ? null : request.getId())
+                    .build();
+            items.add(item);
+            if (request != null) {
+                request.getItems().add(item);
+            }
+        }
+
+        List<Booking> bookings = new ArrayList<>(config.getBookings());
+        List<Booking> finishedBookings = new ArrayList<>();
+        if (!items.isEmpty()) {
+            ZipfSampler itemSampler = new ZipfSampler(items.size(), config.getSkew());
+            for (long id = 1; id <= config.getBookings(); id++) {
+                Item item = items.get(itemSampler.sample(random));
+                User booker = users.get(userSampler.sample(random));
+                if (booker.getId().equals(item.getOwner().getId())) {
+                    booker = users.get(random.nextInt(users.size()));
+                }
+
+                LocalDateTime start = anchor.plusMinutes(
+                        random.nextInt(60 * 24 * 2 * BOOKING_WINDOW_DAYS) - 60 * 24 * BOOKING_WINDOW_DAYS);
+                Booking booking = Booking.builder()
+                        .id(id)
+                        .start(start)
+                        .end(start.plusHours(1 + random.nextInt(24 * 7)))
+                        .item(item)
+                        .booker(booker)
+                        .status(randomStatus(random))
+                        .build();
+                bookings.add(booking);
+                if (booking.getStatus() == Status.APPROVED && booking.getEnd().isBefore(anchor)) {
+                    finishedBookings.add(booking);
+                }
+            }
+        }
+
+        List<Comment> comments = new ArrayList<>(config.getComments());
+        if (!finishedBookings.isEmpty()) {
+            for (long id = 1; id <= config.getComments(); id++) {
+                Booking booking = finishedBookings.get(random.nextInt(finishedBookings.size()));
+                LocalDateTime created = booking.getEnd().plusMinutes(1 + random.nextInt(60 * 24));
+                Comment comment = Comment.builder()
+                        .id(id)
+                        .text("Отзыв " + id + " о вещи " + booking.getItem().getName())
+                        .createdDate(created.isAfter(anchor) ? anchor : created)
+                        .author(booking.getBooker())
+                        .itemId(booking.getItem().getId())
+                        .build();
+                comments.add(comment);
+                booking.getItem().getComments().add(comment);
+            }
+        }
+
+        return new Dataset(users, requests, items, bookings, comments);
+    }
+
+    private static Status randomStatus(Random random) {
+        int value = random.nextInt(100);
+        if (value < 60) {
+            return Status.APPROVED;
+        } else if (value < 75) {
+            return Status.WAITING;
+        } else if (value < 90) {
+            return Status.REJECTED;
+        } else {
+            return Status.CANCELED;
+        }
+    }
+}
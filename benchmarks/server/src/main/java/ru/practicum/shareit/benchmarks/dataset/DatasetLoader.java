@@ -0,0 +1,37 @@
+package ru.practicum.shareit.benchmarks.dataset;
+
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.benchmarks.Arguments;
+import ru.practicum.shareit.benchmarks.EmbeddedServer;
+import ru.practicum.shareit.item.summary.service.ItemSummaryMaintenance;
+
+import javax.sql.DataSource;
+
+public class DatasetLoader {
+    public static void main(String[] args) {
+        Arguments arguments = Arguments.parse(args);
+        DatasetConfig config = DatasetConfig.fromArguments(arguments);
+
+        long started = System.nanoTime();
+        Dataset dataset = new DatasetGenerator(config).generate();
+        System.out.printf("Сгенерирован набор данных %s за %d мс.%n", config, (System.nanoTime() - started) / 1_000_000);
+
+        try (ConfigurableApplicationContext context = EmbeddedServer.start(
+                arguments.get("url"),
+                arguments.get("username", "sa"),
+                arguments.get("password", ""))) {
+            started = System.nanoTime();
+            new JdbcDatasetLoader(context.getBean(DataSource.class)).load(dataset);
+            System.out.printf("Загружено пользователей: %d, запросов: %d, вещей: %d, бронирований: %d, " +
+                            "комментариев: %d за %d мс.%n",
+                    dataset.getUsers().size(), dataset.getRequests().size(), dataset.getItems().size(),
+                    dataset.getBookings().size(), dataset.getComments().size(),
+                    (System.nanoTime() - started) / 1_000_000);
+
+            started = System.nanoTime();
+            int summaries = context.getBean(ItemSummaryMaintenance.class).backfill();
+            System.out.printf("Построено сводок вещей: %d за %d мс.%n", summaries,
+                    (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+}
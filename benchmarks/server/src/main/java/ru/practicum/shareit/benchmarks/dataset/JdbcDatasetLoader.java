@@ -0,0 +1,73 @@
+package ru.practicum.shareit.benchmarks.dataset;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.comment.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.List;
+
+public class JdbcDatasetLoader {
+    private static final int BATCH_SIZE = 1000;
+    private static final List<String> TABLES = List.of("users", "requests", "items", "bookings", "comments");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcDatasetLoader(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    public void load(Dataset dataset) {
+        for (String table : TABLES) {
+            Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+            if (rows != null && rows > 0) {
+                throw new IllegalStateException("Таблица " + table + " уже содержит данные.");
+            }
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO users (name, email) VALUES (?, ?)",
+                dataset.getUsers(), BATCH_SIZE, (ps, user) -> {
+                    ps.setString(1, user.getName());
+                    ps.setString(2, user.getEmail());
+                });
+
+        jdbcTemplate.batchUpdate("INSERT INTO requests (description, requester_id, created) VALUES (?, ?, ?)",
+                dataset.getRequests(), BATCH_SIZE, (ps, request) -> {
+                    ps.setString(1, request.getDescription());
+                    ps.setLong(2, request.getRequesterId().getId());
+                    ps.setTimestamp(3, Timestamp.valueOf(request.getCreated()));
+                });
+
+        jdbcTemplate.batchUpdate("INSERT INTO items (name, description, available, owner_id, request_id) " +
+                        "VALUES (?, ?, ?, ?, ?)",
+                dataset.getItems(), BATCH_SIZE, (ps, item) -> {
+                    ps.setString(1, item.getName());
+                    ps.setString(2, item.getDescription());
+                    ps.setBoolean(3, item.getAvailable());
+                    ps.setLong(4, item.getOwner().getId());
+                    ps.setObject(5, item.getRequestId());
+                });
+
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) " +
+                        "VALUES (?, ?, ?, ?, ?)",
+                dataset.getBookings(), BATCH_SIZE, (ps, booking) -> {
+                    ps.setTimestamp(1, Timestamp.valueOf(booking.getStart()));
+                    ps.setTimestamp(2, Timestamp.valueOf(booking.getEnd()));
+                    ps.setLong(3, booking.getItem().getId());
+                    ps.setLong(4, booking.getBooker().getId());
+                    ps.setString(5, booking.getStatus().name());
+                });
+
+        jdbcTemplate.batchUpdate("INSERT INTO comments (text, created_date, author_id, item_id) VALUES (?, ?, ?, ?)",
+                dataset.getComments(), BATCH_SIZE, (ps, comment) -> {
+                    ps.setString(1, comment.getText());
+                    ps.setTimestamp(2, Timestamp.valueOf(comment.getCreatedDate()));
+                    ps.setLong(3, comment.getAuthor().getId());
+                    ps.setLong(4, comment.getItemId());
+                });
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.benchmarks.item;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.benchmarks.dataset.DatasetConfig;
+import ru.practicum.shareit.benchmarks.dataset.DatasetGenerator;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntityHashingBenchmark {
+    @Param({"10", "100", "1000"})
+    private int pageSize;
+
+    private List<Item> items;
+
+    @Setup
+    public void setup() {
+        items = new DatasetGenerator(DatasetConfig.builder()
+                .users(100)
+                .items(pageSize)
+                .bookings(pageSize * 2)
+                .comments(pageSize * 5)
+                .requests(pageSize)
+                .build()).generate().getItems();
+    }
+
+    @Benchmark
+    public Set<Item> identityHashCode() {
+        return new HashSet<>(items);
+    }
+
+    @Benchmark
+    public Map<Integer, Item> stateHashCode() {
+        Map<Integer, Item> hashed = new HashMap<>();
+        for (Item item : items) {
+            hashed.put(stateHashCode(item), item);
+        }
+        return hashed;
+    }
+
+    // Прежняя реализация Item.hashCode(): обходит владельца и все комментарии вещи
+    private static int stateHashCode(Item item) {
+        return Objects.hash(item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                item.getOwner(), item.getComments(), item.getRequestId());
+    }
+}
@@ -0,0 +1,141 @@
+package ru.practicum.shareit.benchmarks.item;
+
+import org.hibernate.Session;
+import org.hibernate.jpa.QueryHints;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.benchmarks.EmbeddedServer;
+import ru.practicum.shareit.benchmarks.dataset.DatasetConfig;
+import ru.practicum.shareit.benchmarks.dataset.DatasetGenerator;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemDto;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.storage.ReadOnlyQuery;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.TypedQuery;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Страница GET /items/search: управляемые сущности, read-only подсказки и StatelessSession.
+// Аллокации на запрос видны с -prof gc, объём контекста персистентности - во вспомогательных счётчиках
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemSearchReadBenchmark {
+    private static final String TEXT = "состоянии";
+    private static final String SEARCH = "SELECT i FROM Item i JOIN FETCH i.owner "
+            + "WHERE (UPPER(i.name) LIKE UPPER(CONCAT('%', :text, '%')) "
+            + "OR UPPER(i.description) LIKE UPPER(CONCAT('%', :text, '%'))) "
+            + "AND i.available = true "
+            + "ORDER BY i.id";
+
+    @Param({"100", "1000"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private ItemRepository itemRepository;
+    private ItemMapper itemMapper;
+    private EntityManager entityManager;
+    private TransactionTemplate readWriteTransaction;
+    private TransactionTemplate readOnlyTransaction;
+    private Pageable pageable;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PersistenceContext {
+        // Сущности и снимки их состояния, удерживаемые сессией до конца запроса
+        public long managedEntities;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            managedEntities = 0;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        context = EmbeddedServer.start(new DatasetGenerator(DatasetConfig.builder()
+                .users(100)
+                .build()).generate());
+        itemRepository = context.getBean(ItemRepository.class);
+        itemMapper = context.getBean(ItemMapper.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+                context.getBean(EntityManagerFactory.class));
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        pageable = PageRequest.of(0, pageSize);
+
+        if (itemRepository.search(TEXT, pageable).getNumberOfElements() < pageSize) {
+            throw new IllegalStateException("Поиск находит меньше " + pageSize + " вещей.");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemDto> managed(PersistenceContext persistenceContext) {
+        return readWriteTransaction.execute(status -> read(persistenceContext,
+                session -> query().getResultList()));
+    }
+
+    @Benchmark
+    public List<ItemDto> readOnlyHints(PersistenceContext persistenceContext) {
+        return readOnlyTransaction.execute(status -> read(persistenceContext, session -> query()
+                .setHint(QueryHints.HINT_READONLY, true)
+                .setHint(QueryHints.HINT_FETCH_SIZE, Integer.parseInt(ReadOnlyQuery.FETCH_SIZE))
+                .getResultList()));
+    }
+
+    @Benchmark
+    public List<ItemDto> stateless(PersistenceContext persistenceContext) {
+        return readOnlyTransaction.execute(status -> read(persistenceContext,
+                session -> itemRepository.search(TEXT, pageable).getContent()));
+    }
+
+    private List<ItemDto> read(PersistenceContext persistenceContext, Function<Session, List<Item>> finder) {
+        Session session = entityManager.unwrap(Session.class);
+        List<ItemDto> items = finder.apply(session).stream()
+                .map(itemMapper::toItemDto)
+                .collect(Collectors.toList());
+        persistenceContext.managedEntities = session.getStatistics().getEntityCount();
+        return items;
+    }
+
+    private TypedQuery<Item> query() {
+        return entityManager.createQuery(SEARCH, Item.class)
+                .setParameter("text", TEXT)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize());
+    }
+}
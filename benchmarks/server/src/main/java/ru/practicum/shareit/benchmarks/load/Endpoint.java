@@ -0,0 +1,22 @@
+package ru.practicum.shareit.benchmarks.load;
+
+import lombok.Getter;
+
+@Getter
+public enum Endpoint {
+    ITEM_BY_ID("GET /items/{id}", 25),
+    ITEMS_BY_OWNER("GET /items", 10),
+    ITEM_SEARCH("GET /items/search", 15),
+    BOOKINGS_BY_BOOKER("GET /bookings", 15),
+    BOOKINGS_BY_OWNER("GET /bookings/owner", 15),
+    USER_BY_ID("GET /users/{id}", 10),
+    REQUESTS_ALL("GET /requests/all", 10);
+
+    private final String title;
+    private final int defaultWeight;
+
+    Endpoint(String title, int defaultWeight) {
+        this.title = title;
+        this.defaultWeight = defaultWeight;
+    }
+}
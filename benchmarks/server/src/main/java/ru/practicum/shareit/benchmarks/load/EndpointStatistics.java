@@ -0,0 +1,42 @@
+package ru.practicum.shareit.benchmarks.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class EndpointStatistics {
+    public static final int TRANSPORT_ERROR = 0;
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private final Histogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+
+    // Ошибка — любой ответ вне 2xx и обрыв соединения; 429 ещё и считается отдельно: быстрый отказ лимита
+    // иначе выглядел бы как быстрый успешный ответ
+    public void record(long latencyNanos, int status) {
+        latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS));
+        if (status < 200 || status >= 300) {
+            errors.increment();
+        }
+        if (status == TOO_MANY_REQUESTS) {
+            throttled.increment();
+        }
+    }
+
+    public Histogram getLatencies() {
+        return latencies;
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public long getThrottled() {
+        return throttled.sum();
+    }
+}
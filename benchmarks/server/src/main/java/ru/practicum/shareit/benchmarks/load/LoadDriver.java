@@ -0,0 +1,222 @@
+package ru.practicum.shareit.benchmarks.load;
+
+import org.HdrHistogram.Histogram;
+import ru.practicum.shareit.benchmarks.Arguments;
+import ru.practicum.shareit.benchmarks.dataset.DatasetConfig;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+public class LoadDriver {
+    private static final String ROW_FORMAT = "%-22s %10s %8s %8s %12s %9s %9s %9s %9s %9s%n";
+    private static final String SWEEP_ROW_FORMAT = "%-12s %11s %10s %8s %8s %12s %9s %9s %9s %9s%n";
+
+    private final LoadScenario scenario;
+    private final HttpClient client;
+    private final int concurrency;
+    private final int rate;
+    private final long seed;
+
+    // rate > 0 — открытый цикл: запросы уходят по расписанию, concurrency лишь ограничивает число запросов в
+    // полёте. rate = 0 — закрытый цикл из concurrency соединений, пригодный для замера пропускной способности
+    public LoadDriver(LoadScenario scenario, HttpClient client, int concurrency, int rate, long seed) {
+        this.scenario = scenario;
+        this.client = client;
+        this.concurrency = concurrency;
+        this.rate = rate;
+        this.seed = seed;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Arguments arguments = Arguments.parse(args);
+        DatasetConfig dataset = DatasetConfig.fromArguments(arguments);
+
+        LoadScenario scenario = new LoadScenario(
+                arguments.get("target", "http://localhost:8080"),
+                Duration.ofSeconds(arguments.getInt("timeout", 30)),
+                dataset,
+                parseMix(arguments.get("mix", "")));
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        Duration warmup = Duration.ofSeconds(arguments.getInt("warmup", 10));
+        Duration duration = Duration.ofSeconds(arguments.getInt("duration", 60));
+        int rate = arguments.getInt("rate", 0);
+
+        if (arguments.has("sweep")) {
+            sweep(System.out, scenario, client, arguments.get("sweep"), arguments.get("label", "-"), rate,
+                    dataset.getSeed(), warmup, duration);
+            return;
+        }
+
+        LoadDriver driver = new LoadDriver(scenario, client, arguments.getInt("concurrency", 64), rate,
+                dataset.getSeed());
+        Map<Endpoint, EndpointStatistics> statistics = driver.run(warmup, duration);
+
+        printReport(System.out, statistics, duration);
+        if (arguments.has("hgrm")) {
+            writeHistograms(Path.of(arguments.get("hgrm")), statistics);
+        }
+    }
+
+    public Map<Endpoint, EndpointStatistics> run(Duration warmup, Duration duration) throws InterruptedException {
+        Map<Endpoint, EndpointStatistics> statistics = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            statistics.put(endpoint, new EndpointStatistics());
+        }
+
+        Random random = new Random(seed);
+        Semaphore permits = new Semaphore(concurrency);
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long measureUntil = measureFrom + duration.toNanos();
+        long intervalNanos = rate > 0 ? TimeUnit.SECONDS.toNanos(1) / rate : 0;
+        long scheduled = System.nanoTime();
+
+        while ((intervalNanos > 0 ? scheduled : System.nanoTime()) < measureUntil) {
+            // Задержка открытого цикла считается от запланированного момента: ожидание свободного места, пока
+            // сервер стоит, тоже попадает в перцентили, а не пропадает вместе с неотправленными запросами
+            long intended = scheduled;
+            if (intervalNanos > 0) {
+                scheduled += intervalNanos;
+                sleepUntil(intended);
+            }
+            permits.acquire();
+
+            Endpoint endpoint = scenario.nextEndpoint(random);
+            HttpRequest request = scenario.buildRequest(endpoint, random);
+            long sent = intervalNanos > 0 ? intended : System.nanoTime();
+            boolean measured = sent >= measureFrom;
+
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        if (measured) {
+                            statistics.get(endpoint).record(System.nanoTime() - sent,
+                                    error != null ? EndpointStatistics.TRANSPORT_ERROR : response.statusCode());
+                        }
+                        permits.release();
+                    });
+        }
+
+        permits.acquire(concurrency);
+        return statistics;
+    }
+
+    private static void sleepUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private static void sweep(PrintStream out, LoadScenario scenario, HttpClient client, String levels,
+                              String label, int rate, long seed, Duration warmup, Duration duration)
+            throws InterruptedException {
+        out.printf(SWEEP_ROW_FORMAT, "Label", "Concurrency", "Requests", "Errors", "429", "Throughput", "p50,ms",
+                "p99,ms", "p99.9,ms", "max,ms");
+
+        for (String level : levels.split(",")) {
+            int concurrency = Integer.parseInt(level.trim());
+            Map<Endpoint, EndpointStatistics> statistics = new LoadDriver(scenario, client, concurrency, rate, seed)
+                    .run(warmup, duration);
+
+            Histogram total = new Histogram(TimeUnit.MINUTES.toMicros(10), 3);
+            long errors = 0;
+            long throttled = 0;
+            for (EndpointStatistics endpointStatistics : statistics.values()) {
+                total.add(endpointStatistics.getLatencies());
+                errors += endpointStatistics.getErrors();
+                throttled += endpointStatistics.getThrottled();
+            }
+            out.printf(SWEEP_ROW_FORMAT, label, concurrency,
+                    total.getTotalCount(),
+                    errors,
+                    throttled,
+                    String.format("%.1f/s", total.getTotalCount() / (double) duration.toSeconds()),
+                    millis(total.getValueAtPercentile(50)),
+                    millis(total.getValueAtPercentile(99)),
+                    millis(total.getValueAtPercentile(99.9)),
+                    millis(total.getMaxValue()));
+            out.flush();
+        }
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String mix) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        if (mix.isBlank()) {
+            return weights;
+        }
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Некорректный вес запроса: " + entry);
+            }
+            weights.put(Endpoint.valueOf(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    private static void printReport(PrintStream out, Map<Endpoint, EndpointStatistics> statistics,
+                                    Duration duration) {
+        out.printf(ROW_FORMAT, "Endpoint", "Requests", "Errors", "429", "Throughput", "p50,ms", "p90,ms",
+                "p99,ms", "p99.9,ms", "max,ms");
+
+        Histogram total = new Histogram(TimeUnit.MINUTES.toMicros(10), 3);
+        long totalErrors = 0;
+        long totalThrottled = 0;
+        for (Endpoint endpoint : Endpoint.values()) {
+            EndpointStatistics endpointStatistics = statistics.get(endpoint);
+            Histogram latencies = endpointStatistics.getLatencies();
+            if (latencies.getTotalCount() == 0) {
+                continue;
+            }
+            total.add(latencies);
+            totalErrors += endpointStatistics.getErrors();
+            totalThrottled += endpointStatistics.getThrottled();
+            printRow(out, endpoint.getTitle(), latencies, endpointStatistics.getErrors(),
+                    endpointStatistics.getThrottled(), duration);
+        }
+        printRow(out, "TOTAL", total, totalErrors, totalThrottled, duration);
+    }
+
+    private static void printRow(PrintStream out, String title, Histogram latencies, long errors, long throttled,
+                                 Duration duration) {
+        out.printf(ROW_FORMAT, title,
+                latencies.getTotalCount(),
+                errors,
+                throttled,
+                String.format("%.1f/s", latencies.getTotalCount() / (double) duration.toSeconds()),
+                millis(latencies.getValueAtPercentile(50)),
+                millis(latencies.getValueAtPercentile(90)),
+                millis(latencies.getValueAtPercentile(99)),
+                millis(latencies.getValueAtPercentile(99.9)),
+                millis(latencies.getMaxValue()));
+    }
+
+    private static String millis(long micros) {
+        return String.format("%.2f", micros / 1000.0);
+    }
+
+    private static void writeHistograms(Path directory, Map<Endpoint, EndpointStatistics> statistics)
+            throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<Endpoint, EndpointStatistics> entry : statistics.entrySet()) {
+            Path file = directory.resolve(entry.getKey().name().toLowerCase() + ".hgrm");
+            try (PrintStream out = new PrintStream(file.toFile())) {
+                entry.getValue().getLatencies().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package ru.practicum.shareit.benchmarks.load;
+
+import ru.practicum.shareit.benchmarks.dataset.DatasetConfig;
+import ru.practicum.shareit.benchmarks.dataset.ZipfSampler;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+public class LoadScenario {
+    private static final String HEADER_USER_ID = "X-Sharer-User-Id";
+    private static final String[] STATES = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"};
+    private static final String[] SEARCH_TEXTS = {"дрель", "палатка", "велосипед", "гитара", "проектор", "вещь"};
+
+    private final String target;
+    private final Duration timeout;
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+    private final ZipfSampler userSampler;
+    private final ZipfSampler itemSampler;
+
+    public LoadScenario(String target, Duration timeout, DatasetConfig dataset, Map<Endpoint, Integer> weights) {
+        this.target = target;
+        this.timeout = timeout;
+        this.userSampler = new ZipfSampler(dataset.getUsers(), dataset.getSkew());
+        this.itemSampler = new ZipfSampler(dataset.getItems(), dataset.getSkew());
+
+        Map<Endpoint, Integer> effectiveWeights = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            int weight = weights.getOrDefault(endpoint, endpoint.getDefaultWeight());
+            if (weight > 0) {
+                effectiveWeights.put(endpoint, weight);
+            }
+        }
+        if (effectiveWeights.isEmpty()) {
+            throw new IllegalArgumentException("Сценарий нагрузки не содержит ни одного запроса.");
+        }
+
+        endpoints = effectiveWeights.keySet().toArray(new Endpoint[0]);
+        cumulativeWeights = new int[endpoints.length];
+        int sum = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            sum += effectiveWeights.get(endpoints[i]);
+            cumulativeWeights[i] = sum;
+        }
+    }
+
+    public Endpoint nextEndpoint(Random random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        return endpoints[endpoints.length - 1];
+    }
+
+    public HttpRequest buildRequest(Endpoint endpoint, Random random) {
+        long userId = userSampler.sample(random) + 1L;
+        long itemId = itemSampler.sample(random) + 1L;
+        String state = STATES[random.nextInt(STATES.length)];
+
+        String path;
+        switch (endpoint) {
+            case ITEM_BY_ID:
+                path = "/items/" + itemId;
+                break;
+            case ITEMS_BY_OWNER:
+                path = "/items?from=0&size=10";
+                break;
+            case ITEM_SEARCH:
+                path = "/items/search?from=0&size=10&text="
+                        + URLEncoder.encode(SEARCH_TEXTS[random.nextInt(SEARCH_TEXTS.length)], StandardCharsets.UTF_8);
+                break;
+            case BOOKINGS_BY_BOOKER:
+                path = "/bookings?from=0&size=10&state=" + state;
+                break;
+            case BOOKINGS_BY_OWNER:
+                path = "/bookings/owner?from=0&size=10&state=" + state;
+                break;
+            case USER_BY_ID:
+                path = "/users/" + userId;
+                break;
+            case REQUESTS_ALL:
+                path = "/requests/all?from=0&size=10";
+                break;
+            default:
+                throw new IllegalArgumentException("Неизвестный запрос " + endpoint);
+        }
+
+        return HttpRequest.newBuilder(URI.create(target + path))
+                .timeout(timeout)
+                .header(HEADER_USER_ID, String.valueOf(userId))
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+}
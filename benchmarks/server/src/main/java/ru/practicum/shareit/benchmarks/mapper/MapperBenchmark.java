@@ -0,0 +1,118 @@
+package ru.practicum.shareit.benchmarks.mapper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import ru.practicum.shareit.benchmarks.dataset.Dataset;
+import ru.practicum.shareit.benchmarks.dataset.DatasetConfig;
+import ru.practicum.shareit.benchmarks.dataset.DatasetGenerator;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.mapper.BookingMapperImpl;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingItemDto;
+import ru.practicum.shareit.booking.model.BookingResponseDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.mapper.ItemMapperImpl;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemExtendedDto;
+import ru.practicum.shareit.request.mapper.ItemRequestMapper;
+import ru.practicum.shareit.request.mapper.ItemRequestMapperImpl;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestExtendedDto;
+import ru.practicum.shareit.user.mapper.UserMapperImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private AnnotationConfigApplicationContext context;
+    private ItemMapper itemMapper;
+    private BookingMapper bookingMapper;
+    private ItemRequestMapper itemRequestMapper;
+
+    private List<Item> items;
+    private List<Booking> bookings;
+    private List<ItemRequest> requests;
+    private Booking lastBooking;
+    private Booking nextBooking;
+
+    @Setup
+    public void setup() {
+        context = new AnnotationConfigApplicationContext(UserMapperImpl.class, ItemMapperImpl.class,
+                BookingMapperImpl.class, ItemRequestMapperImpl.class);
+        itemMapper = context.getBean(ItemMapper.class);
+        bookingMapper = context.getBean(BookingMapper.class);
+        itemRequestMapper = context.getBean(ItemRequestMapper.class);
+
+        Dataset dataset = new DatasetGenerator(DatasetConfig.builder()
+                .users(100)
+                .items(pageSize)
+                .bookings(pageSize)
+                .comments(pageSize * 5)
+                .requests(pageSize)
+                .build()).generate();
+        items = dataset.getItems();
+        bookings = dataset.getBookings();
+        requests = dataset.getRequests();
+        lastBooking = bookings.get(0);
+        nextBooking = bookings.get(bookings.size() - 1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemExtendedDto> itemToItemExtendedDto() {
+        BookingItemDto last = itemMapper.bookingToBookingItemDto(lastBooking);
+        BookingItemDto next = itemMapper.bookingToBookingItemDto(nextBooking);
+
+        List<ItemExtendedDto> result = new ArrayList<>(items.size());
+        for (Item item : items) {
+            result.add(itemMapper.toItemExtendedDto(item, last, next));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<BookingResponseDto> bookingToBookingResponseDto() {
+        List<BookingResponseDto> result = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            result.add(bookingMapper.bookingToBookingResponseDto(booking));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<ItemRequestExtendedDto> itemRequestToItemRequestExtendedDto() {
+        List<ItemRequestExtendedDto> result = new ArrayList<>(requests.size());
+        for (ItemRequest request : requests) {
+            result.add(itemRequestMapper.toItemRequestExtendedDto(request, request.getItems().stream()
+                    .map(itemMapper::toItemDto)
+                    .collect(Collectors.toList())));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.benchmarks.serialization;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.item.comment.json.CommentJsonCache;
+import ru.practicum.shareit.item.comment.json.CommentJsonModule;
+import ru.practicum.shareit.item.comment.json.CommentJsonProperties;
+import ru.practicum.shareit.item.comment.model.CommentDto;
+import ru.practicum.shareit.item.model.ItemExtendedDto;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+// Ответ GET /items/{id} для вещи с множеством отзывов: обычная сериализация против готовых фрагментов JSON
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CommentJsonBenchmark {
+    @Param({"10", "300"})
+    private int comments;
+
+    @Param({"false", "true"})
+    private boolean cached;
+
+    private ObjectMapper objectMapper;
+    private ItemExtendedDto item;
+
+    @Setup
+    public void setup() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (cached) {
+            builder.modulesToInstall(new CommentJsonModule(
+                    new CommentJsonCache(new CommentJsonProperties(), new SimpleMeterRegistry())));
+        }
+        objectMapper = builder.build();
+
+        LocalDateTime now = LocalDateTime.now();
+        item = ItemExtendedDto.builder()
+                .id(1L)
+                .name("Дрель")
+                .description("Дрель в хорошем состоянии, вещь 1")
+                .available(true)
+                .ownerId(1L)
+                .comments(LongStream.rangeClosed(1, comments)
+                        .mapToObj(id -> CommentDto.builder()
+                                .id(id)
+                                .text("Отличная вещь, брал на выходные, всё работает. Отзыв " + id)
+                                .createdDate(now.minusHours(id))
+                                .authorName("Пользователь " + id % 100)
+                                .build())
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    @Benchmark
+    public byte[] itemWithComments() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(item);
+    }
+}
@@ -0,0 +1,106 @@
+package ru.practicum.shareit.benchmarks.serialization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.benchmarks.dataset.Dataset;
+import ru.practicum.shareit.benchmarks.dataset.DatasetConfig;
+import ru.practicum.shareit.benchmarks.dataset.DatasetGenerator;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.mapper.BookingMapperImpl;
+import ru.practicum.shareit.booking.model.BookingResponseDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.mapper.ItemMapperImpl;
+import ru.practicum.shareit.item.model.ItemExtendedDto;
+import ru.practicum.shareit.user.mapper.UserMapperImpl;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Переход gateway <-> server целиком: сервер пишет страницу во внутреннем формате, gateway читает её в Object
+// и пишет клиенту JSON. Размер страницы во внутреннем формате печатается при запуске каждого варианта
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InternalFormatBenchmark {
+    @Param({"json", "smile"})
+    private String format;
+
+    @Param({"10", "100", "1000"})
+    private int pageSize;
+
+    private ObjectMapper internalMapper;
+    private ObjectMapper publicMapper;
+    private List<ItemExtendedDto> items;
+    private List<BookingResponseDto> bookings;
+
+    @Setup
+    public void setup() throws IOException {
+        publicMapper = mapperBuilder().build();
+        internalMapper = format.equals("smile") ? mapperBuilder().factory(new SmileFactory()).build() : publicMapper;
+
+        Dataset dataset = new DatasetGenerator(DatasetConfig.builder()
+                .users(100)
+                .items(pageSize)
+                .bookings(pageSize)
+                .comments(pageSize * 5)
+                .requests(0)
+                .build()).generate();
+
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(
+                UserMapperImpl.class, ItemMapperImpl.class, BookingMapperImpl.class)) {
+            ItemMapper itemMapper = context.getBean(ItemMapper.class);
+            BookingMapper bookingMapper = context.getBean(BookingMapper.class);
+
+            items = dataset.getItems().stream()
+                    .map(item -> itemMapper.toItemExtendedDto(item,
+                            itemMapper.bookingToBookingItemDto(dataset.getBookings().get(0)),
+                            itemMapper.bookingToBookingItemDto(dataset.getBookings().get(pageSize - 1))))
+                    .collect(Collectors.toList());
+            bookings = dataset.getBookings().stream()
+                    .map(bookingMapper::bookingToBookingResponseDto)
+                    .collect(Collectors.toList());
+        }
+
+        System.out.printf("%nСтраница вещей: %d байт, страница бронирований: %d байт%n",
+                internalMapper.writeValueAsBytes(items).length, internalMapper.writeValueAsBytes(bookings).length);
+    }
+
+    @Benchmark
+    public byte[] itemExtendedDtoPage() throws IOException {
+        return hop(items);
+    }
+
+    @Benchmark
+    public byte[] bookingResponseDtoPage() throws IOException {
+        return hop(bookings);
+    }
+
+    private byte[] hop(Object page) throws IOException {
+        byte[] internal = internalMapper.writeValueAsBytes(page);
+        return publicMapper.writeValueAsBytes(internalMapper.readValue(internal, Object.class));
+    }
+
+    private static Jackson2ObjectMapperBuilder mapperBuilder() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+}
@@ -0,0 +1,148 @@
+package ru.practicum.shareit.benchmarks.serialization;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.benchmarks.dataset.Dataset;
+import ru.practicum.shareit.benchmarks.dataset.DatasetConfig;
+import ru.practicum.shareit.benchmarks.dataset.DatasetGenerator;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.mapper.BookingMapperImpl;
+import ru.practicum.shareit.booking.model.BookingResponseDto;
+import ru.practicum.shareit.item.comment.model.CommentDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.mapper.ItemMapperImpl;
+import ru.practicum.shareit.item.model.ItemDto;
+import ru.practicum.shareit.item.model.ItemExtendedDto;
+import ru.practicum.shareit.json.IsoLocalDateTimeModule;
+import ru.practicum.shareit.request.mapper.ItemRequestMapper;
+import ru.practicum.shareit.request.mapper.ItemRequestMapperImpl;
+import ru.practicum.shareit.request.model.ItemRequestExtendedDto;
+import ru.practicum.shareit.user.mapper.UserMapper;
+import ru.practicum.shareit.user.mapper.UserMapperImpl;
+import ru.practicum.shareit.user.model.UserDto;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+    @Param({"10", "100", "1000"})
+    private int pageSize;
+
+    // tuned — модули JacksonTuningConfiguration: Blackbird и запись LocalDateTime без DateTimeFormatter
+    @Param({"default", "tuned"})
+    private String mapper;
+
+    private ObjectMapper objectMapper;
+    private List<UserDto> users;
+    private List<ItemDto> itemDtos;
+    private List<ItemExtendedDto> items;
+    private List<BookingResponseDto> bookings;
+    private List<ItemRequestExtendedDto> requests;
+    private List<CommentDto> comments;
+
+    @Setup
+    public void setup() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (mapper.equals("tuned")) {
+            builder.modulesToInstall(new BlackbirdModule(), new IsoLocalDateTimeModule());
+        }
+        objectMapper = builder.build();
+
+        Dataset dataset = new DatasetGenerator(DatasetConfig.builder()
+                .users(100)
+                .items(pageSize)
+                .bookings(pageSize)
+                .comments(pageSize * 5)
+                .requests(pageSize)
+                .build()).generate();
+
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(
+                UserMapperImpl.class, ItemMapperImpl.class, BookingMapperImpl.class, ItemRequestMapperImpl.class)) {
+            UserMapper userMapper = context.getBean(UserMapper.class);
+            ItemMapper itemMapper = context.getBean(ItemMapper.class);
+            BookingMapper bookingMapper = context.getBean(BookingMapper.class);
+            ItemRequestMapper itemRequestMapper = context.getBean(ItemRequestMapper.class);
+
+            users = dataset.getUsers().stream()
+                    .map(userMapper::toUserDto)
+                    .collect(Collectors.toList());
+            itemDtos = dataset.getItems().stream()
+                    .map(itemMapper::toItemDto)
+                    .collect(Collectors.toList());
+            Map<Long, List<ItemDto>> itemsByRequest = itemDtos.stream()
+                    .filter(itemDto -> itemDto.getRequestId() != null)
+                    .collect(Collectors.groupingBy(ItemDto::getRequestId));
+            requests = dataset.getRequests().stream()
+                    .map(request -> itemRequestMapper.toItemRequestExtendedDto(request,
+                            itemsByRequest.getOrDefault(request.getId(), List.of())))
+                    .collect(Collectors.toList());
+            comments = dataset.getComments().stream()
+                    .limit(pageSize)
+                    .map(itemMapper::commentToCommentDto)
+                    .collect(Collectors.toList());
+
+            items = dataset.getItems().stream()
+                    .map(item -> itemMapper.toItemExtendedDto(item,
+                            itemMapper.bookingToBookingItemDto(dataset.getBookings().get(0)),
+                            itemMapper.bookingToBookingItemDto(dataset.getBookings().get(pageSize - 1))))
+                    .collect(Collectors.toList());
+            bookings = dataset.getBookings().stream()
+                    .map(bookingMapper::bookingToBookingResponseDto)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    @Benchmark
+    public byte[] userDtoPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(users);
+    }
+
+    @Benchmark
+    public byte[] itemDtoPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(itemDtos);
+    }
+
+    @Benchmark
+    public byte[] itemExtendedDtoPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(items);
+    }
+
+    @Benchmark
+    public byte[] bookingResponseDtoPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookings);
+    }
+
+    @Benchmark
+    public byte[] itemRequestExtendedDtoPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(requests);
+    }
+
+    @Benchmark
+    public byte[] commentDtoPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(comments);
+    }
+}
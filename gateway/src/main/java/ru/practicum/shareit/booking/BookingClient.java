@@ -5,13 +5,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.model.BookingRequestDto;
 import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ClientProperties;
 
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -20,10 +23,11 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientProperties clientProperties) {
         super(builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .setReadTimeout(clientProperties.readTimeoutOf(BookingClient.class))
                         .build()
         );
     }
@@ -33,6 +37,18 @@ public class BookingClient extends BaseClient {
         return get("/" + id, userId);
     }
 
+    public ResponseEntity<StreamingResponseBody> events(Long userId, Long lastEventId) {
+        log.info("Подписка пользователя с id {} на уведомления о бронированиях.", userId);
+        return events("/events", userId, lastEventId);
+    }
+
+    public ResponseEntity<Object> getByIds(Long userId, List<Long> ids) {
+        log.info("Вывод бронирований с id {}.", ids);
+
+        Map<String, Object> parameters = Map.of("ids", StringUtils.collectionToCommaDelimitedString(ids));
+        return get("?ids={ids}", userId, parameters);
+    }
+
     public ResponseEntity<Object> getAllByBookerId(Long userId, State state, Integer from, Integer size) {
         log.info("Вывод всех бронирований пользователя {} и статусом {}.", userId, state);
 
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,14 +13,19 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.booking.model.BookingRequestDto;
 import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.exception.BookingException;
 import ru.practicum.shareit.user.UserController;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.util.List;
 
 @RestController
 @RequestMapping(path = "/bookings")
@@ -34,6 +40,20 @@ public class BookingController {
 		return bookingClient.getById(userId, id);
 	}
 
+	@GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public ResponseEntity<StreamingResponseBody> events(
+			@RequestHeader(UserController.headerUserId) Long userId,
+			@RequestHeader(value = BaseClient.LAST_EVENT_ID, required = false) @PositiveOrZero Long lastEventId) {
+		return bookingClient.events(userId, lastEventId);
+	}
+
+	@GetMapping(params = "ids")
+	public ResponseEntity<Object> getByIds(
+			@RequestHeader(UserController.headerUserId) Long userId,
+			@RequestParam @NotEmpty @Size(max = UserController.BATCH_MAX_SIZE) List<@Positive Long> ids) {
+		return bookingClient.getByIds(userId, ids);
+	}
+
 	@GetMapping
 	public ResponseEntity<Object> getAllByBookerId(
 			@RequestHeader(UserController.headerUserId) Long userId,
@@ -1,25 +1,68 @@
 package ru.practicum.shareit.client;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
 import ru.practicum.shareit.user.UserController;
 
 public class BaseClient {
+    public static final String LAST_EVENT_ID = "Last-Event-ID";
+    private static final Set<String> SERVER_REPRESENTATION_HEADERS = Set.of("connection", "content-encoding",
+            "content-length", "content-type", "keep-alive", "transfer-encoding", "vary");
+
     protected final RestTemplate rest;
+    private SingleFlight singleFlight;
+    private ClientPolicies clientPolicies;
+    private SmileCodec smileCodec;
+    private MeterRegistry meterRegistry;
 
     public BaseClient(RestTemplate rest) {
         this.rest = rest;
     }
 
+    @Autowired(required = false)
+    public void setSingleFlight(SingleFlight singleFlight) {
+        this.singleFlight = singleFlight;
+    }
+
+    @Autowired(required = false)
+    public void setClientPolicies(ClientPolicies clientPolicies) {
+        this.clientPolicies = clientPolicies;
+    }
+
+    @Autowired(required = false)
+    public void setSmileCodec(SmileCodec smileCodec) {
+        this.smileCodec = smileCodec;
+    }
+
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     protected ResponseEntity<Object> get(String path) {
         return get(path, null, null);
     }
@@ -80,35 +123,161 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    protected ResponseEntity<StreamingResponseBody> events(String path, long userId, @Nullable Long lastEventId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(UserController.headerUserId, String.valueOf(userId));
+        if (lastEventId != null) {
+            headers.set(LAST_EVENT_ID, String.valueOf(lastEventId));
+        }
+        return proxy(path, MediaType.TEXT_EVENT_STREAM, headers, ResponseEntity.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .cacheControl(CacheControl.noCache()));
+    }
+
+    protected ResponseEntity<StreamingResponseBody> stream(String path, MediaType mediaType) {
+        return proxy(path, mediaType, new HttpHeaders(), ResponseEntity.ok()
+                .contentType(mediaType));
+    }
+
+    // Поток передаётся клиенту по мере поступления: каждый прочитанный фрагмент сразу сбрасывается.
+    // Соединение открывается до ответа контроллера, чтобы ошибку сервера отдать с её статусом
+    private ResponseEntity<StreamingResponseBody> proxy(String path, MediaType mediaType, HttpHeaders headers,
+                                                        ResponseEntity.BodyBuilder ok) {
+        ClientPolicies.StreamPermit permit = clientPolicies != null
+                ? clientPolicies.acquireStream(getClass().getSimpleName())
+                : null;
+        ClientHttpResponse response;
+        try {
+            ClientHttpRequest request = rest.getRequestFactory()
+                    .createRequest(rest.getUriTemplateHandler().expand(path), HttpMethod.GET);
+            request.getHeaders().putAll(headers);
+            request.getHeaders().setAccept(List.of(mediaType, MediaType.APPLICATION_JSON));
+            response = request.execute();
+            if (permit != null) {
+                permit.opened(response.getRawStatusCode());
+            }
+
+            if (response.getRawStatusCode() >= 400) {
+                try (response) {
+                    byte[] error = StreamUtils.copyToByteArray(response.getBody());
+                    return ResponseEntity.status(response.getRawStatusCode())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .body(outputStream -> outputStream.write(error));
+                } finally {
+                    release(permit);
+                }
+            }
+        } catch (IOException e) {
+            fail(permit, e);
+            throw new ResourceAccessException("Поток сервера недоступен: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            fail(permit, e);
+            throw e;
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            try (response) {
+                InputStream events = response.getBody();
+                byte[] buffer = new byte[StreamUtils.BUFFER_SIZE];
+                int read;
+                while ((read = events.read(buffer)) != -1) {
+                    outputStream.write(buffer, 0, read);
+                    outputStream.flush();
+                }
+            } finally {
+                release(permit);
+            }
+        };
+        return ok.body(body);
+    }
+
+    private static void fail(@Nullable ClientPolicies.StreamPermit permit, Exception e) {
+        if (permit != null) {
+            permit.failed(e);
+        }
+    }
+
+    private static void release(@Nullable ClientPolicies.StreamPermit permit) {
+        if (permit != null) {
+            permit.close();
+        }
+    }
+
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        if (singleFlight != null && singleFlight.isEnabled() && method == HttpMethod.GET) {
+            URI uri = rest.getUriTemplateHandler().expand(path, parameters != null ? parameters : Map.of());
+            return singleFlight.execute(method, uri, userId, () -> sendRequest(method, path, userId, parameters, body));
+        }
+        return sendRequest(method, path, userId, parameters, body);
+    }
+
+    private <T> ResponseEntity<Object> sendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
+        Timer.Sample sample = meterRegistry != null ? Timer.start(meterRegistry) : null;
+        String status = "IO_ERROR";
         ResponseEntity<Object> shareitServerResponse;
+        Supplier<ResponseEntity<Object>> exchange = () -> parameters != null
+                ? rest.exchange(path, method, requestEntity, Object.class, parameters)
+                : rest.exchange(path, method, requestEntity, Object.class);
         try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
-            }
+            shareitServerResponse = clientPolicies != null
+                    ? clientPolicies.execute(getClass().getSimpleName(), method, exchange)
+                    : exchange.get();
+            status = String.valueOf(shareitServerResponse.getStatusCodeValue());
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            status = String.valueOf(e.getRawStatusCode());
+            return ResponseEntity.status(e.getStatusCode()).body(errorBody(e));
+        } catch (ServiceUnavailableException e) {
+            status = "REJECTED";
+            throw e;
+        } finally {
+            if (sample != null) {
+                sample.stop(hopTimer(method, status));
+            }
         }
         return prepareGatewayResponse(shareitServerResponse);
     }
 
+    private Timer hopTimer(HttpMethod method, String status) {
+        return Timer.builder("shareit.gateway.hop")
+                .description("Время запроса gateway -> server, включая чтение тела ответа")
+                .tag("client", getClass().getSimpleName())
+                .tag("method", method.name())
+                .tag("status", status)
+                .register(meterRegistry);
+    }
+
     private HttpHeaders defaultHeaders(Long userId) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        headers.setAccept(smileCodec != null
+                ? List.of(SmileCodec.APPLICATION_SMILE, MediaType.APPLICATION_JSON)
+                : List.of(MediaType.APPLICATION_JSON));
         if (userId != null) {
             headers.set(UserController.headerUserId, String.valueOf(userId));
         }
         return headers;
     }
 
+    private Object errorBody(HttpStatusCodeException e) {
+        MediaType contentType = e.getResponseHeaders() != null ? e.getResponseHeaders().getContentType() : null;
+        if (smileCodec != null && SmileCodec.APPLICATION_SMILE.isCompatibleWith(contentType)) {
+            return smileCodec.read(e.getResponseBodyAsByteArray());
+        }
+        return e.getResponseBodyAsByteArray();
+    }
+
     private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
         if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+            // Тело пишется заново в JSON, поэтому тип, длина и кодировка ответа сервера к нему не относятся
+            HttpHeaders headers = new HttpHeaders();
+            response.getHeaders().forEach((name, values) -> {
+                if (!SERVER_REPRESENTATION_HEADERS.contains(name.toLowerCase())) {
+                    headers.addAll(name, values);
+                }
+            });
+            return new ResponseEntity<>(response.getBody(), headers, response.getStatusCode());
         }
 
         ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
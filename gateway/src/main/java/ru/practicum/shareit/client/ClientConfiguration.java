@@ -0,0 +1,65 @@
+package ru.practicum.shareit.client;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateBuilderConfigurer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.net.http.HttpClient;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@EnableConfigurationProperties(ClientProperties.class)
+public class ClientConfiguration {
+    @Configuration
+    @ConditionalOnProperty(prefix = "shareit-server", name = "transport", havingValue = "http1", matchIfMissing = true)
+    static class Http1Transport {
+        // Один пул соединений на все клиенты: прежде каждый клиент держал не больше 5 соединений с сервером.
+        // Apache HttpClient сам запрашивает gzip и распаковывает ответы
+        @Bean(destroyMethod = "close")
+        public CloseableHttpClient shareitServerHttpClient(ClientProperties properties) {
+            return HttpClientBuilder.create()
+                    .useSystemProperties()
+                    .setMaxConnTotal(properties.getMaxConnections())
+                    .setMaxConnPerRoute(properties.getMaxConnections())
+                    .evictIdleConnections(30, TimeUnit.SECONDS)
+                    .build();
+        }
+
+        @Bean
+        public RestTemplateBuilder restTemplateBuilder(RestTemplateBuilderConfigurer configurer,
+                                                       CloseableHttpClient shareitServerHttpClient,
+                                                       ClientProperties properties) {
+            return configurer.configure(new RestTemplateBuilder())
+                    .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(shareitServerHttpClient))
+                    .setConnectTimeout(properties.getConnectTimeout())
+                    .setReadTimeout(properties.getReadTimeout());
+        }
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = "shareit-server", name = "transport", havingValue = "h2c")
+    static class H2cTransport {
+        @Bean
+        public HttpClient shareitServerHttpClient(ClientProperties properties) {
+            return HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .connectTimeout(properties.getConnectTimeout())
+                    .build();
+        }
+
+        @Bean
+        public RestTemplateBuilder restTemplateBuilder(RestTemplateBuilderConfigurer configurer,
+                                                       HttpClient shareitServerHttpClient,
+                                                       ClientProperties properties) {
+            return configurer.configure(new RestTemplateBuilder())
+                    .requestFactory(() -> new JdkClientHttpRequestFactory(shareitServerHttpClient))
+                    .setReadTimeout(properties.getReadTimeout());
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+// Экземпляры политик называются по клиенту (ItemClient, BookingClient, ...): медленный сервис
+// исчерпывает только свой bulkhead и размыкает только свой circuit breaker
+@Component
+@RequiredArgsConstructor
+public class ClientPolicies {
+    private static final Duration BULKHEAD_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final RetryRegistry retryRegistry;
+
+    public ResponseEntity<Object> execute(String client, HttpMethod method, Supplier<ResponseEntity<Object>> call) {
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(client);
+        Supplier<ResponseEntity<Object>> decorated = CircuitBreaker.decorateSupplier(circuitBreaker,
+                Bulkhead.decorateSupplier(bulkheadRegistry.bulkhead(client), call));
+        // Повторяются только безопасные запросы: POST и PATCH могли выполниться на сервере до обрыва ответа
+        if (method == HttpMethod.GET || method == HttpMethod.HEAD) {
+            decorated = Retry.decorateSupplier(retryRegistry.retry(client), decorated);
+        }
+
+        try {
+            return decorated.get();
+        } catch (CallNotPermittedException e) {
+            throw circuitOpen(circuitBreaker);
+        } catch (BulkheadFullException e) {
+            throw bulkheadFull();
+        }
+    }
+
+    // Поток держит место в bulkhead клиента, пока его тело не закрыто. Circuit breaker оценивает только
+    // открытие потока: долгая жизнь подписки медленным вызовом не считается
+    public StreamPermit acquireStream(String client) {
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(client);
+        if (!circuitBreaker.tryAcquirePermission()) {
+            throw circuitOpen(circuitBreaker);
+        }
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(client);
+        if (!bulkhead.tryAcquirePermission()) {
+            circuitBreaker.releasePermission();
+            throw bulkheadFull();
+        }
+        return new StreamPermit(circuitBreaker, bulkhead);
+    }
+
+    private static ServiceUnavailableException circuitOpen(CircuitBreaker circuitBreaker) {
+        return new ServiceUnavailableException("Сервис временно недоступен, повторите запрос позже.",
+                circuitBreaker.getCircuitBreakerConfig().getWaitDurationInOpenState());
+    }
+
+    private static ServiceUnavailableException bulkheadFull() {
+        return new ServiceUnavailableException("Слишком много одновременных запросов к сервису, повторите позже.",
+                BULKHEAD_RETRY_AFTER);
+    }
+
+    public static class StreamPermit implements AutoCloseable {
+        private final CircuitBreaker circuitBreaker;
+        private final Bulkhead bulkhead;
+        private final long start = System.nanoTime();
+        private final AtomicBoolean judged = new AtomicBoolean();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private StreamPermit(CircuitBreaker circuitBreaker, Bulkhead bulkhead) {
+            this.circuitBreaker = circuitBreaker;
+            this.bulkhead = bulkhead;
+        }
+
+        // Ответы 4xx, как и у обычных вызовов, ошибками сервера не считаются
+        public void opened(int status) {
+            if (!judged.compareAndSet(false, true)) {
+                return;
+            }
+            if (status >= 500) {
+                HttpStatus httpStatus = HttpStatus.resolve(status);
+                circuitBreaker.onError(elapsed(), TimeUnit.NANOSECONDS, new HttpServerErrorException(
+                        httpStatus != null ? httpStatus : HttpStatus.INTERNAL_SERVER_ERROR));
+            } else if (status >= 400) {
+                circuitBreaker.releasePermission();
+            } else {
+                circuitBreaker.onSuccess(elapsed(), TimeUnit.NANOSECONDS);
+            }
+        }
+
+        public void failed(Throwable e) {
+            if (judged.compareAndSet(false, true)) {
+                circuitBreaker.onError(elapsed(), TimeUnit.NANOSECONDS, e);
+            }
+            close();
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                bulkhead.onComplete();
+            }
+        }
+
+        private long elapsed() {
+            return System.nanoTime() - start;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.client;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "shareit-server")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+public class ClientProperties {
+    Transport transport = Transport.HTTP1;
+    boolean smile = false;
+    Duration connectTimeout = Duration.ofSeconds(2);
+    Duration readTimeout = Duration.ofSeconds(10);
+    Map<String, Duration> readTimeouts = new HashMap<>();
+    // Только для HTTP1: при H2C HttpClient держит одно соединение на сервер и мультиплексирует в нём запросы
+    int maxConnections = 200;
+
+    public enum Transport {
+        HTTP1,
+        H2C
+    }
+
+    public Duration readTimeoutOf(Class<? extends BaseClient> client) {
+        return readTimeouts.getOrDefault(client.getSimpleName(), readTimeout);
+    }
+}
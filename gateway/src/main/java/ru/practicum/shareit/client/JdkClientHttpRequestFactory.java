@@ -0,0 +1,258 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.AbstractClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+// Запросы к серверу через java.net.http.HttpClient: по http:// он договаривается о h2c и мультиплексирует
+// запросы всех клиентов gateway в нескольких соединениях. Ответы запрашиваются в gzip и распаковываются здесь.
+// Тайм-аут HttpRequest ограничивает только ожидание заголовков, поэтому тайм-аут чтения тела, как у сокета
+// HTTP/1.1, отсчитывается для каждого чтения отдельно: долгий поток событий не обрывается, пока данные идут
+public class JdkClientHttpRequestFactory implements ClientHttpRequestFactory {
+    // Заголовки, которые HttpClient выставляет сам, и Accept-Encoding, который задаёт фабрика
+    private static final Set<String> SKIPPED_HEADERS = Set.of("accept-encoding", "connection", "content-length",
+            "expect", "host", "upgrade");
+    private static final String GZIP = "gzip";
+    private static final ScheduledThreadPoolExecutor READ_DEADLINES = readDeadlines();
+
+    private final HttpClient httpClient;
+    private Duration readTimeout;
+
+    public JdkClientHttpRequestFactory(HttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    // Вызывается RestTemplateBuilder.setReadTimeout(); время соединения задаётся в самом HttpClient
+    public void setReadTimeout(int readTimeout) {
+        this.readTimeout = readTimeout > 0 ? Duration.ofMillis(readTimeout) : null;
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) {
+        return new JdkClientHttpRequest(uri, httpMethod);
+    }
+
+    private class JdkClientHttpRequest extends AbstractClientHttpRequest {
+        private final URI uri;
+        private final HttpMethod method;
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(1024);
+
+        JdkClientHttpRequest(URI uri, HttpMethod method) {
+            this.uri = uri;
+            this.method = method;
+        }
+
+        @Override
+        public String getMethodValue() {
+            return method.name();
+        }
+
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+
+        @Override
+        protected OutputStream getBodyInternal(HttpHeaders headers) {
+            return body;
+        }
+
+        @Override
+        protected ClientHttpResponse executeInternal(HttpHeaders headers) throws IOException {
+            HttpRequest.BodyPublisher publisher = body.size() > 0
+                    ? HttpRequest.BodyPublishers.ofByteArray(body.toByteArray())
+                    : HttpRequest.BodyPublishers.noBody();
+            HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                    .method(method.name(), publisher)
+                    .header(HttpHeaders.ACCEPT_ENCODING, GZIP);
+            headers.forEach((name, values) -> {
+                if (!SKIPPED_HEADERS.contains(name.toLowerCase())) {
+                    values.forEach(value -> request.header(name, value));
+                }
+            });
+            if (readTimeout != null) {
+                request.timeout(readTimeout);
+            }
+
+            try {
+                return new JdkClientHttpResponse(httpClient.send(request.build(),
+                        HttpResponse.BodyHandlers.ofInputStream()), readTimeout);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Запрос " + uri + " прерван");
+            }
+        }
+    }
+
+    private static class JdkClientHttpResponse implements ClientHttpResponse {
+        private final HttpResponse<InputStream> response;
+        private final HttpHeaders headers = new HttpHeaders();
+        private final boolean gzipped;
+        private final Duration readTimeout;
+        private InputStream body;
+
+        JdkClientHttpResponse(HttpResponse<InputStream> response, Duration readTimeout) {
+            this.response = response;
+            this.readTimeout = readTimeout;
+            response.headers().map().forEach((name, values) -> {
+                if (!name.startsWith(":")) {
+                    headers.addAll(name, values);
+                }
+            });
+            List<String> contentEncoding = headers.getOrEmpty(HttpHeaders.CONTENT_ENCODING);
+            gzipped = contentEncoding.size() == 1 && GZIP.equalsIgnoreCase(contentEncoding.get(0));
+            if (gzipped) {
+                headers.remove(HttpHeaders.CONTENT_ENCODING);
+                headers.remove(HttpHeaders.CONTENT_LENGTH);
+            }
+        }
+
+        @Override
+        public HttpStatus getStatusCode() {
+            return HttpStatus.valueOf(response.statusCode());
+        }
+
+        @Override
+        public int getRawStatusCode() {
+            return response.statusCode();
+        }
+
+        @Override
+        public String getStatusText() {
+            HttpStatus status = HttpStatus.resolve(response.statusCode());
+            return status != null ? status.getReasonPhrase() : "";
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                InputStream raw = readTimeout != null
+                        ? new ReadDeadlineInputStream(response.body(), readTimeout.toNanos())
+                        : response.body();
+                body = gzipped ? new GZIPInputStream(raw) : raw;
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            try {
+                (body != null ? body : response.body()).close();
+            } catch (IOException ignored) {
+                // соединение освобождается и без дочитанного тела
+            }
+        }
+    }
+
+    // Заблокированное чтение тела HttpClient замечает закрытие потока ответа только после прерывания: по
+    // истечении срока поток ответа закрывается и читающий поток прерывается, а флаг снимается до возврата из read
+    private static class ReadDeadlineInputStream extends FilterInputStream {
+        private final long timeoutNanos;
+        private Thread reader;
+        private ScheduledFuture<?> deadline;
+        private boolean expired;
+
+        ReadDeadlineInputStream(InputStream in, long timeoutNanos) {
+            super(in);
+            this.timeoutNanos = timeoutNanos;
+        }
+
+        @Override
+        public int read() throws IOException {
+            start();
+            try {
+                return super.read();
+            } catch (IOException e) {
+                throw failed(e);
+            } finally {
+                finish();
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            start();
+            try {
+                return super.read(b, off, len);
+            } catch (IOException e) {
+                throw failed(e);
+            } finally {
+                finish();
+            }
+        }
+
+        private synchronized void start() {
+            reader = Thread.currentThread();
+            expired = false;
+            deadline = READ_DEADLINES.schedule(this::expire, timeoutNanos, TimeUnit.NANOSECONDS);
+        }
+
+        private synchronized void expire() {
+            if (reader == null) {
+                return;
+            }
+            expired = true;
+            try {
+                in.close();
+            } catch (IOException ignored) {
+                // поток ответа закрывается в любом случае
+            }
+            reader.interrupt();
+        }
+
+        private synchronized IOException failed(IOException e) {
+            if (!expired) {
+                return e;
+            }
+            SocketTimeoutException timeout = new SocketTimeoutException("Read timed out");
+            timeout.initCause(e);
+            return timeout;
+        }
+
+        private synchronized void finish() {
+            deadline.cancel(false);
+            reader = null;
+            if (expired) {
+                Thread.interrupted();
+            }
+        }
+    }
+
+    private static ScheduledThreadPoolExecutor readDeadlines() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, task -> {
+            Thread thread = new Thread(task, "shareit-server-read-deadline");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+}
@@ -0,0 +1,96 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Одинаковые запросы, пришедшие, пока первый из них ещё не получил ответ сервера, ждут этот ответ
+@Component
+public class SingleFlight {
+    private final SingleFlightProperties properties;
+    private final Map<Key, CompletableFuture<ResponseEntity<Object>>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter coalesced;
+
+    public SingleFlight(SingleFlightProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+
+        Gauge.builder("shareit.gateway.single-flight.in-flight", inFlight, Map::size)
+                .description("Запросы к серверу, к ответу которых могут присоединиться одинаковые запросы")
+                .register(meterRegistry);
+        leaders = outcomeCounter(meterRegistry, "leader");
+        coalesced = outcomeCounter(meterRegistry, "coalesced");
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public ResponseEntity<Object> execute(HttpMethod method, URI uri, Long userId,
+                                          Supplier<ResponseEntity<Object>> call) {
+        // Изменяющие запросы никогда не объединяются
+        if (!properties.isEnabled() || method != HttpMethod.GET) {
+            return call.get();
+        }
+
+        Key key = new Key(method, uri, userId);
+        CompletableFuture<ResponseEntity<Object>> flight = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<Object>> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            coalesced.increment();
+            return await(leader);
+        }
+
+        leaders.increment();
+        try {
+            ResponseEntity<Object> response = call.get();
+            flight.complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private static ResponseEntity<Object> await(CompletableFuture<ResponseEntity<Object>> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("shareit.gateway.single-flight")
+                .description("GET-запросы к серверу: leader — отправлены, coalesced — получили чужой ответ")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    // Идентификатор пользователя входит в ключ: ответ сервера зависит от того, кто спрашивает
+    @Value
+    private static class Key {
+        HttpMethod method;
+        URI uri;
+        Long userId;
+    }
+}
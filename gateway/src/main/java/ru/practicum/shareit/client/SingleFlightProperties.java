@@ -0,0 +1,17 @@
+package ru.practicum.shareit.client;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "shareit.gateway.single-flight")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+public class SingleFlightProperties {
+    boolean enabled = true;
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+
+// Ответы сервера в Smile читает RestTemplate; здесь — тела ошибок, которые BaseClient получает байтами
+@Slf4j
+public class SmileCodec {
+    public static final MediaType APPLICATION_SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    private final ObjectMapper smileMapper;
+
+    public SmileCodec(ObjectMapper smileMapper) {
+        this.smileMapper = smileMapper;
+    }
+
+    public Object read(byte[] body) {
+        try {
+            return smileMapper.readValue(body, Object.class);
+        } catch (IOException e) {
+            log.warn("Не удалось разобрать ответ сервера в Smile: {}", e.getMessage());
+            return body;
+        }
+    }
+}
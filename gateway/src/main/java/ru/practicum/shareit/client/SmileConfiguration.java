@@ -0,0 +1,32 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class SmileConfiguration {
+    @Bean
+    @ConditionalOnProperty(prefix = "shareit-server", name = "smile", havingValue = "true")
+    public SmileCodec smileCodec(Jackson2ObjectMapperBuilder builder) {
+        return new SmileCodec(builder.factory(new SmileFactory()).build());
+    }
+
+    // Smile нужен только RestTemplate для ответов сервера, публичный API gateway отвечает JSON
+    @Bean
+    public WebMvcConfigurer jsonOnlyPublicApiConfigurer() {
+        return new WebMvcConfigurer() {
+            @Override
+            public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+                converters.removeIf(MappingJackson2SmileHttpMessageConverter.class::isInstance);
+            }
+        };
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.concurrency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@Slf4j
+@ConditionalOnProperty(prefix = "shareit.virtual-threads", name = "enabled", havingValue = "true")
+public class VirtualThreadsConfiguration {
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadsProtocolHandlerCustomizer() {
+        return protocolHandler -> VirtualThreads.newPerTaskExecutor().ifPresentOrElse(
+                executor -> {
+                    log.info("Обработка запросов переведена на виртуальные потоки.");
+                    protocolHandler.setExecutor(executor);
+                },
+                () -> log.warn("Виртуальные потоки недоступны в Java {}, используется пул потоков Tomcat.",
+                        Runtime.version().feature()));
+    }
+}
@@ -1,11 +1,15 @@
 package ru.practicum.shareit.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.time.Duration;
+
 @RestControllerAdvice
 @Slf4j
 public class ErrorHandler {
@@ -16,10 +20,31 @@ public class ErrorHandler {
         return new ErrorResponse(exception.getMessage());
     }
 
+    @ExceptionHandler
+    public ResponseEntity<ErrorResponse> handleTooManyRequests(final TooManyRequestsException exception) {
+        log.warn("429 {}", exception.getMessage());
+        return withRetryAfter(HttpStatus.TOO_MANY_REQUESTS, exception.getRetryAfter(), exception.getMessage());
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<ErrorResponse> handleServiceUnavailable(final ServiceUnavailableException exception) {
+        log.warn("503 {}", exception.getMessage());
+        return withRetryAfter(HttpStatus.SERVICE_UNAVAILABLE, exception.getRetryAfter(), exception.getMessage());
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ErrorResponse handleException(final RuntimeException exception) {
         log.error("400 {}", exception.getMessage(), exception);
         return new ErrorResponse(exception.getMessage());
     }
-}
\ No newline at end of file
+
+    private static ResponseEntity<ErrorResponse> withRetryAfter(HttpStatus status, Duration retryAfter,
+                                                                String message) {
+        // Retry-After передаётся в целых секундах, округление вверх
+        long seconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(seconds))
+                .body(new ErrorResponse(message));
+    }
+}
@@ -5,13 +5,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ClientProperties;
 import ru.practicum.shareit.item.model.CommentRequestDto;
 import ru.practicum.shareit.item.model.ItemDto;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -20,11 +24,12 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientProperties clientProperties) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .setReadTimeout(clientProperties.readTimeoutOf(ItemClient.class))
                         .build()
         );
     }
@@ -44,6 +49,29 @@ public class ItemClient extends BaseClient {
         return get("/" + id, userId);
     }
 
+    public ResponseEntity<Object> getByIds(Long userId, List<Long> ids) {
+        log.info("Вывод вещей с id {}.", ids);
+
+        Map<String, Object> parameters = Map.of("ids", StringUtils.collectionToCommaDelimitedString(ids));
+        return get("?ids={ids}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> getComments(Long id, LocalDateTime beforeDate, Long beforeId, Integer size) {
+        log.info("Вывод {} комментариев к вещи с id {}, оставленных до {}.", size, id, beforeDate);
+
+        Map<String, Object> parameters = new HashMap<>(Map.of("size", size));
+        StringBuilder path = new StringBuilder("/" + id + "/comments?size={size}");
+        if (beforeDate != null) {
+            parameters.put("beforeDate", beforeDate);
+            path.append("&beforeDate={beforeDate}");
+        }
+        if (beforeId != null) {
+            parameters.put("beforeId", beforeId);
+            path.append("&beforeId={beforeId}");
+        }
+        return get(path.toString(), null, parameters);
+    }
+
     public ResponseEntity<Object> create(Long userId, ItemDto itemDto) {
         log.info("Создание вещи {} пользователем с id {}.", itemDto, userId);
         return post("", userId, itemDto);
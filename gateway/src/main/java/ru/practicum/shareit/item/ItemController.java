@@ -1,6 +1,7 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -13,14 +14,19 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.exception.BookingException;
 import ru.practicum.shareit.item.model.CommentRequestDto;
 import ru.practicum.shareit.item.model.ItemDto;
 import ru.practicum.shareit.user.UserController;
 import ru.practicum.shareit.user.model.Create;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @RestController
 @RequestMapping("/items")
@@ -43,6 +49,26 @@ public class ItemController {
         return itemClient.getById(userId, id);
     }
 
+    @GetMapping(params = "ids")
+    public ResponseEntity<Object> getByIds(
+            @RequestHeader(UserController.headerUserId) Long userId,
+            @RequestParam @NotEmpty @Size(max = UserController.BATCH_MAX_SIZE) List<@Positive Long> ids) {
+        return itemClient.getByIds(userId, ids);
+    }
+
+    @GetMapping("/{id}/comments")
+    public ResponseEntity<Object> getComments(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeDate,
+            @RequestParam(required = false) @Positive Long beforeId,
+            @RequestParam(defaultValue = UserController.PAGE_DEFAULT_SIZE, required = false) @Positive Integer size) {
+        // Курсор — пара (дата, id): id без даты страницу не определяет
+        if (beforeId != null && beforeDate == null) {
+            throw new BookingException("Параметр beforeId задаётся только вместе с beforeDate.");
+        }
+        return itemClient.getComments(id, beforeDate, beforeId, size);
+    }
+
     @PostMapping
     public ResponseEntity<Object> create(@RequestHeader(UserController.headerUserId) Long userId,
                           @Validated(Create.class) @RequestBody ItemDto itemDto) {
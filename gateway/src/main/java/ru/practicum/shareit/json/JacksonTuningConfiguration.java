@@ -0,0 +1,16 @@
+package ru.practicum.shareit.json;
+
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "shareit.json", name = "tuned", havingValue = "true", matchIfMissing = true)
+public class JacksonTuningConfiguration {
+    // Blackbird заменяет рефлексию при чтении и записи свойств DTO сгенерированными через LambdaMetafactory вызовами
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
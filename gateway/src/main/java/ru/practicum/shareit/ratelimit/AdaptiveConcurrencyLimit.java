@@ -0,0 +1,94 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// AIMD: быстрый ответ увеличивает лимит примерно на единицу за окно из limit запросов,
+// ответ медленнее обычного для своего адреса в latencyTolerance раз уменьшает его в backoffRatio раз.
+// Обычное время у каждого адреса своё, поэтому медленные по природе запросы не сокращают предел остальным
+public class AdaptiveConcurrencyLimit {
+    // Базовая задержка быстро опускается к быстрым ответам и медленно дрейфует к устойчиво медленным
+    private static final double BASELINE_DOWN = 0.1;
+    private static final double BASELINE_UP = 0.01;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double latencyTolerance;
+    private final long minLatencyNanos;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong limitBits;
+    private final Map<String, AtomicLong> baselines = new ConcurrentHashMap<>();
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double latencyTolerance,
+                                    long minLatencyNanos, double backoffRatio) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTolerance = latencyTolerance;
+        this.minLatencyNanos = minLatencyNanos;
+        this.backoffRatio = backoffRatio;
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(initialLimit));
+    }
+
+    public boolean tryAcquire() {
+        if (inFlight.incrementAndGet() > getLimit()) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    // Освобождает место без замера: время жизни потоковых ответов о перегрузке не говорит
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public void release(String endpoint, long latencyNanos) {
+        inFlight.decrementAndGet();
+        boolean slow = isSlow(endpoint, latencyNanos);
+        while (true) {
+            long current = limitBits.get();
+            double limit = Double.longBitsToDouble(current);
+            double next = slow
+                    ? Math.max(minLimit, limit * backoffRatio)
+                    : Math.min(maxLimit, limit + 1 / limit);
+            if (next == limit || limitBits.compareAndSet(current, Double.doubleToLongBits(next))) {
+                return;
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getBaseline(String endpoint) {
+        AtomicLong baseline = baselines.get(endpoint);
+        return baseline == null ? 0 : (long) Double.longBitsToDouble(baseline.get());
+    }
+
+    // Первый ответ адреса только задаёт его базовую задержку
+    private boolean isSlow(String endpoint, long latencyNanos) {
+        AtomicLong baseline = baselines.get(endpoint);
+        if (baseline == null) {
+            baseline = baselines.putIfAbsent(endpoint, new AtomicLong(Double.doubleToLongBits(latencyNanos)));
+            if (baseline == null) {
+                return false;
+            }
+        }
+
+        long previous = baseline.getAndUpdate(bits -> {
+            double current = Double.longBitsToDouble(bits);
+            double weight = latencyNanos < current ? BASELINE_DOWN : BASELINE_UP;
+            return Double.doubleToLongBits(current + (latencyNanos - current) * weight);
+        });
+        return latencyNanos > minLatencyNanos
+                && latencyNanos > Double.longBitsToDouble(previous) * latencyTolerance;
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@Slf4j
+@EnableConfigurationProperties(RateLimitProperties.class)
+@ConditionalOnProperty(prefix = "shareit.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfiguration {
+    @Bean
+    public RateLimitInterceptor rateLimitInterceptor(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        RateLimitProperties.Bucket user = properties.getUser();
+        RateLimitProperties.Bucket global = properties.getGlobal();
+        RateLimitProperties.Concurrency concurrency = properties.getConcurrency();
+        log.info("Лимит запросов: пользователь {}/с (всплеск {}), всего {}/с (всплеск {}).", user.getRate(),
+                user.getBurst(), global.getRate(), global.getBurst());
+
+        UserTokenBuckets userBuckets = new UserTokenBuckets(user.getRate(), user.getBurst(),
+                properties.getMaxUsers(), System::nanoTime);
+        AdaptiveConcurrencyLimit concurrencyLimit = new AdaptiveConcurrencyLimit(concurrency.getInitialLimit(),
+                concurrency.getMinLimit(), concurrency.getMaxLimit(), concurrency.getLatencyTolerance(),
+                concurrency.getMinLatency().toNanos(), concurrency.getBackoffRatio());
+        Gauge.builder("shareit.gateway.concurrency.limit", concurrencyLimit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Текущий предел одновременных запросов к серверу")
+                .register(meterRegistry);
+        Gauge.builder("shareit.gateway.concurrency.in-flight", concurrencyLimit,
+                        AdaptiveConcurrencyLimit::getInFlight)
+                .description("Запросы, обрабатываемые gateway")
+                .register(meterRegistry);
+        Gauge.builder("shareit.gateway.rate-limit.users", userBuckets, UserTokenBuckets::size)
+                .description("Пользователи с активной корзиной токенов")
+                .register(meterRegistry);
+
+        return new RateLimitInterceptor(userBuckets, new TokenBucket(global.getRate(), global.getBurst(),
+                System::nanoTime), concurrencyLimit, meterRegistry);
+    }
+
+    @Bean
+    public WebMvcConfigurer rateLimitConfigurer(RateLimitInterceptor rateLimitInterceptor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(rateLimitInterceptor);
+            }
+        };
+    }
+}
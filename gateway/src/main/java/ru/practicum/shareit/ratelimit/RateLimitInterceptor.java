@@ -0,0 +1,120 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+import ru.practicum.shareit.exception.TooManyRequestsException;
+import ru.practicum.shareit.user.UserController;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.time.Duration;
+
+public class RateLimitInterceptor implements AsyncHandlerInterceptor {
+    private static final String STARTED = RateLimitInterceptor.class.getName() + ".STARTED";
+    private static final Duration SHED_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final UserTokenBuckets userBuckets;
+    private final TokenBucket globalBucket;
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+    private final Counter userRejected;
+    private final Counter globalRejected;
+    private final Counter shed;
+
+    public RateLimitInterceptor(UserTokenBuckets userBuckets, TokenBucket globalBucket,
+                                AdaptiveConcurrencyLimit concurrencyLimit, MeterRegistry meterRegistry) {
+        this.userBuckets = userBuckets;
+        this.globalBucket = globalBucket;
+        this.concurrencyLimit = concurrencyLimit;
+        this.userRejected = rejectedCounter(meterRegistry, "user");
+        this.globalRejected = rejectedCounter(meterRegistry, "global");
+        this.shed = rejectedCounter(meterRegistry, "shed");
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Повторная диспетчеризация асинхронного ответа уже прошла проверку
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+
+        // Токены списываются, только если запрос прошёл все проверки: отклонённый дальше возвращает их
+        Long userId = userIdOf(request);
+        if (userId != null) {
+            long wait = userBuckets.tryAcquire(userId);
+            if (wait > 0) {
+                userRejected.increment();
+                throw new TooManyRequestsException("Превышен лимит запросов пользователя.", Duration.ofNanos(wait));
+            }
+        }
+        long wait = globalBucket.tryAcquire();
+        if (wait > 0) {
+            refund(userId);
+            globalRejected.increment();
+            throw new TooManyRequestsException("Превышен общий лимит запросов.", Duration.ofNanos(wait));
+        }
+        if (!concurrencyLimit.tryAcquire()) {
+            globalBucket.refund();
+            refund(userId);
+            shed.increment();
+            throw new ServiceUnavailableException("Сервер перегружен, повторите запрос позже.", SHED_RETRY_AFTER);
+        }
+
+        request.setAttribute(STARTED, System.nanoTime());
+        return true;
+    }
+
+    // Потоковый ответ продолжается вне обработчика и не занимает место в пределе одновременных запросов
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        if (request.getAttribute(STARTED) != null) {
+            request.removeAttribute(STARTED);
+            concurrencyLimit.release();
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object started = request.getAttribute(STARTED);
+        if (started != null) {
+            request.removeAttribute(STARTED);
+            concurrencyLimit.release(endpointOf(request), System.nanoTime() - (Long) started);
+        }
+    }
+
+    private void refund(Long userId) {
+        if (userId != null) {
+            userBuckets.refund(userId);
+        }
+    }
+
+    // Шаблон адреса, а не сам путь: задержка копится по обработчику, а не по каждому id
+    private static String endpointOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? request.getMethod() + " " + pattern : request.getMethod();
+    }
+
+    private static Long userIdOf(HttpServletRequest request) {
+        String header = request.getHeader(UserController.headerUserId);
+        if (header == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(header.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("shareit.gateway.rate-limit.rejected")
+                .description("Запросы, отклонённые gateway до отправки на сервер")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "shareit.rate-limit")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+public class RateLimitProperties {
+    boolean enabled = true;
+    Bucket user = new Bucket(50, 100);
+    Bucket global = new Bucket(10_000, 20_000);
+    int maxUsers = 100_000;
+    Concurrency concurrency = new Concurrency();
+
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    @Getter
+    @Setter
+    public static class Bucket {
+        double rate;
+        int burst;
+
+        public Bucket() {
+        }
+
+        public Bucket(double rate, int burst) {
+            this.rate = rate;
+            this.burst = burst;
+        }
+    }
+
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    @Getter
+    @Setter
+    public static class Concurrency {
+        int initialLimit = 64;
+        int minLimit = 8;
+        int maxLimit = 512;
+        double latencyTolerance = 2.0;
+        Duration minLatency = Duration.ofMillis(50);
+        double backoffRatio = 0.9;
+    }
+}
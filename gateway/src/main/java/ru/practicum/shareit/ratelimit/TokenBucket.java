@@ -0,0 +1,49 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Корзина хранится как время, к которому израсходованные токены восстановятся (GCRA):
+// одно AtomicLong, изменяемое через compareAndSet, без блокировок
+public class TokenBucket {
+    private final long refillNanos;
+    private final long burstNanos;
+    private final LongSupplier clock;
+    private final AtomicLong refilledAt;
+
+    public TokenBucket(double ratePerSecond, int burst, LongSupplier clock) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Скорость и размер корзины должны быть положительными.");
+        }
+        this.refillNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond));
+        this.burstNanos = refillNanos * burst;
+        this.clock = clock;
+        this.refilledAt = new AtomicLong(clock.getAsLong());
+    }
+
+    // 0, если токен получен, иначе время в наносекундах до появления следующего токена
+    public long tryAcquire() {
+        long now = clock.getAsLong();
+        while (true) {
+            long current = refilledAt.get();
+            long next = Math.max(current, now) + refillNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (refilledAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // Возвращает токен запроса, отклонённого следующей проверкой
+    public void refund() {
+        refilledAt.addAndGet(-refillNanos);
+    }
+
+    public boolean isFull() {
+        return refilledAt.get() - clock.getAsLong() <= 0;
+    }
+}
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+// Корзины пользователей разложены по сегментам: при переполнении сегмента из него удаляются
+// полные (давно не использованные) корзины, не затрагивая остальные сегменты
+public class UserTokenBuckets {
+    private static final int SHARD_BITS = 6;
+    private static final int SHARDS = 1 << SHARD_BITS;
+
+    private final Map<Long, TokenBucket>[] shards;
+    private final int maxPerShard;
+    private final double ratePerSecond;
+    private final int burst;
+    private final LongSupplier clock;
+
+    @SuppressWarnings("unchecked")
+    public UserTokenBuckets(double ratePerSecond, int burst, int maxUsers, LongSupplier clock) {
+        this.shards = new Map[SHARDS];
+        for (int i = 0; i < SHARDS; i++) {
+            shards[i] = new ConcurrentHashMap<>();
+        }
+        this.maxPerShard = Math.max(1, maxUsers / SHARDS);
+        this.ratePerSecond = ratePerSecond;
+        this.burst = burst;
+        this.clock = clock;
+    }
+
+    public long tryAcquire(Long userId) {
+        Map<Long, TokenBucket> shard = shardOf(userId);
+        TokenBucket bucket = shard.get(userId);
+        if (bucket == null) {
+            if (shard.size() >= maxPerShard) {
+                shard.values().removeIf(TokenBucket::isFull);
+            }
+            bucket = shard.computeIfAbsent(userId, id -> new TokenBucket(ratePerSecond, burst, clock));
+        }
+        return bucket.tryAcquire();
+    }
+
+    public void refund(Long userId) {
+        TokenBucket bucket = shardOf(userId).get(userId);
+        if (bucket != null) {
+            bucket.refund();
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Map<Long, TokenBucket> shard : shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    private Map<Long, TokenBucket> shardOf(Long userId) {
+        // Старшие биты произведения на нечётную константу перемешивают последовательные id
+        return shards[(Long.hashCode(userId) * 0x9E3779B9) >>> (Integer.SIZE - SHARD_BITS)];
+    }
+}
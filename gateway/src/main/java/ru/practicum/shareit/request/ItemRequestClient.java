@@ -5,10 +5,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ClientProperties;
 import ru.practicum.shareit.request.model.ItemRequestCreateDto;
 
 import java.util.Map;
@@ -19,11 +20,12 @@ public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                             ClientProperties clientProperties) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .setReadTimeout(clientProperties.readTimeoutOf(ItemRequestClient.class))
                         .build()
         );
     }
@@ -43,6 +45,11 @@ public class ItemRequestClient extends BaseClient {
         return get("", userId);
     }
 
+    public ResponseEntity<StreamingResponseBody> events(Long userId) {
+        log.info("Подписка пользователя с id {} на подходящие запросы вещей.", userId);
+        return events("/events", userId, null);
+    }
+
     public ResponseEntity<Object> getAll(Long userId, Integer from, Integer size) {
         log.info("Вывод всех запросов вещей постранично from={} size={}.", from, size);
 
@@ -4,23 +4,30 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ClientProperties;
 import ru.practicum.shareit.user.model.UserDto;
 
+import java.util.List;
+import java.util.Map;
+
 @Service
 @Slf4j
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientProperties clientProperties) {
         super(builder
                 .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                .setReadTimeout(clientProperties.readTimeoutOf(UserClient.class))
                 .build()
         );
     }
@@ -30,6 +37,28 @@ public class UserClient extends BaseClient {
         return get("");
     }
 
+    public ResponseEntity<Object> getPage(Long afterId, Integer size) {
+        log.info("Вывод {} пользователей с id больше {}.", size, afterId);
+
+        Map<String, Object> parameters = Map.of(
+                "afterId", afterId,
+                "size", size
+        );
+        return get("?afterId={afterId}&size={size}", null, parameters);
+    }
+
+    public ResponseEntity<Object> getByIds(List<Long> ids) {
+        log.info("Вывод пользователей с id {}.", ids);
+
+        Map<String, Object> parameters = Map.of("ids", StringUtils.collectionToCommaDelimitedString(ids));
+        return get("?ids={ids}", null, parameters);
+    }
+
+    public ResponseEntity<StreamingResponseBody> stream() {
+        log.info("Потоковый вывод всех пользователей.");
+        return stream("/stream", MediaType.APPLICATION_NDJSON);
+    }
+
     public ResponseEntity<Object> getById(Long id) {
         log.info("Вывод пользователя с id {}.", id);
         return get("/" + id);
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -10,18 +11,29 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.user.model.Create;
 import ru.practicum.shareit.user.model.Update;
 import ru.practicum.shareit.user.model.UserDto;
 
+import javax.validation.constraints.Max;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.util.List;
+
 @RestController
 @RequestMapping(path = "/users")
 @RequiredArgsConstructor
+@Validated
 public class UserController {
     public static final String headerUserId = "X-Sharer-User-Id";
     public static final String PAGE_DEFAULT_FROM = "0";
     public static final String PAGE_DEFAULT_SIZE = "10";
+    public static final int BATCH_MAX_SIZE = 100;
     private final UserClient userClient;
 
     @GetMapping
@@ -29,6 +41,24 @@ public class UserController {
         return userClient.getAll();
     }
 
+    @GetMapping(params = "size")
+    public ResponseEntity<Object> getPage(
+            @RequestParam(defaultValue = "0") @PositiveOrZero Long afterId,
+            @RequestParam @Positive @Max(BATCH_MAX_SIZE) Integer size) {
+        return userClient.getPage(afterId, size);
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<Object> getByIds(
+            @RequestParam @NotEmpty @Size(max = BATCH_MAX_SIZE) List<@Positive Long> ids) {
+        return userClient.getByIds(ids);
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> stream() {
+        return userClient.stream();
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Object> getById(@PathVariable Long id) {
         return userClient.getById(id);
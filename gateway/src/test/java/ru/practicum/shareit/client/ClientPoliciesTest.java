@@ -0,0 +1,220 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ClientPoliciesTest {
+    private final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+            .slidingWindowSize(4)
+            .minimumNumberOfCalls(4)
+            .failureRateThreshold(50)
+            .waitDurationInOpenState(Duration.ofSeconds(10))
+            .ignoreExceptions(HttpClientErrorException.class, BulkheadFullException.class)
+            .build());
+    private final BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+            .maxConcurrentCalls(1)
+            .maxWaitDuration(Duration.ZERO)
+            .build());
+    private final RetryRegistry retryRegistry = RetryRegistry.of(RetryConfig.custom()
+            .maxAttempts(3)
+            .waitDuration(Duration.ofMillis(1))
+            .retryExceptions(ResourceAccessException.class)
+            .build());
+    private final ClientPolicies clientPolicies = new ClientPolicies(circuitBreakerRegistry, bulkheadRegistry,
+            retryRegistry);
+    private final AtomicInteger calls = new AtomicInteger();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    public void afterEach() {
+        executor.shutdownNow();
+    }
+
+    @Nested
+    class CircuitBreakers {
+        @Test
+        public void shouldOpenOnServerErrorsAndRejectWithRetryAfter() {
+            for (int i = 0; i < 4; i++) {
+                assertThrows(HttpServerErrorException.class, () -> clientPolicies.execute("ItemClient",
+                        HttpMethod.POST, failing(new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR))));
+            }
+
+            ServiceUnavailableException e = assertThrows(ServiceUnavailableException.class,
+                    () -> clientPolicies.execute("ItemClient", HttpMethod.GET, ok()));
+
+            assertEquals(Duration.ofSeconds(10), e.getRetryAfter());
+            assertEquals(4, calls.get());
+            assertEquals(CircuitBreaker.State.CLOSED, circuitBreakerRegistry.circuitBreaker("UserClient").getState());
+            assertEquals(HttpStatus.OK, clientPolicies.execute("UserClient", HttpMethod.GET, ok()).getStatusCode());
+        }
+
+        @Test
+        public void shouldIgnoreClientErrors() {
+            for (int i = 0; i < 4; i++) {
+                assertThrows(HttpClientErrorException.class, () -> clientPolicies.execute("ItemClient",
+                        HttpMethod.GET, failing(new HttpClientErrorException(HttpStatus.NOT_FOUND))));
+            }
+
+            assertEquals(CircuitBreaker.State.CLOSED, circuitBreakerRegistry.circuitBreaker("ItemClient").getState());
+        }
+    }
+
+    @Nested
+    class Bulkheads {
+        @Test
+        public void shouldRejectWhenClientBulkheadIsFull() throws Exception {
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            executor.submit(() -> clientPolicies.execute("BookingClient", HttpMethod.GET, () -> {
+                started.countDown();
+                await(release);
+                return ResponseEntity.ok().build();
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            ServiceUnavailableException e = assertThrows(ServiceUnavailableException.class,
+                    () -> clientPolicies.execute("BookingClient", HttpMethod.GET, ok()));
+
+            assertEquals(Duration.ofSeconds(1), e.getRetryAfter());
+            assertEquals(HttpStatus.OK, clientPolicies.execute("ItemRequestClient", HttpMethod.GET, ok())
+                    .getStatusCode());
+            assertEquals(CircuitBreaker.State.CLOSED,
+                    circuitBreakerRegistry.circuitBreaker("BookingClient").getState());
+            release.countDown();
+        }
+    }
+
+    @Nested
+    class Streams {
+        @Test
+        public void shouldHoldBulkheadUntilStreamCloses() {
+            ClientPolicies.StreamPermit permit = clientPolicies.acquireStream("BookingClient");
+            permit.opened(HttpStatus.OK.value());
+
+            assertThrows(ServiceUnavailableException.class,
+                    () -> clientPolicies.execute("BookingClient", HttpMethod.GET, ok()));
+            assertThrows(ServiceUnavailableException.class, () -> clientPolicies.acquireStream("BookingClient"));
+
+            permit.close();
+            permit.close();
+            assertEquals(HttpStatus.OK, clientPolicies.execute("BookingClient", HttpMethod.GET, ok())
+                    .getStatusCode());
+        }
+
+        @Test
+        public void shouldOpenOnServerErrorsOfStreams() {
+            for (int i = 0; i < 4; i++) {
+                try (ClientPolicies.StreamPermit permit = clientPolicies.acquireStream("UserClient")) {
+                    permit.opened(HttpStatus.SERVICE_UNAVAILABLE.value());
+                }
+            }
+
+            ServiceUnavailableException e = assertThrows(ServiceUnavailableException.class,
+                    () -> clientPolicies.acquireStream("UserClient"));
+            assertEquals(Duration.ofSeconds(10), e.getRetryAfter());
+        }
+
+        @Test
+        public void shouldIgnoreClientErrorsOfStreams() {
+            for (int i = 0; i < 4; i++) {
+                try (ClientPolicies.StreamPermit permit = clientPolicies.acquireStream("UserClient")) {
+                    permit.opened(HttpStatus.NOT_FOUND.value());
+                }
+            }
+
+            assertEquals(CircuitBreaker.State.CLOSED, circuitBreakerRegistry.circuitBreaker("UserClient").getState());
+        }
+
+        @Test
+        public void shouldCountFailedOpeningAndReleaseBulkhead() {
+            for (int i = 0; i < 4; i++) {
+                clientPolicies.acquireStream("UserClient").failed(new ResourceAccessException("Connection refused"));
+            }
+
+            assertEquals(CircuitBreaker.State.OPEN, circuitBreakerRegistry.circuitBreaker("UserClient").getState());
+            assertEquals(1, bulkheadRegistry.bulkhead("UserClient").getMetrics().getAvailableConcurrentCalls());
+        }
+    }
+
+    @Nested
+    class Retries {
+        @Test
+        public void shouldRetryGetOnIoError() {
+            ResponseEntity<Object> response = clientPolicies.execute("ItemClient", HttpMethod.GET, () -> {
+                if (calls.incrementAndGet() < 3) {
+                    throw new ResourceAccessException("Connection reset");
+                }
+                return ResponseEntity.ok().build();
+            });
+
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals(3, calls.get());
+        }
+
+        @Test
+        public void shouldNotRetryPost() {
+            assertThrows(ResourceAccessException.class, () -> clientPolicies.execute("ItemClient", HttpMethod.POST,
+                    failing(new ResourceAccessException("Connection reset"))));
+
+            assertEquals(1, calls.get());
+        }
+
+        @Test
+        public void shouldNotRetryServerErrors() {
+            assertThrows(HttpServerErrorException.class, () -> clientPolicies.execute("ItemClient", HttpMethod.GET,
+                    failing(new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR))));
+
+            assertEquals(1, calls.get());
+        }
+    }
+
+    private Supplier<ResponseEntity<Object>> ok() {
+        return () -> {
+            calls.incrementAndGet();
+            return ResponseEntity.ok().build();
+        };
+    }
+
+    private Supplier<ResponseEntity<Object>> failing(RuntimeException e) {
+        return () -> {
+            calls.incrementAndGet();
+            throw e;
+        };
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
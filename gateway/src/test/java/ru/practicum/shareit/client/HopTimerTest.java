@@ -0,0 +1,65 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+public class HopTimerTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private MockRestServiceServer server;
+    private TestClient client;
+
+    @BeforeEach
+    public void beforeEach() {
+        RestTemplate rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory("http://localhost:9090/users"));
+        server = MockRestServiceServer.bindTo(rest).build();
+        client = new TestClient(rest);
+        client.setMeterRegistry(meterRegistry);
+    }
+
+    @Nested
+    class Hop {
+        @Test
+        public void shouldTimeCallsByStatus() {
+            server.expect(requestTo("http://localhost:9090/users/1"))
+                    .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+            server.expect(requestTo("http://localhost:9090/users/2"))
+                    .andRespond(withStatus(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON)
+                            .body("{\"error\":\"Пользователь не найден\"}"));
+
+            client.get("/1");
+            client.get("/2");
+
+            assertEquals(1, hop("200").count());
+            assertEquals(1, hop("404").count());
+        }
+    }
+
+    private Timer hop(String status) {
+        return meterRegistry.get("shareit.gateway.hop")
+                .tag("client", TestClient.class.getSimpleName())
+                .tag("method", "GET")
+                .tag("status", status)
+                .timer();
+    }
+
+    private static class TestClient extends BaseClient {
+        TestClient(RestTemplate rest) {
+            super(rest);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.Compression;
+import org.springframework.boot.web.server.Http2;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JdkClientHttpRequestFactoryTest {
+    private WebServer server;
+    private HttpClient httpClient;
+    private RestTemplate rest;
+
+    @BeforeEach
+    public void beforeEach() {
+        TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory(0);
+        Http2 http2 = new Http2();
+        http2.setEnabled(true);
+        factory.setHttp2(http2);
+        Compression compression = new Compression();
+        compression.setEnabled(true);
+        compression.setMimeTypes(new String[]{MediaType.APPLICATION_JSON_VALUE});
+        compression.setMinResponseSize(DataSize.ofBytes(0));
+        factory.setCompression(compression);
+        server = factory.getWebServer(servletContext -> servletContext.addServlet("echo", new EchoServlet())
+                .addMapping("/*"));
+        server.start();
+
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .build();
+        rest = new RestTemplateBuilder()
+                .rootUri("http://localhost:" + server.getPort())
+                .requestFactory(() -> new JdkClientHttpRequestFactory(httpClient))
+                .setReadTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    @AfterEach
+    public void afterEach() {
+        server.stop();
+    }
+
+    @Nested
+    class H2c {
+        @Test
+        public void shouldUseHttp2AndUnzipResponse() {
+            ResponseEntity<Map> response = rest.getForEntity("/items", Map.class);
+
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals("HTTP/2.0", response.getBody().get("protocol"));
+            assertEquals("gzip", response.getBody().get("acceptEncoding"));
+            assertFalse(response.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING));
+        }
+
+        @Test
+        public void shouldSendBodyAndHeaders() {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.set("X-Sharer-User-Id", "7");
+
+            ResponseEntity<Map> response = rest.exchange("/items", HttpMethod.POST,
+                    new HttpEntity<>("{\"name\":\"Drill\"}", headers), Map.class);
+
+            assertEquals("POST", response.getBody().get("method"));
+            assertEquals("7", response.getBody().get("userId"));
+            assertEquals("{\"name\":\"Drill\"}", response.getBody().get("body"));
+        }
+
+        @Test
+        public void shouldPassErrorStatus() {
+            HttpClientErrorException e = assertThrows(HttpClientErrorException.class,
+                    () -> rest.getForEntity("/missing", Map.class));
+
+            assertEquals(HttpStatus.NOT_FOUND, e.getStatusCode());
+            assertEquals("{\"error\":\"missing\"}", e.getResponseBodyAsString());
+        }
+
+        @Test
+        public void shouldTimeOutStalledBody() {
+            RestTemplate impatient = restWithReadTimeout(Duration.ofMillis(300));
+
+            long started = System.nanoTime();
+            RestClientException e = assertThrows(RestClientException.class,
+                    () -> impatient.getForEntity("/stalled", String.class));
+
+            assertInstanceOf(SocketTimeoutException.class, e.getCause());
+            assertTrue(System.nanoTime() - started < Duration.ofSeconds(2).toNanos());
+            assertFalse(Thread.currentThread().isInterrupted());
+        }
+
+        @Test
+        public void shouldKeepReadingSlowBodyWhileDataArrives() {
+            RestTemplate impatient = restWithReadTimeout(Duration.ofMillis(300));
+
+            ResponseEntity<String> response = impatient.getForEntity("/slow", String.class);
+
+            assertEquals("0123456789", response.getBody());
+        }
+    }
+
+    private RestTemplate restWithReadTimeout(Duration readTimeout) {
+        return new RestTemplateBuilder()
+                .rootUri("http://localhost:" + server.getPort())
+                .requestFactory(() -> new JdkClientHttpRequestFactory(httpClient))
+                .setReadTimeout(readTimeout)
+                .build();
+    }
+
+    private static class EchoServlet extends HttpServlet {
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            String body = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8)
+                    .replace("\"", "\\\"");
+            if (request.getRequestURI().equals("/stalled") || request.getRequestURI().equals("/slow")) {
+                writeSlowly(response, request.getRequestURI().equals("/stalled") ? 3000 : 100);
+                return;
+            }
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            if (request.getRequestURI().equals("/missing")) {
+                response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                response.getWriter().write("{\"error\":\"missing\"}");
+                return;
+            }
+            response.getWriter().write(String.format("{\"protocol\":\"%s\",\"method\":\"%s\",\"acceptEncoding\":\"%s\","
+                            + "\"userId\":\"%s\",\"body\":\"%s\"}", request.getProtocol(), request.getMethod(),
+                    request.getHeader(HttpHeaders.ACCEPT_ENCODING), request.getHeader("X-Sharer-User-Id"), body));
+        }
+
+        private void writeSlowly(HttpServletResponse response, long pauseMillis) throws IOException {
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            for (int i = 0; i < 10; i++) {
+                response.getWriter().write(String.valueOf(i));
+                response.flushBuffer();
+                try {
+                    Thread.sleep(pauseMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
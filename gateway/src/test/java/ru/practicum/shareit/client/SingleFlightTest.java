@@ -0,0 +1,203 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SingleFlightTest {
+    private static final URI SEARCH_URI = URI.create("http://localhost:9090/items/search?text=drill&from=0&size=10");
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlightProperties properties = new SingleFlightProperties();
+    private final SingleFlight singleFlight = new SingleFlight(properties, meterRegistry);
+    private final AtomicInteger calls = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void beforeEach() {
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    public void afterEach() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Nested
+    class Coalescing {
+        @Test
+        public void shouldShareLeaderResponse() throws Exception {
+            ResponseEntity<Object> response = ResponseEntity.ok(List.of("drill"));
+            Future<ResponseEntity<Object>> leader = submit(HttpMethod.GET, null, blockingCall(response));
+            awaitCalls(1);
+
+            List<Future<ResponseEntity<Object>>> followers = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                followers.add(submit(HttpMethod.GET, null, blockingCall(response)));
+            }
+            awaitCount("coalesced", 5);
+            release.countDown();
+
+            assertSame(response, leader.get(5, TimeUnit.SECONDS));
+            for (Future<ResponseEntity<Object>> follower : followers) {
+                assertSame(response, follower.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, calls.get());
+            assertEquals(1, count("leader"));
+        }
+
+        @Test
+        public void shouldNotShareBetweenUsers() throws Exception {
+            Future<ResponseEntity<Object>> first = submit(HttpMethod.GET, 1L, blockingCall(ResponseEntity.ok("1")));
+            awaitCalls(1);
+
+            ResponseEntity<Object> second = singleFlight.execute(HttpMethod.GET, SEARCH_URI, 2L,
+                    countingCall(ResponseEntity.ok("2")));
+            release.countDown();
+
+            assertEquals("2", second.getBody());
+            assertEquals("1", first.get(5, TimeUnit.SECONDS).getBody());
+            assertEquals(2, calls.get());
+        }
+
+        @Test
+        public void shouldStartNewFlightAfterLeaderCompleted() {
+            singleFlight.execute(HttpMethod.GET, SEARCH_URI, null, countingCall(ResponseEntity.ok("1")));
+            ResponseEntity<Object> response = singleFlight.execute(HttpMethod.GET, SEARCH_URI, null,
+                    countingCall(ResponseEntity.ok("2")));
+
+            assertEquals("2", response.getBody());
+            assertEquals(2, count("leader"));
+            assertEquals(0, count("coalesced"));
+        }
+
+        @Test
+        public void shouldPropagateLeaderExceptionToFollowers() throws Exception {
+            Future<ResponseEntity<Object>> leader = submit(HttpMethod.GET, null, () -> {
+                calls.incrementAndGet();
+                awaitRelease();
+                throw new ResourceAccessException("Сервер недоступен");
+            });
+            awaitCalls(1);
+            Future<ResponseEntity<Object>> follower = submit(HttpMethod.GET, null, countingCall(ResponseEntity.ok()
+                    .build()));
+            awaitCount("coalesced", 1);
+            release.countDown();
+
+            ExecutionException leaderException = assertThrows(ExecutionException.class,
+                    () -> leader.get(5, TimeUnit.SECONDS));
+            ExecutionException followerException = assertThrows(ExecutionException.class,
+                    () -> follower.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(ResourceAccessException.class, leaderException.getCause());
+            assertSame(leaderException.getCause(), followerException.getCause());
+            assertEquals(1, calls.get());
+        }
+    }
+
+    @Nested
+    class Safeguards {
+        @Test
+        public void shouldNeverMergeMutatingRequests() throws Exception {
+            Future<ResponseEntity<Object>> first = submit(HttpMethod.POST, 1L, blockingCall(ResponseEntity.ok("1")));
+            awaitCalls(1);
+
+            ResponseEntity<Object> second = singleFlight.execute(HttpMethod.POST, SEARCH_URI, 1L,
+                    countingCall(ResponseEntity.ok("2")));
+            release.countDown();
+
+            assertEquals("2", second.getBody());
+            assertEquals("1", first.get(5, TimeUnit.SECONDS).getBody());
+            assertEquals(2, calls.get());
+            assertEquals(0, count("leader"));
+        }
+
+        @Test
+        public void shouldCallDirectlyIfDisabled() throws Exception {
+            properties.setEnabled(false);
+            Future<ResponseEntity<Object>> first = submit(HttpMethod.GET, null, blockingCall(ResponseEntity.ok("1")));
+            awaitCalls(1);
+
+            singleFlight.execute(HttpMethod.GET, SEARCH_URI, null, countingCall(ResponseEntity.ok("2")));
+            release.countDown();
+
+            first.get(5, TimeUnit.SECONDS);
+            assertEquals(2, calls.get());
+            assertEquals(0, count("coalesced"));
+        }
+    }
+
+    private Future<ResponseEntity<Object>> submit(HttpMethod method, Long userId,
+                                                  Supplier<ResponseEntity<Object>> call) {
+        return executor.submit(() -> singleFlight.execute(method, SEARCH_URI, userId, call));
+    }
+
+    private Supplier<ResponseEntity<Object>> blockingCall(ResponseEntity<Object> response) {
+        return () -> {
+            calls.incrementAndGet();
+            awaitRelease();
+            return response;
+        };
+    }
+
+    private Supplier<ResponseEntity<Object>> countingCall(ResponseEntity<Object> response) {
+        return () -> {
+            calls.incrementAndGet();
+            return response;
+        };
+    }
+
+    private void awaitRelease() {
+        try {
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void awaitCalls(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (calls.get() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(expected, calls.get());
+    }
+
+    private void awaitCount(String outcome, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count(outcome) < expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(expected, count(outcome));
+    }
+
+    private long count(String outcome) {
+        return (long) meterRegistry.get("shareit.gateway.single-flight").tag("outcome", outcome).counter().count();
+    }
+}
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+public class SmileCodecTest {
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+
+    private MockRestServiceServer server;
+    private TestClient client;
+
+    @BeforeEach
+    public void beforeEach() {
+        RestTemplate rest = new RestTemplate(List.of(new MappingJackson2HttpMessageConverter(),
+                new MappingJackson2SmileHttpMessageConverter(smileMapper)));
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory("http://localhost:9090/users"));
+        server = MockRestServiceServer.bindTo(rest).build();
+        client = new TestClient(rest);
+        client.setSmileCodec(new SmileCodec(smileMapper));
+    }
+
+    @Nested
+    class Negotiation {
+        @Test
+        public void shouldAskForSmileAndDropServerRepresentationHeaders() throws Exception {
+            server.expect(requestTo("http://localhost:9090/users/1"))
+                    .andExpect(method(HttpMethod.GET))
+                    .andExpect(header(HttpHeaders.ACCEPT, "application/x-jackson-smile, application/json"))
+                    .andRespond(withSuccess(smileMapper.writeValueAsBytes(Map.of("id", 1, "name", "Test user")),
+                            SmileCodec.APPLICATION_SMILE));
+
+            ResponseEntity<Object> response = client.getById(1L);
+
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals(Map.of("id", 1, "name", "Test user"), response.getBody());
+            assertFalse(response.getHeaders().containsKey(HttpHeaders.CONTENT_TYPE));
+            assertFalse(response.getHeaders().containsKey(HttpHeaders.CONTENT_LENGTH));
+            server.verify();
+        }
+
+        @Test
+        public void shouldDecodeSmileErrorBody() throws Exception {
+            server.expect(requestTo("http://localhost:9090/users/2"))
+                    .andRespond(withStatus(HttpStatus.NOT_FOUND)
+                            .contentType(SmileCodec.APPLICATION_SMILE)
+                            .body(smileMapper.writeValueAsBytes(Map.of("error", "Пользователь не найден"))));
+
+            ResponseEntity<Object> response = client.getById(2L);
+
+            assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+            assertEquals(Map.of("error", "Пользователь не найден"), response.getBody());
+        }
+
+        @Test
+        public void shouldAskForJsonWithoutCodec() {
+            client.setSmileCodec(null);
+            server.expect(requestTo("http://localhost:9090/users/1"))
+                    .andExpect(header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE))
+                    .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+
+            assertEquals(Map.of("id", 1), client.getById(1L).getBody());
+        }
+    }
+
+    private static class TestClient extends BaseClient {
+        TestClient(RestTemplate rest) {
+            super(rest);
+        }
+
+        ResponseEntity<Object> getById(long id) {
+            return get("/" + id);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+public class StreamProxyTest {
+    private MockRestServiceServer server;
+    private TestClient client;
+
+    @BeforeEach
+    public void beforeEach() {
+        RestTemplate rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory("http://localhost:9090/users"));
+        server = MockRestServiceServer.bindTo(rest).build();
+        client = new TestClient(rest);
+    }
+
+    @Nested
+    class Stream {
+        @Test
+        public void shouldOpenServerStreamBeforeResponding() throws Exception {
+            server.expect(requestTo("http://localhost:9090/users/stream"))
+                    .andExpect(method(HttpMethod.GET))
+                    .andExpect(header(HttpHeaders.ACCEPT, "application/x-ndjson, application/json"))
+                    .andRespond(withSuccess("{\"id\":1}\n", MediaType.APPLICATION_NDJSON));
+
+            ResponseEntity<StreamingResponseBody> response = client.stream();
+            server.verify();
+
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+            assertEquals("{\"id\":1}\n", read(response));
+        }
+
+        @Test
+        public void shouldPassServerErrorStatus() throws Exception {
+            server.expect(requestTo("http://localhost:9090/users/stream"))
+                    .andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .body("{\"error\":\"Сервер перегружен\"}"));
+
+            ResponseEntity<StreamingResponseBody> response = client.stream();
+
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+            assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+            assertEquals("{\"error\":\"Сервер перегружен\"}", read(response));
+        }
+
+        @Test
+        public void shouldHoldBulkheadWhileStreamIsOpen() throws Exception {
+            client.setClientPolicies(new ClientPolicies(CircuitBreakerRegistry.ofDefaults(),
+                    BulkheadRegistry.of(BulkheadConfig.custom().maxConcurrentCalls(1).build()),
+                    RetryRegistry.ofDefaults()));
+            server.expect(requestTo("http://localhost:9090/users/stream"))
+                    .andRespond(withSuccess("{\"id\":1}\n", MediaType.APPLICATION_NDJSON));
+            server.expect(requestTo("http://localhost:9090/users/stream"))
+                    .andRespond(withSuccess("{\"id\":2}\n", MediaType.APPLICATION_NDJSON));
+
+            ResponseEntity<StreamingResponseBody> first = client.stream();
+            assertThrows(ServiceUnavailableException.class, () -> client.stream());
+
+            assertEquals("{\"id\":1}\n", read(first));
+            assertEquals("{\"id\":2}\n", read(client.stream()));
+        }
+    }
+
+    private static String read(ResponseEntity<StreamingResponseBody> response) throws Exception {
+        assertNotNull(response.getBody());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        response.getBody().writeTo(outputStream);
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+
+    private static class TestClient extends BaseClient {
+        TestClient(RestTemplate rest) {
+            super(rest);
+        }
+
+        ResponseEntity<StreamingResponseBody> stream() {
+            return stream("/stream", MediaType.APPLICATION_NDJSON);
+        }
+    }
+}
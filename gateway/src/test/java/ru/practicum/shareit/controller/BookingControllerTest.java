@@ -13,24 +13,31 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.booking.BookingClient;
 import ru.practicum.shareit.booking.BookingController;
 import ru.practicum.shareit.booking.model.BookingRequestDto;
 import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.item.model.ItemDto;
 import ru.practicum.shareit.user.UserController;
 import ru.practicum.shareit.user.model.UserDto;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = BookingController.class)
@@ -203,6 +210,30 @@ public class BookingControllerTest {
         }
     }
 
+    @Nested
+    class GetByIds {
+        @Test
+        public void shouldGet() throws Exception {
+            when(bookingClient.getByIds(userDto2.getId(), List.of(99L, 98L)))
+                    .thenReturn(new ResponseEntity<>(HttpStatus.OK));
+
+            mvc.perform(get("/bookings?ids={ids}", "99,98")
+                            .header(UserController.headerUserId, userDto2.getId()))
+                    .andExpect(status().isOk());
+
+            verify(bookingClient, times(1)).getByIds(userDto2.getId(), List.of(99L, 98L));
+        }
+
+        @Test
+        public void shouldThrowExceptionIfIdIsNotPositive() throws Exception {
+            mvc.perform(get("/bookings?ids={ids}", "99,0")
+                            .header(UserController.headerUserId, userDto2.getId()))
+                    .andExpect(status().isInternalServerError());
+
+            verify(bookingClient, never()).getByIds(ArgumentMatchers.any(), ArgumentMatchers.any());
+        }
+    }
+
     @Nested
     class GetAllByByBookerId {
         @Test
@@ -352,4 +383,28 @@ public class BookingControllerTest {
                     ArgumentMatchers.any(), ArgumentMatchers.any());
         }
     }
+
+    @Nested
+    class Events {
+        @Test
+        public void shouldPassEventsThrough() throws Exception {
+            StreamingResponseBody body = outputStream -> outputStream.write("id:1\nevent:booking\n\n".getBytes());
+            when(bookingClient.events(userDto1.getId(), 5L)).thenReturn(ResponseEntity.ok()
+                    .contentType(MediaType.TEXT_EVENT_STREAM)
+                    .body(body));
+
+            MvcResult result = mvc.perform(get("/bookings/events")
+                            .header(UserController.headerUserId, userDto1.getId())
+                            .header(BaseClient.LAST_EVENT_ID, 5L)
+                            .accept(MediaType.TEXT_EVENT_STREAM))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string("id:1\nevent:booking\n\n"));
+
+            verify(bookingClient, times(1)).events(userDto1.getId(), 5L);
+        }
+    }
 }
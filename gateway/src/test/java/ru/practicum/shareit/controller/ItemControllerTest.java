@@ -21,6 +21,10 @@ import ru.practicum.shareit.user.UserController;
 import ru.practicum.shareit.user.model.UserDto;
 
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -268,6 +272,80 @@ public class ItemControllerTest {
         }
     }
 
+    @Nested
+    class GetByIds {
+        @Test
+        public void shouldGet() throws Exception {
+            when(itemClient.getByIds(userDto1.getId(), List.of(2L, 1L))).thenReturn(new ResponseEntity<>(HttpStatus.OK));
+
+            mvc.perform(get("/items?ids={ids}", "2,1")
+                            .header(UserController.headerUserId, userDto1.getId()))
+                    .andExpect(status().isOk());
+
+            verify(itemClient, times(1)).getByIds(userDto1.getId(), List.of(2L, 1L));
+        }
+
+        @Test
+        public void shouldThrowExceptionIfTooManyIds() throws Exception {
+            String ids = LongStream.rangeClosed(1, UserController.BATCH_MAX_SIZE + 1)
+                    .mapToObj(String::valueOf)
+                    .collect(Collectors.joining(","));
+
+            mvc.perform(get("/items?ids={ids}", ids)
+                            .header(UserController.headerUserId, userDto1.getId()))
+                    .andExpect(status().isInternalServerError());
+
+            verify(itemClient, never()).getByIds(ArgumentMatchers.any(), ArgumentMatchers.any());
+        }
+    }
+
+    @Nested
+    class GetComments {
+        @Test
+        public void shouldGetFirstPageWithDefaultSize() throws Exception {
+            when(itemClient.getComments(itemDto1.getId(), null, null, size))
+                    .thenReturn(new ResponseEntity<>(HttpStatus.OK));
+
+            mvc.perform(get("/items/{id}/comments", itemDto1.getId()))
+                    .andExpect(status().isOk());
+
+            verify(itemClient, times(1)).getComments(itemDto1.getId(), null, null, size);
+        }
+
+        @Test
+        public void shouldGetPageBeforeCursor() throws Exception {
+            LocalDateTime beforeDate = LocalDateTime.of(2030, 1, 1, 12, 0, 0, 123_456_000);
+            when(itemClient.getComments(itemDto1.getId(), beforeDate, 5L, size))
+                    .thenReturn(new ResponseEntity<>(HttpStatus.OK));
+
+            mvc.perform(get("/items/{id}/comments?beforeDate={beforeDate}&beforeId={beforeId}&size={size}",
+                            itemDto1.getId(), beforeDate, 5L, size))
+                    .andExpect(status().isOk());
+
+            verify(itemClient, times(1)).getComments(itemDto1.getId(), beforeDate, 5L, size);
+        }
+
+        @Test
+        public void shouldThrowExceptionIfCursorHasOnlyId() throws Exception {
+            mvc.perform(get("/items/{id}/comments?beforeId={beforeId}", itemDto1.getId(), 5L))
+                    .andExpect(status().isBadRequest());
+
+            verify(itemClient, never()).getComments(ArgumentMatchers.any(), ArgumentMatchers.any(),
+                    ArgumentMatchers.any(), ArgumentMatchers.any());
+        }
+
+        @Test
+        public void shouldThrowExceptionIfSizeIsZero() throws Exception {
+            size = 0;
+
+            mvc.perform(get("/items/{id}/comments?size={size}", itemDto1.getId(), size))
+                    .andExpect(status().isInternalServerError());
+
+            verify(itemClient, never()).getComments(ArgumentMatchers.any(), ArgumentMatchers.any(),
+                    ArgumentMatchers.any(), ArgumentMatchers.any());
+        }
+    }
+
     @Nested
     class Patch {
         @Test
@@ -13,6 +13,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.item.model.ItemDto;
 import ru.practicum.shareit.request.ItemRequestClient;
 import ru.practicum.shareit.request.ItemRequestController;
@@ -26,8 +28,11 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = ItemRequestController.class)
@@ -219,4 +224,27 @@ public class ItemRequestControllerTest {
             verify(itemRequestClient, never()).getAll(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any());
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    class Events {
+        @Test
+        public void shouldPassEventsThrough() throws Exception {
+            StreamingResponseBody body = outputStream -> outputStream.write("id:1\nevent:request\n\n".getBytes());
+            when(itemRequestClient.events(userDto1.getId())).thenReturn(ResponseEntity.ok()
+                    .contentType(MediaType.TEXT_EVENT_STREAM)
+                    .body(body));
+
+            MvcResult result = mvc.perform(get("/requests/events")
+                            .header(UserController.headerUserId, userDto1.getId())
+                            .accept(MediaType.TEXT_EVENT_STREAM))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string("id:1\nevent:request\n\n"));
+
+            verify(itemRequestClient, times(1)).events(userDto1.getId());
+        }
+    }
+}
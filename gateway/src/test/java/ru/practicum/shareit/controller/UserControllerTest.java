@@ -13,20 +13,26 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.user.UserClient;
 import ru.practicum.shareit.user.UserController;
 import ru.practicum.shareit.user.model.UserDto;
 
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = UserController.class)
@@ -53,6 +59,19 @@ public class UserControllerTest {
                 .build();
     }
 
+    @Nested
+    class GetByIds {
+        @Test
+        public void shouldGet() throws Exception {
+            when(userClient.getByIds(List.of(2L, 1L))).thenReturn(new ResponseEntity<>(HttpStatus.OK));
+
+            mvc.perform(get("/users?ids={ids}", "2,1"))
+                    .andExpect(status().isOk());
+
+            verify(userClient, times(1)).getByIds(List.of(2L, 1L));
+        }
+    }
+
     @Nested
     class Create {
         @Test
@@ -139,6 +158,72 @@ public class UserControllerTest {
         }
     }
 
+    @Nested
+    class GetPage {
+        @Test
+        public void shouldGet() throws Exception {
+            when(userClient.getPage(1L, 10)).thenReturn(new ResponseEntity<>(HttpStatus.OK));
+
+            mvc.perform(get("/users")
+                            .param("afterId", "1")
+                            .param("size", "10"))
+                    .andExpect(status().isOk());
+
+            verify(userClient, times(1)).getPage(1L, 10);
+            verify(userClient, never()).getAll();
+        }
+
+        @Test
+        public void shouldThrowExceptionIfSizeIsNotPositive() throws Exception {
+            mvc.perform(get("/users")
+                            .param("size", "0"))
+                    .andExpect(status().isInternalServerError());
+
+            verify(userClient, never()).getPage(ArgumentMatchers.any(), ArgumentMatchers.any());
+        }
+
+        @Test
+        public void shouldThrowExceptionIfSizeIsTooLarge() throws Exception {
+            mvc.perform(get("/users")
+                            .param("size", String.valueOf(UserController.BATCH_MAX_SIZE + 1)))
+                    .andExpect(status().isInternalServerError());
+
+            verify(userClient, never()).getPage(ArgumentMatchers.any(), ArgumentMatchers.any());
+        }
+
+        @Test
+        public void shouldThrowExceptionIfAfterIdIsNegative() throws Exception {
+            mvc.perform(get("/users")
+                            .param("afterId", "-1")
+                            .param("size", "10"))
+                    .andExpect(status().isInternalServerError());
+
+            verify(userClient, never()).getPage(ArgumentMatchers.any(), ArgumentMatchers.any());
+        }
+    }
+
+    @Nested
+    class Stream {
+        @Test
+        public void shouldPassStreamThrough() throws Exception {
+            StreamingResponseBody body = outputStream -> outputStream.write("{\"id\":1}\n".getBytes());
+            when(userClient.stream()).thenReturn(ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .body(body));
+
+            MvcResult result = mvc.perform(get("/users/stream")
+                            .accept(MediaType.APPLICATION_NDJSON))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string("{\"id\":1}\n"));
+
+            verify(userClient, times(1)).stream();
+        }
+    }
+
     @Nested
     class GetById {
         @Test
@@ -0,0 +1,242 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.booking.BookingController;
+import ru.practicum.shareit.exception.ErrorHandler;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.item.ItemController;
+import ru.practicum.shareit.user.UserController;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class RateLimitTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final String ENDPOINT = "GET /items/{id}";
+
+    private final AtomicLong clock = new AtomicLong(-5 * SECOND);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Nested
+    class Bucket {
+        @Test
+        public void shouldAllowBurstThenRefillAtRate() {
+            TokenBucket bucket = new TokenBucket(10, 3, clock::get);
+
+            assertEquals(0, bucket.tryAcquire());
+            assertEquals(0, bucket.tryAcquire());
+            assertEquals(0, bucket.tryAcquire());
+            assertEquals(SECOND / 10, bucket.tryAcquire());
+            assertFalse(bucket.isFull());
+
+            clock.addAndGet(SECOND / 10);
+            assertEquals(0, bucket.tryAcquire());
+            assertEquals(SECOND / 10, bucket.tryAcquire());
+
+            clock.addAndGet(SECOND);
+            assertTrue(bucket.isFull());
+        }
+
+        @Test
+        public void shouldKeepUsersIndependentAndEvictFullBuckets() {
+            UserTokenBuckets buckets = new UserTokenBuckets(1, 1, 64, clock::get);
+
+            assertEquals(0, buckets.tryAcquire(1L));
+            assertTrue(buckets.tryAcquire(1L) > 0);
+            assertEquals(0, buckets.tryAcquire(2L));
+
+            clock.addAndGet(2 * SECOND);
+            for (long userId = 3; userId < 1_000; userId++) {
+                buckets.tryAcquire(userId);
+            }
+            assertTrue(buckets.size() < 1_000);
+        }
+    }
+
+    @Nested
+    class Concurrency {
+        @Test
+        public void shouldShedOverLimit() {
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, 2.0, 0, 0.5);
+
+            assertTrue(limit.tryAcquire());
+            assertTrue(limit.tryAcquire());
+            assertFalse(limit.tryAcquire());
+            assertEquals(2, limit.getInFlight());
+        }
+
+        @Test
+        public void shouldIncreaseAdditivelyAndDecreaseMultiplicatively() {
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 2, 10, 2.0, 0, 0.5);
+
+            for (int i = 0; i < 4; i++) {
+                limit.tryAcquire();
+                limit.release(ENDPOINT, SECOND / 2);
+            }
+            assertEquals(4, limit.getLimit());
+            limit.tryAcquire();
+            limit.release(ENDPOINT, SECOND / 2);
+            assertEquals(5, limit.getLimit());
+
+            for (int i = 0; i < 3; i++) {
+                limit.tryAcquire();
+                limit.release(ENDPOINT, 2 * SECOND);
+            }
+            assertEquals(2, limit.getLimit());
+            assertEquals(0, limit.getInFlight());
+        }
+
+        @Test
+        public void shouldJudgeLatencyAgainstEndpointBaseline() {
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 2, 10, 2.0, SECOND / 100, 0.5);
+            String slowEndpoint = "GET /bookings/owner";
+            String fastEndpoint = "GET /users";
+
+            for (int i = 0; i < 30; i++) {
+                limit.tryAcquire();
+                limit.release(slowEndpoint, 2 * SECOND);
+                limit.tryAcquire();
+                limit.release(fastEndpoint, SECOND / 1000);
+            }
+            assertEquals(10, limit.getLimit());
+            assertEquals(2 * SECOND, limit.getBaseline(slowEndpoint));
+
+            limit.tryAcquire();
+            limit.release(fastEndpoint, SECOND / 200);
+            assertEquals(10, limit.getLimit());
+
+            limit.tryAcquire();
+            limit.release(fastEndpoint, SECOND / 10);
+            assertEquals(5, limit.getLimit());
+        }
+    }
+
+    @Nested
+    class Interceptor {
+        private final ItemClient itemClient = Mockito.mock(ItemClient.class);
+
+        @Test
+        public void shouldRejectUserOverLimitWithRetryAfter() throws Exception {
+            MockMvc mvc = mvc(new UserTokenBuckets(1, 2, 100, clock::get), new TokenBucket(100, 100, clock::get),
+                    new AdaptiveConcurrencyLimit(10, 1, 10, 2.0, 0, 0.5));
+            when(itemClient.getById(1L, 1L)).thenReturn(new ResponseEntity<>(HttpStatus.OK));
+
+            for (int i = 0; i < 2; i++) {
+                mvc.perform(get("/items/{id}", 1L).header(UserController.headerUserId, 1L))
+                        .andExpect(status().isOk());
+            }
+            mvc.perform(get("/items/{id}", 1L).header(UserController.headerUserId, 1L))
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                    .andExpect(jsonPath("$.error").value("Превышен лимит запросов пользователя."));
+            when(itemClient.getById(2L, 1L)).thenReturn(new ResponseEntity<>(HttpStatus.OK));
+            mvc.perform(get("/items/{id}", 1L).header(UserController.headerUserId, 2L))
+                    .andExpect(status().isOk());
+
+            verify(itemClient, times(2)).getById(1L, 1L);
+            assertEquals(1, meterRegistry.get("shareit.gateway.rate-limit.rejected").tag("reason", "user")
+                    .counter().count());
+        }
+
+        @Test
+        public void shouldRejectOverGlobalLimit() throws Exception {
+            MockMvc mvc = mvc(new UserTokenBuckets(100, 100, 100, clock::get), new TokenBucket(0.5, 1, clock::get),
+                    new AdaptiveConcurrencyLimit(10, 1, 10, 2.0, 0, 0.5));
+
+            mvc.perform(get("/items/search?text={text}", "drill"))
+                    .andExpect(status().isOk());
+            mvc.perform(get("/items/search?text={text}", "drill"))
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"));
+        }
+
+        @Test
+        public void shouldShedWhenConcurrencyLimitReached() throws Exception {
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 1, 10, 2.0, 0, 0.5);
+            MockMvc mvc = mvc(new UserTokenBuckets(100, 100, 100, clock::get), new TokenBucket(100, 100, clock::get),
+                    limit);
+            limit.tryAcquire();
+
+            mvc.perform(get("/items/{id}", 1L).header(UserController.headerUserId, 1L))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+
+            limit.release();
+            mvc.perform(get("/items/{id}", 1L).header(UserController.headerUserId, 1L))
+                    .andExpect(status().isOk());
+            assertEquals(0, limit.getInFlight());
+        }
+
+        @Test
+        public void shouldKeepTokensOfShedRequest() throws Exception {
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 1, 10, 2.0, 0, 0.5);
+            MockMvc mvc = mvc(new UserTokenBuckets(1, 1, 100, clock::get), new TokenBucket(1, 1, clock::get), limit);
+            when(itemClient.getById(1L, 1L)).thenReturn(new ResponseEntity<>(HttpStatus.OK));
+            limit.tryAcquire();
+
+            mvc.perform(get("/items/{id}", 1L).header(UserController.headerUserId, 1L))
+                    .andExpect(status().isServiceUnavailable());
+
+            limit.release();
+            mvc.perform(get("/items/{id}", 1L).header(UserController.headerUserId, 1L))
+                    .andExpect(status().isOk());
+            assertEquals(0, meterRegistry.get("shareit.gateway.rate-limit.rejected").tag("reason", "user")
+                    .counter().count());
+        }
+
+        @Test
+        public void shouldReleaseConcurrencyWhenStreamStarts() throws Exception {
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 1, 10, 2.0, 0, 0.5);
+            BookingClient bookingClient = Mockito.mock(BookingClient.class);
+            when(bookingClient.events(1L, null)).thenReturn(ResponseEntity.ok()
+                    .body(outputStream -> outputStream.write(':')));
+            MockMvc mvc = MockMvcBuilders.standaloneSetup(new BookingController(bookingClient))
+                    .addInterceptors(new RateLimitInterceptor(new UserTokenBuckets(100, 100, 100, clock::get),
+                            new TokenBucket(100, 100, clock::get), limit, meterRegistry))
+                    .build();
+
+            MvcResult result = mvc.perform(get("/bookings/events").header(UserController.headerUserId, 1L))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            assertEquals(0, limit.getInFlight());
+            mvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk());
+            assertEquals(0, limit.getInFlight());
+            assertEquals(1, limit.getLimit());
+        }
+
+        private MockMvc mvc(UserTokenBuckets userBuckets, TokenBucket globalBucket,
+                            AdaptiveConcurrencyLimit concurrencyLimit) {
+            return MockMvcBuilders.standaloneSetup(new ItemController(itemClient))
+                    .addInterceptors(new RateLimitInterceptor(userBuckets, globalBucket, concurrencyLimit,
+                            meterRegistry))
+                    .setControllerAdvice(new ErrorHandler())
+                    .build();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package ru.practicum.shareit.booking.controller;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -11,10 +12,13 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.practicum.shareit.booking.enums.State;
+import ru.practicum.shareit.booking.events.service.BookingEventSubscribers;
 import ru.practicum.shareit.booking.model.BookingRequestDto;
 import ru.practicum.shareit.booking.model.BookingResponseDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.metrics.StatementBudget;
 import ru.practicum.shareit.user.controller.UserController;
 
 import java.util.List;
@@ -24,6 +28,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class BookingController {
     private final BookingService bookingService;
+    private final BookingEventSubscribers bookingEventSubscribers;
 
     @GetMapping("/{id}")
     public BookingResponseDto getById(@RequestHeader(UserController.headerUserId) Long userId,
@@ -31,7 +36,22 @@ public class BookingController {
         return bookingService.getById(userId, id);
     }
 
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @StatementBudget(1)
+    public SseEmitter events(@RequestHeader(UserController.headerUserId) Long userId,
+                             @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return bookingEventSubscribers.subscribe(userId, lastEventId);
+    }
+
+    @GetMapping(params = "ids")
+    @StatementBudget(1)
+    public List<BookingResponseDto> getByIds(@RequestHeader(UserController.headerUserId) Long userId,
+                                             @RequestParam List<Long> ids) {
+        return bookingService.getByIds(userId, ids);
+    }
+
     @GetMapping
+    @StatementBudget(3)
     public List<BookingResponseDto> getAllByBookerId(@RequestHeader(UserController.headerUserId) Long userId,
                                                      @RequestParam String state,
                                                      @RequestParam Integer from,
@@ -40,6 +60,7 @@ public class BookingController {
     }
 
     @GetMapping("/owner")
+    @StatementBudget(7)
     public List<BookingResponseDto> getAllByOwnerId(@RequestHeader(UserController.headerUserId) Long userId,
                                                     @RequestParam String state,
                                                     @RequestParam Integer from,
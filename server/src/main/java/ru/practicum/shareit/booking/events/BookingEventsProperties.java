@@ -0,0 +1,31 @@
+package ru.practicum.shareit.booking.events;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "shareit.booking-events")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+public class BookingEventsProperties {
+    boolean enabled = true;
+    Duration pollInterval = Duration.ofMillis(200);
+    int batchSize = 500;
+    Duration gapTimeout = Duration.ofSeconds(10);
+    Duration heartbeat = Duration.ofSeconds(5);
+    Duration emitterTimeout = Duration.ofMinutes(5);
+    int maxSubscribers = 10000;
+    int bufferSize = 256;
+    int dispatchThreads = 2;
+    Duration sendTimeout = Duration.ofSeconds(10);
+    int replayLimit = 1000;
+    Duration retention = Duration.ofHours(1);
+    Duration cleanupInterval = Duration.ofMinutes(1);
+}
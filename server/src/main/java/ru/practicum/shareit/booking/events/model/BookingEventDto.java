@@ -0,0 +1,28 @@
+package ru.practicum.shareit.booking.events.model;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.booking.enums.Status;
+
+import java.time.LocalDateTime;
+
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Builder
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingEventDto {
+    Long id;
+    Long bookingId;
+    Long itemId;
+    Long bookerId;
+    Long ownerId;
+    Status status;
+    LocalDateTime created;
+}
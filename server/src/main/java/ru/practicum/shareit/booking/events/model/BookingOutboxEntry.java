@@ -0,0 +1,72 @@
+package ru.practicum.shareit.booking.events.model;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.booking.enums.Status;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+// Строки не ссылаются на бронирования: событие переживает удаление бронирования до истечения срока хранения
+@Entity
+@Table(name = "BOOKING_OUTBOX", schema = "public", indexes = {
+        @Index(name = "BOOKING_OUTBOX_CREATED_IDX", columnList = "CREATED")
+})
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingOutboxEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+
+    @Column(name = "BOOKING_ID", nullable = false)
+    Long bookingId;
+
+    @Column(name = "ITEM_ID", nullable = false)
+    Long itemId;
+
+    @Column(name = "BOOKER_ID", nullable = false)
+    Long bookerId;
+
+    @Column(name = "OWNER_ID", nullable = false)
+    Long ownerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "STATUS", nullable = false)
+    Status status;
+
+    @Column(name = "CREATED", nullable = false)
+    LocalDateTime created;
+
+    @Override
+    public final boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof BookingOutboxEntry)) return false;
+        return getId() != null && getId().equals(((BookingOutboxEntry) o).getId());
+    }
+
+    @Override
+    public final int hashCode() {
+        return Objects.hashCode(getId());
+    }
+}
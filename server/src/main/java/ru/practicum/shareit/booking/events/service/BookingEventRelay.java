@@ -0,0 +1,118 @@
+package ru.practicum.shareit.booking.events.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.events.BookingEventsProperties;
+import ru.practicum.shareit.booking.events.model.BookingEventDto;
+import ru.practicum.shareit.booking.events.storage.BookingOutboxRepository;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Каждый экземпляр сервера читает хвост outbox со своей позиции, поэтому таблица не обновляется при доставке.
+// Идентификаторы выдаются при вставке, а видны после фиксации, и транзакции фиксируются не по порядку:
+// пропущенные идентификаторы перечитываются, пока не истечёт gap-timeout (откаченные вставки не появятся никогда)
+@Component
+@Slf4j
+public class BookingEventRelay implements SmartInitializingSingleton, DisposableBean {
+    private static final int MAX_GAPS = 10000;
+
+    private final BookingEventsProperties properties;
+    private final BookingOutboxRepository bookingOutboxRepository;
+    private final BookingEventSubscribers subscribers;
+    private final Map<Long, Long> gaps = new LinkedHashMap<>();
+
+    private long cursor;
+    private ScheduledExecutorService scheduler;
+
+    public BookingEventRelay(BookingEventsProperties properties, BookingOutboxRepository bookingOutboxRepository,
+                             BookingEventSubscribers subscribers, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.bookingOutboxRepository = bookingOutboxRepository;
+        this.subscribers = subscribers;
+
+        Gauge.builder("shareit.booking.events.gaps", this, BookingEventRelay::gapCount)
+                .description("Пропуски в идентификаторах outbox, ожидающие фиксации транзакций")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        synchronized (this) {
+            cursor = bookingOutboxRepository.findMaxId();
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "booking-event-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        schedule(this::relay, properties.getPollInterval().toMillis());
+        schedule(subscribers::heartbeat, properties.getHeartbeat().toMillis());
+        schedule(this::cleanup, properties.getCleanupInterval().toMillis());
+        log.info("Ретрансляция событий бронирований включена: опрос {}, пакет {}.", properties.getPollInterval(),
+                properties.getBatchSize());
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public synchronized int relay() {
+        long now = System.currentTimeMillis();
+        List<BookingEventDto> filled = bookingOutboxRepository.findByIds(gaps.keySet());
+        filled.forEach(event -> gaps.remove(event.getId()));
+        gaps.values().removeIf(deadline -> deadline < now);
+        subscribers.publish(filled);
+        int relayed = filled.size();
+
+        List<BookingEventDto> batch;
+        do {
+            batch = bookingOutboxRepository.findAfter(cursor, properties.getBatchSize());
+            for (BookingEventDto event : batch) {
+                for (long id = cursor + 1; id < event.getId() && gaps.size() < MAX_GAPS; id++) {
+                    gaps.put(id, now + properties.getGapTimeout().toMillis());
+                }
+                cursor = event.getId();
+            }
+            subscribers.publish(batch);
+            relayed += batch.size();
+        } while (batch.size() == properties.getBatchSize());
+
+        subscribers.replay(cursor);
+        return relayed;
+    }
+
+    public int cleanup() {
+        return bookingOutboxRepository.deleteCreatedBefore(LocalDateTime.now().minus(properties.getRetention()));
+    }
+
+    private synchronized int gapCount() {
+        return gaps.size();
+    }
+
+    private void schedule(Runnable task, long interval) {
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.warn("Ошибка ретрансляции событий бронирований: {}", e.getMessage());
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+}
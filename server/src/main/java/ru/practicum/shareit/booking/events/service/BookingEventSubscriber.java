@@ -0,0 +1,60 @@
+package ru.practicum.shareit.booking.events.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.transport.SseSubscription;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Переполнение буфера закрывает поток: клиент переподключается с Last-Event-ID и дочитывает пропущенное из outbox
+class BookingEventSubscriber extends SseSubscription {
+    @Getter
+    private final Long userId;
+    private final BlockingQueue<SseEmitter.SseEventBuilder> buffer;
+    private final AtomicBoolean active = new AtomicBoolean();
+    // Последнее событие, поставленное в буфер при повторе: меняется только потоком ретранслятора
+    @Getter
+    @Setter
+    private long replayedId;
+
+    BookingEventSubscriber(Long userId, long lastEventId, SseEmitter emitter, int capacity) {
+        super(emitter);
+        this.userId = userId;
+        this.replayedId = lastEventId;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+    }
+
+    boolean isActive() {
+        return active.get();
+    }
+
+    void activate() {
+        active.set(true);
+    }
+
+    boolean offer(SseEmitter.SseEventBuilder event) {
+        return buffer.offer(event);
+    }
+
+    int remainingCapacity() {
+        return buffer.remainingCapacity();
+    }
+
+    @Override
+    protected SseEmitter.SseEventBuilder poll() {
+        return buffer.poll();
+    }
+
+    @Override
+    protected boolean isEmpty() {
+        return buffer.isEmpty();
+    }
+
+    @Override
+    protected void clear() {
+        buffer.clear();
+    }
+}
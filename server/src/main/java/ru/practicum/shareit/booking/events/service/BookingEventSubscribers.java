@@ -0,0 +1,237 @@
+package ru.practicum.shareit.booking.events.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.booking.events.BookingEventsProperties;
+import ru.practicum.shareit.booking.events.model.BookingEventDto;
+import ru.practicum.shareit.booking.events.storage.BookingOutboxRepository;
+import ru.practicum.shareit.booking.storage.exception.ServiceUnavailableException;
+import ru.practicum.shareit.transport.SseDispatcher;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+@Slf4j
+public class BookingEventSubscribers implements SmartInitializingSingleton, DisposableBean {
+    public static final String EVENT_NAME = "booking";
+    private static final long RECONNECT_MILLIS = 1000;
+
+    private final BookingEventsProperties properties;
+    private final BookingOutboxRepository bookingOutboxRepository;
+    private final UserService userService;
+    private final ObjectMapper objectMapper;
+    private final Map<Long, Set<BookingEventSubscriber>> byUser = new ConcurrentHashMap<>();
+    private final Queue<BookingEventSubscriber> awaitingReplay = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final Counter queued;
+    private final Counter replayed;
+    private final Counter overflowed;
+    private final Counter stalled;
+    private final Timer lag;
+
+    private SseDispatcher<BookingEventSubscriber> dispatcher;
+
+    public BookingEventSubscribers(BookingEventsProperties properties,
+                                   BookingOutboxRepository bookingOutboxRepository, UserService userService,
+                                   ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.bookingOutboxRepository = bookingOutboxRepository;
+        this.userService = userService;
+        this.objectMapper = objectMapper;
+
+        Gauge.builder("shareit.booking.events.subscribers", size, AtomicInteger::get)
+                .description("Открытые потоки уведомлений о бронированиях")
+                .register(meterRegistry);
+        queued = outcomeCounter(meterRegistry, "queued");
+        replayed = outcomeCounter(meterRegistry, "replayed");
+        overflowed = outcomeCounter(meterRegistry, "overflowed");
+        stalled = outcomeCounter(meterRegistry, "stalled");
+        lag = Timer.builder("shareit.booking.events.lag")
+                .description("Время от записи события бронирования до постановки в буферы подписчиков")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (properties.isEnabled()) {
+            dispatcher = new SseDispatcher<>("booking-events", properties.getDispatchThreads(),
+                    properties.getSendTimeout(), this::remove);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    public SseEmitter subscribe(Long userId, @Nullable Long lastEventId) {
+        if (!properties.isEnabled()) {
+            throw new ServiceUnavailableException("Уведомления о бронированиях отключены.");
+        }
+        userService.getUserById(userId);
+        if (size.incrementAndGet() > properties.getMaxSubscribers()) {
+            size.decrementAndGet();
+            throw new ServiceUnavailableException("Слишком много подписчиков на уведомления, повторите позже.");
+        }
+
+        SseEmitter emitter = new SseEmitter(properties.getEmitterTimeout().toMillis());
+        BookingEventSubscriber subscriber = new BookingEventSubscriber(userId,
+                lastEventId != null ? lastEventId : 0, emitter, properties.getBufferSize());
+        emitter.onCompletion(() -> dispatcher.close(subscriber));
+        emitter.onError(e -> dispatcher.close(subscriber));
+        // По истечении срока поток закрывается штатно, клиент переподключается с Last-Event-ID
+        emitter.onTimeout(emitter::complete);
+
+        try {
+            // Заголовки ответа уходят с первой записью: клиент сразу видит открытый поток
+            emitter.send(SseEmitter.event().reconnectTime(RECONNECT_MILLIS));
+        } catch (IOException e) {
+            dispatcher.close(subscriber);
+            throw new UncheckedIOException(e);
+        }
+        byUser.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        if (lastEventId != null) {
+            awaitingReplay.add(subscriber);
+        } else {
+            subscriber.activate();
+        }
+        log.debug("Пользователь с id {} подписан на уведомления о бронированиях.", userId);
+        return emitter;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    // Вызывается только потоком ретранслятора, как и replay, и только кладёт события в буферы: отправляет их пул
+    // рассылки. Подписчик, ждущий повтора, живые события пропускает и получает их повтором из таблицы
+    void publish(List<BookingEventDto> events) {
+        LocalDateTime now = LocalDateTime.now();
+        for (BookingEventDto event : events) {
+            String data = toJson(event);
+            deliver(event.getBookerId(), event.getId(), data);
+            deliver(event.getOwnerId(), event.getId(), data);
+            lag.record(Duration.between(event.getCreated(), now));
+        }
+    }
+
+    // Повтор идёт страницами не больше свободного места в буфере подписчика и продолжается в следующих циклах
+    // ретранслятора, пока не дойдёт до untilId: только тогда подписчик получает живые события
+    void replay(long untilId) {
+        Iterator<BookingEventSubscriber> iterator = awaitingReplay.iterator();
+        while (iterator.hasNext()) {
+            BookingEventSubscriber subscriber = iterator.next();
+            if (subscriber.isClosed()) {
+                iterator.remove();
+                continue;
+            }
+
+            int limit = Math.min(properties.getReplayLimit(), subscriber.remainingCapacity());
+            if (limit == 0) {
+                continue;
+            }
+            List<BookingEventDto> events = bookingOutboxRepository.findForUser(subscriber.getUserId(),
+                    subscriber.getReplayedId(), untilId, limit);
+            for (BookingEventDto event : events) {
+                enqueue(subscriber, event.getId(), toJson(event));
+                subscriber.setReplayedId(event.getId());
+            }
+            replayed.increment(events.size());
+            if (events.size() < limit) {
+                subscriber.activate();
+                iterator.remove();
+            }
+        }
+    }
+
+    void heartbeat() {
+        long now = System.nanoTime();
+        byUser.values().forEach(subscribers -> subscribers.forEach(subscriber -> {
+            if (dispatcher.closeIfStalled(subscriber, now)) {
+                stalled.increment();
+            } else if (subscriber.isActive() && subscriber.isIdle()) {
+                enqueue(subscriber, SseEmitter.event().comment("heartbeat"));
+            }
+        }));
+    }
+
+    private void deliver(Long userId, Long id, String data) {
+        Set<BookingEventSubscriber> subscribers = byUser.get(userId);
+        if (subscribers == null) {
+            return;
+        }
+
+        for (BookingEventSubscriber subscriber : subscribers) {
+            if (subscriber.isActive() && enqueue(subscriber, id, data)) {
+                queued.increment();
+            }
+        }
+    }
+
+    private boolean enqueue(BookingEventSubscriber subscriber, Long id, String data) {
+        return enqueue(subscriber, SseEmitter.event()
+                .id(String.valueOf(id))
+                .name(EVENT_NAME)
+                .data(data, MediaType.APPLICATION_JSON));
+    }
+
+    private boolean enqueue(BookingEventSubscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (!subscriber.offer(event)) {
+            if (dispatcher.close(subscriber)) {
+                overflowed.increment();
+            }
+            return false;
+        }
+        dispatcher.dispatch(subscriber);
+        return true;
+    }
+
+    private void remove(BookingEventSubscriber subscriber) {
+        size.decrementAndGet();
+        byUser.computeIfPresent(subscriber.getUserId(), (userId, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private String toJson(BookingEventDto event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("shareit.booking.events")
+                .description("События бронирований, отправленные подписчикам")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.booking.events.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.booking.events.BookingEventsProperties;
+import ru.practicum.shareit.booking.events.model.BookingOutboxEntry;
+import ru.practicum.shareit.booking.events.storage.BookingOutboxRepository;
+import ru.practicum.shareit.booking.index.BookingChangedEvent;
+
+import java.time.LocalDateTime;
+
+@Component
+@RequiredArgsConstructor
+public class BookingOutboxWriter {
+    private final BookingEventsProperties properties;
+    private final BookingOutboxRepository bookingOutboxRepository;
+
+    // Запись идёт в транзакции бронирования: событие появляется тогда и только тогда, когда изменение сохранено
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onBookingChanged(BookingChangedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        bookingOutboxRepository.save(BookingOutboxEntry.builder()
+                .bookingId(event.getBooking().getId())
+                .itemId(event.getItemId())
+                .bookerId(event.getBookerId())
+                .ownerId(event.getOwnerId())
+                .status(event.getBooking().getStatus())
+                .created(LocalDateTime.now())
+                .build());
+    }
+}
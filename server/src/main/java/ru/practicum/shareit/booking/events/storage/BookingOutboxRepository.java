@@ -0,0 +1,7 @@
+package ru.practicum.shareit.booking.events.storage;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import ru.practicum.shareit.booking.events.model.BookingOutboxEntry;
+
+public interface BookingOutboxRepository extends JpaRepository<BookingOutboxEntry, Long>, BookingOutboxTail {
+}
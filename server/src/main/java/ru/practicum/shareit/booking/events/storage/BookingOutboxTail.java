@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.events.storage;
+
+import ru.practicum.shareit.booking.events.model.BookingEventDto;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface BookingOutboxTail {
+    long findMaxId();
+
+    List<BookingEventDto> findAfter(long afterId, int limit);
+
+    List<BookingEventDto> findByIds(Collection<Long> ids);
+
+    List<BookingEventDto> findForUser(Long userId, long afterId, long untilId, int limit);
+
+    int deleteCreatedBefore(LocalDateTime created);
+}
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.booking.events.storage;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.events.model.BookingEventDto;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+// Хвост таблицы читает фоновый поток: строки идут через JDBC сразу в DTO, без контекста персистентности
+@RequiredArgsConstructor
+public class BookingOutboxTailImpl implements BookingOutboxTail {
+    private static final String SELECT = "SELECT id, booking_id, item_id, booker_id, owner_id, status, created "
+            + "FROM booking_outbox ";
+    private static final RowMapper<BookingEventDto> ROW_MAPPER = (rs, rowNum) -> BookingEventDto.builder()
+            .id(rs.getLong("id"))
+            .bookingId(rs.getLong("booking_id"))
+            .itemId(rs.getLong("item_id"))
+            .bookerId(rs.getLong("booker_id"))
+            .ownerId(rs.getLong("owner_id"))
+            .status(Status.valueOf(rs.getString("status")))
+            .created(rs.getTimestamp("created").toLocalDateTime())
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public long findMaxId() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM booking_outbox", Long.class);
+        return maxId != null ? maxId : 0;
+    }
+
+    @Override
+    public List<BookingEventDto> findAfter(long afterId, int limit) {
+        return jdbcTemplate.query(SELECT + "WHERE id > ? ORDER BY id LIMIT ?", ROW_MAPPER, afterId, limit);
+    }
+
+    @Override
+    public List<BookingEventDto> findByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        return jdbcTemplate.query(SELECT + "WHERE id IN (" + placeholders + ") ORDER BY id", ROW_MAPPER,
+                ids.toArray());
+    }
+
+    @Override
+    public List<BookingEventDto> findForUser(Long userId, long afterId, long untilId, int limit) {
+        return jdbcTemplate.query(SELECT + "WHERE id > ? AND id <= ? AND (booker_id = ? OR owner_id = ?) "
+                + "ORDER BY id LIMIT ?", ROW_MAPPER, afterId, untilId, userId, userId, limit);
+    }
+
+    @Override
+    public int deleteCreatedBefore(LocalDateTime created) {
+        return jdbcTemplate.update("DELETE FROM booking_outbox WHERE created < ?", Timestamp.valueOf(created));
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking.index;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.booking.model.Booking;
+
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Getter
+@AllArgsConstructor
+public class BookingChangedEvent {
+    IndexedBooking booking;
+    Long itemId;
+    Long bookerId;
+    Long ownerId;
+
+    public static BookingChangedEvent of(Booking booking) {
+        return new BookingChangedEvent(IndexedBooking.of(booking), booking.getItem().getId(),
+                booking.getBooker().getId(), booking.getItem().getOwner().getId());
+    }
+}
@@ -0,0 +1,248 @@
+package ru.practicum.shareit.booking.index;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.enums.State;
+import ru.practicum.shareit.booking.model.BookingView;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+@Slf4j
+public class BookingStateIndex implements SmartInitializingSingleton, DisposableBean {
+    private final BookingStateIndexProperties properties;
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate loadTransaction;
+    private final Map<Role, Map<Long, UserBookings>> users = new EnumMap<>(Role.class);
+    private final TimerWheel<Transition> wheel;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter stale;
+
+    private ScheduledExecutorService scheduler;
+
+    public BookingStateIndex(BookingStateIndexProperties properties, BookingRepository bookingRepository,
+                             PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.bookingRepository = bookingRepository;
+        // Загрузка идёт на основную базу: реплика может не видеть бронирование, событие о котором уже прошло
+        // мимо ещё не загруженного пользователя
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.loadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for (Role role : Role.values()) {
+            users.put(role, new ConcurrentHashMap<>());
+        }
+        this.wheel = new TimerWheel<>(properties.getTick().toMillis(), properties.getWheelSize(),
+                System.currentTimeMillis(), transition -> transition.userBookings.isEvicted());
+
+        Gauge.builder("shareit.booking.state-index.users", users,
+                        indexed -> indexed.values().stream().mapToInt(Map::size).sum())
+                .description("Пользователи, чьи бронирования разложены по состояниям в памяти")
+                .register(meterRegistry);
+        Gauge.builder("shareit.booking.state-index.timers", wheel, TimerWheel::size)
+                .description("Запланированные переходы бронирований между состояниями")
+                .register(meterRegistry);
+        hits = outcomeCounter(meterRegistry, "hit");
+        misses = outcomeCounter(meterRegistry, "miss");
+        stale = outcomeCounter(meterRegistry, "stale");
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public Optional<List<BookingView>> find(Role role, Long userId, State state, Pageable pageable,
+                                            LocalDateTime now) {
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+
+        Map<Long, UserBookings> indexed = users.get(role);
+        UserBookings userBookings = indexed.get(userId);
+        if (userBookings == null) {
+            evictIfFull(indexed);
+            userBookings = indexed.computeIfAbsent(userId, id -> new UserBookings());
+        }
+        UserBookings loading = userBookings;
+        if (loading.load(() -> load(role, userId, loading), now)) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+
+        List<Long> ids = userBookings.slice(state, now, pageable.getOffset(), pageable.getPageSize());
+        if (ids.isEmpty()) {
+            return Optional.of(List.of());
+        }
+
+        Map<Long, BookingView> bookings = bookingRepository.findViewsByIdIn(ids).stream()
+                .collect(Collectors.toMap(BookingView::getId, Function.identity()));
+        for (Long id : ids) {
+            BookingView booking = bookings.get(id);
+            if (booking == null || !role.owns(booking, userId)
+                    || !IndexedBooking.of(booking).matches(state, now)) {
+                log.warn("Индекс бронирований пользователя {} устарел, бронирование {} перечитывается из базы.",
+                        userId, id);
+                evict(indexed, userId, userBookings);
+                stale.increment();
+                return Optional.empty();
+            }
+        }
+
+        return Optional.of(ids.stream()
+                .map(bookings::get)
+                .collect(Collectors.toList()));
+    }
+
+    @TransactionalEventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        put(Role.BOOKER, event.getBookerId(), event.getBooking(), now);
+        put(Role.OWNER, event.getOwnerId(), event.getBooking(), now);
+    }
+
+    public void tick(LocalDateTime now) {
+        for (Transition transition : wheel.advance(toMillis(now))) {
+            transition.userBookings.reclassify(transition.bookingId, now);
+        }
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        long tick = properties.getTick().toMillis();
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "booking-state-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(() -> {
+            try {
+                tick(LocalDateTime.now());
+            } catch (RuntimeException e) {
+                log.warn("Не удалось перенести бронирования между состояниями: {}", e.getMessage());
+            }
+        }, tick, tick, TimeUnit.MILLISECONDS);
+        log.info("Индекс состояний бронирований включён: тик {}, не более {} пользователей.", properties.getTick(),
+                properties.getMaxUsers());
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private List<IndexedBooking> load(Role role, Long userId, UserBookings userBookings) {
+        List<IndexedBooking> bookings = loadTransaction.execute(status -> role == Role.BOOKER
+                ? bookingRepository.findIndexedByBookerId(userId)
+                : bookingRepository.findIndexedByItemOwnerId(userId));
+        LocalDateTime now = LocalDateTime.now();
+        bookings.forEach(booking -> schedule(userBookings, booking, now));
+        return bookings;
+    }
+
+    private void put(Role role, Long userId, IndexedBooking booking, LocalDateTime now) {
+        UserBookings userBookings = users.get(role).get(userId);
+        if (userBookings != null) {
+            userBookings.put(booking, now);
+            schedule(userBookings, booking, now);
+        }
+    }
+
+    private void schedule(UserBookings userBookings, IndexedBooking booking, LocalDateTime now) {
+        Transition transition = new Transition(userBookings, booking.getId());
+        if (booking.getStart().isAfter(now)) {
+            wheel.schedule(toMillis(booking.getStart()), transition);
+        }
+        if (booking.getEnd().isAfter(now)) {
+            wheel.schedule(toMillis(booking.getEnd()), transition);
+        }
+    }
+
+    // Вытесняется произвольный пользователь: при промахе его бронирования просто перечитаются
+    private void evictIfFull(Map<Long, UserBookings> indexed) {
+        Iterator<Map.Entry<Long, UserBookings>> entries = indexed.entrySet().iterator();
+        while (indexed.size() >= properties.getMaxUsers() && entries.hasNext()) {
+            entries.next().getValue().evict();
+            entries.remove();
+        }
+    }
+
+    // Таймеры вытесненного пользователя колесо выбрасывает само, а повторная загрузка ставит свои
+    private void evict(Map<Long, UserBookings> indexed, Long userId, UserBookings userBookings) {
+        if (indexed.remove(userId, userBookings)) {
+            userBookings.evict();
+        }
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("shareit.booking.state-index")
+                .description("Обращения к индексу состояний бронирований")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    public enum Role {
+        BOOKER {
+            @Override
+            boolean owns(BookingView booking, Long userId) {
+                return userId.equals(booking.getBookerId());
+            }
+        },
+        OWNER {
+            @Override
+            boolean owns(BookingView booking, Long userId) {
+                return userId.equals(booking.getItemOwnerId());
+            }
+        };
+
+        abstract boolean owns(BookingView booking, Long userId);
+    }
+
+    private static class Transition {
+        private final UserBookings userBookings;
+        private final Long bookingId;
+
+        private Transition(UserBookings userBookings, Long bookingId) {
+            this.userBookings = userBookings;
+            this.bookingId = bookingId;
+        }
+    }
+}
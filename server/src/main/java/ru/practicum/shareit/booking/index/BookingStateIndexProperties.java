@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking.index;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "shareit.booking-state-index")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+public class BookingStateIndexProperties {
+    boolean enabled = false;
+    Duration tick = Duration.ofSeconds(1);
+    int wheelSize = 512;
+    int maxUsers = 10000;
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.booking.index;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.booking.enums.State;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingView;
+
+import java.time.LocalDateTime;
+
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Getter
+@ToString
+@AllArgsConstructor
+public class IndexedBooking {
+    Long id;
+    LocalDateTime start;
+    LocalDateTime end;
+    Status status;
+
+    public static IndexedBooking of(Booking booking) {
+        return new IndexedBooking(booking.getId(), booking.getStart(), booking.getEnd(), booking.getStatus());
+    }
+
+    public static IndexedBooking of(BookingView booking) {
+        return new IndexedBooking(booking.getId(), booking.getStart(), booking.getEnd(), booking.getStatus());
+    }
+
+    // Те же условия, что и в запросах BookingRepository для каждого состояния
+    public boolean matches(State state, LocalDateTime now) {
+        switch (state) {
+            case ALL:
+                return true;
+            case CURRENT:
+                return start.isBefore(now) && end.isAfter(now);
+            case PAST:
+                return end.isBefore(now) && status == Status.APPROVED;
+            case FUTURE:
+                return start.isAfter(now);
+            case WAITING:
+                return status == Status.WAITING;
+            case REJECTED:
+                return status == Status.REJECTED;
+            default:
+                return false;
+        }
+    }
+}
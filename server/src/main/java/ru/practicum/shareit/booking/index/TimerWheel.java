@@ -0,0 +1,70 @@
+package ru.practicum.shareit.booking.index;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Predicate;
+
+// Хешированное колесо: таймер лежит в ячейке своего тика, при повороте срабатывают только наступившие сроки.
+// Отменённые таймеры выбрасываются из ячеек при повороте, так что за оборот колеса они уходят все
+public class TimerWheel<T> {
+    private final long tickMillis;
+    private final List<Deque<Timer<T>>> slots;
+    private final Predicate<T> cancelled;
+    private long currentTick;
+    private int size;
+
+    public TimerWheel(long tickMillis, int wheelSize, long nowMillis, Predicate<T> cancelled) {
+        this.tickMillis = tickMillis;
+        this.cancelled = cancelled;
+        this.slots = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            slots.add(new ArrayDeque<>());
+        }
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    public synchronized void schedule(long deadlineMillis, T task) {
+        long tick = Math.max(deadlineMillis / tickMillis, currentTick + 1);
+        slots.get((int) (tick % slots.size())).add(new Timer<>(tick, task));
+        size++;
+    }
+
+    public synchronized List<T> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<T> expired = new ArrayList<>();
+        long ticks = Math.min(targetTick - currentTick, slots.size());
+        for (long i = 1; i <= ticks; i++) {
+            Iterator<Timer<T>> timers = slots.get((int) ((currentTick + i) % slots.size())).iterator();
+            while (timers.hasNext()) {
+                Timer<T> timer = timers.next();
+                if (cancelled.test(timer.task)) {
+                    timers.remove();
+                    size--;
+                } else if (timer.tick <= targetTick) {
+                    expired.add(timer.task);
+                    timers.remove();
+                    size--;
+                }
+            }
+        }
+        currentTick = Math.max(currentTick, targetTick);
+        return expired;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private static class Timer<T> {
+        private final long tick;
+        private final T task;
+
+        private Timer(long tick, T task) {
+            this.tick = tick;
+            this.task = task;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package ru.practicum.shareit.booking.index;
+
+import ru.practicum.shareit.booking.enums.State;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+class UserBookings {
+    // Порядок выдачи совпадает с ORDER BY start DESC запросов BookingRepository
+    private static final Comparator<IndexedBooking> ORDER = Comparator.comparing(IndexedBooking::getStart)
+            .thenComparing(IndexedBooking::getId)
+            .reversed();
+
+    private final Map<Long, IndexedBooking> byId = new HashMap<>();
+    private final NavigableSet<IndexedBooking> all = new TreeSet<>(ORDER);
+    private final NavigableSet<IndexedBooking> past = new TreeSet<>(ORDER);
+    private final NavigableSet<IndexedBooking> current = new TreeSet<>(ORDER);
+    private final NavigableSet<IndexedBooking> future = new TreeSet<>(ORDER);
+    private boolean loaded;
+    private volatile boolean evicted;
+
+    synchronized boolean load(Supplier<List<IndexedBooking>> loader, LocalDateTime now) {
+        if (loaded) {
+            return false;
+        }
+
+        // Изменения, пришедшие до окончания загрузки, новее прочитанных строк
+        for (IndexedBooking booking : loader.get()) {
+            if (!byId.containsKey(booking.getId())) {
+                put(booking, now);
+            }
+        }
+        loaded = true;
+        return true;
+    }
+
+    synchronized void put(IndexedBooking booking, LocalDateTime now) {
+        remove(booking.getId());
+        byId.put(booking.getId(), booking);
+        all.add(booking);
+        bucketOf(booking, now).add(booking);
+    }
+
+    void evict() {
+        evicted = true;
+    }
+
+    boolean isEvicted() {
+        return evicted;
+    }
+
+    synchronized void reclassify(Long id, LocalDateTime now) {
+        IndexedBooking booking = byId.get(id);
+        if (booking != null) {
+            put(booking, now);
+        }
+    }
+
+    synchronized List<Long> slice(State state, LocalDateTime now, long offset, int size) {
+        return candidates(state, now).stream()
+                .filter(booking -> booking.matches(state, now))
+                .skip(offset)
+                .limit(size)
+                .map(IndexedBooking::getId)
+                .collect(Collectors.toList());
+    }
+
+    synchronized int size() {
+        return byId.size();
+    }
+
+    private void remove(Long id) {
+        IndexedBooking previous = byId.remove(id);
+        if (previous != null) {
+            all.remove(previous);
+            past.remove(previous);
+            current.remove(previous);
+            future.remove(previous);
+        }
+    }
+
+    private NavigableSet<IndexedBooking> bucketOf(IndexedBooking booking, LocalDateTime now) {
+        if (!booking.getEnd().isAfter(now)) {
+            return past;
+        }
+        return booking.getStart().isAfter(now) ? future : current;
+    }
+
+    // Колесо переносит бронирования с опозданием до одного тика, поэтому к корзине состояния
+    // добавляются ещё не перенесённые бронирования из соседних корзин
+    private NavigableSet<IndexedBooking> candidates(State state, LocalDateTime now) {
+        switch (state) {
+            case FUTURE:
+                return future;
+            case CURRENT:
+                return withOverdue(current, started(now));
+            case PAST:
+                NavigableSet<IndexedBooking> overdue = new TreeSet<>(ORDER);
+                overdue.addAll(started(now));
+                current.stream()
+                        .filter(booking -> !booking.getEnd().isAfter(now))
+                        .forEach(overdue::add);
+                return withOverdue(past, overdue);
+            default:
+                return all;
+        }
+    }
+
+    private NavigableSet<IndexedBooking> started(LocalDateTime now) {
+        return future.tailSet(new IndexedBooking(Long.MAX_VALUE, now, now, null), true);
+    }
+
+    private static NavigableSet<IndexedBooking> withOverdue(NavigableSet<IndexedBooking> bucket,
+                                                            NavigableSet<IndexedBooking> overdue) {
+        if (overdue.isEmpty()) {
+            return bucket;
+        }
+
+        NavigableSet<IndexedBooking> merged = new TreeSet<>(bucket);
+        merged.addAll(overdue);
+        return merged;
+    }
+}
@@ -6,6 +6,7 @@ import ru.practicum.shareit.booking.enums.Status;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingRequestDto;
 import ru.practicum.shareit.booking.model.BookingResponseDto;
+import ru.practicum.shareit.booking.model.BookingView;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.mapper.UserMapper;
@@ -19,5 +20,16 @@ public interface BookingMapper {
     Booking requestDtoToBooking(BookingRequestDto bookingRequestDto, Item item, User user, Status status);
 
     BookingResponseDto bookingToBookingResponseDto(Booking booking);
+
+    @Mapping(target = "item.id", source = "itemId")
+    @Mapping(target = "item.name", source = "itemName")
+    @Mapping(target = "item.description", source = "itemDescription")
+    @Mapping(target = "item.available", source = "itemAvailable")
+    @Mapping(target = "item.ownerId", source = "itemOwnerId")
+    @Mapping(target = "item.requestId", source = "itemRequestId")
+    @Mapping(target = "booker.id", source = "bookerId")
+    @Mapping(target = "booker.name", source = "bookerName")
+    @Mapping(target = "booker.email", source = "bookerEmail")
+    BookingResponseDto bookingViewToBookingResponseDto(BookingView bookingView);
 }
 
@@ -62,14 +62,14 @@ public class Booking {
     Status status;
 
     @Override
-    public boolean equals(Object o) {
+    public final boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof Booking)) return false;
-        return id != null && id.equals(((Booking) o).getId());
+        return getId() != null && getId().equals(((Booking) o).getId());
     }
 
     @Override
-    public int hashCode() {
-        return Objects.hash(id, start, end, item, booker, status);
+    public final int hashCode() {
+        return Objects.hashCode(getId());
     }
 }
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.booking.enums.Status;
+
+import java.time.LocalDateTime;
+
+// Ровно те колонки, что отдаёт BookingResponseDto; строится конструктором в JPQL мимо контекста персистентности
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Getter
+@ToString
+@AllArgsConstructor
+public class BookingView {
+    Long id;
+    LocalDateTime start;
+    LocalDateTime end;
+    Status status;
+    Long itemId;
+    String itemName;
+    String itemDescription;
+    Boolean itemAvailable;
+    Long itemOwnerId;
+    Long itemRequestId;
+    Long bookerId;
+    String bookerName;
+    String bookerEmail;
+}
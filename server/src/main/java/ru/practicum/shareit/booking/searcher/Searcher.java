@@ -0,0 +1,42 @@
+package ru.practicum.shareit.booking.searcher;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.enums.State;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingView;
+import ru.practicum.shareit.booking.storage.exception.BookingException;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+public abstract class Searcher {
+    public static <T extends Searcher> Map<State, T> byState(Collection<T> searchers) {
+        Map<State, T> byState = new EnumMap<>(State.class);
+        for (T searcher : searchers) {
+            T previous = byState.put(searcher.getState(), searcher);
+            if (previous != null) {
+                throw new IllegalStateException(String.format("Для состояния %s найдено два поисковика: %s и %s.",
+                        searcher.getState(), previous.getClass().getSimpleName(),
+                        searcher.getClass().getSimpleName()));
+            }
+        }
+        return byState;
+    }
+
+    public static <T extends Searcher> T forState(Map<State, T> byState, State state) {
+        T searcher = byState.get(state);
+        if (searcher == null) {
+            throw new BookingException("State not found.");
+        }
+        return searcher;
+    }
+
+    public abstract State getState();
+
+    public abstract List<Booking> findBooking(Long userId, Pageable pageable, LocalDateTime dateTime);
+
+    public abstract List<BookingView> findView(Long userId, Pageable pageable, LocalDateTime dateTime);
+}
@@ -0,0 +1,6 @@
+package ru.practicum.shareit.booking.searcher.booker;
+
+import ru.practicum.shareit.booking.searcher.Searcher;
+
+public abstract class BookerSearcher extends Searcher {
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.booking.searcher.booker;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.enums.State;
+import ru.practicum.shareit.booking.index.BookingStateIndex;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingView;
+import ru.practicum.shareit.booking.searcher.Searcher;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class BookerSearchers {
+    private final Map<State, BookerSearcher> searchers;
+    private final BookingStateIndex bookingStateIndex;
+
+    public BookerSearchers(List<BookerSearcher> searchers, BookingStateIndex bookingStateIndex) {
+        this.searchers = Searcher.byState(searchers);
+        this.bookingStateIndex = bookingStateIndex;
+    }
+
+    public List<Booking> search(Long userId, State state, Pageable pageable, LocalDateTime dateTime) {
+        return Searcher.forState(searchers, state).findBooking(userId, pageable, dateTime);
+    }
+
+    public List<BookingView> searchViews(Long userId, State state, Pageable pageable, LocalDateTime dateTime) {
+        return bookingStateIndex.find(BookingStateIndex.Role.BOOKER, userId, state, pageable, dateTime)
+                .orElseGet(() -> Searcher.forState(searchers, state).findView(userId, pageable, dateTime));
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.booking.searcher.booker;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.enums.State;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingView;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class SearcherByBookerIdAndStateAll extends BookerSearcher {
+    private final BookingRepository bookingRepository;
+
+    @Override
+    public State getState() {
+        return State.ALL;
+    }
+
+    @Override
+    public List<Booking> findBooking(Long userId, Pageable pageable, LocalDateTime dateTime) {
+        return bookingRepository.findByBookerIdOrderByStartDesc(userId, pageable).toList();
+    }
+
+    @Override
+    public List<BookingView> findView(Long userId, Pageable pageable, LocalDateTime dateTime) {
+        return bookingRepository.findViewsByBookerId(userId, pageable);
+    }
+}
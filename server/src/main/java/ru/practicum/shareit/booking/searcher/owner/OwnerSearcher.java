@@ -0,0 +1,6 @@
+package ru.practicum.shareit.booking.searcher.owner;
+
+import ru.practicum.shareit.booking.searcher.Searcher;
+
+public abstract class OwnerSearcher extends Searcher {
+}
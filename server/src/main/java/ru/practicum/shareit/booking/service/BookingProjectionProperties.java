@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "shareit.booking.projections")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+public class BookingProjectionProperties {
+    boolean enabled = true;
+}
@@ -10,6 +10,8 @@ import java.util.List;
 public interface BookingService {
     BookingResponseDto getById(Long userId, Long id);
 
+    List<BookingResponseDto> getByIds(Long userId, List<Long> ids);
+
     List<BookingResponseDto> getAllByBookerId(Long userId, State state, Pageable pageable);
 
     List<BookingResponseDto> getAllByOwnerId(Long userId, State state, Pageable pageable);
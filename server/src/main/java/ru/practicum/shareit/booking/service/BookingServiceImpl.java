@@ -2,27 +2,34 @@ package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.shareit.booking.chainSearcher.booker.ChainSearcherByBooker;
-import ru.practicum.shareit.booking.chainSearcher.owner.ChainSearcherByOwner;
 import ru.practicum.shareit.booking.enums.State;
 import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.index.BookingChangedEvent;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingRequestDto;
 import ru.practicum.shareit.booking.model.BookingResponseDto;
+import ru.practicum.shareit.booking.model.BookingView;
+import ru.practicum.shareit.booking.searcher.booker.BookerSearchers;
+import ru.practicum.shareit.booking.searcher.owner.OwnerSearchers;
 import ru.practicum.shareit.booking.storage.BookingRepository;
 import ru.practicum.shareit.booking.storage.exception.BookingException;
 import ru.practicum.shareit.booking.storage.exception.NotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.summary.event.ItemBookingsChangedEvent;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -34,6 +41,10 @@ public class BookingServiceImpl implements BookingService {
     private final ItemService itemService;
     private final BookingRepository bookingRepository;
     private final BookingMapper bookingMapper;
+    private final BookerSearchers bookerSearchers;
+    private final OwnerSearchers ownerSearchers;
+    private final BookingProjectionProperties projectionProperties;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public BookingResponseDto getById(Long userId, Long id) {
@@ -48,6 +59,22 @@ public class BookingServiceImpl implements BookingService {
         return bookingMapper.bookingToBookingResponseDto(booking);
     }
 
+    @Override
+    public List<BookingResponseDto> getByIds(Long userId, List<Long> ids) {
+        log.info("Вывод бронирований с id {}.", ids);
+
+        // Бронирования, недоступные пользователю, пропускаются так же, как несуществующие
+        Map<Long, BookingView> bookings = bookingRepository.findViewsByIdIn(ids).stream()
+                .filter(booking -> userId.equals(booking.getBookerId()) || userId.equals(booking.getItemOwnerId()))
+                .collect(Collectors.toMap(BookingView::getId, Function.identity()));
+        return ids.stream()
+                .distinct()
+                .map(bookings::get)
+                .filter(Objects::nonNull)
+                .map(bookingMapper::bookingViewToBookingResponseDto)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public List<BookingResponseDto> getAllByBookerId(Long userId, State state, Pageable pageable) {
         log.info("Вывод всех бронирований пользователя {} и статусом {}.", userId, state);
@@ -55,9 +82,13 @@ public class BookingServiceImpl implements BookingService {
         userService.getUserById(userId);
 
         LocalDateTime dateTime = LocalDateTime.now();
-        ChainSearcherByBooker chainSearcherByBooker = new ChainSearcherByBooker();
+        if (projectionProperties.isEnabled()) {
+            return bookerSearchers.searchViews(userId, state, pageable, dateTime).stream()
+                    .map(bookingMapper::bookingViewToBookingResponseDto)
+                    .collect(Collectors.toList());
+        }
 
-        return chainSearcherByBooker.search(userId, state, pageable, dateTime, bookingRepository).stream()
+        return bookerSearchers.search(userId, state, pageable, dateTime).stream()
                 .map(bookingMapper::bookingToBookingResponseDto)
                 .collect(Collectors.toList());
     }
@@ -69,9 +100,13 @@ public class BookingServiceImpl implements BookingService {
         userService.getUserById(userId);
 
         LocalDateTime dateTime = LocalDateTime.now();
-        ChainSearcherByOwner chainSearcherByOwner = new ChainSearcherByOwner();
+        if (projectionProperties.isEnabled()) {
+            return ownerSearchers.searchViews(userId, state, pageable, dateTime).stream()
+                    .map(bookingMapper::bookingViewToBookingResponseDto)
+                    .collect(Collectors.toList());
+        }
 
-        return chainSearcherByOwner.search(userId, state, pageable, dateTime, bookingRepository).stream()
+        return ownerSearchers.search(userId, state, pageable, dateTime).stream()
                 .map(bookingMapper::bookingToBookingResponseDto)
                 .collect(Collectors.toList());
     }
@@ -94,7 +129,9 @@ public class BookingServiceImpl implements BookingService {
         }
 
         Booking booking = bookingMapper.requestDtoToBooking(bookingRequestDto, item, user, Status.WAITING);
-        return bookingMapper.bookingToBookingResponseDto(bookingRepository.save(booking));
+        Booking savedBooking = bookingRepository.save(booking);
+        eventPublisher.publishEvent(BookingChangedEvent.of(booking));
+        return bookingMapper.bookingToBookingResponseDto(savedBooking);
     }
 
     @Override
@@ -112,6 +149,10 @@ public class BookingServiceImpl implements BookingService {
         }
 
         repoBooking.setStatus(approved ? Status.APPROVED : Status.REJECTED);
+        if (approved) {
+            eventPublisher.publishEvent(new ItemBookingsChangedEvent(repoBooking.getItem().getId()));
+        }
+        eventPublisher.publishEvent(BookingChangedEvent.of(repoBooking));
         return bookingMapper.bookingToBookingResponseDto(bookingRepository.save(repoBooking));
     }
 
@@ -3,35 +3,57 @@ package ru.practicum.shareit.booking.storage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.index.IndexedBooking;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingView;
+import ru.practicum.shareit.storage.ReadOnlyQuery;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
+    String SELECT_VIEW = "SELECT new ru.practicum.shareit.booking.model.BookingView(b.id, b.start, b.end, b.status, "
+            + "i.id, i.name, i.description, i.available, i.owner.id, i.requestId, u.id, u.name, u.email) "
+            + "FROM Booking b JOIN b.item i JOIN b.booker u ";
+    String BY_BOOKER = "WHERE u.id = ?1 ";
+    String BY_OWNER = "WHERE i.owner.id = ?1 ";
+    String ORDER_BY_START = "ORDER BY b.start DESC";
+
+    @ReadOnlyQuery
     Page<Booking> findByBookerIdOrderByStartDesc(Long booker, Pageable pageable);
 
+    @ReadOnlyQuery
     Page<Booking> findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(Long userId, LocalDateTime start,
                                                                           LocalDateTime end, Pageable pageable);
 
+    @ReadOnlyQuery
     Page<Booking> findByBookerIdAndEndBeforeAndStatusEqualsOrderByStartDesc(Long userId, LocalDateTime start,
                                                                             Status status, Pageable pageable);
 
+    @ReadOnlyQuery
     Page<Booking> findByBookerIdAndStartAfterOrderByStartDesc(Long userId, LocalDateTime start, Pageable pageable);
 
+    @ReadOnlyQuery
     Page<Booking> findByBookerIdAndStatusEqualsOrderByStartDesc(Long userId, Status status, Pageable pageable);
 
+    @ReadOnlyQuery
     Page<Booking> findByItemOwnerIdOrderByStartDesc(Long booker, Pageable pageable);
 
+    @ReadOnlyQuery
     Page<Booking> findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(Long userId, LocalDateTime start,
                                                                              LocalDateTime end, Pageable pageable);
 
+    @ReadOnlyQuery
     Page<Booking> findByItemOwnerIdAndEndBeforeAndStatusEqualsOrderByStartDesc(Long userId, LocalDateTime start,
                                                                                Status status, Pageable pageable);
 
+    @ReadOnlyQuery
     Page<Booking> findByItemOwnerIdAndStartAfterOrderByStartDesc(Long userId, LocalDateTime start, Pageable pageable);
 
+    @ReadOnlyQuery
     Page<Booking> findByItemOwnerIdAndStatusEqualsOrderByStartDesc(Long userId, Status status, Pageable pageable);
 
     List<Booking> findByItemIdAndStartBeforeAndStatusEqualsOrderByStartDesc(Long userId, LocalDateTime start, Status status);
@@ -39,4 +61,73 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findByItemIdAndStartAfterAndStatusEqualsOrderByStartAsc(Long userId, LocalDateTime start, Status status);
 
     List<Booking> findByItemIdAndBookerIdAndEndIsBeforeAndStatusEquals(Long id, Long userId, LocalDateTime end, Status status);
+
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item JOIN FETCH b.booker WHERE b.item.id IN ?1 AND b.status = ?2")
+    List<Booking> findByItemIdInAndStatus(Collection<Long> itemIds, Status status);
+
+    @Query("SELECT DISTINCT b.item.id FROM Booking b WHERE b.booker.id = ?1 AND b.status = ?2")
+    List<Long> findItemIdsByBookerIdAndStatus(Long bookerId, Status status);
+
+    @ReadOnlyQuery
+    @Query("SELECT b FROM Booking b JOIN FETCH b.booker WHERE b.item.id IN ?1 AND b.status = ?2 AND b.start = "
+            + "(SELECT MAX(l.start) FROM Booking l WHERE l.item = b.item AND l.status = ?2 AND l.start < ?3)")
+    List<Booking> findLastByItemIdIn(Collection<Long> itemIds, Status status, LocalDateTime dateTime);
+
+    @ReadOnlyQuery
+    @Query("SELECT b FROM Booking b JOIN FETCH b.booker WHERE b.item.id IN ?1 AND b.status = ?2 AND b.start = "
+            + "(SELECT MIN(n.start) FROM Booking n WHERE n.item = b.item AND n.status = ?2 AND n.start > ?3)")
+    List<Booking> findNextByItemIdIn(Collection<Long> itemIds, Status status, LocalDateTime dateTime);
+
+    @Query("SELECT new ru.practicum.shareit.booking.index.IndexedBooking(b.id, b.start, b.end, b.status) "
+            + "FROM Booking b WHERE b.booker.id = ?1")
+    List<IndexedBooking> findIndexedByBookerId(Long bookerId);
+
+    @Query("SELECT new ru.practicum.shareit.booking.index.IndexedBooking(b.id, b.start, b.end, b.status) "
+            + "FROM Booking b WHERE b.item.owner.id = ?1")
+    List<IndexedBooking> findIndexedByItemOwnerId(Long ownerId);
+
+    @ReadOnlyQuery
+    @Query(SELECT_VIEW + BY_BOOKER + ORDER_BY_START)
+    List<BookingView> findViewsByBookerId(Long userId, Pageable pageable);
+
+    @ReadOnlyQuery
+    @Query(SELECT_VIEW + BY_BOOKER + "AND b.start < ?2 AND b.end > ?2 " + ORDER_BY_START)
+    List<BookingView> findCurrentViewsByBookerId(Long userId, LocalDateTime dateTime, Pageable pageable);
+
+    @ReadOnlyQuery
+    @Query(SELECT_VIEW + BY_BOOKER + "AND b.end < ?2 AND b.status = ?3 " + ORDER_BY_START)
+    List<BookingView> findPastViewsByBookerId(Long userId, LocalDateTime dateTime, Status status, Pageable pageable);
+
+    @ReadOnlyQuery
+    @Query(SELECT_VIEW + BY_BOOKER + "AND b.start > ?2 " + ORDER_BY_START)
+    List<BookingView> findFutureViewsByBookerId(Long userId, LocalDateTime dateTime, Pageable pageable);
+
+    @ReadOnlyQuery
+    @Query(SELECT_VIEW + BY_BOOKER + "AND b.status = ?2 " + ORDER_BY_START)
+    List<BookingView> findViewsByBookerIdAndStatus(Long userId, Status status, Pageable pageable);
+
+    @ReadOnlyQuery
+    @Query(SELECT_VIEW + BY_OWNER + ORDER_BY_START)
+    List<BookingView> findViewsByItemOwnerId(Long userId, Pageable pageable);
+
+    @ReadOnlyQuery
+    @Query(SELECT_VIEW + BY_OWNER + "AND b.start < ?2 AND b.end > ?2 " + ORDER_BY_START)
+    List<BookingView> findCurrentViewsByItemOwnerId(Long userId, LocalDateTime dateTime, Pageable pageable);
+
+    @ReadOnlyQuery
+    @Query(SELECT_VIEW + BY_OWNER + "AND b.end < ?2 AND b.status = ?3 " + ORDER_BY_START)
+    List<BookingView> findPastViewsByItemOwnerId(Long userId, LocalDateTime dateTime, Status status,
+                                                 Pageable pageable);
+
+    @ReadOnlyQuery
+    @Query(SELECT_VIEW + BY_OWNER + "AND b.start > ?2 " + ORDER_BY_START)
+    List<BookingView> findFutureViewsByItemOwnerId(Long userId, LocalDateTime dateTime, Pageable pageable);
+
+    @ReadOnlyQuery
+    @Query(SELECT_VIEW + BY_OWNER + "AND b.status = ?2 " + ORDER_BY_START)
+    List<BookingView> findViewsByItemOwnerIdAndStatus(Long userId, Status status, Pageable pageable);
+
+    @ReadOnlyQuery
+    @Query(SELECT_VIEW + "WHERE b.id IN ?1")
+    List<BookingView> findViewsByIdIn(Collection<Long> ids);
 }
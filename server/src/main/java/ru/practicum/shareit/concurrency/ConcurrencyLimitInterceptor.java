@@ -0,0 +1,64 @@
+package ru.practicum.shareit.concurrency;
+
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import ru.practicum.shareit.booking.storage.exception.ServiceUnavailableException;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+    private static final String ACQUIRED = ConcurrencyLimitInterceptor.class.getName() + ".ACQUIRED";
+
+    private final Semaphore permits;
+    private final long acquireTimeoutNanos;
+
+    public ConcurrencyLimitInterceptor(int maxConcurrentRequests, Duration acquireTimeout) {
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws InterruptedException {
+        // Асинхронный ответ (поток событий, выгрузка) уже отпустил слот, повторная диспетчеризация его не берёт
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+            throw new ServiceUnavailableException("Сервер перегружен, повторите запрос позже.");
+        }
+        request.setAttribute(ACQUIRED, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        release(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        release(request);
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int getQueueLength() {
+        return permits.getQueueLength();
+    }
+
+    private void release(HttpServletRequest request) {
+        if (request.getAttribute(ACQUIRED) != null) {
+            request.removeAttribute(ACQUIRED);
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.concurrency;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+@Configuration
+@Slf4j
+@EnableConfigurationProperties(VirtualThreadsProperties.class)
+@ConditionalOnProperty(prefix = "shareit.virtual-threads", name = "enabled", havingValue = "true")
+public class VirtualThreadsConfiguration {
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadsProtocolHandlerCustomizer() {
+        return protocolHandler -> VirtualThreads.newPerTaskExecutor().ifPresentOrElse(
+                executor -> {
+                    log.info("Обработка запросов переведена на виртуальные потоки.");
+                    protocolHandler.setExecutor(executor);
+                },
+                () -> log.warn("Виртуальные потоки недоступны в Java {}, используется пул потоков Tomcat.",
+                        Runtime.version().feature()));
+    }
+
+    @Bean
+    public ConcurrencyLimitInterceptor concurrencyLimitInterceptor(VirtualThreadsProperties properties,
+                                                                   DataSource dataSource,
+                                                                   MeterRegistry meterRegistry) {
+        int maxConcurrentRequests = properties.getMaxConcurrentRequests() != null
+                ? properties.getMaxConcurrentRequests()
+                : poolSizeOf(dataSource);
+        log.info("Одновременно обрабатывается не более {} запросов.", maxConcurrentRequests);
+
+        ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(maxConcurrentRequests,
+                properties.getAcquireTimeout());
+        Gauge.builder("shareit.concurrency.limit.available", interceptor,
+                        ConcurrencyLimitInterceptor::getAvailablePermits)
+                .description("Свободные слоты обработки запросов")
+                .register(meterRegistry);
+        Gauge.builder("shareit.concurrency.limit.queued", interceptor, ConcurrencyLimitInterceptor::getQueueLength)
+                .description("Запросы, ожидающие свободного слота")
+                .register(meterRegistry);
+        return interceptor;
+    }
+
+    @Bean
+    public WebMvcConfigurer concurrencyLimitConfigurer(ConcurrencyLimitInterceptor concurrencyLimitInterceptor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(concurrencyLimitInterceptor);
+            }
+        };
+    }
+
+    private static int poolSizeOf(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            log.warn("Не удалось определить размер пула соединений: {}", e.getMessage());
+        }
+        return Runtime.getRuntime().availableProcessors() * 2;
+    }
+}
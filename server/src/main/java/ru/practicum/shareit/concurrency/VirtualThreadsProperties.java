@@ -0,0 +1,19 @@
+package ru.practicum.shareit.concurrency;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "shareit.virtual-threads")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+public class VirtualThreadsProperties {
+    boolean enabled = false;
+    Integer maxConcurrentRequests;
+    Duration acquireTimeout = Duration.ofSeconds(30);
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.item.comment.json;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.comment.model.CommentDto;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class CommentJsonCache {
+    private final CommentJsonProperties properties;
+    private final Map<Long, Fragment> fragments = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter stale;
+
+    public CommentJsonCache(CommentJsonProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+
+        Gauge.builder("shareit.comments.json-cache.size", fragments, Map::size)
+                .description("Комментарии, сериализованные в JSON заранее")
+                .register(meterRegistry);
+        hits = outcomeCounter(meterRegistry, "hit");
+        misses = outcomeCounter(meterRegistry, "miss");
+        stale = outcomeCounter(meterRegistry, "stale");
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    // Текст и дата комментария не меняются, а имя автора может измениться, поэтому фрагмент сверяется с ним
+    public String get(CommentDto comment) {
+        Fragment fragment = fragments.get(comment.getId());
+        if (fragment == null) {
+            misses.increment();
+            return null;
+        }
+        if (!Objects.equals(fragment.authorName, comment.getAuthorName())) {
+            stale.increment();
+            return null;
+        }
+
+        hits.increment();
+        return fragment.json;
+    }
+
+    public void put(CommentDto comment, String json) {
+        evictIfFull();
+        fragments.put(comment.getId(), new Fragment(comment.getAuthorName(), json));
+    }
+
+    public int size() {
+        return fragments.size();
+    }
+
+    private void evictIfFull() {
+        Iterator<Long> commentIds = fragments.keySet().iterator();
+        while (fragments.size() >= properties.getMaxSize() && commentIds.hasNext()) {
+            commentIds.next();
+            commentIds.remove();
+        }
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("shareit.comments.json-cache")
+                .description("Обращения к заранее сериализованным комментариям")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @AllArgsConstructor
+    private static class Fragment {
+        private final String authorName;
+        private final String json;
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.comment.json;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CommentJsonConfiguration {
+    // Модули-бины Spring Boot ставит в ObjectMapper все вместе; модуль через Jackson2ObjectMapperBuilderCustomizer
+    // заменял бы собой остальные
+    @Bean
+    public CommentJsonModule commentJsonModule(CommentJsonCache commentJsonCache) {
+        return new CommentJsonModule(commentJsonCache);
+    }
+}
@@ -0,0 +1,106 @@
+package ru.practicum.shareit.item.comment.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import ru.practicum.shareit.item.comment.model.CommentDto;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+// Комментарий неизменяем, поэтому его JSON строится один раз и дальше вставляется в ответы как есть
+public class CommentJsonModule extends SimpleModule {
+    private final transient CommentJsonCache commentJsonCache;
+
+    public CommentJsonModule(CommentJsonCache commentJsonCache) {
+        super(CommentJsonModule.class.getSimpleName());
+        this.commentJsonCache = commentJsonCache;
+    }
+
+    @Override
+    public void setupModule(SetupContext context) {
+        super.setupModule(context);
+        JsonFactory jsonFactory = ((ObjectMapper) context.getOwner()).getFactory();
+        context.addBeanSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription beanDescription,
+                                                      JsonSerializer<?> serializer) {
+                if (beanDescription.getBeanClass() != CommentDto.class) {
+                    return serializer;
+                }
+                return new CachedCommentSerializer((JsonSerializer<CommentDto>) serializer, jsonFactory,
+                        commentJsonCache);
+            }
+        });
+    }
+
+    static class CachedCommentSerializer extends StdSerializer<CommentDto>
+            implements ContextualSerializer, ResolvableSerializer {
+        private final transient JsonSerializer<CommentDto> serializer;
+        private final transient JsonFactory jsonFactory;
+        private final transient CommentJsonCache commentJsonCache;
+
+        CachedCommentSerializer(JsonSerializer<CommentDto> serializer, JsonFactory jsonFactory,
+                                CommentJsonCache commentJsonCache) {
+            super(CommentDto.class);
+            this.serializer = serializer;
+            this.jsonFactory = jsonFactory;
+            this.commentJsonCache = commentJsonCache;
+        }
+
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            if (serializer instanceof ResolvableSerializer) {
+                ((ResolvableSerializer) serializer).resolve(provider);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+                throws JsonMappingException {
+            if (!(serializer instanceof ContextualSerializer)) {
+                return this;
+            }
+
+            JsonSerializer<?> contextual = ((ContextualSerializer) serializer).createContextual(provider, property);
+            return contextual == serializer ? this
+                    : new CachedCommentSerializer((JsonSerializer<CommentDto>) contextual, jsonFactory,
+                    commentJsonCache);
+        }
+
+        @Override
+        public void serialize(CommentDto comment, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            // Ещё не записанный комментарий без id, бинарные форматы и форматированный вывод пишутся как обычно
+            if (comment.getId() == null || !commentJsonCache.isEnabled() || generator.canWriteBinaryNatively()
+                    || generator.getPrettyPrinter() != null) {
+                serializer.serialize(comment, generator, provider);
+                return;
+            }
+
+            String json = commentJsonCache.get(comment);
+            if (json == null) {
+                StringWriter writer = new StringWriter();
+                try (JsonGenerator fragment = jsonFactory.createGenerator(writer)) {
+                    serializer.serialize(comment, fragment, provider);
+                }
+                json = writer.toString();
+                commentJsonCache.put(comment, json);
+            }
+            generator.writeRawValue(json);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item.comment.json;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "shareit.comments.json-cache")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+public class CommentJsonProperties {
+    boolean enabled = true;
+    int maxSize = 100_000;
+}
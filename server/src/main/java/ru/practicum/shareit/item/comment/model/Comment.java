@@ -18,6 +18,7 @@ import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
@@ -25,7 +26,9 @@ import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Entity
-@Table(name = "COMMENTS", schema = "public")
+@Table(name = "COMMENTS", schema = "public", indexes = {
+        @Index(name = "COMMENTS_ITEM_CREATED_IDX", columnList = "ITEM_ID, CREATED_DATE, ID")
+})
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Getter
 @Setter
@@ -44,6 +47,7 @@ public class Comment {
     @Column(name = "CREATED_DATE", nullable = false)
     LocalDateTime createdDate;
 
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @OnDelete(action = OnDeleteAction.CASCADE)
     @JoinColumn(name = "AUTHOR_ID", referencedColumnName = "ID", nullable = false)
@@ -53,14 +57,14 @@ public class Comment {
     Long itemId;
 
     @Override
-    public boolean equals(Object o) {
+    public final boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof Comment)) return false;
-        return id != null && id.equals(((Comment) o).getId());
+        return getId() != null && getId().equals(((Comment) o).getId());
     }
 
     @Override
-    public int hashCode() {
-        return Objects.hash(id, text, createdDate, author, itemId);
+    public final int hashCode() {
+        return Objects.hashCode(getId());
     }
 }
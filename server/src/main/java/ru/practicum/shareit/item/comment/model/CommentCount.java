@@ -0,0 +1,7 @@
+package ru.practicum.shareit.item.comment.model;
+
+public interface CommentCount {
+    Long getItemId();
+
+    int getCount();
+}
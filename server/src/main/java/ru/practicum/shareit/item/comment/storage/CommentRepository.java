@@ -1,8 +1,46 @@
 package ru.practicum.shareit.item.comment.storage;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.comment.model.Comment;
+import ru.practicum.shareit.item.comment.model.CommentCount;
+import ru.practicum.shareit.storage.ReadOnlyQuery;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    int countByItemId(Long itemId);
+
+    @Query("SELECT c.itemId AS itemId, COUNT(c) AS count FROM Comment c WHERE c.itemId IN ?1 GROUP BY c.itemId")
+    List<CommentCount> countByItemIdIn(Collection<Long> itemIds);
+
+    @ReadOnlyQuery
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author WHERE c.itemId = ?1 ORDER BY c.createdDate DESC, c.id DESC")
+    List<Comment> findLatestByItemId(Long itemId, Pageable pageable);
+
+    @ReadOnlyQuery
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author "
+            + "WHERE c.itemId = ?1 AND (c.createdDate < ?2 OR (c.createdDate = ?2 AND c.id < ?3)) "
+            + "ORDER BY c.createdDate DESC, c.id DESC")
+    List<Comment> findLatestByItemIdBefore(Long itemId, LocalDateTime createdDate, Long id, Pageable pageable);
+
+    @ReadOnlyQuery
+    @Query(value = "SELECT c.id FROM (SELECT id, ROW_NUMBER() OVER "
+            + "(PARTITION BY item_id ORDER BY created_date DESC, id DESC) AS position "
+            + "FROM comments WHERE item_id IN ?1) c WHERE c.position <= ?2", nativeQuery = true)
+    List<Long> findLatestIdsByItemIdIn(Collection<Long> itemIds, int limit);
+
+    @ReadOnlyQuery
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author WHERE c.id IN ?1 ORDER BY c.createdDate, c.id")
+    List<Comment> findWithAuthorByIdIn(Collection<Long> ids);
+
+    @ReadOnlyQuery
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author WHERE c.itemId IN ?1 ORDER BY c.createdDate, c.id")
+    List<Comment> findAllByItemIdIn(Collection<Long> itemIds);
 
+    @Query("SELECT DISTINCT c.itemId FROM Comment c WHERE c.author.id = ?1")
+    List<Long> findItemIdsByAuthorId(Long authorId);
 }
@@ -0,0 +1,248 @@
+package ru.practicum.shareit.item.comment.writebehind;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.storage.exception.ServiceUnavailableException;
+import ru.practicum.shareit.item.comment.model.CommentDto;
+import ru.practicum.shareit.item.summary.event.ItemCommentsChangedEvent;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+@Component
+@Slf4j
+public class CommentWriteBehind implements SmartLifecycle {
+    private static final String INSERT = "INSERT INTO comments (text, created_date, author_id, item_id) "
+            + "VALUES (?, ?, ?, ?)";
+    private static final long POLL_MILLIS = 100;
+
+    private final CommentWriteBehindProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BlockingQueue<PendingComment> queue;
+    private final Map<Long, Set<PendingComment>> pendingByItem = new ConcurrentHashMap<>();
+    // Постановка в очередь идёт под чтением, остановка приёма под записью: после неё в очередь уже ничего не
+    // попадёт, и поток записи, дочитав очередь до конца, не оставит подтверждённых, но не записанных комментариев
+    private final ReadWriteLock acceptLock = new ReentrantReadWriteLock();
+
+    private final Counter enqueued;
+    private final Counter rejected;
+    private final Counter flushed;
+    private final Counter failed;
+    private final Timer flushTime;
+
+    private volatile boolean accepting;
+    private volatile boolean running;
+    private Thread worker;
+
+    public CommentWriteBehind(CommentWriteBehindProperties properties, JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher,
+                              MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.queue = new ArrayBlockingQueue<>(properties.getCapacity());
+
+        Gauge.builder("shareit.comments.write-behind.queued", queue, BlockingQueue::size)
+                .description("Комментарии, ожидающие записи в базу")
+                .register(meterRegistry);
+        enqueued = outcomeCounter(meterRegistry, "enqueued");
+        rejected = outcomeCounter(meterRegistry, "rejected");
+        flushed = outcomeCounter(meterRegistry, "flushed");
+        failed = outcomeCounter(meterRegistry, "failed");
+        flushTime = Timer.builder("shareit.comments.write-behind.flush")
+                .description("Запись пакета комментариев")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public CommentDto enqueue(PendingComment comment) {
+        Lock lock = acceptLock.readLock();
+        lock.lock();
+        try {
+            if (!accepting) {
+                throw new ServiceUnavailableException("Приём комментариев остановлен.");
+            }
+            offer(comment);
+        } finally {
+            lock.unlock();
+        }
+
+        enqueued.increment();
+        return comment.toCommentDto();
+    }
+
+    public List<PendingComment> pendingFor(Long itemId, Long authorId) {
+        Set<PendingComment> pending = pendingByItem.get(itemId);
+        if (pending == null) {
+            return List.of();
+        }
+
+        return pending.stream()
+                .filter(comment -> comment.getAuthorId().equals(authorId))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        accepting = true;
+        running = true;
+        worker = new Thread(this::drainLoop, "comment-write-behind");
+        worker.start();
+        log.info("Отложенная запись комментариев включена: очередь {}, пакет {}.", properties.getCapacity(),
+                properties.getBatchSize());
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+
+        Lock lock = acceptLock.writeLock();
+        lock.lock();
+        try {
+            accepting = false;
+        } finally {
+            lock.unlock();
+        }
+        running = false;
+        try {
+            worker.join(properties.getShutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive()) {
+            worker.interrupt();
+            log.error("Не удалось записать {} комментариев до остановки сервера.", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void offer(PendingComment comment) {
+        pendingByItem.compute(comment.getItemId(), (itemId, pending) -> {
+            Set<PendingComment> result = pending != null ? pending : ConcurrentHashMap.newKeySet();
+            result.add(comment);
+            return result;
+        });
+
+        boolean offered;
+        try {
+            offered = queue.offer(comment, properties.getEnqueueTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            offered = false;
+        }
+        if (!offered) {
+            forget(comment);
+            rejected.increment();
+            throw new ServiceUnavailableException("Очередь комментариев переполнена, повторите позже.");
+        }
+    }
+
+    private void drainLoop() {
+        List<PendingComment> batch = new ArrayList<>(properties.getBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingComment first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, properties.getBatchSize() - 1);
+                flushTime.record(() -> flush(batch));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Ошибка отложенной записи комментариев.", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingComment> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT, batch, batch.size(), (statement, comment) -> {
+                    statement.setString(1, comment.getText());
+                    statement.setTimestamp(2, Timestamp.valueOf(comment.getCreatedDate()));
+                    statement.setLong(3, comment.getAuthorId());
+                    statement.setLong(4, comment.getItemId());
+                });
+                eventPublisher.publishEvent(new ItemCommentsChangedEvent(batch.stream()
+                        .map(PendingComment::getItemId)
+                        .collect(Collectors.toSet())));
+            });
+            flushed.increment(batch.size());
+        } catch (DataAccessException e) {
+            log.warn("Пакет из {} комментариев не записан, запись по одному: {}", batch.size(), e.getMessage());
+            batch.forEach(this::flushOne);
+        }
+        batch.forEach(this::forget);
+    }
+
+    private void flushOne(PendingComment comment) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update(INSERT, comment.getText(), Timestamp.valueOf(comment.getCreatedDate()),
+                        comment.getAuthorId(), comment.getItemId());
+                eventPublisher.publishEvent(new ItemCommentsChangedEvent(Set.of(comment.getItemId())));
+            });
+            flushed.increment();
+        } catch (DataAccessException e) {
+            failed.increment();
+            log.error("Комментарий пользователя с id {} к вещи с id {} потерян: {}", comment.getAuthorId(),
+                    comment.getItemId(), e.getMessage());
+        }
+    }
+
+    private void forget(PendingComment comment) {
+        pendingByItem.computeIfPresent(comment.getItemId(), (itemId, pending) -> {
+            pending.remove(comment);
+            return pending.isEmpty() ? null : pending;
+        });
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("shareit.comments.write-behind")
+                .description("Комментарии, прошедшие через очередь отложенной записи")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
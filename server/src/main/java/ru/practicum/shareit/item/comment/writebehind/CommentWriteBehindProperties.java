@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item.comment.writebehind;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "shareit.comments.write-behind")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+public class CommentWriteBehindProperties {
+    boolean enabled = false;
+    int capacity = 10_000;
+    int batchSize = 100;
+    Duration enqueueTimeout = Duration.ofMillis(100);
+    Duration shutdownTimeout = Duration.ofSeconds(30);
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.item.comment.writebehind;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.item.comment.model.CommentDto;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Getter
+@RequiredArgsConstructor
+public class PendingComment {
+    Long itemId;
+    Long authorId;
+    String authorName;
+    String text;
+    LocalDateTime createdDate;
+
+    public CommentDto toCommentDto() {
+        return CommentDto.builder()
+                .text(text)
+                .createdDate(createdDate)
+                .authorId(authorId)
+                .authorName(authorName)
+                .build();
+    }
+
+    // Имя автора могут изменить до записи, поэтому записанный комментарий узнаётся по id автора
+    public boolean isSaved(CommentDto saved) {
+        return text.equals(saved.getText())
+                && createdDate.equals(saved.getCreatedDate())
+                && Objects.equals(authorId, saved.getAuthorId());
+    }
+}
@@ -2,6 +2,7 @@ package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -17,8 +18,10 @@ import ru.practicum.shareit.item.comment.model.CommentRequestDto;
 import ru.practicum.shareit.item.model.ItemDto;
 import ru.practicum.shareit.item.model.ItemExtendedDto;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.metrics.StatementBudget;
 import ru.practicum.shareit.user.controller.UserController;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -28,6 +31,7 @@ public class ItemController {
     private final ItemService itemService;
 
     @GetMapping
+    @StatementBudget(8)
     public List<ItemExtendedDto> getByOwnerId(@RequestHeader(UserController.headerUserId) Long userId,
                                               @RequestParam Integer from,
                                               @RequestParam Integer size) {
@@ -40,6 +44,22 @@ public class ItemController {
         return itemService.getById(userId, id);
     }
 
+    @GetMapping(params = "ids")
+    @StatementBudget(8)
+    public List<ItemExtendedDto> getByIds(@RequestHeader(UserController.headerUserId) Long userId,
+                                          @RequestParam List<Long> ids) {
+        return itemService.getByIds(userId, ids);
+    }
+
+    @GetMapping("/{id}/comments")
+    public List<CommentDto> getComments(@PathVariable Long id,
+                                        @RequestParam(required = false)
+                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeDate,
+                                        @RequestParam(required = false) Long beforeId,
+                                        @RequestParam Integer size) {
+        return itemService.getComments(id, beforeDate, beforeId, size);
+    }
+
     @PostMapping
     public ItemDto create(@RequestHeader(UserController.headerUserId) Long userId,
                           @RequestBody ItemDto itemDto) {
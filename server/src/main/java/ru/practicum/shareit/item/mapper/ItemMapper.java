@@ -10,6 +10,7 @@ import ru.practicum.shareit.item.comment.model.CommentRequestDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.model.ItemDto;
 import ru.practicum.shareit.item.model.ItemExtendedDto;
+import ru.practicum.shareit.item.summary.model.ItemSummary;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
@@ -31,8 +32,25 @@ public interface ItemMapper {
     @Mapping(target = "lastBooking", expression = "java(lastBooking)")
     @Mapping(target = "nextBooking", expression = "java(nextBooking)")
     @Mapping(target = "comments", expression = "java(commentsToCommentsDto(item.getComments()))")
+    @Mapping(target = "commentCount", ignore = true)
     ItemExtendedDto toItemExtendedDto(Item item, BookingItemDto lastBooking, BookingItemDto nextBooking);
 
+    @Mapping(target = "id", expression = "java(item.getId())")
+    @Mapping(target = "ownerId", expression = "java(item.getOwner().getId())")
+    @Mapping(target = "lastBooking", expression = "java(lastBooking)")
+    @Mapping(target = "nextBooking", expression = "java(nextBooking)")
+    @Mapping(target = "comments", expression = "java(comments)")
+    @Mapping(target = "commentCount", expression = "java(commentCount)")
+    ItemExtendedDto toItemExtendedDto(Item item, BookingItemDto lastBooking, BookingItemDto nextBooking,
+                                      List<CommentDto> comments, int commentCount);
+
+    @Mapping(target = "id", source = "itemSummary.itemId")
+    @Mapping(target = "lastBooking", source = "lastBooking")
+    @Mapping(target = "nextBooking", source = "nextBooking")
+    @Mapping(target = "comments", source = "comments")
+    ItemExtendedDto toItemExtendedDto(ItemSummary itemSummary, BookingItemDto lastBooking, BookingItemDto nextBooking,
+                                      List<CommentDto> comments);
+
     @Mapping(target = "bookerId", expression = "java(booking.getBooker().getId())")
     BookingItemDto bookingToBookingItemDto(Booking booking);
 
@@ -42,6 +60,7 @@ public interface ItemMapper {
     Comment commentRequestDtoToComment(CommentRequestDto commentRequestDto, LocalDateTime dateTime,
                                                        User user, Long itemId);
 
+    @Mapping(target = "authorId", expression = "java(comment.getAuthor().getId())")
     @Mapping(target = "authorName", expression = "java(comment.getAuthor().getName())")
     CommentDto commentToCommentDto(Comment comment);
 
@@ -49,11 +49,13 @@ public class Item {
     @Column(nullable = false)
     Boolean available;
 
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @OnDelete(action = OnDeleteAction.CASCADE)
     @JoinColumn(name = "OWNER_ID", referencedColumnName = "ID", nullable = false)
     User owner;
 
+    @ToString.Exclude
     @OneToMany(fetch = FetchType.LAZY)
     @OnDelete(action = OnDeleteAction.CASCADE)
     @JoinColumn(name = "ITEM_ID", referencedColumnName = "ID")
@@ -63,14 +65,14 @@ public class Item {
     Long requestId;
 
     @Override
-    public boolean equals(Object o) {
+    public final boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof Item)) return false;
-        return id != null && id.equals(((Item) o).getId());
+        return getId() != null && getId().equals(((Item) o).getId());
     }
 
     @Override
-    public int hashCode() {
-        return Objects.hash(id, name, description, available, owner, comments, requestId);
+    public final int hashCode() {
+        return Objects.hashCode(getId());
     }
 }
@@ -24,4 +24,5 @@ public class ItemExtendedDto {
     BookingItemDto lastBooking;
     BookingItemDto nextBooking;
     List<CommentDto> comments;
+    Integer commentCount;
 }
@@ -7,6 +7,7 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.model.ItemDto;
 import ru.practicum.shareit.item.model.ItemExtendedDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -14,6 +15,10 @@ public interface ItemService {
 
     ItemExtendedDto getById(Long userId, Long id);
 
+    List<ItemExtendedDto> getByIds(Long userId, List<Long> ids);
+
+    List<CommentDto> getComments(Long id, LocalDateTime beforeDate, Long beforeId, Integer size);
+
     ItemDto create(Long userId, ItemDto itemDto);
 
     ItemDto patch(Long userId, Long id, ItemDto itemDto);
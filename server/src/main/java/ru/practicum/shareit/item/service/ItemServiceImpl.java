@@ -2,6 +2,8 @@ package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -12,21 +14,35 @@ import ru.practicum.shareit.booking.storage.BookingRepository;
 import ru.practicum.shareit.booking.storage.exception.BookingException;
 import ru.practicum.shareit.booking.storage.exception.ForbiddenException;
 import ru.practicum.shareit.booking.storage.exception.NotFoundException;
+import ru.practicum.shareit.item.comment.CommentProperties;
 import ru.practicum.shareit.item.comment.model.Comment;
+import ru.practicum.shareit.item.comment.model.CommentCount;
 import ru.practicum.shareit.item.comment.model.CommentDto;
 import ru.practicum.shareit.item.comment.model.CommentRequestDto;
 import ru.practicum.shareit.item.comment.storage.CommentRepository;
+import ru.practicum.shareit.item.comment.writebehind.CommentWriteBehind;
+import ru.practicum.shareit.item.comment.writebehind.PendingComment;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.model.ItemDto;
 import ru.practicum.shareit.item.model.ItemExtendedDto;
 import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.item.summary.event.ItemChangedEvent;
+import ru.practicum.shareit.item.summary.event.ItemCommentAddedEvent;
+import ru.practicum.shareit.item.summary.event.ItemDeletedEvent;
+import ru.practicum.shareit.item.summary.model.ItemSummary;
+import ru.practicum.shareit.item.summary.service.ItemSummaryService;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -39,13 +55,23 @@ public class ItemServiceImpl implements ItemService {
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemMapper itemMapper;
+    private final CommentWriteBehind commentWriteBehind;
+    private final CommentProperties commentProperties;
+    private final ItemSummaryService itemSummaryService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public List<ItemExtendedDto> getByOwnerId(Long userId, Pageable pageable) {
         log.info("Вывод всех вещей пользователя с id {}.", userId);
 
+        if (itemSummaryService.isEnabled()) {
+            return itemSummaryService.getByOwnerId(userId, pageable).stream()
+                    .map(itemSummary -> toItemExtendedDto(itemSummary, userId))
+                    .collect(Collectors.toList());
+        }
+
         return itemRepository.findByOwnerIdOrderByIdAsc(userId, pageable).stream()
-                .map((item) -> itemMapper.toItemExtendedDto(item, getLastBooking(item), getNextBooking(item)))
+                .map((item) -> toItemExtendedDto(item, getLastBooking(item), getNextBooking(item)))
                 .collect(Collectors.toList());
     }
 
@@ -53,12 +79,73 @@ public class ItemServiceImpl implements ItemService {
     public ItemExtendedDto getById(Long userId, Long id) {
         log.info("Вывод вещи с id {}.", id);
 
-        Item item = getItemById(id);
-        if (!Objects.equals(userId, item.getOwner().getId())) {
-            return itemMapper.toItemExtendedDto(item, null, null);
-        } else {
-            return itemMapper.toItemExtendedDto(item, getLastBooking(item), getNextBooking(item));
+        List<PendingComment> pending = commentWriteBehind.pendingFor(id, userId);
+        ItemExtendedDto itemExtendedDto = itemSummaryService.isEnabled()
+                ? itemSummaryService.getByItemId(id).map(itemSummary -> toItemExtendedDto(itemSummary, userId))
+                    .orElse(null)
+                : null;
+        if (itemExtendedDto == null) {
+            Item item = getItemById(id);
+            if (!Objects.equals(userId, item.getOwner().getId())) {
+                itemExtendedDto = toItemExtendedDto(item, null, null);
+            } else {
+                itemExtendedDto = toItemExtendedDto(item, getLastBooking(item), getNextBooking(item));
+            }
+        }
+
+        return withPendingComments(itemExtendedDto, pending);
+    }
+
+    @Override
+    public List<ItemExtendedDto> getByIds(Long userId, List<Long> ids) {
+        log.info("Вывод вещей с id {}.", ids);
+
+        List<Long> distinctIds = ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+        Map<Long, List<PendingComment>> pending = distinctIds.stream()
+                .collect(Collectors.toMap(Function.identity(), id -> commentWriteBehind.pendingFor(id, userId)));
+
+        Map<Long, ItemExtendedDto> found = new HashMap<>();
+        if (itemSummaryService.isEnabled()) {
+            itemSummaryService.getByItemIds(distinctIds).forEach(itemSummary ->
+                    found.put(itemSummary.getItemId(), toItemExtendedDto(itemSummary, userId)));
+        }
+        List<Long> missingIds = distinctIds.stream()
+                .filter(id -> !found.containsKey(id))
+                .collect(Collectors.toList());
+        if (!missingIds.isEmpty()) {
+            toItemExtendedDtos(itemRepository.findAllById(missingIds), userId)
+                    .forEach(itemExtendedDto -> found.put(itemExtendedDto.getId(), itemExtendedDto));
         }
+
+        // Несуществующие вещи пропускаются, а не обрывают весь пакет
+        return distinctIds.stream()
+                .filter(found::containsKey)
+                .map(id -> withPendingComments(found.get(id), pending.get(id)))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<CommentDto> getComments(Long id, LocalDateTime beforeDate, Long beforeId, Integer size) {
+        log.info("Вывод {} комментариев к вещи с id {}, оставленных до {}.", size, id, beforeDate);
+        if (beforeId != null && beforeDate == null) {
+            throw new BookingException("Параметр beforeId задаётся только вместе с beforeDate.");
+        }
+
+        Pageable pageable = PageRequest.of(0, size);
+        List<Comment> comments = beforeDate == null
+                ? commentRepository.findLatestByItemId(id, pageable)
+                : commentRepository.findLatestByItemIdBefore(id, beforeDate,
+                        beforeId != null ? beforeId : Long.MAX_VALUE, pageable);
+        if (comments.isEmpty() && !itemRepository.existsById(id)) {
+            throw new NotFoundException("Вещи с таким id не существует.");
+        }
+
+        return comments.stream()
+                .map(itemMapper::commentToCommentDto)
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -67,8 +154,10 @@ public class ItemServiceImpl implements ItemService {
         log.info("Создание вещи {} пользователем с id {}.", itemDto, userId);
 
         Item item = itemMapper.toItem(itemDto, userService.getUserById(userId));
+        ItemDto created = itemMapper.toItemDto(itemRepository.save(item));
+        eventPublisher.publishEvent(new ItemChangedEvent(item.getId(), true));
 
-        return itemMapper.toItemDto(itemRepository.save(item));
+        return created;
     }
 
     @Override
@@ -92,6 +181,7 @@ public class ItemServiceImpl implements ItemService {
             repoItem.setAvailable(itemDto.getAvailable());
         }
 
+        eventPublisher.publishEvent(new ItemChangedEvent(id, false));
         return itemMapper.toItemDto(itemRepository.save(repoItem));
     }
 
@@ -100,6 +190,7 @@ public class ItemServiceImpl implements ItemService {
     public void delete(Long id) {
         log.info("Удаление вещи с id {}.", id);
         itemRepository.deleteById(id);
+        eventPublisher.publishEvent(new ItemDeletedEvent(id));
     }
 
     @Override
@@ -122,7 +213,7 @@ public class ItemServiceImpl implements ItemService {
         log.info("Добавление комментария пользователем с id {} вещи с id {}.", userId, id);
 
         Comment comment = itemMapper.commentRequestDtoToComment(commentRequestDto,
-                LocalDateTime.now(),
+                LocalDateTime.now().truncatedTo(ChronoUnit.MICROS),
                 userService.getUserById(userId),
                 id);
 
@@ -131,7 +222,13 @@ public class ItemServiceImpl implements ItemService {
             throw new BookingException("Пользователь не брал данную вещь в аренду.");
         }
 
-        return itemMapper.commentToCommentDto(commentRepository.save(comment));
+        if (commentWriteBehind.isEnabled()) {
+            return commentWriteBehind.enqueue(new PendingComment(id, userId, comment.getAuthor().getName(),
+                    comment.getText(), comment.getCreatedDate()));
+        }
+        CommentDto commentDto = itemMapper.commentToCommentDto(commentRepository.save(comment));
+        eventPublisher.publishEvent(new ItemCommentAddedEvent(id, commentDto));
+        return commentDto;
     }
 
     @Override
@@ -140,6 +237,106 @@ public class ItemServiceImpl implements ItemService {
                 .orElseThrow(() -> new NotFoundException("Вещи с таким id не существует."));
     }
 
+    private ItemExtendedDto toItemExtendedDto(ItemSummary itemSummary, Long userId) {
+        BookingItemDto lastBooking = null;
+        BookingItemDto nextBooking = null;
+        if (Objects.equals(userId, itemSummary.getOwnerId())) {
+            if (itemSummary.isBookingSlotFresh(LocalDateTime.now())) {
+                lastBooking = itemSummary.getLastBooking() != null
+                        ? itemSummary.getLastBooking().toBookingItemDto() : null;
+                nextBooking = itemSummary.getNextBooking() != null
+                        ? itemSummary.getNextBooking().toBookingItemDto() : null;
+            } else {
+                Item item = itemRepository.getReferenceById(itemSummary.getItemId());
+                lastBooking = getLastBooking(item);
+                nextBooking = getNextBooking(item);
+            }
+        }
+
+        return itemMapper.toItemExtendedDto(itemSummary, lastBooking, nextBooking,
+                itemSummaryService.getLatestComments(itemSummary, commentProperties.getEmbeddedLimit()));
+    }
+
+    private ItemExtendedDto toItemExtendedDto(Item item, BookingItemDto lastBooking, BookingItemDto nextBooking) {
+        int limit = commentProperties.getEmbeddedLimit();
+        List<CommentDto> comments = commentRepository.findLatestByItemId(item.getId(), PageRequest.of(0, limit))
+                .stream()
+                .map(itemMapper::commentToCommentDto)
+                .collect(Collectors.toList());
+        Collections.reverse(comments);
+        int commentCount = comments.size() < limit ? comments.size() : commentRepository.countByItemId(item.getId());
+
+        return itemMapper.toItemExtendedDto(item, lastBooking, nextBooking, comments, commentCount);
+    }
+
+    // Бронирования, последние комментарии и их число загружаются сразу для всех вещей пакета
+    private List<ItemExtendedDto> toItemExtendedDtos(List<Item> items, Long userId) {
+        if (items.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> itemIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        List<Long> ownedIds = items.stream()
+                .filter(item -> Objects.equals(userId, item.getOwner().getId()))
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        Map<Long, BookingItemDto> lastBookings = Map.of();
+        Map<Long, BookingItemDto> nextBookings = Map.of();
+        if (!ownedIds.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            lastBookings = toBookingItemDtos(bookingRepository.findLastByItemIdIn(ownedIds, Status.APPROVED, now));
+            nextBookings = toBookingItemDtos(bookingRepository.findNextByItemIdIn(ownedIds, Status.APPROVED, now));
+        }
+
+        int limit = commentProperties.getEmbeddedLimit();
+        List<Long> commentIds = commentRepository.findLatestIdsByItemIdIn(itemIds, limit);
+        Map<Long, List<CommentDto>> comments = commentIds.isEmpty() ? Map.of()
+                : commentRepository.findWithAuthorByIdIn(commentIds).stream()
+                        .collect(Collectors.groupingBy(Comment::getItemId,
+                                Collectors.mapping(itemMapper::commentToCommentDto, Collectors.toList())));
+        List<Long> fullIds = itemIds.stream()
+                .filter(id -> comments.getOrDefault(id, List.of()).size() >= limit)
+                .collect(Collectors.toList());
+        Map<Long, Integer> commentCounts = fullIds.isEmpty() ? Map.of()
+                : commentRepository.countByItemIdIn(fullIds).stream()
+                        .collect(Collectors.toMap(CommentCount::getItemId, CommentCount::getCount));
+
+        Map<Long, BookingItemDto> last = lastBookings;
+        Map<Long, BookingItemDto> next = nextBookings;
+        return items.stream()
+                .map(item -> {
+                    List<CommentDto> itemComments = comments.getOrDefault(item.getId(), List.of());
+                    return itemMapper.toItemExtendedDto(item, last.get(item.getId()), next.get(item.getId()),
+                            itemComments, commentCounts.getOrDefault(item.getId(), itemComments.size()));
+                })
+                .collect(Collectors.toList());
+    }
+
+    private Map<Long, BookingItemDto> toBookingItemDtos(List<Booking> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(booking -> booking.getItem().getId(), itemMapper::bookingToBookingItemDto,
+                        (first, second) -> first));
+    }
+
+    private ItemExtendedDto withPendingComments(ItemExtendedDto itemExtendedDto, List<PendingComment> pending) {
+        if (pending.isEmpty()) {
+            return itemExtendedDto;
+        }
+
+        List<CommentDto> comments = new ArrayList<>(itemExtendedDto.getComments());
+        for (PendingComment comment : pending) {
+            if (itemExtendedDto.getComments().stream().noneMatch(comment::isSaved)) {
+                comments.add(comment.toCommentDto());
+                itemExtendedDto.setCommentCount(itemExtendedDto.getCommentCount() + 1);
+            }
+        }
+        int limit = commentProperties.getEmbeddedLimit();
+        itemExtendedDto.setComments(comments.subList(Math.max(0, comments.size() - limit), comments.size()));
+        return itemExtendedDto;
+    }
+
     private BookingItemDto getLastBooking(Item item) {
         List<Booking> bookings = bookingRepository.findByItemIdAndStartBeforeAndStatusEqualsOrderByStartDesc(
                 item.getId(),
@@ -3,16 +3,30 @@ package ru.practicum.shareit.item.storage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.events.index.IndexedItem;
+import ru.practicum.shareit.storage.ReadOnlyQuery;
 
-public interface ItemRepository extends JpaRepository<Item, Long> {
+import javax.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemSearchRepository {
+    @ReadOnlyQuery
     Page<Item> findByOwnerIdOrderByIdAsc(Long ownerId, Pageable pageable);
 
-    @Query("SELECT i " +
-            "FROM Item i " +
-            "WHERE (UPPER(i.name) LIKE UPPER(CONCAT('%', ?1, '%') ) " +
-            "OR UPPER(i.description) LIKE UPPER(CONCAT('%', ?1, '%'))) " +
-            "AND i.available = true")
-    Page<Item> search(String text, Pageable pageable);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id IN ?1 ORDER BY i.id")
+    List<Item> findAllForUpdate(Collection<Long> ids);
+
+    @Query("SELECT new ru.practicum.shareit.request.events.index.IndexedItem(i.id, i.owner.id, i.name) "
+            + "FROM Item i WHERE i.id > ?1 ORDER BY i.id")
+    List<IndexedItem> findIndexedAfter(Long afterId, Pageable pageable);
+
+    @Query("SELECT new ru.practicum.shareit.request.events.index.IndexedItem(i.id, i.owner.id, i.name) "
+            + "FROM Item i WHERE i.id = ?1")
+    Optional<IndexedItem> findIndexedById(Long id);
 }
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.item.storage;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.item.model.Item;
+
+public interface ItemSearchRepository {
+    Slice<Item> search(String text, Pageable pageable);
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.item.storage;
+
+import org.hibernate.Session;
+import org.hibernate.StatelessSession;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.storage.ReadOnlyQuery;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+
+public class ItemSearchRepositoryImpl implements ItemSearchRepository {
+    private static final String SEARCH = "SELECT i FROM Item i JOIN FETCH i.owner "
+            + "WHERE (UPPER(i.name) LIKE UPPER(CONCAT('%', :text, '%')) "
+            + "OR UPPER(i.description) LIKE UPPER(CONCAT('%', :text, '%'))) "
+            + "AND i.available = true "
+            + "ORDER BY i.id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Результаты поиска только отображаются, поэтому читаются в обход контекста персистентности
+    // на соединении текущей транзакции; лишняя строка заменяет запрос количества
+    @Override
+    public Slice<Item> search(String text, Pageable pageable) {
+        Session session = entityManager.unwrap(Session.class);
+        if (session.isDirty()) {
+            session.flush();
+        }
+
+        return session.doReturningWork(connection -> {
+            try (StatelessSession statelessSession = session.getSessionFactory().openStatelessSession(connection)) {
+                List<Item> items = statelessSession.createQuery(SEARCH, Item.class)
+                        .setParameter("text", text)
+                        .setFirstResult((int) pageable.getOffset())
+                        .setMaxResults(pageable.getPageSize() + 1)
+                        .setFetchSize(Integer.parseInt(ReadOnlyQuery.FETCH_SIZE))
+                        .getResultList();
+
+                boolean hasNext = items.size() > pageable.getPageSize();
+                return new SliceImpl<>(hasNext ? items.subList(0, pageable.getPageSize()) : items, pageable,
+                        hasNext);
+            }
+        });
+    }
+}
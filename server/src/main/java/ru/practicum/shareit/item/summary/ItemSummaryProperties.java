@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item.summary;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "shareit.item-summary")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+public class ItemSummaryProperties {
+    boolean enabled = true;
+    int latestComments = 10;
+    int backfillBatchSize = 500;
+    Duration refreshInterval = Duration.ofMinutes(1);
+}
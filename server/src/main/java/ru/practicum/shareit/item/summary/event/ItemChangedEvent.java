@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item.summary.event;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Getter
+@RequiredArgsConstructor
+public class ItemChangedEvent {
+    Long itemId;
+    // Только что созданная вещь: ни сводки, ни бронирований, ни комментариев у неё ещё нет
+    boolean created;
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item.summary.event;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.item.comment.model.CommentDto;
+
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Getter
+@RequiredArgsConstructor
+public class ItemCommentAddedEvent {
+    Long itemId;
+    CommentDto comment;
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item.summary.event;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.util.Set;
+
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Getter
+@RequiredArgsConstructor
+public class ItemCommentsChangedEvent {
+    Set<Long> itemIds;
+}
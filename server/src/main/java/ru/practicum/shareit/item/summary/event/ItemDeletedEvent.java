@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.summary.event;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Getter
+@RequiredArgsConstructor
+public class ItemDeletedEvent {
+    Long itemId;
+}
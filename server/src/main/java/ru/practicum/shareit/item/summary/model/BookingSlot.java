@@ -0,0 +1,43 @@
+package ru.practicum.shareit.item.summary.model;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingItemDto;
+
+import javax.persistence.Embeddable;
+import java.time.LocalDateTime;
+
+@Embeddable
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingSlot {
+    Long bookingId;
+    Long bookerId;
+    LocalDateTime start;
+    LocalDateTime end;
+
+    public static BookingSlot of(Booking booking) {
+        return new BookingSlot(booking.getId(), booking.getBooker().getId(), booking.getStart(), booking.getEnd());
+    }
+
+    public BookingItemDto toBookingItemDto() {
+        return BookingItemDto.builder()
+                .id(bookingId)
+                .bookerId(bookerId)
+                .start(start)
+                .end(end)
+                .build();
+    }
+}
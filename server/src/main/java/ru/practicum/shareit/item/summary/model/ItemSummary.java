@@ -0,0 +1,109 @@
+package ru.practicum.shareit.item.summary.model;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.persistence.AttributeOverride;
+import javax.persistence.AttributeOverrides;
+import javax.persistence.Column;
+import javax.persistence.Embedded;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.JoinColumn;
+import javax.persistence.MapsId;
+import javax.persistence.OneToOne;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Entity
+@Table(name = "ITEM_SUMMARY", schema = "public", indexes = {
+        @Index(name = "ITEM_SUMMARY_OWNER_IDX", columnList = "OWNER_ID, ITEM_ID"),
+        @Index(name = "ITEM_SUMMARY_NEXT_START_IDX", columnList = "NEXT_START")
+})
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemSummary {
+    @Id
+    @Column(name = "ITEM_ID")
+    Long itemId;
+
+    @ToString.Exclude
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JoinColumn(name = "ITEM_ID")
+    Item item;
+
+    @Column(name = "OWNER_ID", nullable = false)
+    Long ownerId;
+
+    @Column(nullable = false)
+    String name;
+
+    @Column(nullable = false)
+    String description;
+
+    @Column(nullable = false)
+    Boolean available;
+
+    @Column(name = "REQUEST_ID")
+    Long requestId;
+
+    @Column(name = "COMMENT_COUNT", nullable = false)
+    int commentCount;
+
+    @Column(name = "LATEST_COMMENTS", nullable = false, length = 16384)
+    String latestComments;
+
+    @Embedded
+    @AttributeOverrides({
+            @AttributeOverride(name = "bookingId", column = @Column(name = "LAST_BOOKING_ID")),
+            @AttributeOverride(name = "bookerId", column = @Column(name = "LAST_BOOKER_ID")),
+            @AttributeOverride(name = "start", column = @Column(name = "LAST_START")),
+            @AttributeOverride(name = "end", column = @Column(name = "LAST_END"))
+    })
+    BookingSlot lastBooking;
+
+    @Embedded
+    @AttributeOverrides({
+            @AttributeOverride(name = "bookingId", column = @Column(name = "NEXT_BOOKING_ID")),
+            @AttributeOverride(name = "bookerId", column = @Column(name = "NEXT_BOOKER_ID")),
+            @AttributeOverride(name = "start", column = @Column(name = "NEXT_START")),
+            @AttributeOverride(name = "end", column = @Column(name = "NEXT_END"))
+    })
+    BookingSlot nextBooking;
+
+    // Сохранённые последнее и следующее бронирования верны, пока следующее не началось
+    public boolean isBookingSlotFresh(LocalDateTime now) {
+        return nextBooking == null || nextBooking.getStart().isAfter(now);
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ItemSummary)) return false;
+        return getItemId() != null && getItemId().equals(((ItemSummary) o).getItemId());
+    }
+
+    @Override
+    public final int hashCode() {
+        return Objects.hashCode(getItemId());
+    }
+}
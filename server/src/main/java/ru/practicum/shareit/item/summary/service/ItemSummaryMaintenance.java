@@ -0,0 +1,80 @@
+package ru.practicum.shareit.item.summary.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.summary.ItemSummaryProperties;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ItemSummaryMaintenance implements SmartInitializingSingleton, DisposableBean {
+    private final ItemSummaryProperties properties;
+    private final ItemSummaryService itemSummaryService;
+    private ScheduledExecutorService scheduler;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        int backfilled = backfill();
+        if (backfilled > 0) {
+            log.info("Построены сводки для {} вещей.", backfilled);
+        }
+
+        long interval = properties.getRefreshInterval().toMillis();
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "item-summary-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refresh, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public synchronized int backfill() {
+        int total = 0;
+        int batch;
+        do {
+            batch = itemSummaryService.backfill(properties.getBackfillBatchSize());
+            total += batch;
+        } while (batch == properties.getBackfillBatchSize());
+        return total;
+    }
+
+    public synchronized int refreshPassedBookings() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        int batch;
+        do {
+            batch = itemSummaryService.refreshPassedBookings(now, properties.getBackfillBatchSize());
+            total += batch;
+        } while (batch == properties.getBackfillBatchSize());
+        return total;
+    }
+
+    private void refresh() {
+        try {
+            int refreshed = refreshPassedBookings();
+            int backfilled = backfill();
+            log.debug("Обновлены сводки вещей: бронирования {}, новые {}.", refreshed, backfilled);
+        } catch (RuntimeException e) {
+            log.warn("Не удалось обновить сводки вещей: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.item.summary.service;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.comment.model.CommentDto;
+import ru.practicum.shareit.item.summary.event.ItemBookingsChangedEvent;
+import ru.practicum.shareit.item.summary.event.ItemChangedEvent;
+import ru.practicum.shareit.item.summary.event.ItemCommentAddedEvent;
+import ru.practicum.shareit.item.summary.event.ItemCommentsChangedEvent;
+import ru.practicum.shareit.item.summary.event.ItemDeletedEvent;
+import ru.practicum.shareit.item.summary.model.ItemSummary;
+import ru.practicum.shareit.user.event.UserChangedEvent;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ItemSummaryService {
+    boolean isEnabled();
+
+    Optional<ItemSummary> getByItemId(Long itemId);
+
+    List<ItemSummary> getByOwnerId(Long ownerId, Pageable pageable);
+
+    List<ItemSummary> getByItemIds(Collection<Long> itemIds);
+
+    List<CommentDto> getLatestComments(ItemSummary itemSummary, int limit);
+
+    void onItemChanged(ItemChangedEvent event);
+
+    void onItemDeleted(ItemDeletedEvent event);
+
+    void onBookingsChanged(ItemBookingsChangedEvent event);
+
+    void onCommentAdded(ItemCommentAddedEvent event);
+
+    void onCommentsChanged(ItemCommentsChangedEvent event);
+
+    void onUserChanged(UserChangedEvent event);
+
+    void onUserDeleted(UserDeletedEvent event);
+
+    int backfill(int limit);
+
+    int refreshPassedBookings(LocalDateTime now, int limit);
+}
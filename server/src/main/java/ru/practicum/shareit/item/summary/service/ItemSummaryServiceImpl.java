@@ -0,0 +1,364 @@
+package ru.practicum.shareit.item.summary.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+import ru.practicum.shareit.item.comment.model.Comment;
+import ru.practicum.shareit.item.comment.model.CommentDto;
+import ru.practicum.shareit.item.comment.storage.CommentRepository;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.item.summary.ItemSummaryProperties;
+import ru.practicum.shareit.item.summary.event.ItemBookingsChangedEvent;
+import ru.practicum.shareit.item.summary.event.ItemChangedEvent;
+import ru.practicum.shareit.item.summary.event.ItemCommentAddedEvent;
+import ru.practicum.shareit.item.summary.event.ItemCommentsChangedEvent;
+import ru.practicum.shareit.item.summary.event.ItemDeletedEvent;
+import ru.practicum.shareit.item.summary.model.BookingSlot;
+import ru.practicum.shareit.item.summary.model.ItemSummary;
+import ru.practicum.shareit.item.summary.storage.ItemSummaryRepository;
+import ru.practicum.shareit.user.event.UserChangedEvent;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+@Transactional(readOnly = true)
+public class ItemSummaryServiceImpl implements ItemSummaryService {
+    private final ItemSummaryProperties properties;
+    private final ItemSummaryRepository itemSummaryRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+    private final ItemMapper itemMapper;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectReader commentsReader;
+    private final ObjectWriter commentsWriter;
+
+    public ItemSummaryServiceImpl(ItemSummaryProperties properties, ItemSummaryRepository itemSummaryRepository,
+                                  ItemRepository itemRepository, BookingRepository bookingRepository,
+                                  CommentRepository commentRepository, ItemMapper itemMapper,
+                                  EntityManager entityManager, ApplicationEventPublisher eventPublisher,
+                                  ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.itemSummaryRepository = itemSummaryRepository;
+        this.itemRepository = itemRepository;
+        this.bookingRepository = bookingRepository;
+        this.commentRepository = commentRepository;
+        this.itemMapper = itemMapper;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+        this.commentsReader = objectMapper.readerForListOf(CommentDto.class);
+        this.commentsWriter = objectMapper.writerFor(commentsReader.getValueType());
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    @Override
+    public Optional<ItemSummary> getByItemId(Long itemId) {
+        return itemSummaryRepository.findById(itemId);
+    }
+
+    @Override
+    public List<ItemSummary> getByOwnerId(Long ownerId, Pageable pageable) {
+        return itemSummaryRepository.findByOwnerIdOrderByItemIdAsc(ownerId, pageable);
+    }
+
+    @Override
+    public List<ItemSummary> getByItemIds(Collection<Long> itemIds) {
+        return itemSummaryRepository.findAllById(itemIds);
+    }
+
+    @Override
+    public List<CommentDto> getLatestComments(ItemSummary itemSummary, int limit) {
+        List<CommentDto> latest = readComments(itemSummary);
+        if (latest.size() >= Math.min(limit, itemSummary.getCommentCount())) {
+            return latest.subList(Math.max(0, latest.size() - limit), latest.size());
+        }
+
+        List<CommentDto> comments = commentRepository.findLatestByItemId(itemSummary.getItemId(),
+                        PageRequest.of(0, limit)).stream()
+                .map(itemMapper::commentToCommentDto)
+                .collect(Collectors.toList());
+        Collections.reverse(comments);
+        return comments;
+    }
+
+    @Override
+    @Transactional
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onItemChanged(ItemChangedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        if (event.isCreated()) {
+            Item item = itemRepository.getReferenceById(event.getItemId());
+            ItemSummary itemSummary = ItemSummary.builder()
+                    .item(item)
+                    .build();
+            copyItem(itemSummary, item);
+            setBookings(itemSummary, List.of(), LocalDateTime.now());
+            setComments(itemSummary, List.of());
+            entityManager.persist(itemSummary);
+            return;
+        }
+        rebuild(event.getItemId());
+    }
+
+    @Override
+    @Transactional
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onItemDeleted(ItemDeletedEvent event) {
+        if (properties.isEnabled()) {
+            itemSummaryRepository.deleteByItemId(event.getItemId());
+        }
+    }
+
+    @Override
+    @Transactional
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onBookingsChanged(ItemBookingsChangedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        itemSummaryRepository.findForUpdate(event.getItemId())
+                .ifPresent(itemSummary -> copyBookings(itemSummary, LocalDateTime.now()));
+    }
+
+    @Override
+    @Transactional
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onCommentAdded(ItemCommentAddedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        Optional<ItemSummary> itemSummary = itemSummaryRepository.findForUpdate(event.getItemId());
+        if (itemSummary.isEmpty()) {
+            return;
+        }
+
+        ItemSummary summary = itemSummary.get();
+        List<CommentDto> latest = new ArrayList<>(readComments(summary));
+        latest.add(event.getComment());
+        while (latest.size() > properties.getLatestComments()) {
+            latest.remove(0);
+        }
+        summary.setCommentCount(summary.getCommentCount() + 1);
+        summary.setLatestComments(writeComments(latest));
+    }
+
+    @Override
+    @Transactional
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onCommentsChanged(ItemCommentsChangedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        itemSummaryRepository.findAllForUpdate(event.getItemIds()).forEach(this::copyComments);
+    }
+
+    @Override
+    @Transactional
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onUserChanged(UserChangedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        List<Long> itemIds = commentRepository.findItemIdsByAuthorId(event.getUserId());
+        if (!itemIds.isEmpty()) {
+            itemSummaryRepository.findAllForUpdate(itemIds).forEach(this::copyComments);
+        }
+    }
+
+    // Вызывается до удаления пользователя: его бронирования и комментарии удаляются каскадом в базе, поэтому
+    // затронутые вещи собираются заранее, а сводки пересчитываются перед фиксацией, уже без них
+    @Override
+    @EventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        List<Long> commented = commentRepository.findItemIdsByAuthorId(event.getUserId());
+        if (!commented.isEmpty()) {
+            eventPublisher.publishEvent(new ItemCommentsChangedEvent(Set.copyOf(commented)));
+        }
+        bookingRepository.findItemIdsByBookerIdAndStatus(event.getUserId(), Status.APPROVED)
+                .forEach(itemId -> eventPublisher.publishEvent(new ItemBookingsChangedEvent(itemId)));
+    }
+
+    @Override
+    @Transactional
+    public int backfill(int limit) {
+        List<Long> itemIds = itemSummaryRepository.findItemIdsWithoutSummary(PageRequest.of(0, limit));
+        if (itemIds.isEmpty()) {
+            return 0;
+        }
+
+        // Строки вещей блокируются: сводку той же вещи может вставлять сборка по событию или другой экземпляр
+        List<Item> items = itemRepository.findAllForUpdate(itemIds);
+        Set<Long> built = itemSummaryRepository.findAllById(itemIds).stream()
+                .map(ItemSummary::getItemId)
+                .collect(Collectors.toSet());
+        items.removeIf(item -> built.contains(item.getId()));
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, List<Booking>> bookings = bookingRepository.findByItemIdInAndStatus(itemIds, Status.APPROVED)
+                .stream()
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+        Map<Long, List<Comment>> comments = commentRepository.findAllByItemIdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(Comment::getItemId));
+
+        for (Item item : items) {
+            ItemSummary itemSummary = ItemSummary.builder()
+                    .item(item)
+                    .build();
+            copyItem(itemSummary, item);
+            setBookings(itemSummary, bookings.getOrDefault(item.getId(), List.of()), now);
+            setComments(itemSummary, comments.getOrDefault(item.getId(), List.of()));
+            entityManager.persist(itemSummary);
+        }
+        return items.size();
+    }
+
+    @Override
+    @Transactional
+    public int refreshPassedBookings(LocalDateTime now, int limit) {
+        List<Long> itemIds = itemSummaryRepository.findItemIdsWithPassedNextBooking(now, PageRequest.of(0, limit));
+        itemSummaryRepository.findAllForUpdate(itemIds).forEach(itemSummary -> copyBookings(itemSummary, now));
+        return itemIds.size();
+    }
+
+    // Сводку вставляет только изменение самой вещи: строка вещи блокируется, и параллельная сборка дожидается
+    // этой транзакции и находит уже вставленную сводку. Бронирования и комментарии держат ссылку на вещь и при
+    // такой блокировке взаимно заблокировались бы, поэтому сводку без строки они не трогают: её построит backfill
+    private void rebuild(Long itemId) {
+        List<Item> items = itemRepository.findAllForUpdate(List.of(itemId));
+        if (items.isEmpty()) {
+            itemSummaryRepository.deleteByItemId(itemId);
+            return;
+        }
+
+        Item item = items.get(0);
+        Optional<ItemSummary> existing = itemSummaryRepository.findForUpdate(itemId);
+        if (existing.isPresent()) {
+            copyItem(existing.get(), item);
+            return;
+        }
+
+        ItemSummary itemSummary = ItemSummary.builder()
+                .item(item)
+                .build();
+        copyItem(itemSummary, item);
+        copyBookings(itemSummary, LocalDateTime.now());
+        copyComments(itemSummary);
+        entityManager.persist(itemSummary);
+    }
+
+    private void copyItem(ItemSummary itemSummary, Item item) {
+        itemSummary.setOwnerId(item.getOwner().getId());
+        itemSummary.setName(item.getName());
+        itemSummary.setDescription(item.getDescription());
+        itemSummary.setAvailable(item.getAvailable());
+        itemSummary.setRequestId(item.getRequestId());
+    }
+
+    private void copyBookings(ItemSummary itemSummary, LocalDateTime now) {
+        Long itemId = itemSummary.getItem().getId();
+        List<Booking> last = bookingRepository.findByItemIdAndStartBeforeAndStatusEqualsOrderByStartDesc(
+                itemId, now, Status.APPROVED);
+        List<Booking> next = bookingRepository.findByItemIdAndStartAfterAndStatusEqualsOrderByStartAsc(
+                itemId, now, Status.APPROVED);
+
+        itemSummary.setLastBooking(last.isEmpty() ? null : BookingSlot.of(last.get(0)));
+        itemSummary.setNextBooking(next.isEmpty() ? null : BookingSlot.of(next.get(0)));
+    }
+
+    private void setBookings(ItemSummary itemSummary, List<Booking> approved, LocalDateTime now) {
+        Booking last = null;
+        Booking next = null;
+        for (Booking booking : approved) {
+            if (booking.getStart().isBefore(now) && (last == null || booking.getStart().isAfter(last.getStart()))) {
+                last = booking;
+            } else if (booking.getStart().isAfter(now)
+                    && (next == null || booking.getStart().isBefore(next.getStart()))) {
+                next = booking;
+            }
+        }
+
+        itemSummary.setLastBooking(last == null ? null : BookingSlot.of(last));
+        itemSummary.setNextBooking(next == null ? null : BookingSlot.of(next));
+    }
+
+    private void setComments(ItemSummary itemSummary, List<Comment> comments) {
+        List<CommentDto> latest = comments.subList(Math.max(0, comments.size() - properties.getLatestComments()),
+                        comments.size()).stream()
+                .map(itemMapper::commentToCommentDto)
+                .collect(Collectors.toList());
+
+        itemSummary.setCommentCount(comments.size());
+        itemSummary.setLatestComments(writeComments(latest));
+    }
+
+    private void copyComments(ItemSummary itemSummary) {
+        Long itemId = itemSummary.getItem().getId();
+        List<CommentDto> latest = commentRepository.findLatestByItemId(itemId,
+                        PageRequest.of(0, properties.getLatestComments())).stream()
+                .map(itemMapper::commentToCommentDto)
+                .collect(Collectors.toList());
+        Collections.reverse(latest);
+
+        itemSummary.setCommentCount(commentRepository.countByItemId(itemId));
+        itemSummary.setLatestComments(writeComments(latest));
+    }
+
+    private List<CommentDto> readComments(ItemSummary itemSummary) {
+        try {
+            return commentsReader.readValue(itemSummary.getLatestComments());
+        } catch (JsonProcessingException e) {
+            log.warn("Повреждены комментарии в сводке вещи с id {}: {}", itemSummary.getItemId(), e.getMessage());
+            return List.of();
+        }
+    }
+
+    private String writeComments(List<CommentDto> comments) {
+        try {
+            return commentsWriter.writeValueAsString(comments);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось сохранить комментарии в сводке вещи.", e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.item.summary.storage;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.summary.model.ItemSummary;
+import ru.practicum.shareit.storage.ReadOnlyQuery;
+
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ItemSummaryRepository extends JpaRepository<ItemSummary, Long> {
+    @ReadOnlyQuery
+    List<ItemSummary> findByOwnerIdOrderByItemIdAsc(Long ownerId, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ItemSummary s WHERE s.itemId = ?1")
+    Optional<ItemSummary> findForUpdate(Long itemId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ItemSummary s WHERE s.itemId IN ?1 ORDER BY s.itemId")
+    List<ItemSummary> findAllForUpdate(Collection<Long> itemIds);
+
+    @Query("SELECT s.itemId FROM ItemSummary s WHERE s.nextBooking.start <= ?1 ORDER BY s.itemId")
+    List<Long> findItemIdsWithPassedNextBooking(LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT i.id " +
+            "FROM Item i " +
+            "WHERE NOT EXISTS (SELECT s.itemId FROM ItemSummary s WHERE s.itemId = i.id) " +
+            "ORDER BY i.id")
+    List<Long> findItemIdsWithoutSummary(Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM ItemSummary s WHERE s.itemId = ?1")
+    void deleteByItemId(Long itemId);
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.json;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import java.time.LocalDateTime;
+
+// Регистрируется после JavaTimeModule и поэтому перекрывает его сериализатор LocalDateTime
+public class IsoLocalDateTimeModule extends SimpleModule {
+    public IsoLocalDateTimeModule() {
+        super(IsoLocalDateTimeModule.class.getSimpleName());
+        addSerializer(LocalDateTime.class, new IsoLocalDateTimeSerializer());
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.metrics;
+
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class Endpoints {
+    private static final Map<Method, String> NAMES = new ConcurrentHashMap<>();
+
+    private Endpoints() {
+    }
+
+    public static String of(Method method) {
+        return NAMES.computeIfAbsent(method, Endpoints::describe);
+    }
+
+    private static String describe(Method method) {
+        RequestMapping typeMapping = AnnotatedElementUtils.findMergedAnnotation(method.getDeclaringClass(),
+                RequestMapping.class);
+        RequestMapping methodMapping = AnnotatedElementUtils.findMergedAnnotation(method, RequestMapping.class);
+        if (methodMapping == null) {
+            return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        }
+
+        String httpMethod = methodMapping.method().length > 0 ? methodMapping.method()[0].name() : "ANY";
+        String typePath = firstPath(typeMapping);
+        String methodPath = firstPath(methodMapping);
+        if (!methodPath.isEmpty() && !methodPath.startsWith("/")) {
+            methodPath = "/" + methodPath;
+        }
+        return httpMethod + " " + typePath + methodPath;
+    }
+
+    private static String firstPath(RequestMapping mapping) {
+        if (mapping == null || mapping.path().length == 0) {
+            return "";
+        }
+        return mapping.path()[0];
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@RequiredArgsConstructor
+public class QueryCountingListener implements QueryExecutionListener {
+    private static final String START_NANOS = "startNanos";
+
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+    private volatile MeterRegistry meterRegistry;
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long nanos = System.nanoTime() - execInfo.getCustomValue(START_NANOS, Long.class);
+
+        MeterRegistry registry = meterRegistry();
+        if (registry != null) {
+            Timer.builder("shareit.jdbc.statements")
+                    .description("Время выполнения SQL-запросов")
+                    .tag("outcome", execInfo.isSuccess() ? "SUCCESS" : "ERROR")
+                    .register(registry)
+                    .record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        QueryScope scope = QueryScope.current();
+        if (scope != null) {
+            scope.record(queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery(), nanos);
+        }
+    }
+
+    private MeterRegistry meterRegistry() {
+        if (meterRegistry == null) {
+            meterRegistry = meterRegistryProvider.getIfAvailable();
+        }
+        return meterRegistry;
+    }
+}
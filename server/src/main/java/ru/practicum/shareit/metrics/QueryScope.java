@@ -0,0 +1,46 @@
+package ru.practicum.shareit.metrics;
+
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+public class QueryScope {
+    private static final ThreadLocal<QueryScope> CURRENT = new ThreadLocal<>();
+
+    private final String endpoint;
+    private final long startNanos;
+    private int statements;
+    private long jdbcNanos;
+    private final Map<String, Integer> sql = new HashMap<>();
+
+    private QueryScope(String endpoint) {
+        this.endpoint = endpoint;
+        this.startNanos = System.nanoTime();
+    }
+
+    public static QueryScope current() {
+        return CURRENT.get();
+    }
+
+    static QueryScope open(String endpoint) {
+        QueryScope scope = new QueryScope(endpoint);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    void close() {
+        CURRENT.remove();
+    }
+
+    void record(String query, long nanos) {
+        statements++;
+        jdbcNanos += nanos;
+        sql.merge(query, 1, Integer::sum);
+    }
+
+    public long getElapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+}
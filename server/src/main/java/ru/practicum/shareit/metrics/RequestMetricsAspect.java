@@ -0,0 +1,60 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RequestMetricsAspect {
+    private final MeterRegistry meterRegistry;
+    private final StatementBudgetChecker statementBudgetChecker;
+
+    @Around("@within(org.springframework.web.bind.annotation.RestController)")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (QueryScope.current() != null) {
+            return joinPoint.proceed();
+        }
+
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        QueryScope scope = QueryScope.open(Endpoints.of(method));
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } finally {
+            scope.close();
+            record(scope);
+        }
+
+        statementBudgetChecker.check(scope, method);
+        return result;
+    }
+
+    private void record(QueryScope scope) {
+        DistributionSummary.builder("shareit.request.sql.statements")
+                .description("Количество SQL-запросов на один вызов эндпоинта")
+                .tag("endpoint", scope.getEndpoint())
+                .register(meterRegistry)
+                .record(scope.getStatements());
+        Timer.builder("shareit.request.sql.time")
+                .description("Суммарное время JDBC на один вызов эндпоинта")
+                .tag("endpoint", scope.getEndpoint())
+                .register(meterRegistry)
+                .record(scope.getJdbcNanos(), TimeUnit.NANOSECONDS);
+        Timer.builder("shareit.request.handler")
+                .description("Время работы контроллера без сериализации ответа")
+                .tag("endpoint", scope.getEndpoint())
+                .register(meterRegistry)
+                .record(scope.getElapsedNanos(), TimeUnit.NANOSECONDS);
+    }
+}
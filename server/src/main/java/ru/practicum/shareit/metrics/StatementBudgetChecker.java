@@ -0,0 +1,77 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class StatementBudgetChecker {
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+
+    private final StatementBudgetProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public void check(QueryScope scope, Method method) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        int budget = budgetOf(method);
+        if (scope.getStatements() <= budget) {
+            return;
+        }
+
+        meterRegistry.counter("shareit.request.sql.budget.exceeded", "endpoint", scope.getEndpoint()).increment();
+
+        String message = String.format("Эндпоинт %s выполнил %d SQL-запросов при бюджете %d за %d мс "
+                        + "(JDBC %d мс). Частые запросы: %s",
+                scope.getEndpoint(),
+                scope.getStatements(),
+                budget,
+                TimeUnit.NANOSECONDS.toMillis(scope.getElapsedNanos()),
+                TimeUnit.NANOSECONDS.toMillis(scope.getJdbcNanos()),
+                topShapes(scope.getSql()));
+        log.warn(message);
+
+        if (properties.getMode() == StatementBudgetProperties.Mode.ENFORCE) {
+            throw new StatementBudgetExceededException(message);
+        }
+    }
+
+    static String shapeOf(String sql) {
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        return IN_LIST.matcher(shape).replaceAll("in (?)");
+    }
+
+    private int budgetOf(Method method) {
+        StatementBudget statementBudget = AnnotatedElementUtils.findMergedAnnotation(method, StatementBudget.class);
+        return statementBudget != null ? statementBudget.value() : properties.getDefaultBudget();
+    }
+
+    private String topShapes(Map<String, Integer> sql) {
+        Map<String, Integer> shapes = new HashMap<>();
+        sql.forEach((query, count) -> shapes.merge(shapeOf(query), count, Integer::sum));
+
+        return shapes.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(properties.getTopShapes())
+                .map(entry -> entry.getValue() + " x [" + entry.getKey() + "]")
+                .collect(Collectors.joining("; "));
+    }
+}
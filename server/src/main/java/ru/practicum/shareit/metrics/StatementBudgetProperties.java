@@ -0,0 +1,24 @@
+package ru.practicum.shareit.metrics;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "shareit.sql-budget")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+public class StatementBudgetProperties {
+    boolean enabled = true;
+    int defaultBudget = 10;
+    int topShapes = 3;
+    Mode mode = Mode.LOG;
+
+    public enum Mode {
+        LOG, ENFORCE
+    }
+}
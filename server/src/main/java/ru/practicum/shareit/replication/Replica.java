@@ -0,0 +1,41 @@
+package ru.practicum.shareit.replication;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.util.concurrent.atomic.LongAdder;
+
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@RequiredArgsConstructor
+public class Replica {
+    static final long UNKNOWN = -1;
+
+    final String name;
+    final HikariDataSource dataSource;
+    final LongAdder routed = new LongAdder();
+    volatile long lagNanos = UNKNOWN;
+    volatile long checkedAtNanos;
+
+    void checked(long lagNanos, long checkedAtNanos) {
+        this.checkedAtNanos = checkedAtNanos;
+        this.lagNanos = lagNanos;
+    }
+
+    void failed() {
+        lagNanos = UNKNOWN;
+    }
+
+    boolean isAvailable(long nowNanos, long maxLagNanos) {
+        long lag = lagNanos;
+        return lag != UNKNOWN && lag + (nowNanos - checkedAtNanos) <= maxLagNanos;
+    }
+
+    double getLagSeconds() {
+        long lag = lagNanos;
+        return lag == UNKNOWN ? Double.NaN : lag / 1e9;
+    }
+}
@@ -0,0 +1,124 @@
+package ru.practicum.shareit.replication;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ReplicaRouter implements AutoCloseable {
+    public static final String PRIMARY = "primary";
+
+    @Getter
+    HikariDataSource primary;
+    @Getter
+    List<Replica> replicas;
+    ReplicationProperties properties;
+    long maxLagNanos;
+    AtomicInteger next = new AtomicInteger();
+    @Getter
+    LongAdder primaryRouted = new LongAdder();
+    @Getter
+    LongAdder fallbacks = new LongAdder();
+    ScheduledExecutorService monitor = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "replica-lag-monitor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ReplicaRouter(HikariDataSource primary, List<Replica> replicas, ReplicationProperties properties) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.properties = properties;
+        this.maxLagNanos = properties.getMaxLag().toNanos();
+    }
+
+    public void start() {
+        long interval = properties.getCheckInterval().toMillis();
+        monitor.scheduleWithFixedDelay(this::refresh, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public Object route() {
+        if (replicas.isEmpty() || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            primaryRouted.increment();
+            return PRIMARY;
+        }
+
+        long now = System.nanoTime();
+        int start = next.getAndIncrement();
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(Math.floorMod(start + i, replicas.size()));
+            if (replica.isAvailable(now, maxLagNanos)) {
+                replica.getRouted().increment();
+                return replica.getName();
+            }
+        }
+        fallbacks.increment();
+        primaryRouted.increment();
+        return PRIMARY;
+    }
+
+    public boolean isAvailable(Replica replica) {
+        return replica.isAvailable(System.nanoTime(), maxLagNanos);
+    }
+
+    public void refresh() {
+        for (Replica replica : replicas) {
+            boolean wasAvailable = isAvailable(replica);
+            try {
+                long checkedAt = System.nanoTime();
+                replica.checked(measureLag(replica), checkedAt);
+            } catch (SQLException | RuntimeException e) {
+                replica.failed();
+                if (wasAvailable) {
+                    log.warn("Реплика {} недоступна, чтение переключено на основную базу: {}",
+                            replica.getName(), e.getMessage());
+                }
+                continue;
+            }
+
+            boolean available = isAvailable(replica);
+            if (wasAvailable && !available) {
+                log.warn("Отставание реплики {} составляет {} с, чтение переключено на основную базу.",
+                        replica.getName(), replica.getLagSeconds());
+            } else if (!wasAvailable && available) {
+                log.info("Реплика {} доступна для чтения, отставание {} с.", replica.getName(),
+                        replica.getLagSeconds());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        monitor.shutdownNow();
+        replicas.forEach(replica -> replica.getDataSource().close());
+        primary.close();
+    }
+
+    private long measureLag(Replica replica) throws SQLException {
+        try (Connection connection = replica.getDataSource().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout((int) Math.max(1, properties.getCheckTimeout().toSeconds()));
+            try (ResultSet resultSet = statement.executeQuery(properties.getLagQuery())) {
+                if (!resultSet.next()) {
+                    throw new SQLException("Запрос отставания реплики не вернул строк.");
+                }
+                return (long) (resultSet.getDouble(1) * 1e9);
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package ru.practicum.shareit.replication;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+@Configuration
+@Slf4j
+@EnableConfigurationProperties(ReplicationProperties.class)
+@ConditionalOnProperty(prefix = "shareit.replication", name = "enabled", havingValue = "true")
+public class ReplicationConfiguration {
+    @Bean(destroyMethod = "close")
+    public ReplicaRouter replicaRouter(DataSourceProperties dataSourceProperties, ReplicationProperties properties,
+                                       Environment environment) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName(ReplicaRouter.PRIMARY);
+
+        List<Replica> replicas = new ArrayList<>();
+        for (ReplicationProperties.Replica replica : properties.getReplicas()) {
+            String name = replica.getName() != null ? replica.getName() : "replica-" + (replicas.size() + 1);
+            replicas.add(new Replica(name, replicaDataSource(primary, name, replica)));
+        }
+        log.info("Чтение в транзакциях readOnly направляется на реплики {}, допустимое отставание {}.",
+                replicas.stream().map(Replica::getName).toArray(), properties.getMaxLag());
+
+        ReplicaRouter router = new ReplicaRouter(primary, replicas, properties);
+        router.start();
+        return router;
+    }
+
+    @Bean
+    public DataSource dataSource(ReplicaRouter replicaRouter) {
+        return new LazyConnectionDataSourceProxy(new RoutingDataSource(replicaRouter));
+    }
+
+    @Bean
+    public MeterBinder replicationMetrics(ReplicaRouter replicaRouter) {
+        return registry -> {
+            bindPoolMetrics(replicaRouter.getPrimary(), registry);
+            FunctionCounter.builder("shareit.datasource.routed", replicaRouter.getPrimaryRouted(), LongAdder::doubleValue)
+                    .description("Соединения, выданные основной базой и репликами")
+                    .tag("target", ReplicaRouter.PRIMARY)
+                    .register(registry);
+            FunctionCounter.builder("shareit.datasource.replica.fallbacks", replicaRouter.getFallbacks(),
+                            LongAdder::doubleValue)
+                    .description("Чтения, отправленные на основную базу из-за недоступности реплик")
+                    .register(registry);
+
+            for (Replica replica : replicaRouter.getReplicas()) {
+                bindPoolMetrics(replica.getDataSource(), registry);
+                FunctionCounter.builder("shareit.datasource.routed", replica.getRouted(), LongAdder::doubleValue)
+                        .description("Соединения, выданные основной базой и репликами")
+                        .tag("target", replica.getName())
+                        .register(registry);
+                Gauge.builder("shareit.datasource.replica.lag", replica, Replica::getLagSeconds)
+                        .description("Отставание реплики от основной базы")
+                        .baseUnit("seconds")
+                        .tag("replica", replica.getName())
+                        .register(registry);
+                Gauge.builder("shareit.datasource.replica.available", replica,
+                                r -> replicaRouter.isAvailable(r) ? 1 : 0)
+                        .description("Реплика принимает чтение")
+                        .tag("replica", replica.getName())
+                        .register(registry);
+            }
+        };
+    }
+
+    @Bean
+    public HealthIndicator replicasHealthIndicator(ReplicaRouter replicaRouter) {
+        return () -> {
+            Map<String, Object> details = new LinkedHashMap<>();
+            boolean anyAvailable = false;
+            for (Replica replica : replicaRouter.getReplicas()) {
+                boolean available = replicaRouter.isAvailable(replica);
+                anyAvailable |= available;
+                details.put(replica.getName(), Map.of(
+                        "available", available,
+                        "lagSeconds", replica.getLagSeconds()));
+            }
+            return Health.up()
+                    .withDetails(details)
+                    .withDetail("readsFromPrimary", !anyAvailable)
+                    .build();
+        };
+    }
+
+    private static HikariDataSource replicaDataSource(HikariDataSource primary, String name,
+                                                      ReplicationProperties.Replica replica) {
+        HikariConfig config = new HikariConfig();
+        primary.copyStateTo(config);
+        config.setPoolName(name);
+        config.setJdbcUrl(replica.getUrl());
+        if (replica.getUsername() != null) {
+            config.setUsername(replica.getUsername());
+        }
+        if (replica.getPassword() != null) {
+            config.setPassword(replica.getPassword());
+        }
+        if (replica.getMaximumPoolSize() != null) {
+            config.setMaximumPoolSize(replica.getMaximumPoolSize());
+        }
+        config.setReadOnly(true);
+
+        HikariDataSource dataSource = new HikariDataSource();
+        config.copyStateTo(dataSource);
+        return dataSource;
+    }
+
+    private static void bindPoolMetrics(HikariDataSource dataSource, MeterRegistry registry) {
+        if (dataSource.getMetricRegistry() == null && dataSource.getMetricsTrackerFactory() == null) {
+            dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        }
+    }
+}
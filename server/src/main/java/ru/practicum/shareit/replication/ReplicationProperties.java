@@ -0,0 +1,37 @@
+package ru.practicum.shareit.replication;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "shareit.replication")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+public class ReplicationProperties {
+    boolean enabled = false;
+    Duration maxLag = Duration.ofSeconds(5);
+    Duration checkInterval = Duration.ofSeconds(1);
+    Duration checkTimeout = Duration.ofSeconds(2);
+    String lagQuery = "SELECT CASE WHEN NOT pg_is_in_recovery() "
+            + "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+    List<Replica> replicas = new ArrayList<>();
+
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    @Getter
+    @Setter
+    public static class Replica {
+        String name;
+        String url;
+        String username;
+        String password;
+        Integer maximumPoolSize;
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.replication;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class RoutingDataSource extends AbstractRoutingDataSource {
+    private final ReplicaRouter router;
+
+    public RoutingDataSource(ReplicaRouter router) {
+        this.router = router;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(ReplicaRouter.PRIMARY, router.getPrimary());
+        for (Replica replica : router.getReplicas()) {
+            targets.put(replica.getName(), replica.getDataSource());
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(router.getPrimary());
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return router.route();
+    }
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.request.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -10,6 +11,9 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.metrics.StatementBudget;
+import ru.practicum.shareit.request.events.service.ItemRequestSubscribers;
 import ru.practicum.shareit.request.model.ItemRequestCreateDto;
 import ru.practicum.shareit.request.model.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequestExtendedDto;
@@ -23,6 +27,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ItemRequestController {
     private final ItemRequestService itemRequestService;
+    private final ItemRequestSubscribers itemRequestSubscribers;
 
     @PostMapping
     public ItemRequestDto create(@RequestHeader(UserController.headerUserId) Long userId,
@@ -37,14 +42,22 @@ public class ItemRequestController {
     }
 
     @GetMapping
+    @StatementBudget(3)
     public List<ItemRequestExtendedDto> getByRequesterId(@RequestHeader(UserController.headerUserId) Long userId) {
         return itemRequestService.getByRequesterId(userId);
     }
 
     @GetMapping("/all")
+    @StatementBudget(3)
     public List<ItemRequestExtendedDto> getAll(@RequestHeader(UserController.headerUserId) Long userId,
                                                @RequestParam Integer from,
                                                @RequestParam Integer size) {
         return itemRequestService.getAll(userId, PageRequest.of(from / size, size));
     }
+
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @StatementBudget(1)
+    public SseEmitter events(@RequestHeader(UserController.headerUserId) Long userId) {
+        return itemRequestSubscribers.subscribe(userId);
+    }
 }
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.request.events;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.request.model.ItemRequestDto;
+
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Getter
+@RequiredArgsConstructor
+public class ItemRequestCreatedEvent {
+    Long requesterId;
+    ItemRequestDto itemRequest;
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.request.events;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "shareit.item-request-events")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+public class ItemRequestEventsProperties {
+    boolean enabled = true;
+    int bufferSize = 32;
+    int dispatchThreads = 2;
+    Duration sendTimeout = Duration.ofSeconds(10);
+    Duration heartbeat = Duration.ofSeconds(5);
+    Duration emitterTimeout = Duration.ofMinutes(5);
+    int maxSubscribers = 10000;
+    int minKeywordLength = 3;
+    Duration rebuildInterval = Duration.ofMinutes(10);
+    int rebuildBatchSize = 1000;
+}
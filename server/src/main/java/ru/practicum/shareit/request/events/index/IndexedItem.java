@@ -0,0 +1,17 @@
+package ru.practicum.shareit.request.events.index;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Getter
+@ToString
+@AllArgsConstructor
+public class IndexedItem {
+    Long id;
+    Long ownerId;
+    String name;
+}
@@ -0,0 +1,236 @@
+package ru.practicum.shareit.request.events.index;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.item.summary.event.ItemChangedEvent;
+import ru.practicum.shareit.item.summary.event.ItemDeletedEvent;
+import ru.practicum.shareit.request.events.ItemRequestEventsProperties;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+// Слова названий вещей → владельцы → их вещи. Изменения вещей применяются после фиксации транзакций этого
+// экземпляра сервера, а периодическая перестройка подхватывает изменения остальных экземпляров и удаления
+// владельцев каскадом в базе
+@Component
+@Slf4j
+public class ItemKeywordIndex implements SmartInitializingSingleton, DisposableBean {
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ItemRequestEventsProperties properties;
+    private final ItemRepository itemRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<Long, IndexedItem> items = new HashMap<>();
+    private Map<String, Map<Long, Set<Long>>> owners = new HashMap<>();
+    // Вещи, изменённые во время перестройки: перечитываются после подмены индекса
+    private Set<Long> touched;
+    private ScheduledExecutorService scheduler;
+
+    public ItemKeywordIndex(ItemRequestEventsProperties properties, ItemRepository itemRepository,
+                            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.itemRepository = itemRepository;
+
+        Gauge.builder("shareit.item-requests.index.items", this, ItemKeywordIndex::size)
+                .description("Вещи в индексе слов названий для подбора запросов")
+                .register(meterRegistry);
+        Gauge.builder("shareit.item-requests.index.keywords", this, ItemKeywordIndex::keywordCount)
+                .description("Различные слова названий вещей в индексе")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        log.info("Индекс названий вещей построен: {} вещей.", rebuild());
+
+        long interval = properties.getRebuildInterval().toMillis();
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "item-keyword-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.warn("Не удалось перестроить индекс названий вещей: {}", e.getMessage());
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public synchronized int rebuild() {
+        lock.writeLock().lock();
+        try {
+            touched = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<Long, IndexedItem> rebuiltItems = new HashMap<>();
+        Map<String, Map<Long, Set<Long>>> rebuiltOwners = new HashMap<>();
+        PageRequest page = PageRequest.of(0, properties.getRebuildBatchSize());
+        long afterId = 0;
+        List<IndexedItem> batch;
+        do {
+            batch = itemRepository.findIndexedAfter(afterId, page);
+            for (IndexedItem item : batch) {
+                add(rebuiltItems, rebuiltOwners, item);
+                afterId = item.getId();
+            }
+        } while (batch.size() == page.getPageSize());
+
+        Set<Long> changed;
+        lock.writeLock().lock();
+        try {
+            items = rebuiltItems;
+            owners = rebuiltOwners;
+            changed = touched;
+            touched = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        changed.forEach(this::refresh);
+        return rebuiltItems.size();
+    }
+
+    // Владельцы, у которых есть вещи со словами из текста, кроме автора запроса
+    public Map<Long, List<Long>> match(String text, Long requesterId) {
+        Set<String> keywords = keywords(text, properties.getMinKeywordLength());
+        Map<Long, Set<Long>> matched = new HashMap<>();
+
+        lock.readLock().lock();
+        try {
+            for (String keyword : keywords) {
+                owners.getOrDefault(keyword, Map.of()).forEach((ownerId, itemIds) -> {
+                    if (!ownerId.equals(requesterId)) {
+                        matched.computeIfAbsent(ownerId, id -> new TreeSet<>()).addAll(itemIds);
+                    }
+                });
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return matched.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> List.copyOf(entry.getValue())));
+    }
+
+    @TransactionalEventListener
+    public void onItemChanged(ItemChangedEvent event) {
+        if (properties.isEnabled()) {
+            refresh(event.getItemId());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onItemDeleted(ItemDeletedEvent event) {
+        if (properties.isEnabled()) {
+            apply(event.getItemId(), null);
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return items.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int keywordCount() {
+        lock.readLock().lock();
+        try {
+            return owners.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void refresh(Long itemId) {
+        apply(itemId, itemRepository.findIndexedById(itemId).orElse(null));
+    }
+
+    private void apply(Long itemId, IndexedItem item) {
+        lock.writeLock().lock();
+        try {
+            if (touched != null) {
+                touched.add(itemId);
+            }
+            remove(items, owners, itemId);
+            if (item != null) {
+                add(items, owners, item);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(Map<Long, IndexedItem> items, Map<String, Map<Long, Set<Long>>> owners, IndexedItem item) {
+        items.put(item.getId(), item);
+        for (String keyword : keywords(item.getName(), properties.getMinKeywordLength())) {
+            owners.computeIfAbsent(keyword, k -> new HashMap<>())
+                    .computeIfAbsent(item.getOwnerId(), id -> new HashSet<>())
+                    .add(item.getId());
+        }
+    }
+
+    private void remove(Map<Long, IndexedItem> items, Map<String, Map<Long, Set<Long>>> owners, Long itemId) {
+        IndexedItem item = items.remove(itemId);
+        if (item == null) {
+            return;
+        }
+
+        for (String keyword : keywords(item.getName(), properties.getMinKeywordLength())) {
+            owners.computeIfPresent(keyword, (k, byOwner) -> {
+                byOwner.computeIfPresent(item.getOwnerId(), (ownerId, itemIds) -> {
+                    itemIds.remove(itemId);
+                    return itemIds.isEmpty() ? null : itemIds;
+                });
+                return byOwner.isEmpty() ? null : byOwner;
+            });
+        }
+    }
+
+    static Set<String> keywords(String text, int minLength) {
+        if (text == null) {
+            return Set.of();
+        }
+
+        return Arrays.stream(SEPARATORS.split(text.toLowerCase(Locale.ROOT)))
+                .filter(word -> word.length() >= minLength)
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.request.events.model;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemRequestEventDto {
+    Long id;
+    String description;
+    Long requesterId;
+    LocalDateTime created;
+    List<Long> itemIds;
+}
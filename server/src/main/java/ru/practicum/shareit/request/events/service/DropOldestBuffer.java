@@ -0,0 +1,41 @@
+package ru.practicum.shareit.request.events.service;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+// Ограниченная очередь: при переполнении вытесняет самый старый элемент, а не отказывает новому
+public class DropOldestBuffer<T> {
+    private final Deque<T> elements;
+    private final int capacity;
+
+    public DropOldestBuffer(int capacity) {
+        this.elements = new ArrayDeque<>(capacity);
+        this.capacity = capacity;
+    }
+
+    // Возвращает true, если ради нового элемента вытеснен самый старый
+    public synchronized boolean offer(T element) {
+        boolean dropped = elements.size() >= capacity;
+        if (dropped) {
+            elements.pollFirst();
+        }
+        elements.addLast(element);
+        return dropped;
+    }
+
+    public synchronized T poll() {
+        return elements.pollFirst();
+    }
+
+    public synchronized boolean isEmpty() {
+        return elements.isEmpty();
+    }
+
+    public synchronized int size() {
+        return elements.size();
+    }
+
+    public synchronized void clear() {
+        elements.clear();
+    }
+}
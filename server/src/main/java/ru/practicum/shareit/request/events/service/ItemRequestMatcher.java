@@ -0,0 +1,46 @@
+package ru.practicum.shareit.request.events.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.request.events.ItemRequestCreatedEvent;
+import ru.practicum.shareit.request.events.ItemRequestEventsProperties;
+import ru.practicum.shareit.request.events.index.ItemKeywordIndex;
+import ru.practicum.shareit.request.events.model.ItemRequestEventDto;
+import ru.practicum.shareit.request.model.ItemRequestDto;
+
+import java.util.List;
+import java.util.Map;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ItemRequestMatcher {
+    private final ItemRequestEventsProperties properties;
+    private final ItemKeywordIndex itemKeywordIndex;
+    private final ItemRequestSubscribers subscribers;
+
+    @TransactionalEventListener
+    public void onItemRequestCreated(ItemRequestCreatedEvent event) {
+        if (!properties.isEnabled() || subscribers.size() == 0) {
+            return;
+        }
+
+        ItemRequestDto itemRequest = event.getItemRequest();
+        Map<Long, List<Long>> matches = itemKeywordIndex.match(itemRequest.getDescription(),
+                event.getRequesterId());
+        matches.forEach((ownerId, itemIds) -> {
+            if (subscribers.isSubscribed(ownerId)) {
+                subscribers.publish(ownerId, ItemRequestEventDto.builder()
+                        .id(itemRequest.getId())
+                        .description(itemRequest.getDescription())
+                        .requesterId(event.getRequesterId())
+                        .created(itemRequest.getCreated())
+                        .itemIds(itemIds)
+                        .build());
+            }
+        });
+        log.debug("Запрос вещи с id {} подходит {} владельцам.", itemRequest.getId(), matches.size());
+    }
+}
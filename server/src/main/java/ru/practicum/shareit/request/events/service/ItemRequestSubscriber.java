@@ -0,0 +1,35 @@
+package ru.practicum.shareit.request.events.service;
+
+import lombok.Getter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.transport.SseSubscription;
+
+// События копятся в ограниченном буфере: медленный клиент теряет самые старые события, но не задерживает
+// фиксацию запросов и остальных подписчиков
+class ItemRequestSubscriber extends SseSubscription {
+    @Getter
+    private final Long userId;
+    @Getter
+    private final DropOldestBuffer<SseEmitter.SseEventBuilder> buffer;
+
+    ItemRequestSubscriber(Long userId, SseEmitter emitter, int capacity) {
+        super(emitter);
+        this.userId = userId;
+        this.buffer = new DropOldestBuffer<>(capacity);
+    }
+
+    @Override
+    protected SseEmitter.SseEventBuilder poll() {
+        return buffer.poll();
+    }
+
+    @Override
+    protected boolean isEmpty() {
+        return buffer.isEmpty();
+    }
+
+    @Override
+    protected void clear() {
+        buffer.clear();
+    }
+}
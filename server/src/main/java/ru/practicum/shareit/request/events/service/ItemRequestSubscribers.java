@@ -0,0 +1,181 @@
+package ru.practicum.shareit.request.events.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.booking.storage.exception.ServiceUnavailableException;
+import ru.practicum.shareit.request.events.ItemRequestEventsProperties;
+import ru.practicum.shareit.request.events.model.ItemRequestEventDto;
+import ru.practicum.shareit.transport.SseDispatcher;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+@Slf4j
+public class ItemRequestSubscribers implements SmartInitializingSingleton, DisposableBean {
+    public static final String EVENT_NAME = "request";
+    private static final long RECONNECT_MILLIS = 1000;
+
+    private final ItemRequestEventsProperties properties;
+    private final UserService userService;
+    private final ObjectMapper objectMapper;
+    private final Map<Long, Set<ItemRequestSubscriber>> byUser = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final Counter queued;
+    private final Counter dropped;
+    private final Counter stalled;
+
+    private SseDispatcher<ItemRequestSubscriber> dispatcher;
+    private ScheduledExecutorService heartbeats;
+
+    public ItemRequestSubscribers(ItemRequestEventsProperties properties, UserService userService,
+                                  ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.userService = userService;
+        this.objectMapper = objectMapper;
+
+        Gauge.builder("shareit.item-requests.events.subscribers", size, AtomicInteger::get)
+                .description("Открытые потоки подходящих запросов вещей")
+                .register(meterRegistry);
+        queued = outcomeCounter(meterRegistry, "queued");
+        dropped = outcomeCounter(meterRegistry, "dropped");
+        stalled = outcomeCounter(meterRegistry, "stalled");
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        dispatcher = new SseDispatcher<>("item-request-events", properties.getDispatchThreads(),
+                properties.getSendTimeout(), this::remove);
+        // Отдельный поток: сторож зависших записей не должен ждать освобождения пула рассылки
+        heartbeats = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "item-request-events-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getHeartbeat().toMillis();
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (heartbeats != null) {
+            heartbeats.shutdownNow();
+        }
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        if (!properties.isEnabled()) {
+            throw new ServiceUnavailableException("Уведомления о запросах вещей отключены.");
+        }
+        userService.getUserById(userId);
+        if (size.incrementAndGet() > properties.getMaxSubscribers()) {
+            size.decrementAndGet();
+            throw new ServiceUnavailableException("Слишком много подписчиков на уведомления, повторите позже.");
+        }
+
+        SseEmitter emitter = new SseEmitter(properties.getEmitterTimeout().toMillis());
+        ItemRequestSubscriber subscriber = new ItemRequestSubscriber(userId, emitter, properties.getBufferSize());
+        emitter.onCompletion(() -> dispatcher.close(subscriber));
+        emitter.onError(e -> dispatcher.close(subscriber));
+        emitter.onTimeout(emitter::complete);
+
+        try {
+            // Заголовки ответа уходят с первой записью: клиент сразу видит открытый поток
+            emitter.send(SseEmitter.event().reconnectTime(RECONNECT_MILLIS));
+        } catch (IOException e) {
+            dispatcher.close(subscriber);
+            throw new UncheckedIOException(e);
+        }
+        byUser.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        log.debug("Пользователь с id {} подписан на подходящие запросы вещей.", userId);
+        return emitter;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public boolean isSubscribed(Long userId) {
+        return byUser.containsKey(userId);
+    }
+
+    // Только кладёт событие в буферы подписчиков: вызывается после фиксации запроса в потоке его создания
+    public void publish(Long userId, ItemRequestEventDto event) {
+        Set<ItemRequestSubscriber> subscribers = byUser.get(userId);
+        if (subscribers == null) {
+            return;
+        }
+
+        String data = toJson(event);
+        for (ItemRequestSubscriber subscriber : subscribers) {
+            if (subscriber.getBuffer().offer(SseEmitter.event()
+                    .id(String.valueOf(event.getId()))
+                    .name(EVENT_NAME)
+                    .data(data, MediaType.APPLICATION_JSON))) {
+                dropped.increment();
+            }
+            queued.increment();
+            dispatcher.dispatch(subscriber);
+        }
+    }
+
+    void heartbeat() {
+        long now = System.nanoTime();
+        byUser.values().forEach(subscribers -> subscribers.forEach(subscriber -> {
+            if (dispatcher.closeIfStalled(subscriber, now)) {
+                stalled.increment();
+            } else if (subscriber.isIdle()) {
+                subscriber.getBuffer().offer(SseEmitter.event().comment("heartbeat"));
+                dispatcher.dispatch(subscriber);
+            }
+        }));
+    }
+
+    private void remove(ItemRequestSubscriber subscriber) {
+        size.decrementAndGet();
+        byUser.computeIfPresent(subscriber.getUserId(), (userId, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private String toJson(ItemRequestEventDto event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("shareit.item-requests.events")
+                .description("Подходящие запросы вещей, переданные подписчикам")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -44,6 +44,7 @@ public class ItemRequest {
     @Column(nullable = false)
     String description;
 
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @OnDelete(action = OnDeleteAction.CASCADE)
     @JoinColumn(name = "REQUESTER_ID", referencedColumnName = "ID", nullable = false)
@@ -52,19 +53,20 @@ public class ItemRequest {
     @Column(nullable = false)
     LocalDateTime created;
 
+    @ToString.Exclude
     @OneToMany(fetch = FetchType.LAZY)
     @JoinColumn(name = "REQUEST_ID", referencedColumnName = "ID")
     List<Item> items;
 
     @Override
-    public boolean equals(Object o) {
+    public final boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof ItemRequest)) return false;
-        return id != null && id.equals(((ItemRequest) o).getId());
+        return getId() != null && getId().equals(((ItemRequest) o).getId());
     }
 
     @Override
-    public int hashCode() {
-        return Objects.hash(id, description, requesterId, created, items);
+    public final int hashCode() {
+        return Objects.hashCode(getId());
     }
 }
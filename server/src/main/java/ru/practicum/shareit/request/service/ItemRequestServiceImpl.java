@@ -2,12 +2,14 @@ package ru.practicum.shareit.request.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.storage.exception.NotFoundException;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.ItemDto;
+import ru.practicum.shareit.request.events.ItemRequestCreatedEvent;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.model.ItemRequestCreateDto;
@@ -30,6 +32,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository itemRequestRepository;
     private final ItemRequestMapper itemRequestMapper;
     private final ItemMapper itemMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -39,7 +42,9 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         User user = userService.getUserById(userId);
         ItemRequest itemRequest = itemRequestMapper.toItemRequest(itemRequestCreateDto, user, LocalDateTime.now());
 
-        return itemRequestMapper.toItemRequestDto(itemRequestRepository.save(itemRequest));
+        ItemRequestDto itemRequestDto = itemRequestMapper.toItemRequestDto(itemRequestRepository.save(itemRequest));
+        eventPublisher.publishEvent(new ItemRequestCreatedEvent(userId, itemRequestDto));
+        return itemRequestDto;
     }
 
     @Override
@@ -4,11 +4,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.storage.ReadOnlyQuery;
 
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
+    @ReadOnlyQuery
     List<ItemRequest> findByRequesterId_IdOrderByCreatedAsc(Long id);
 
+    @ReadOnlyQuery
     Page<ItemRequest> findByRequesterId_IdNot(Long userId, Pageable pageable);
 }
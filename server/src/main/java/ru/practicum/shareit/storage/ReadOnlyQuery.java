@@ -0,0 +1,23 @@
+package ru.practicum.shareit.storage;
+
+import org.hibernate.jpa.QueryHints;
+
+import javax.persistence.QueryHint;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Списочные запросы: сущности без снимков для dirty checking, без автосброса контекста, с размером выборки JDBC
+@Target({ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@org.springframework.data.jpa.repository.QueryHints(value = {
+        @QueryHint(name = QueryHints.HINT_READONLY, value = "true"),
+        @QueryHint(name = QueryHints.HINT_FLUSH_MODE, value = "MANUAL"),
+        @QueryHint(name = QueryHints.HINT_FETCH_SIZE, value = ReadOnlyQuery.FETCH_SIZE)
+}, forCounting = false)
+public @interface ReadOnlyQuery {
+    String FETCH_SIZE = "100";
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.transport;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.UpgradeProtocol;
+import org.apache.coyote.http2.Http2Protocol;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.tomcat.TomcatConnectorCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Gateway мультиплексирует запросы всех пользователей в нескольких h2c-соединениях, поэтому
+// стандартных для Tomcat 20 одновременно обрабатываемых потоков на соединение мало
+@Configuration
+@Slf4j
+@EnableConfigurationProperties(Http2Properties.class)
+@ConditionalOnProperty(name = "server.http2.enabled", havingValue = "true")
+public class Http2Configuration {
+    @Bean
+    public TomcatConnectorCustomizer http2ConnectorCustomizer(Http2Properties properties) {
+        return connector -> {
+            for (UpgradeProtocol upgradeProtocol : connector.findUpgradeProtocols()) {
+                if (upgradeProtocol instanceof Http2Protocol) {
+                    Http2Protocol http2Protocol = (Http2Protocol) upgradeProtocol;
+                    http2Protocol.setMaxConcurrentStreams(properties.getMaxConcurrentStreams());
+                    http2Protocol.setMaxConcurrentStreamExecution(properties.getMaxConcurrentStreamExecution());
+                    log.info("HTTP/2: до {} потоков на соединение, одновременно обрабатывается до {}.",
+                            properties.getMaxConcurrentStreams(), properties.getMaxConcurrentStreamExecution());
+                }
+            }
+        };
+    }
+}
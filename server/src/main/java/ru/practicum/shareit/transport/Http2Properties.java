@@ -0,0 +1,16 @@
+package ru.practicum.shareit.transport;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "shareit.http2")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+public class Http2Properties {
+    int maxConcurrentStreams = 200;
+    int maxConcurrentStreamExecution = 200;
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.transport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.web.server.Compression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+@Configuration
+public class MessageConvertersConfiguration {
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                                   ServerProperties serverProperties) {
+        return new SizedJsonHttpMessageConverter(objectMapper, compressionThreshold(serverProperties));
+    }
+
+    // Тот же Jackson2ObjectMapperBuilder, что и для JSON: форматы дат и модули совпадают
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder,
+                                                                             ServerProperties serverProperties) {
+        return new SizedSmileHttpMessageConverter(builder.factory(new SmileFactory()).build(),
+                compressionThreshold(serverProperties));
+    }
+
+    private static int compressionThreshold(ServerProperties serverProperties) {
+        Compression compression = serverProperties.getCompression();
+        return compression.getEnabled() ? Math.toIntExact(compression.getMinResponseSize().toBytes()) : 0;
+    }
+}
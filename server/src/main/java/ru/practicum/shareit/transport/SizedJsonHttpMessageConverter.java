@@ -0,0 +1,24 @@
+package ru.practicum.shareit.transport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+public class SizedJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+    private final int threshold;
+
+    public SizedJsonHttpMessageConverter(ObjectMapper objectMapper, int threshold) {
+        super(objectMapper);
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        ThresholdOutputMessage message = new ThresholdOutputMessage(outputMessage, threshold);
+        super.writeInternal(object, type, message);
+        message.finish();
+    }
+}
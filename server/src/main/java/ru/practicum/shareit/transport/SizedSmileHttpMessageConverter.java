@@ -0,0 +1,26 @@
+package ru.practicum.shareit.transport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+// Smile — внутренний формат ответов для gateway (Accept: application/x-jackson-smile): короче JSON и быстрее
+// разбирается. Публичный API gateway остаётся JSON
+public class SizedSmileHttpMessageConverter extends MappingJackson2SmileHttpMessageConverter {
+    private final int threshold;
+
+    public SizedSmileHttpMessageConverter(ObjectMapper objectMapper, int threshold) {
+        super(objectMapper);
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        ThresholdOutputMessage message = new ThresholdOutputMessage(outputMessage, threshold);
+        super.writeInternal(object, type, message);
+        message.finish();
+    }
+}
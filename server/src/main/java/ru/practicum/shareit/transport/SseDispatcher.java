@@ -0,0 +1,119 @@
+package ru.practicum.shareit.transport;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+// Разгружает буферы подписчиков SSE пулом потоков. Запись не прервать извне: SseEmitter держит монитор до
+// её возврата, а возвращает её только тайм-аут записи контейнера. Поэтому запись дольше send-timeout считается
+// зависшей: подписчик закрывается и больше не получает событий, а пул получает запасной поток, пока занятый
+// не освободится, иначе несколько медленных клиентов остановили бы рассылку всем
+public class SseDispatcher<S extends SseSubscription> {
+    private static final int MAX_SPARE_THREADS = 64;
+
+    private final int threads;
+    private final long sendTimeoutNanos;
+    private final Consumer<S> onClose;
+    private final ThreadPoolExecutor executor;
+    private int stalled;
+
+    public SseDispatcher(String name, int threads, Duration sendTimeout, Consumer<S> onClose) {
+        this.threads = threads;
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        this.onClose = onClose;
+
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                task -> {
+                    Thread thread = new Thread(task, name + "-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public void dispatch(S subscription) {
+        if (!subscription.schedule()) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> drain(subscription));
+        } catch (RejectedExecutionException e) {
+            // Сервер останавливается, потоки всё равно закрываются
+            subscription.unschedule();
+        }
+    }
+
+    // Подписчик больше не получает событий, а соединение завершает поток рассылки
+    public boolean close(S subscription) {
+        if (!subscription.close()) {
+            return false;
+        }
+
+        subscription.clear();
+        onClose.accept(subscription);
+        dispatch(subscription);
+        return true;
+    }
+
+    // Вызывается периодически для каждого подписчика, сама не блокируется
+    public boolean closeIfStalled(S subscription, long nanoTime) {
+        long started = subscription.sendStarted.get();
+        if (started == SseSubscription.IDLE || started == SseSubscription.STALLED
+                || nanoTime - started < sendTimeoutNanos
+                || !subscription.sendStarted.compareAndSet(started, SseSubscription.STALLED)) {
+            return false;
+        }
+
+        resize(1);
+        close(subscription);
+        return true;
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void drain(S subscription) {
+        SseEmitter.SseEventBuilder event;
+        while (!subscription.isClosed() && (event = subscription.poll()) != null) {
+            subscription.sendStarted.set(System.nanoTime());
+            boolean sent = subscription.send(event);
+            if (subscription.sendStarted.getAndSet(SseSubscription.IDLE) == SseSubscription.STALLED) {
+                resize(-1);
+            }
+            if (!sent) {
+                close(subscription);
+            }
+        }
+
+        if (subscription.isClosed()) {
+            // Отметка не снимается: закрытому подписчику рассылка больше не нужна
+            subscription.complete();
+            return;
+        }
+        subscription.unschedule();
+        // Событие или закрытие могли прийти между последней проверкой и снятием отметки
+        if (subscription.isClosed() || !subscription.isEmpty()) {
+            dispatch(subscription);
+        }
+    }
+
+    private synchronized void resize(int delta) {
+        stalled += delta;
+        int size = threads + Math.min(stalled, MAX_SPARE_THREADS);
+        if (size > executor.getMaximumPoolSize()) {
+            executor.setMaximumPoolSize(size);
+            executor.setCorePoolSize(size);
+        } else if (size < executor.getMaximumPoolSize()) {
+            executor.setCorePoolSize(size);
+            executor.setMaximumPoolSize(size);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.transport;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Поток SSE одного подписчика: события копятся в его буфере и отправляются не больше чем одним потоком
+// рассылки за раз, а начало текущей записи видно сторожу зависших отправок
+public abstract class SseSubscription {
+    static final long IDLE = Long.MIN_VALUE;
+    static final long STALLED = Long.MIN_VALUE + 1;
+
+    private final SseEmitter emitter;
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    final AtomicLong sendStarted = new AtomicLong(IDLE);
+
+    protected SseSubscription(SseEmitter emitter) {
+        this.emitter = emitter;
+    }
+
+    protected abstract SseEmitter.SseEventBuilder poll();
+
+    protected abstract boolean isEmpty();
+
+    protected abstract void clear();
+
+    public SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    public boolean isIdle() {
+        return isEmpty() && !scheduled.get();
+    }
+
+    boolean close() {
+        return closed.compareAndSet(false, true);
+    }
+
+    boolean schedule() {
+        return scheduled.compareAndSet(false, true);
+    }
+
+    void unschedule() {
+        scheduled.set(false);
+    }
+
+    boolean send(SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+            return true;
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+            return false;
+        } catch (IllegalStateException e) {
+            // Соединение уже завершено по тайм-ауту или клиентом
+            return false;
+        }
+    }
+
+    void complete() {
+        try {
+            emitter.complete();
+        } catch (IllegalStateException e) {
+            // Соединение уже завершено
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.transport;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+// Spring пишет тело без Content-Length и сбрасывает буфер ответа, поэтому Tomcat сжимал бы любой ответ,
+// не глядя на server.compression.min-response-size. Тело меньше порога буферизуется и уходит с длиной
+// (без сжатия), большее пишется потоком и сжимается
+class ThresholdOutputMessage extends OutputStream implements HttpOutputMessage {
+    private final HttpOutputMessage target;
+    private final int threshold;
+    private final ByteArrayOutputStream buffer;
+    private OutputStream direct;
+
+    ThresholdOutputMessage(HttpOutputMessage target, int threshold) {
+        this.target = target;
+        this.threshold = threshold;
+        this.buffer = new ByteArrayOutputStream(Math.max(0, Math.min(threshold, 1024)));
+    }
+
+    @Override
+    public OutputStream getBody() {
+        return this;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return target.getHeaders();
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (direct == null && buffer.size() + len > threshold) {
+            direct = target.getBody();
+            buffer.writeTo(direct);
+        }
+        if (direct != null) {
+            direct.write(b, off, len);
+        } else {
+            buffer.write(b, off, len);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (direct != null) {
+            direct.flush();
+        }
+    }
+
+    void finish() throws IOException {
+        if (direct == null) {
+            target.getHeaders().setContentLength(buffer.size());
+            buffer.writeTo(target.getBody());
+        }
+    }
+}
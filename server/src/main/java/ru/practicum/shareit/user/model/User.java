@@ -39,14 +39,14 @@ public class User {
     String email;
 
     @Override
-    public boolean equals(Object o) {
+    public final boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof User)) return false;
-        return id != null && id.equals(((User) o).getId());
+        return getId() != null && getId().equals(((User) o).getId());
     }
 
     @Override
-    public int hashCode() {
-        return Objects.hash(id, name, email);
+    public final int hashCode() {
+        return Objects.hashCode(getId());
     }
 }
@@ -4,12 +4,19 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.model.UserDto;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
     List<UserDto> getAll();
 
+    List<UserDto> getPage(Long afterId, Integer size);
+
+    void streamAll(Consumer<UserDto> consumer);
+
     UserDto getById(Long id);
 
+    List<UserDto> getByIds(List<Long> ids);
+
     UserDto create(UserDto userDto);
 
     UserDto patch(Long id, UserDto userDto);
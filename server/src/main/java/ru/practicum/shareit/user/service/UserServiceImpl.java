@@ -2,16 +2,26 @@ package ru.practicum.shareit.user.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.storage.exception.NotFoundException;
+import ru.practicum.shareit.user.event.UserChangedEvent;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.storage.UserRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.model.UserDto;
 
+import javax.persistence.EntityManager;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
@@ -20,6 +30,8 @@ import java.util.stream.Collectors;
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public List<UserDto> getAll() {
@@ -29,6 +41,25 @@ public class UserServiceImpl implements UserService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<UserDto> getPage(Long afterId, Integer size) {
+        log.info("Вывод {} пользователей с id больше {}.", size, afterId);
+        return userRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, size)).stream()
+                .map(userMapper::toUserDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void streamAll(Consumer<UserDto> consumer) {
+        log.info("Потоковый вывод всех пользователей.");
+        try (Stream<User> users = userRepository.streamAllOrderById()) {
+            users.forEach(user -> {
+                consumer.accept(userMapper.toUserDto(user));
+                entityManager.detach(user);
+            });
+        }
+    }
+
     @Override
     public UserDto getById(Long id) {
         log.info("Вывод пользователя с id {}.", id);
@@ -36,6 +67,20 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new NotFoundException("Пользователя с таким id не существует.")));
     }
 
+    @Override
+    public List<UserDto> getByIds(List<Long> ids) {
+        log.info("Вывод пользователей с id {}.", ids);
+
+        Map<Long, User> users = userRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        return ids.stream()
+                .distinct()
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .map(userMapper::toUserDto)
+                .collect(Collectors.toList());
+    }
+
     @Override
     @Transactional
     public UserDto create(UserDto userDto) {
@@ -56,6 +101,7 @@ public class UserServiceImpl implements UserService {
         }
         if (userDto.getName() != null) {
             repoUser.setName(userDto.getName());
+            eventPublisher.publishEvent(new UserChangedEvent(id));
         }
 
         return userMapper.toUserDto(userRepository.save(repoUser));
@@ -65,7 +111,10 @@ public class UserServiceImpl implements UserService {
     @Transactional
     public void delete(Long id) {
         log.info("Удаление пользователя с id {}", id);
+        // Слушатели собирают связанные данные до удаления: бронирования и комментарии удаляются каскадом в базе
+        eventPublisher.publishEvent(new UserDeletedEvent(id));
         userRepository.deleteById(id);
+        userRepository.flush();
     }
 
     @Override
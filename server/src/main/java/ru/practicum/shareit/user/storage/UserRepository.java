@@ -1,8 +1,25 @@
 package ru.practicum.shareit.user.storage;
 
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.storage.ReadOnlyQuery;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.stream.Stream;
+
 public interface UserRepository extends JpaRepository<User, Long> {
+    String STREAM_FETCH_SIZE = "500";
+
+    @ReadOnlyQuery
+    List<User> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
 
-}
\ No newline at end of file
+    @Query("SELECT u FROM User u ORDER BY u.id")
+    @org.springframework.data.jpa.repository.QueryHints({
+            @QueryHint(name = QueryHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = QueryHints.HINT_READONLY, value = "true")})
+    Stream<User> streamAllOrderById();
+}
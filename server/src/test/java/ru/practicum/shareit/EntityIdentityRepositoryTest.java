@@ -0,0 +1,176 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.comment.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class EntityIdentityRepositoryTest {
+    private final EntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
+    private final PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+    private Long itemId;
+    private Long requestId;
+    private Long bookingId;
+
+    @BeforeEach
+    public void beforeEach() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        transactionTemplate.executeWithoutResult(status -> persistEntities(LocalDateTime.now()));
+    }
+
+    @AfterEach
+    public void afterEach() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (String entity : List.of("Booking", "Comment", "Item", "ItemRequest", "User")) {
+                entityManager.createQuery("DELETE FROM " + entity).executeUpdate();
+            }
+        });
+    }
+
+    private void persistEntities(LocalDateTime now) {
+        User owner = User.builder()
+                .name("Test user 1")
+                .email("tester1@yandex.ru")
+                .build();
+        entityManager.persist(owner);
+        User booker = User.builder()
+                .name("Test user 2")
+                .email("tester2@yandex.ru")
+                .build();
+        entityManager.persist(booker);
+        ItemRequest itemRequest = ItemRequest.builder()
+                .description("Test request")
+                .requesterId(owner)
+                .created(now)
+                .build();
+        entityManager.persist(itemRequest);
+        Item item = Item.builder()
+                .name("Test item")
+                .description("Test item description")
+                .available(true)
+                .owner(owner)
+                .requestId(itemRequest.getId())
+                .build();
+        entityManager.persist(item);
+        entityManager.persist(Comment.builder()
+                .text("Test comment")
+                .createdDate(now)
+                .author(booker)
+                .itemId(item.getId())
+                .build());
+        Booking booking = Booking.builder()
+                .start(now.minusDays(2))
+                .end(now.minusDays(1))
+                .item(item)
+                .booker(booker)
+                .status(Status.APPROVED)
+                .build();
+        entityManager.persist(booking);
+
+        itemId = item.getId();
+        requestId = itemRequest.getId();
+        bookingId = booking.getId();
+    }
+
+    @Nested
+    class HashCode {
+        @Test
+        public void shouldNotInitializeLazyAssociations() {
+            transactionTemplate.executeWithoutResult(status -> {
+                Item item = entityManager.find(Item.class, itemId);
+                ItemRequest itemRequest = entityManager.find(ItemRequest.class, requestId);
+                Booking booking = entityManager.find(Booking.class, bookingId);
+                statistics.clear();
+
+                Set<Object> entities = new HashSet<>(List.of(item, itemRequest, booking, booking.getBooker()));
+                entities.add(entityManager.find(Item.class, itemId));
+
+                assertEquals(4, entities.size());
+                assertEquals(0, statistics.getPrepareStatementCount());
+                assertFalse(Hibernate.isInitialized(item.getOwner()));
+                assertFalse(Hibernate.isInitialized(item.getComments()));
+                assertFalse(Hibernate.isInitialized(itemRequest.getItems()));
+                assertFalse(Hibernate.isInitialized(itemRequest.getRequesterId()));
+            });
+        }
+
+        @Test
+        public void shouldNotInitializeProxy() {
+            transactionTemplate.executeWithoutResult(status -> {
+                Item proxy = entityManager.getReference(Item.class, itemId);
+                statistics.clear();
+
+                Set<Item> items = new HashSet<>();
+                items.add(proxy);
+
+                assertEquals(0, statistics.getPrepareStatementCount());
+                assertFalse(Hibernate.isInitialized(proxy));
+                assertTrue(items.contains(Item.builder().id(itemId).build()));
+            });
+        }
+    }
+
+    @Nested
+    class Equals {
+        @Test
+        public void shouldEqualProxyAndLoadedEntity() {
+            transactionTemplate.executeWithoutResult(status -> {
+                User proxy = entityManager.find(Item.class, itemId).getOwner();
+                statistics.clear();
+
+                assertEquals(proxy.hashCode(), User.builder().id(proxy.getId()).build().hashCode());
+                assertTrue(proxy.equals(User.builder().id(proxy.getId()).build()));
+                assertTrue(User.builder().id(proxy.getId()).build().equals(proxy));
+                assertEquals(0, statistics.getPrepareStatementCount());
+                assertFalse(Hibernate.isInitialized(proxy));
+            });
+        }
+
+        @Test
+        public void shouldNotEqualTransientEntities() {
+            User user1 = User.builder().name("Test user").email("tester@yandex.ru").build();
+            User user2 = User.builder().name("Test user").email("tester@yandex.ru").build();
+
+            assertNotEquals(user1, user2);
+            assertEquals(user1, user1);
+        }
+    }
+}
@@ -15,6 +15,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.controller.BookingController;
 import ru.practicum.shareit.booking.enums.State;
 import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.events.service.BookingEventSubscribers;
 import ru.practicum.shareit.booking.model.BookingRequestDto;
 import ru.practicum.shareit.booking.model.BookingResponseDto;
 import ru.practicum.shareit.booking.service.BookingService;
@@ -45,6 +46,9 @@ public class BookingControllerTest {
     @MockBean
     private BookingService bookingService;
 
+    @MockBean
+    private BookingEventSubscribers bookingEventSubscribers;
+
     private final User user1 = User.builder()
             .id(1L)
             .name("Test user 1")
@@ -182,6 +186,24 @@ public class BookingControllerTest {
         }
     }
 
+    @Nested
+    class GetByIds {
+        @Test
+        public void shouldGet() throws Exception {
+            List<Long> ids = List.of(bookingResponseDto2.getId(), bookingResponseDto1.getId());
+            when(bookingService.getByIds(userDto2.getId(), ids))
+                    .thenReturn(List.of(bookingResponseDto2, bookingResponseDto1));
+
+            mvc.perform(get("/bookings?ids={ids}", ids.get(0) + "," + ids.get(1))
+                            .header(UserController.headerUserId, userDto2.getId()))
+                    .andExpect(status().isOk())
+                    .andExpect(content().json(mapper.writeValueAsString(List.of(bookingResponseDto2,
+                            bookingResponseDto1))));
+
+            verify(bookingService, times(1)).getByIds(userDto2.getId(), ids);
+        }
+    }
+
     @Nested
     class GetAllByByBookerId {
         @Test
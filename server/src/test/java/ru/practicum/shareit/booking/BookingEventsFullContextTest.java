@@ -0,0 +1,263 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.events.model.BookingEventDto;
+import ru.practicum.shareit.booking.events.model.BookingOutboxEntry;
+import ru.practicum.shareit.booking.events.service.BookingEventRelay;
+import ru.practicum.shareit.booking.events.storage.BookingOutboxRepository;
+import ru.practicum.shareit.booking.model.BookingRequestDto;
+import ru.practicum.shareit.booking.model.BookingResponseDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.storage.exception.BookingException;
+import ru.practicum.shareit.item.model.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.controller.UserController;
+import ru.practicum.shareit.user.model.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Фоновый опрос отключён длинным интервалом: тесты вызывают ретранслятор сами. Повтор по одному событию
+// за цикл проверяет, что он продолжается до живого потока
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"shareit.booking-events.poll-interval=1h", "shareit.booking-events.replay-limit=1"})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class BookingEventsFullContextTest {
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final BookingOutboxRepository bookingOutboxRepository;
+    private final BookingEventRelay bookingEventRelay;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    private UserDto owner;
+    private UserDto booker;
+    private ItemDto item;
+
+    @BeforeEach
+    public void beforeEach() {
+        owner = userService.create(UserDto.builder()
+                .name("Test user 1")
+                .email("tester1@yandex.ru")
+                .build());
+        booker = userService.create(UserDto.builder()
+                .name("Test user 2")
+                .email("tester2@yandex.ru")
+                .build());
+        item = itemService.create(owner.getId(), ItemDto.builder()
+                .name("Test item")
+                .description("Test item description")
+                .available(true)
+                .build());
+    }
+
+    @Nested
+    class Outbox {
+        @Test
+        public void shouldWriteEventsInBookingTransaction() {
+            BookingResponseDto booking = createBooking();
+            bookingService.patch(owner.getId(), booking.getId(), false);
+            itemService.patch(owner.getId(), item.getId(), ItemDto.builder()
+                    .available(false)
+                    .build());
+
+            assertThrows(BookingException.class, () -> createBooking());
+
+            List<BookingOutboxEntry> entries = bookingOutboxRepository.findAll();
+            assertEquals(2, entries.size());
+            assertEquals(List.of(Status.WAITING, Status.REJECTED), List.of(entries.get(0).getStatus(),
+                    entries.get(1).getStatus()));
+            assertEquals(booking.getId(), entries.get(1).getBookingId());
+            assertEquals(booker.getId(), entries.get(1).getBookerId());
+            assertEquals(owner.getId(), entries.get(1).getOwnerId());
+        }
+    }
+
+    @Nested
+    class Relay {
+        @Test
+        public void shouldRelayRowsCommittedOutOfOrder() {
+            bookingEventRelay.relay();
+            long maxId = bookingOutboxRepository.findMaxId();
+
+            insertOutboxRow(maxId + 2);
+            assertEquals(1, bookingEventRelay.relay());
+
+            insertOutboxRow(maxId + 1);
+            assertEquals(1, bookingEventRelay.relay());
+            assertEquals(0, bookingEventRelay.relay());
+        }
+
+        @Test
+        public void shouldDeleteExpiredRows() {
+            insertOutboxRow(100L, LocalDateTime.now().minusDays(1));
+            createBooking();
+
+            assertEquals(1, bookingEventRelay.cleanup());
+            assertEquals(1, bookingOutboxRepository.count());
+        }
+    }
+
+    @Nested
+    class Stream {
+        @Test
+        public void shouldStreamCreateAndApproveToOwnerAndBooker() throws Exception {
+            HttpResponse<InputStream> ownerStream = subscribe(owner.getId(), null);
+            HttpResponse<InputStream> bookerStream = subscribe(booker.getId(), null);
+
+            assertEquals(200, ownerStream.statusCode());
+            assertTrue(ownerStream.headers().firstValue("Content-Type").orElseThrow()
+                    .startsWith("text/event-stream"));
+            assertTrue(ownerStream.headers().firstValue("Content-Length").isEmpty());
+
+            BookingResponseDto booking = createBooking();
+            bookingService.patch(owner.getId(), booking.getId(), true);
+            assertEquals(2, bookingEventRelay.relay());
+
+            List<BookingEventDto> ownerEvents = readEvents(ownerStream, 2);
+            List<BookingEventDto> bookerEvents = readEvents(bookerStream, 2);
+
+            assertEquals(List.of(Status.WAITING, Status.APPROVED), statuses(ownerEvents));
+            assertEquals(List.of(Status.WAITING, Status.APPROVED), statuses(bookerEvents));
+            assertEquals(booking.getId(), ownerEvents.get(1).getBookingId());
+            assertEquals(item.getId(), ownerEvents.get(1).getItemId());
+        }
+
+        @Test
+        public void shouldReplayEventsAfterLastEventId() throws Exception {
+            BookingResponseDto booking = createBooking();
+            bookingService.patch(owner.getId(), booking.getId(), true);
+            bookingEventRelay.relay();
+            Long firstId = bookingOutboxRepository.findAll().get(0).getId();
+
+            HttpResponse<InputStream> response = subscribe(booker.getId(), firstId);
+            bookingEventRelay.relay();
+
+            List<BookingEventDto> events = readEvents(response, 1);
+            assertEquals(List.of(Status.APPROVED), statuses(events));
+            assertEquals(firstId + 1, events.get(0).getId());
+        }
+
+        @Test
+        public void shouldReplayPastLimitBeforeLiveEvents() throws Exception {
+            BookingResponseDto booking = createBooking();
+            bookingService.patch(owner.getId(), booking.getId(), true);
+            createBooking();
+            bookingEventRelay.relay();
+            List<Long> ids = bookingOutboxRepository.findAll().stream()
+                    .map(BookingOutboxEntry::getId)
+                    .collect(Collectors.toList());
+
+            HttpResponse<InputStream> response = subscribe(booker.getId(), ids.get(0) - 1);
+            bookingEventRelay.relay();
+            bookingEventRelay.relay();
+            BookingResponseDto live = createBooking();
+            for (int i = 0; i < 3; i++) {
+                bookingEventRelay.relay();
+            }
+
+            List<BookingEventDto> events = readEvents(response, 4);
+            assertEquals(ids, events.subList(0, 3).stream()
+                    .map(BookingEventDto::getId)
+                    .collect(Collectors.toList()));
+            assertEquals(live.getId(), events.get(3).getBookingId());
+        }
+
+        @Test
+        public void shouldNotSubscribeUnknownUser() throws Exception {
+            HttpResponse<InputStream> response = subscribe(999L, null);
+
+            assertEquals(404, response.statusCode());
+            response.body().close();
+        }
+    }
+
+    private BookingResponseDto createBooking() {
+        return bookingService.create(booker.getId(), BookingRequestDto.builder()
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .itemId(item.getId())
+                .build());
+    }
+
+    private void insertOutboxRow(long id) {
+        insertOutboxRow(id, LocalDateTime.now());
+    }
+
+    private void insertOutboxRow(long id, LocalDateTime created) {
+        jdbcTemplate.update("INSERT INTO booking_outbox (id, booking_id, item_id, booker_id, owner_id, status, "
+                        + "created) VALUES (?, ?, ?, ?, ?, ?, ?)", id, 1L, item.getId(), booker.getId(),
+                owner.getId(), Status.WAITING.name(), Timestamp.valueOf(created));
+    }
+
+    private HttpResponse<InputStream> subscribe(Long userId, Long lastEventId) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                        + "/bookings/events"))
+                .header("Accept", "text/event-stream, application/json")
+                .header(UserController.headerUserId, String.valueOf(userId));
+        Optional.ofNullable(lastEventId).ifPresent(id -> request.header("Last-Event-ID", String.valueOf(id)));
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+    }
+
+    private List<BookingEventDto> readEvents(HttpResponse<InputStream> response, int count) throws Exception {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8));
+        return CompletableFuture.supplyAsync(() -> {
+            List<BookingEventDto> events = new ArrayList<>();
+            try {
+                String line;
+                while (events.size() < count && (line = reader.readLine()) != null) {
+                    if (line.startsWith("data:")) {
+                        events.add(objectMapper.readValue(line.substring("data:".length()), BookingEventDto.class));
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return events;
+        }).get(10, TimeUnit.SECONDS);
+    }
+
+    private static List<Status> statuses(List<BookingEventDto> events) {
+        return events.stream()
+                .map(BookingEventDto::getStatus)
+                .collect(Collectors.toList());
+    }
+}
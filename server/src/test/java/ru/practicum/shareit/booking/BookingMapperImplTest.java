@@ -11,6 +11,7 @@ import ru.practicum.shareit.booking.mapper.BookingMapperImpl;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingRequestDto;
 import ru.practicum.shareit.booking.model.BookingResponseDto;
+import ru.practicum.shareit.booking.model.BookingView;
 import ru.practicum.shareit.item.mapper.ItemMapperImpl;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.mapper.UserMapperImpl;
@@ -128,4 +129,36 @@ public class BookingMapperImplTest {
             assertNull(result);
         }
     }
+
+    @Nested
+    class BookingViewToBookingResponseDto {
+        @Test
+        public void shouldReturnBookingResponseDto() {
+            BookingView bookingView = new BookingView(booking.getId(), booking.getStart(), booking.getEnd(),
+                    booking.getStatus(), item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                    user.getId(), 5L, user.getId(), user.getName(), user.getEmail());
+
+            BookingResponseDto result = bookingMapper.bookingViewToBookingResponseDto(bookingView);
+
+            assertEquals(booking.getId(), result.getId());
+            assertEquals(booking.getStart(), result.getStart());
+            assertEquals(booking.getEnd(), result.getEnd());
+            assertEquals(booking.getStatus(), result.getStatus());
+            assertEquals(user.getId(), result.getBooker().getId());
+            assertEquals(user.getName(), result.getBooker().getName());
+            assertEquals(user.getEmail(), result.getBooker().getEmail());
+            assertEquals(item.getId(), result.getItem().getId());
+            assertEquals(item.getName(), result.getItem().getName());
+            assertEquals(item.getDescription(), result.getItem().getDescription());
+            assertEquals(item.getAvailable(), result.getItem().getAvailable());
+            assertEquals(user.getId(), result.getItem().getOwnerId());
+            assertEquals(5L, result.getItem().getRequestId());
+            verify(userMapper, times(0)).toUserDto(any());
+        }
+
+        @Test
+        public void shouldReturnNull() {
+            assertNull(bookingMapper.bookingViewToBookingResponseDto(null));
+        }
+    }
 }
@@ -3,14 +3,17 @@ package ru.practicum.shareit.booking;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
+import org.hibernate.Session;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.booking.enums.Status;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingView;
 import ru.practicum.shareit.booking.storage.BookingRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.storage.ItemRepository;
@@ -32,6 +35,7 @@ public class BookingRepositoryTest {
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
+    private final TestEntityManager entityManager;
 
     private final int from = Integer.parseInt(UserController.PAGE_DEFAULT_FROM);
     private final int size = Integer.parseInt(UserController.PAGE_DEFAULT_SIZE);
@@ -393,4 +397,45 @@ public class BookingRepositoryTest {
             assertTrue(result.isEmpty());
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    class FindViews {
+        @Test
+        public void shouldMatchEntityQueries() {
+            assertEquals(ids(bookingRepository.findByBookerIdOrderByStartDesc(user2.getId(), pageable).toList()),
+                    viewIds(bookingRepository.findViewsByBookerId(user2.getId(), pageable)));
+            assertEquals(List.of(bookingCurrent.getId()),
+                    viewIds(bookingRepository.findCurrentViewsByBookerId(user2.getId(), dateTime, pageable)));
+            assertEquals(List.of(bookingPast.getId()), viewIds(bookingRepository.findPastViewsByItemOwnerId(
+                    user1.getId(), dateTime, Status.APPROVED, pageable)));
+            assertEquals(List.of(bookingRejected.getId(), bookingFuture.getId()),
+                    viewIds(bookingRepository.findFutureViewsByItemOwnerId(user1.getId(), dateTime, pageable)));
+            assertEquals(List.of(bookingRejected.getId()), viewIds(bookingRepository
+                    .findViewsByBookerIdAndStatus(user2.getId(), Status.REJECTED, pageable)));
+            assertTrue(bookingRepository.findViewsByItemOwnerId(user2.getId(), pageable).isEmpty());
+        }
+
+        @Test
+        public void shouldSelectResponseColumnsWithoutManagedEntities() {
+            entityManager.clear();
+
+            BookingView view = bookingRepository.findViewsByIdIn(List.of(bookingPast.getId())).get(0);
+
+            assertEquals(0, entityManager.getEntityManager().unwrap(Session.class).getStatistics()
+                    .getEntityCount());
+            assertEquals(bookingPast.getStart(), view.getStart());
+            assertEquals(Status.APPROVED, view.getStatus());
+            assertEquals(item1.getName(), view.getItemName());
+            assertEquals(user1.getId(), view.getItemOwnerId());
+            assertEquals(user2.getEmail(), view.getBookerEmail());
+        }
+
+        private List<Long> ids(List<Booking> bookings) {
+            return bookings.stream().map(Booking::getId).collect(Collectors.toList());
+        }
+
+        private List<Long> viewIds(List<BookingView> views) {
+            return views.stream().map(BookingView::getId).collect(Collectors.toList());
+        }
+    }
+}
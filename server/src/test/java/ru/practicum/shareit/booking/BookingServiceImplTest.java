@@ -6,18 +6,35 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.enums.State;
 import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.index.BookingStateIndex;
 import ru.practicum.shareit.booking.mapper.BookingMapperImpl;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingRequestDto;
 import ru.practicum.shareit.booking.model.BookingResponseDto;
+import ru.practicum.shareit.booking.model.BookingView;
+import ru.practicum.shareit.booking.searcher.booker.BookerSearchers;
+import ru.practicum.shareit.booking.searcher.booker.SearcherByBookerIdAndStateAll;
+import ru.practicum.shareit.booking.searcher.booker.SearcherByBookerIdAndStateCurrent;
+import ru.practicum.shareit.booking.searcher.booker.SearcherByBookerIdAndStateFuture;
+import ru.practicum.shareit.booking.searcher.booker.SearcherByBookerIdAndStatePast;
+import ru.practicum.shareit.booking.searcher.booker.SearcherByBookerIdAndStateRejected;
+import ru.practicum.shareit.booking.searcher.booker.SearcherByBookerIdAndStateWaiting;
+import ru.practicum.shareit.booking.searcher.owner.OwnerSearchers;
+import ru.practicum.shareit.booking.searcher.owner.SearcherByOwnerIdAndStateAll;
+import ru.practicum.shareit.booking.searcher.owner.SearcherByOwnerIdAndStateCurrent;
+import ru.practicum.shareit.booking.searcher.owner.SearcherByOwnerIdAndStateFuture;
+import ru.practicum.shareit.booking.searcher.owner.SearcherByOwnerIdAndStatePast;
+import ru.practicum.shareit.booking.searcher.owner.SearcherByOwnerIdAndStateRejected;
+import ru.practicum.shareit.booking.searcher.owner.SearcherByOwnerIdAndStateWaiting;
+import ru.practicum.shareit.booking.service.BookingProjectionProperties;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
 import ru.practicum.shareit.booking.storage.BookingRepository;
 import ru.practicum.shareit.booking.storage.exception.BookingException;
@@ -38,6 +55,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -57,7 +75,15 @@ public class BookingServiceImplTest {
     @Mock
     private BookingMapperImpl bookingMapper;
 
-    @InjectMocks
+    @Mock
+    private BookingStateIndex bookingStateIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private BookingProjectionProperties projectionProperties;
+
     private BookingServiceImpl bookingService;
 
     @Captor
@@ -138,6 +164,23 @@ public class BookingServiceImplTest {
 
     @BeforeEach
     public void beforeEach() {
+        BookerSearchers bookerSearchers = new BookerSearchers(List.of(
+                new SearcherByBookerIdAndStateAll(bookingRepository),
+                new SearcherByBookerIdAndStateCurrent(bookingRepository),
+                new SearcherByBookerIdAndStatePast(bookingRepository),
+                new SearcherByBookerIdAndStateFuture(bookingRepository),
+                new SearcherByBookerIdAndStateWaiting(bookingRepository),
+                new SearcherByBookerIdAndStateRejected(bookingRepository)), bookingStateIndex);
+        OwnerSearchers ownerSearchers = new OwnerSearchers(List.of(
+                new SearcherByOwnerIdAndStateAll(bookingRepository),
+                new SearcherByOwnerIdAndStateCurrent(bookingRepository),
+                new SearcherByOwnerIdAndStatePast(bookingRepository),
+                new SearcherByOwnerIdAndStateFuture(bookingRepository),
+                new SearcherByOwnerIdAndStateWaiting(bookingRepository),
+                new SearcherByOwnerIdAndStateRejected(bookingRepository)), bookingStateIndex);
+        bookingService = new BookingServiceImpl(userService, itemService, bookingRepository, bookingMapper,
+                bookerSearchers, ownerSearchers, projectionProperties, eventPublisher);
+
         bookingIsWaiting1 = Booking.builder()
                 .id(3L)
                 .start(dateTime.plusYears(8))
@@ -185,6 +228,37 @@ public class BookingServiceImplTest {
         }
     }
 
+    @Nested
+    class GetByIds {
+        private final BookingView bookingView = new BookingView(booking.getId(), booking.getStart(),
+                booking.getEnd(), booking.getStatus(), item1.getId(), item1.getName(), item1.getDescription(),
+                item1.getAvailable(), user1.getId(), null, user2.getId(), user2.getName(), user2.getEmail());
+
+        @Test
+        public void shouldGetByBookerAndOwnerSkippingMissing() {
+            when(bookingRepository.findViewsByIdIn(List.of(99L, booking.getId()))).thenReturn(List.of(bookingView));
+            when(bookingMapper.bookingViewToBookingResponseDto(bookingView)).thenReturn(bookingResponseDto);
+
+            List<BookingResponseDto> byBooker = bookingService.getByIds(user2.getId(), List.of(99L, booking.getId()));
+            List<BookingResponseDto> byOwner = bookingService.getByIds(user1.getId(), List.of(99L, booking.getId()));
+
+            assertEquals(1, byBooker.size());
+            checkBookingResponseDto(booking, byBooker.get(0));
+            assertEquals(1, byOwner.size());
+            verify(bookingRepository, never()).findById(any());
+        }
+
+        @Test
+        public void shouldSkipBookingsOfOtherUsers() {
+            when(bookingRepository.findViewsByIdIn(List.of(booking.getId()))).thenReturn(List.of(bookingView));
+
+            List<BookingResponseDto> results = bookingService.getByIds(99L, List.of(booking.getId()));
+
+            assertTrue(results.isEmpty());
+            verify(bookingMapper, never()).bookingViewToBookingResponseDto(any());
+        }
+    }
+
     @Nested
     class GetAllByBookerId {
         @Test
@@ -392,6 +466,47 @@ public class BookingServiceImplTest {
         }
     }
 
+    @Nested
+    class Projections {
+        private final BookingView bookingView = new BookingView(booking.getId(), booking.getStart(),
+                booking.getEnd(), booking.getStatus(), item1.getId(), item1.getName(), item1.getDescription(),
+                item1.getAvailable(), user1.getId(), null, user2.getId(), user2.getName(), user2.getEmail());
+
+        @Test
+        public void shouldGetPastIfBooker() {
+            when(projectionProperties.isEnabled()).thenReturn(true);
+            when(userService.getUserById(user2.getId())).thenReturn(user2);
+            when(bookingRepository.findPastViewsByBookerId(eq(user2.getId()), any(), eq(Status.APPROVED),
+                    eq(pageable))).thenReturn(List.of(bookingView));
+            when(bookingMapper.bookingViewToBookingResponseDto(bookingView)).thenReturn(bookingResponseDto);
+
+            List<BookingResponseDto> results = bookingService.getAllByBookerId(user2.getId(), State.PAST, pageable);
+
+            assertEquals(1, results.size());
+            checkBookingResponseDto(booking, results.get(0));
+            verify(bookingRepository, never()).findByBookerIdAndEndBeforeAndStatusEqualsOrderByStartDesc(any(),
+                    any(), any(), any());
+            verify(bookingMapper, never()).bookingToBookingResponseDto(any());
+        }
+
+        @Test
+        public void shouldGetWaitingIfOwner() {
+            when(projectionProperties.isEnabled()).thenReturn(true);
+            when(userService.getUserById(user1.getId())).thenReturn(user1);
+            when(bookingRepository.findViewsByItemOwnerIdAndStatus(user1.getId(), Status.WAITING, pageable))
+                    .thenReturn(List.of(bookingView));
+            when(bookingMapper.bookingViewToBookingResponseDto(bookingView)).thenReturn(bookingResponseDto);
+
+            List<BookingResponseDto> results = bookingService.getAllByOwnerId(user1.getId(), State.WAITING,
+                    pageable);
+
+            assertEquals(1, results.size());
+            checkBookingResponseDto(booking, results.get(0));
+            verify(bookingStateIndex, times(1)).find(eq(BookingStateIndex.Role.OWNER), eq(user1.getId()),
+                    eq(State.WAITING), eq(pageable), any());
+        }
+    }
+
     @Nested
     class GetAllByOwnerId {
         @Test
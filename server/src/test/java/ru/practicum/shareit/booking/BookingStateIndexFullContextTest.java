@@ -0,0 +1,103 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.enums.State;
+import ru.practicum.shareit.booking.model.BookingRequestDto;
+import ru.practicum.shareit.booking.model.BookingResponseDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.model.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "shareit.booking-state-index.enabled=true")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class BookingStateIndexFullContextTest {
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+
+    private UserDto owner;
+    private UserDto booker;
+    private ItemDto item;
+
+    @BeforeEach
+    public void beforeEach() {
+        owner = userService.create(UserDto.builder()
+                .name("Test user 1")
+                .email("tester1@yandex.ru")
+                .build());
+        booker = userService.create(UserDto.builder()
+                .name("Test user 2")
+                .email("tester2@yandex.ru")
+                .build());
+        item = itemService.create(owner.getId(), ItemDto.builder()
+                .name("Test item")
+                .description("Test item description")
+                .available(true)
+                .build());
+    }
+
+    @Nested
+    class States {
+        @Test
+        public void shouldFollowCreateAndApprove() {
+            BookingResponseDto past = create(LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(1));
+
+            assertEquals(List.of(), byBooker(State.PAST));
+            assertEquals(List.of(past.getId()), byOwner(State.WAITING));
+
+            bookingService.patch(owner.getId(), past.getId(), true);
+            BookingResponseDto future = create(LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2));
+
+            assertEquals(List.of(past.getId()), byBooker(State.PAST));
+            assertEquals(List.of(future.getId()), byBooker(State.FUTURE));
+            assertEquals(List.of(future.getId(), past.getId()), byOwner(State.ALL));
+            assertEquals(List.of(future.getId()), byOwner(State.WAITING));
+        }
+
+        @Test
+        public void shouldDropBookingsOfDeletedItem() {
+            BookingResponseDto booking = create(LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2));
+            assertEquals(List.of(booking.getId()), byBooker(State.FUTURE));
+
+            itemService.delete(item.getId());
+
+            assertEquals(List.of(), byBooker(State.FUTURE));
+        }
+    }
+
+    private BookingResponseDto create(LocalDateTime start, LocalDateTime end) {
+        return bookingService.create(booker.getId(), BookingRequestDto.builder()
+                .start(start)
+                .end(end)
+                .itemId(item.getId())
+                .build());
+    }
+
+    private List<Long> byBooker(State state) {
+        return bookingService.getAllByBookerId(booker.getId(), state, PageRequest.of(0, 10)).stream()
+                .map(BookingResponseDto::getId)
+                .collect(Collectors.toList());
+    }
+
+    private List<Long> byOwner(State state) {
+        return bookingService.getAllByOwnerId(owner.getId(), state, PageRequest.of(0, 10)).stream()
+                .map(BookingResponseDto::getId)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,249 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import ru.practicum.shareit.booking.enums.State;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.index.BookingChangedEvent;
+import ru.practicum.shareit.booking.index.BookingStateIndex;
+import ru.practicum.shareit.booking.index.BookingStateIndexProperties;
+import ru.practicum.shareit.booking.index.IndexedBooking;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingView;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingStateIndexTest {
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final LocalDateTime now = LocalDateTime.now().withNano(0);
+    private final User owner = User.builder().id(1L).name("Test user 1").email("tester1@yandex.ru").build();
+    private final User booker = User.builder().id(2L).name("Test user 2").email("tester2@yandex.ru").build();
+    private final Item item = Item.builder().id(1L).name("Test item").owner(owner).available(true).build();
+
+    private Map<Long, Booking> bookings;
+    private BookingStateIndex bookingStateIndex;
+
+    @BeforeEach
+    public void beforeEach() {
+        bookings = List.of(
+                booking(1L, now.minusDays(3), now.minusDays(2), Status.APPROVED),
+                booking(2L, now.minusDays(2), now.minusDays(1), Status.REJECTED),
+                booking(3L, now.minusHours(1), now.plusSeconds(2), Status.APPROVED),
+                booking(4L, now.plusSeconds(2), now.plusDays(1), Status.WAITING),
+                booking(5L, now.plusDays(1), now.plusDays(2), Status.APPROVED)
+        ).stream().collect(Collectors.toMap(Booking::getId, Function.identity()));
+
+        BookingStateIndexProperties properties = new BookingStateIndexProperties();
+        properties.setEnabled(true);
+        properties.setTick(Duration.ofMillis(100));
+        bookingStateIndex = new BookingStateIndex(properties, bookingRepository, transactionManager, new SimpleMeterRegistry());
+
+        lenient().when(bookingRepository.findIndexedByBookerId(booker.getId())).thenAnswer(invocation ->
+                bookings.values().stream().map(IndexedBooking::of).collect(Collectors.toList()));
+        lenient().when(bookingRepository.findViewsByIdIn(any())).thenAnswer(invocation ->
+                ((Collection<Long>) invocation.getArgument(0)).stream()
+                        .filter(bookings::containsKey)
+                        .map(bookings::get)
+                        .map(BookingStateIndexTest::view)
+                        .collect(Collectors.toList()));
+    }
+
+    @Nested
+    class Slices {
+        @Test
+        public void shouldSliceEveryState() {
+            assertEquals(List.of(5L, 4L, 3L, 2L, 1L), find(State.ALL, now));
+            assertEquals(List.of(3L), find(State.CURRENT, now));
+            assertEquals(List.of(1L), find(State.PAST, now));
+            assertEquals(List.of(5L, 4L), find(State.FUTURE, now));
+            assertEquals(List.of(4L), find(State.WAITING, now));
+            assertEquals(List.of(2L), find(State.REJECTED, now));
+
+            verify(bookingRepository, times(1)).findIndexedByBookerId(booker.getId());
+        }
+
+        @Test
+        public void shouldPage() {
+            List<Long> page = bookingStateIndex.find(BookingStateIndex.Role.BOOKER, booker.getId(), State.ALL,
+                            PageRequest.of(1, 2), now).orElseThrow().stream()
+                    .map(BookingView::getId)
+                    .collect(Collectors.toList());
+
+            assertEquals(List.of(3L, 2L), page);
+        }
+
+        @Test
+        public void shouldDeclineWhenDisabled() {
+            BookingStateIndexProperties properties = new BookingStateIndexProperties();
+            BookingStateIndex disabled = new BookingStateIndex(properties, bookingRepository,
+                    transactionManager, new SimpleMeterRegistry());
+
+            assertTrue(disabled.find(BookingStateIndex.Role.BOOKER, booker.getId(), State.ALL,
+                    PageRequest.of(0, 10), now).isEmpty());
+        }
+    }
+
+    @Nested
+    class Transitions {
+        @Test
+        public void shouldClassifyByTimeBeforeWheelTurns() {
+            find(State.ALL, now);
+            LocalDateTime later = now.plusSeconds(5);
+
+            assertEquals(List.of(4L), find(State.CURRENT, later));
+            assertEquals(List.of(3L, 1L), find(State.PAST, later));
+            assertEquals(List.of(5L), find(State.FUTURE, later));
+        }
+
+        @Test
+        public void shouldPromoteOnTick() {
+            find(State.ALL, now);
+            LocalDateTime later = now.plusSeconds(5);
+
+            bookingStateIndex.tick(later);
+
+            assertEquals(List.of(4L), find(State.CURRENT, later));
+            assertEquals(List.of(3L, 1L), find(State.PAST, later));
+            assertEquals(List.of(5L), find(State.FUTURE, later));
+        }
+    }
+
+    @Nested
+    class Verification {
+        @Test
+        public void shouldReloadWhenBookingIsGone() {
+            find(State.ALL, now);
+            bookings.remove(5L);
+
+            assertTrue(bookingStateIndex.find(BookingStateIndex.Role.BOOKER, booker.getId(), State.FUTURE,
+                    PageRequest.of(0, 10), now).isEmpty());
+            assertEquals(List.of(4L), find(State.FUTURE, now));
+            verify(bookingRepository, times(2)).findIndexedByBookerId(booker.getId());
+        }
+
+        @Test
+        public void shouldAnswerHitWithOneQuery() {
+            find(State.ALL, now);
+            Booking created = booking(6L, now.plusDays(3), now.plusDays(4), Status.WAITING);
+            bookings.put(6L, created);
+            bookingStateIndex.onBookingChanged(BookingChangedEvent.of(created));
+
+            assertEquals(List.of(6L, 5L, 4L, 3L, 2L, 1L), find(State.ALL, now));
+            verify(bookingRepository, times(1)).findIndexedByBookerId(booker.getId());
+            verify(bookingRepository, times(2)).findViewsByIdIn(any());
+        }
+
+        @Test
+        public void shouldLoadFromPrimary() {
+            find(State.ALL, now);
+
+            verify(transactionManager, times(1)).getTransaction(argThat(definition -> !definition.isReadOnly()
+                    && definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        }
+
+        @Test
+        public void shouldDropTimersOfEvictedUsers() {
+            BookingStateIndexProperties properties = new BookingStateIndexProperties();
+            properties.setEnabled(true);
+            properties.setTick(Duration.ofMillis(100));
+            properties.setWheelSize(4);
+            properties.setMaxUsers(1);
+            SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+            bookingStateIndex = new BookingStateIndex(properties, bookingRepository, transactionManager, meterRegistry);
+            when(bookingRepository.findIndexedByBookerId(99L)).thenReturn(List.of());
+
+            find(State.ALL, now);
+            bookingStateIndex.find(BookingStateIndex.Role.BOOKER, 99L, State.ALL, PageRequest.of(0, 10), now);
+            find(State.ALL, now);
+            assertEquals(10, meterRegistry.get("shareit.booking.state-index.timers").gauge().value());
+            bookingStateIndex.tick(now.plusMinutes(1));
+
+            // Сработали начало и конец ближайших бронирований, таймеры вытесненной записи сняты
+            assertEquals(3, meterRegistry.get("shareit.booking.state-index.timers").gauge().value());
+        }
+
+        @Test
+        public void shouldApplyChangesOfLoadedUsers() {
+            find(State.ALL, now);
+            Booking approved = bookings.get(4L);
+            approved.setStatus(Status.APPROVED);
+
+            bookingStateIndex.onBookingChanged(BookingChangedEvent.of(approved));
+
+            assertTrue(find(State.WAITING, now).isEmpty());
+            verify(bookingRepository, times(1)).findIndexedByBookerId(booker.getId());
+        }
+
+        @Test
+        public void shouldDeclineWhenDatabaseDisagrees() {
+            find(State.ALL, now);
+            bookings.get(4L).setStatus(Status.REJECTED);
+
+            Optional<List<BookingView>> waiting = bookingStateIndex.find(BookingStateIndex.Role.BOOKER, booker.getId(),
+                    State.WAITING, PageRequest.of(0, 10), now);
+
+            assertFalse(waiting.isPresent());
+            assertEquals(List.of(4L, 2L), find(State.REJECTED, now));
+        }
+    }
+
+    private List<Long> find(State state, LocalDateTime dateTime) {
+        return bookingStateIndex.find(BookingStateIndex.Role.BOOKER, booker.getId(), state, PageRequest.of(0, 10),
+                        dateTime).orElseThrow().stream()
+                .map(BookingView::getId)
+                .collect(Collectors.toList());
+    }
+
+    private Booking booking(Long id, LocalDateTime start, LocalDateTime end, Status status) {
+        return Booking.builder()
+                .id(id)
+                .start(start)
+                .end(end)
+                .item(item)
+                .booker(booker)
+                .status(status)
+                .build();
+    }
+
+    private static BookingView view(Booking booking) {
+        Item item = booking.getItem();
+        User booker = booking.getBooker();
+        return new BookingView(booking.getId(), booking.getStart(), booking.getEnd(), booking.getStatus(),
+                item.getId(), item.getName(), item.getDescription(), item.getAvailable(), item.getOwner().getId(),
+                item.getRequestId(), booker.getId(), booker.getName(), booker.getEmail());
+    }
+}
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.enums.State;
+import ru.practicum.shareit.booking.searcher.Searcher;
+import ru.practicum.shareit.booking.searcher.booker.BookerSearcher;
+import ru.practicum.shareit.booking.searcher.booker.SearcherByBookerIdAndStateAll;
+import ru.practicum.shareit.booking.searcher.owner.OwnerSearcher;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+import ru.practicum.shareit.booking.storage.exception.BookingException;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class SearcherTest {
+    private final List<BookerSearcher> bookerSearchers;
+    private final List<OwnerSearcher> ownerSearchers;
+    private final BookingRepository bookingRepository;
+
+    @Nested
+    class Discovery {
+        @Test
+        public void shouldRegisterSearcherForEveryStateAndRole() {
+            assertEquals(EnumSet.allOf(State.class), Searcher.byState(bookerSearchers).keySet());
+            assertEquals(EnumSet.allOf(State.class), Searcher.byState(ownerSearchers).keySet());
+        }
+    }
+
+    @Nested
+    class Dispatch {
+        @Test
+        public void shouldFindSearcherByState() {
+            SearcherByBookerIdAndStateAll searcher = new SearcherByBookerIdAndStateAll(bookingRepository);
+
+            assertSame(searcher, Searcher.forState(Searcher.byState(List.of(searcher)), State.ALL));
+        }
+
+        @Test
+        public void shouldThrowExceptionIfStateHasNoSearcher() {
+            Map<State, Searcher> byState = Searcher.byState(List.of(new SearcherByBookerIdAndStateAll(bookingRepository)));
+
+            assertThrows(BookingException.class, () -> Searcher.forState(byState, State.PAST));
+        }
+
+        @Test
+        public void shouldRejectTwoSearchersForOneState() {
+            assertThrows(IllegalStateException.class, () -> Searcher.byState(List.of(
+                    new SearcherByBookerIdAndStateAll(bookingRepository), new SearcherByBookerIdAndStateAll(bookingRepository))));
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.concurrency;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import ru.practicum.shareit.booking.storage.exception.ServiceUnavailableException;
+
+import javax.servlet.DispatcherType;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConcurrencyLimitInterceptorTest {
+    private ConcurrencyLimitInterceptor interceptor;
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @BeforeEach
+    public void beforeEach() {
+        interceptor = new ConcurrencyLimitInterceptor(1, Duration.ofMillis(10));
+    }
+
+    @Nested
+    class PreHandle {
+        @Test
+        public void shouldAcquirePermit() throws InterruptedException {
+            assertTrue(interceptor.preHandle(new MockHttpServletRequest(), response, null));
+            assertEquals(0, interceptor.getAvailablePermits());
+        }
+
+        @Test
+        public void shouldThrowExceptionIfNoPermitsLeft() throws InterruptedException {
+            interceptor.preHandle(new MockHttpServletRequest(), response, null);
+
+            assertThrows(ServiceUnavailableException.class,
+                    () -> interceptor.preHandle(new MockHttpServletRequest(), response, null));
+        }
+    }
+
+    @Nested
+    class AfterCompletion {
+        @Test
+        public void shouldReleasePermit() throws InterruptedException {
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            interceptor.preHandle(request, response, null);
+            interceptor.afterCompletion(request, response, null, null);
+
+            assertEquals(1, interceptor.getAvailablePermits());
+            assertTrue(interceptor.preHandle(new MockHttpServletRequest(), response, null));
+        }
+
+        @Test
+        public void shouldNotReleasePermitIfNotAcquired() {
+            interceptor.afterCompletion(new MockHttpServletRequest(), response, null, null);
+            interceptor.afterCompletion(new MockHttpServletRequest(), response, null, null);
+
+            assertEquals(1, interceptor.getAvailablePermits());
+        }
+    }
+
+    @Nested
+    class Async {
+        @Test
+        public void shouldReleasePermitWhenAsyncStartsAndSkipAsyncDispatch() throws InterruptedException {
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            interceptor.preHandle(request, response, null);
+            interceptor.afterConcurrentHandlingStarted(request, response, null);
+
+            assertEquals(1, interceptor.getAvailablePermits());
+
+            request.setDispatcherType(DispatcherType.ASYNC);
+            assertTrue(interceptor.preHandle(request, response, null));
+            interceptor.afterCompletion(request, response, null, null);
+
+            assertEquals(1, interceptor.getAvailablePermits());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.item.comment.json.CommentJsonCache;
+import ru.practicum.shareit.item.comment.json.CommentJsonModule;
+import ru.practicum.shareit.item.comment.json.CommentJsonProperties;
+import ru.practicum.shareit.item.comment.model.CommentDto;
+import ru.practicum.shareit.item.model.ItemExtendedDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CommentJsonTest {
+    private final LocalDateTime now = LocalDateTime.of(2030, 1, 1, 12, 0, 0, 123_000);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ObjectMapper plainMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private CommentJsonCache commentJsonCache;
+    private ObjectMapper cachingMapper;
+    private ItemExtendedDto item;
+
+    @BeforeEach
+    public void beforeEach() {
+        commentJsonCache = new CommentJsonCache(new CommentJsonProperties(), meterRegistry);
+        cachingMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(new CommentJsonModule(commentJsonCache))
+                .build();
+        item = ItemExtendedDto.builder()
+                .id(1L)
+                .name("Test item")
+                .description("Test item description")
+                .available(true)
+                .ownerId(1L)
+                .comments(List.of(comment(1L, "Test user 2"), comment(2L, "Test user 3")))
+                .build();
+    }
+
+    @Nested
+    class Serialize {
+        @Test
+        public void shouldWriteSameJsonAsPlainMapper() throws JsonProcessingException {
+            String expected = plainMapper.writeValueAsString(item);
+
+            assertEquals(expected, cachingMapper.writeValueAsString(item));
+            assertEquals(expected, new String(cachingMapper.writeValueAsBytes(item)));
+            assertEquals(2, commentJsonCache.size());
+            assertEquals(2, outcome("miss"));
+            assertEquals(2, outcome("hit"));
+        }
+
+        @Test
+        public void shouldRewriteWhenAuthorRenamed() throws JsonProcessingException {
+            cachingMapper.writeValueAsString(item);
+            item.getComments().get(0).setAuthorName("Renamed user");
+
+            String json = cachingMapper.writeValueAsString(item);
+
+            assertEquals(plainMapper.writeValueAsString(item), json);
+            assertTrue(json.contains("Renamed user"));
+            assertEquals(1, outcome("stale"));
+        }
+
+        @Test
+        public void shouldNotCachePendingComments() throws JsonProcessingException {
+            item.setComments(List.of(comment(null, "Test user 2")));
+
+            assertEquals(plainMapper.writeValueAsString(item), cachingMapper.writeValueAsString(item));
+            assertEquals(0, commentJsonCache.size());
+        }
+
+        @Test
+        public void shouldNotCachePrettyPrintedComments() throws JsonProcessingException {
+            assertEquals(plainMapper.writerWithDefaultPrettyPrinter().writeValueAsString(item),
+                    cachingMapper.writerWithDefaultPrettyPrinter().writeValueAsString(item));
+            assertEquals(0, commentJsonCache.size());
+        }
+    }
+
+    private CommentDto comment(Long id, String authorName) {
+        return CommentDto.builder()
+                .id(id)
+                .text("Test comment " + id)
+                .createdDate(now)
+                .authorName(authorName)
+                .build();
+    }
+
+    private double outcome(String outcome) {
+        return meterRegistry.get("shareit.comments.json-cache").tag("outcome", outcome).counter().count();
+    }
+}
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+import ru.practicum.shareit.booking.storage.exception.ServiceUnavailableException;
+import ru.practicum.shareit.item.comment.model.CommentDto;
+import ru.practicum.shareit.item.comment.model.CommentRequestDto;
+import ru.practicum.shareit.item.comment.storage.CommentRepository;
+import ru.practicum.shareit.item.comment.writebehind.CommentWriteBehind;
+import ru.practicum.shareit.item.model.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "shareit.comments.write-behind.enabled=true")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class CommentWriteBehindFullContextTest {
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+    private final CommentWriteBehind commentWriteBehind;
+
+    private UserDto owner;
+    private UserDto booker;
+    private ItemDto item;
+
+    @BeforeEach
+    public void beforeEach() {
+        owner = userService.create(UserDto.builder()
+                .name("Test user 1")
+                .email("tester1@yandex.ru")
+                .build());
+        booker = userService.create(UserDto.builder()
+                .name("Test user 2")
+                .email("tester2@yandex.ru")
+                .build());
+        item = itemService.create(owner.getId(), ItemDto.builder()
+                .name("Test item")
+                .description("Test item description")
+                .available(true)
+                .build());
+        bookingRepository.save(Booking.builder()
+                .start(LocalDateTime.now().minusDays(2))
+                .end(LocalDateTime.now().minusDays(1))
+                .item(itemService.getItemById(item.getId()))
+                .booker(userService.getUserById(booker.getId()))
+                .status(Status.APPROVED)
+                .build());
+    }
+
+    @Nested
+    class ReadYourWrites {
+        @Test
+        public void shouldShowCommentToAuthorBeforeAndAfterFlush() throws InterruptedException {
+            CommentDto commentDto = itemService.addComment(booker.getId(), item.getId(),
+                    new CommentRequestDto("Test comment"));
+
+            assertNull(commentDto.getId());
+            List<CommentDto> comments = itemService.getById(booker.getId(), item.getId()).getComments();
+            assertEquals(1, comments.size());
+            assertEquals("Test comment", comments.get(0).getText());
+
+            awaitSavedComments(1);
+
+            comments = itemService.getById(booker.getId(), item.getId()).getComments();
+            assertEquals(1, comments.size());
+            assertEquals(booker.getName(), comments.get(0).getAuthorName());
+            assertEquals(1, itemService.getById(owner.getId(), item.getId()).getComments().size());
+        }
+    }
+
+    @Nested
+    class Shutdown {
+        @Test
+        public void shouldDrainQueueOnStop() {
+            for (int i = 0; i < 50; i++) {
+                itemService.addComment(booker.getId(), item.getId(), new CommentRequestDto("Test comment " + i));
+            }
+
+            commentWriteBehind.stop();
+
+            assertEquals(50, commentRepository.count());
+            assertTrue(commentWriteBehind.pendingFor(item.getId(), booker.getId()).isEmpty());
+            assertThrows(ServiceUnavailableException.class, () -> itemService.addComment(booker.getId(),
+                    item.getId(), new CommentRequestDto("Late comment")));
+        }
+    }
+
+    private void awaitSavedComments(long expected) throws InterruptedException {
+        for (int attempt = 0; attempt < 100 && commentRepository.count() < expected; attempt++) {
+            Thread.sleep(50);
+        }
+        assertEquals(expected, commentRepository.count());
+    }
+}
@@ -0,0 +1,200 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.booking.storage.exception.ServiceUnavailableException;
+import ru.practicum.shareit.item.comment.model.CommentDto;
+import ru.practicum.shareit.item.comment.writebehind.CommentWriteBehind;
+import ru.practicum.shareit.item.comment.writebehind.CommentWriteBehindProperties;
+import ru.practicum.shareit.item.comment.writebehind.PendingComment;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class CommentWriteBehindTest {
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final CountDownLatch flushStarted = new CountDownLatch(1);
+    private final CountDownLatch flushReleased = new CountDownLatch(1);
+    private final LocalDateTime now = LocalDateTime.now();
+
+    private CommentWriteBehind commentWriteBehind;
+
+    @BeforeEach
+    public void beforeEach() {
+        CommentWriteBehindProperties properties = new CommentWriteBehindProperties();
+        properties.setEnabled(true);
+        properties.setCapacity(1);
+        properties.setEnqueueTimeout(Duration.ofMillis(10));
+        commentWriteBehind = new CommentWriteBehind(properties, jdbcTemplate, transactionManager, eventPublisher,
+                new SimpleMeterRegistry());
+        commentWriteBehind.start();
+    }
+
+    @AfterEach
+    public void afterEach() {
+        flushReleased.countDown();
+        commentWriteBehind.stop();
+    }
+
+    @Nested
+    class Backpressure {
+        @Test
+        public void shouldRejectWhenQueueIsFull() throws InterruptedException {
+            blockFlush();
+
+            commentWriteBehind.enqueue(comment(1L, "First"));
+            assertTrue(flushStarted.await(5, TimeUnit.SECONDS));
+            commentWriteBehind.enqueue(comment(1L, "Second"));
+
+            ServiceUnavailableException exception = assertThrows(ServiceUnavailableException.class,
+                    () -> commentWriteBehind.enqueue(comment(1L, "Third")));
+            assertEquals("Очередь комментариев переполнена, повторите позже.", exception.getMessage());
+
+            List<PendingComment> pending = commentWriteBehind.pendingFor(1L, 2L);
+            assertEquals(2, pending.size());
+            assertTrue(pending.stream().noneMatch(comment -> comment.getText().equals("Third")));
+
+            flushReleased.countDown();
+            commentWriteBehind.stop();
+
+            verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList(), anyInt(), any());
+            assertTrue(commentWriteBehind.pendingFor(1L, 2L).isEmpty());
+        }
+    }
+
+    @Nested
+    class Overlay {
+        @Test
+        public void shouldShowPendingCommentsOnlyToAuthor() throws InterruptedException {
+            blockFlush();
+
+            commentWriteBehind.enqueue(comment(1L, "First"));
+            assertTrue(flushStarted.await(5, TimeUnit.SECONDS));
+
+            assertEquals(1, commentWriteBehind.pendingFor(1L, 2L).size());
+            assertTrue(commentWriteBehind.pendingFor(1L, 3L).isEmpty());
+            assertTrue(commentWriteBehind.pendingFor(2L, 2L).isEmpty());
+        }
+
+        @Test
+        public void shouldRecognizeSavedComment() throws InterruptedException {
+            blockFlush();
+
+            CommentDto pending = commentWriteBehind.enqueue(comment(1L, "First"));
+            assertTrue(flushStarted.await(5, TimeUnit.SECONDS));
+
+            assertTrue(commentWriteBehind.pendingFor(1L, 2L).get(0).isSaved(pending));
+        }
+
+        @Test
+        public void shouldRecognizeSavedCommentAfterAuthorRename() {
+            PendingComment pending = comment(1L, "First");
+            CommentDto saved = pending.toCommentDto();
+            saved.setId(1L);
+            saved.setAuthorName("Renamed user 2");
+
+            assertTrue(pending.isSaved(saved));
+            saved.setAuthorId(3L);
+            assertFalse(pending.isSaved(saved));
+        }
+    }
+
+    @Nested
+    class Shutdown {
+        @Test
+        @SuppressWarnings("unchecked")
+        public void shouldWriteEveryAcceptedCommentWhenStoppedDuringEnqueue() throws InterruptedException {
+            Collection<String> written = new ConcurrentLinkedQueue<>();
+            when(jdbcTemplate.batchUpdate(anyString(), anyList(), anyInt(), any())).thenAnswer(invocation -> {
+                ((List<PendingComment>) invocation.getArgument(1)).forEach(comment -> written.add(comment.getText()));
+                return new int[0][];
+            });
+            CommentWriteBehindProperties properties = new CommentWriteBehindProperties();
+            properties.setEnabled(true);
+            CommentWriteBehind writeBehind = new CommentWriteBehind(properties, jdbcTemplate, transactionManager,
+                    eventPublisher, new SimpleMeterRegistry());
+            writeBehind.start();
+
+            Collection<String> accepted = new ConcurrentLinkedQueue<>();
+            CountDownLatch started = new CountDownLatch(4);
+            List<Thread> writers = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                int writer = i;
+                Thread thread = new Thread(() -> {
+                    started.countDown();
+                    for (int j = 0; ; j++) {
+                        String text = writer + "-" + j;
+                        try {
+                            writeBehind.enqueue(comment(1L, text));
+                        } catch (ServiceUnavailableException e) {
+                            return;
+                        }
+                        accepted.add(text);
+                    }
+                });
+                thread.start();
+                writers.add(thread);
+            }
+
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            while (accepted.isEmpty()) {
+                Thread.sleep(1);
+            }
+            writeBehind.stop();
+            for (Thread thread : writers) {
+                thread.join(5000);
+            }
+
+            assertEquals(accepted.size(), written.size());
+            assertTrue(written.containsAll(accepted));
+        }
+    }
+
+    private void blockFlush() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), anyInt(), any())).thenAnswer(invocation -> {
+            flushStarted.countDown();
+            flushReleased.await();
+            return new int[0][];
+        });
+    }
+
+    private PendingComment comment(Long itemId, String text) {
+        return new PendingComment(itemId, 2L, "Test user 2", text, now);
+    }
+}
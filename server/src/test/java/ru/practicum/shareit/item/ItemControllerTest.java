@@ -195,6 +195,51 @@ public class ItemControllerTest {
         }
     }
 
+    @Nested
+    class GetByIds {
+        @Test
+        public void shouldGet() throws Exception {
+            when(itemService.getByIds(userDto1.getId(), List.of(itemDto2.getId(), itemDto1.getId())))
+                    .thenReturn(List.of(itemExtendedDto2, itemExtendedDto1));
+
+            mvc.perform(get("/items?ids={ids}", itemDto2.getId() + "," + itemDto1.getId())
+                            .header(UserController.headerUserId, userDto1.getId()))
+                    .andExpect(status().isOk())
+                    .andExpect(content().json(mapper.writeValueAsString(List.of(itemExtendedDto2, itemExtendedDto1))));
+
+            verify(itemService, times(1)).getByIds(userDto1.getId(), List.of(itemDto2.getId(), itemDto1.getId()));
+        }
+    }
+
+    @Nested
+    class GetComments {
+        @Test
+        public void shouldGetFirstPage() throws Exception {
+            when(itemService.getComments(itemDto1.getId(), null, null, 2))
+                    .thenReturn(List.of(commentDto2, commentDto1));
+
+            mvc.perform(get("/items/{id}/comments?size={size}", itemDto1.getId(), 2))
+                    .andExpect(status().isOk())
+                    .andExpect(content().json(mapper.writeValueAsString(List.of(commentDto2, commentDto1))));
+
+            verify(itemService, times(1)).getComments(itemDto1.getId(), null, null, 2);
+        }
+
+        @Test
+        public void shouldGetPageBeforeCursor() throws Exception {
+            when(itemService.getComments(itemDto1.getId(), commentDto2.getCreatedDate(), commentDto2.getId(), 2))
+                    .thenReturn(List.of(commentDto1));
+
+            mvc.perform(get("/items/{id}/comments?beforeDate={beforeDate}&beforeId={beforeId}&size={size}",
+                            itemDto1.getId(), commentDto2.getCreatedDate(), commentDto2.getId(), 2))
+                    .andExpect(status().isOk())
+                    .andExpect(content().json(mapper.writeValueAsString(List.of(commentDto1))));
+
+            verify(itemService, times(1)).getComments(itemDto1.getId(), commentDto2.getCreatedDate(),
+                    commentDto2.getId(), 2);
+        }
+    }
+
     @Nested
     class Patch {
         @Test
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -8,6 +9,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.storage.ItemRepository;
@@ -15,10 +17,12 @@ import ru.practicum.shareit.user.controller.UserController;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.storage.UserRepository;
 
+import javax.persistence.EntityManager;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
@@ -27,6 +31,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 public class ItemRepositoryTest {
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final EntityManager entityManager;
 
     private final int from = Integer.parseInt(UserController.PAGE_DEFAULT_FROM);
     private final int size = Integer.parseInt(UserController.PAGE_DEFAULT_SIZE);
@@ -110,6 +115,19 @@ public class ItemRepositoryTest {
 
             assertTrue(itemsFromRepository.isEmpty());
         }
+
+        @Test
+        public void shouldLoadItemsReadOnly() {
+            entityManager.flush();
+            entityManager.clear();
+
+            List<Item> itemsFromRepository = itemRepository.findByOwnerIdOrderByIdAsc(user1.getId(), pageable)
+                    .getContent();
+
+            Session session = entityManager.unwrap(Session.class);
+            assertEquals(2, itemsFromRepository.size());
+            assertTrue(itemsFromRepository.stream().allMatch(session::isReadOnly));
+        }
     }
 
     @Nested
@@ -148,6 +166,28 @@ public class ItemRepositoryTest {
         }
     }
 
+    @Nested
+    class StatelessSearch {
+        @Test
+        public void shouldNotAttachFoundItems() {
+            List<Item> itemsFromRepository = itemRepository.search("search1", pageable).getContent();
+
+            assertEquals(2, itemsFromRepository.size());
+            assertTrue(itemsFromRepository.stream().noneMatch(entityManager::contains));
+        }
+
+        @Test
+        public void shouldSliceWithoutCount() {
+            Slice<Item> firstSlice = itemRepository.search("search1", PageRequest.of(0, 1));
+            Slice<Item> secondSlice = itemRepository.search("search1", PageRequest.of(1, 1));
+
+            assertTrue(firstSlice.hasNext());
+            checkItem(item1, firstSlice.getContent().get(0));
+            assertFalse(secondSlice.hasNext());
+            checkItem(item2, secondSlice.getContent().get(0));
+        }
+    }
+
     private void checkItem(Item item1, Item item2) {
         assertEquals(item1.getId(), item2.getId());
         assertEquals(item1.getName(), item2.getName());
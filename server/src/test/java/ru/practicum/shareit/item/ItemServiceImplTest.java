@@ -7,7 +7,9 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -17,16 +19,21 @@ import ru.practicum.shareit.booking.storage.BookingRepository;
 import ru.practicum.shareit.booking.storage.exception.BookingException;
 import ru.practicum.shareit.booking.storage.exception.ForbiddenException;
 import ru.practicum.shareit.booking.storage.exception.NotFoundException;
+import ru.practicum.shareit.item.comment.CommentProperties;
 import ru.practicum.shareit.item.comment.model.Comment;
+import ru.practicum.shareit.item.comment.model.CommentCount;
 import ru.practicum.shareit.item.comment.model.CommentDto;
 import ru.practicum.shareit.item.comment.model.CommentRequestDto;
 import ru.practicum.shareit.item.comment.storage.CommentRepository;
+import ru.practicum.shareit.item.comment.writebehind.CommentWriteBehind;
+import ru.practicum.shareit.item.comment.writebehind.PendingComment;
 import ru.practicum.shareit.item.mapper.ItemMapperImpl;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.model.ItemDto;
 import ru.practicum.shareit.item.model.ItemExtendedDto;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
 import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.item.summary.service.ItemSummaryService;
 import ru.practicum.shareit.user.controller.UserController;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
@@ -34,6 +41,7 @@ import ru.practicum.shareit.user.service.UserService;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -41,6 +49,8 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -63,6 +73,18 @@ public class ItemServiceImplTest {
     @Mock
     private ItemMapperImpl itemMapper;
 
+    @Mock
+    private CommentWriteBehind commentWriteBehind;
+
+    @Spy
+    private CommentProperties commentProperties = new CommentProperties();
+
+    @Mock
+    private ItemSummaryService itemSummaryService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ItemServiceImpl itemService;
 
@@ -167,12 +189,12 @@ public class ItemServiceImplTest {
         @Test
         public void shouldGetTwoItems() {
             when(itemRepository.findByOwnerIdOrderByIdAsc(any(), any())).thenReturn(new PageImpl<>(List.of(item1, item3)));
-            when(itemMapper.toItemExtendedDto(any(), any(), any())).thenCallRealMethod();
+            when(itemMapper.toItemExtendedDto(any(), any(), any(), any(), anyInt())).thenCallRealMethod();
 
             itemService.getByOwnerId(user1.getId(), pageable);
 
             verify(itemRepository, times(1)).findByOwnerIdOrderByIdAsc(any(), any());
-            verify(itemMapper, times(2)).toItemExtendedDto(any(), any(), any());
+            verify(itemMapper, times(2)).toItemExtendedDto(any(), any(), any(), any(), anyInt());
         }
 
         @Test
@@ -182,7 +204,7 @@ public class ItemServiceImplTest {
             itemService.getByOwnerId(user1.getId(), pageable);
 
             verify(itemRepository, times(1)).findByOwnerIdOrderByIdAsc(any(), any());
-            verify(itemMapper, never()).toItemExtendedDto(any(), any(), any());
+            verify(itemMapper, never()).toItemExtendedDto(any(), any(), any(), any(), anyInt());
         }
     }
 
@@ -213,20 +235,20 @@ public class ItemServiceImplTest {
         @Test
         public void shouldGetByNotOwner() {
             when(itemRepository.findById(item1.getId())).thenReturn(Optional.of(item1));
-            when(itemMapper.toItemExtendedDto(any(), any(), any())).thenCallRealMethod();
+            when(itemMapper.toItemExtendedDto(any(), any(), any(), any(), anyInt())).thenCallRealMethod();
 
             ItemExtendedDto itemFromService = itemService.getById(user2.getId(), item1.getId());
 
             assertNull(itemFromService.getLastBooking());
             assertNull(itemFromService.getNextBooking());
             verify(itemRepository, times(1)).findById(any());
-            verify(itemMapper, times(1)).toItemExtendedDto(any(), any(), any());
+            verify(itemMapper, times(1)).toItemExtendedDto(any(), any(), any(), any(), anyInt());
         }
 
         @Test
         public void shouldGetByOwnerWithLastAndNextBookings() {
             when(itemRepository.findById(item1.getId())).thenReturn(Optional.of(item1));
-            when(itemMapper.toItemExtendedDto(any(), any(), any())).thenCallRealMethod();
+            when(itemMapper.toItemExtendedDto(any(), any(), any(), any(), anyInt())).thenCallRealMethod();
             when(bookingRepository.findByItemIdAndStartBeforeAndStatusEqualsOrderByStartDesc(any(), any(), any()))
                     .thenReturn(List.of(booking2, booking1));
             when(bookingRepository.findByItemIdAndStartAfterAndStatusEqualsOrderByStartAsc(any(), any(), any()))
@@ -248,7 +270,7 @@ public class ItemServiceImplTest {
             assertEquals(booking3.getEnd(), itemFromService.getNextBooking().getEnd());
 
             verify(itemRepository, times(1)).findById(any());
-            verify(itemMapper, times(1)).toItemExtendedDto(any(), any(), any());
+            verify(itemMapper, times(1)).toItemExtendedDto(any(), any(), any(), any(), anyInt());
             verify(bookingRepository, times(1))
                     .findByItemIdAndStartBeforeAndStatusEqualsOrderByStartDesc(any(), any(), any());
             verify(bookingRepository, times(1))
@@ -259,7 +281,7 @@ public class ItemServiceImplTest {
         @Test
         public void shouldGetByOwnerWithEmptyLastAndNextBookings() {
             when(itemRepository.findById(item1.getId())).thenReturn(Optional.of(item1));
-            when(itemMapper.toItemExtendedDto(any(), any(), any())).thenCallRealMethod();
+            when(itemMapper.toItemExtendedDto(any(), any(), any(), any(), anyInt())).thenCallRealMethod();
             when(bookingRepository.findByItemIdAndStartBeforeAndStatusEqualsOrderByStartDesc(any(), any(), any()))
                     .thenReturn(List.of());
             when(bookingRepository.findByItemIdAndStartAfterAndStatusEqualsOrderByStartAsc(any(), any(), any()))
@@ -271,13 +293,189 @@ public class ItemServiceImplTest {
             assertNull(itemFromService.getNextBooking());
 
             verify(itemRepository, times(1)).findById(any());
-            verify(itemMapper, times(1)).toItemExtendedDto(any(), any(), any());
+            verify(itemMapper, times(1)).toItemExtendedDto(any(), any(), any(), any(), anyInt());
             verify(bookingRepository, times(1))
                     .findByItemIdAndStartBeforeAndStatusEqualsOrderByStartDesc(any(), any(), any());
             verify(bookingRepository, times(1))
                     .findByItemIdAndStartAfterAndStatusEqualsOrderByStartAsc(any(), any(), any());
             verify(itemMapper, never()).bookingToBookingItemDto(any());
         }
+
+        @Test
+        public void shouldAppendPendingCommentsOfRequester() {
+            PendingComment pending = new PendingComment(item1.getId(), user2.getId(), user2.getName(),
+                    "Pending comment", LocalDateTime.now());
+            when(itemRepository.findById(item1.getId())).thenReturn(Optional.of(item1));
+            when(itemMapper.toItemExtendedDto(any(), any(), any(), any(), anyInt())).thenCallRealMethod();
+            when(commentWriteBehind.pendingFor(item1.getId(), user2.getId())).thenReturn(List.of(pending));
+
+            ItemExtendedDto itemFromService = itemService.getById(user2.getId(), item1.getId());
+
+            assertEquals(1, itemFromService.getComments().size());
+            assertEquals("Pending comment", itemFromService.getComments().get(0).getText());
+            verify(commentWriteBehind, times(1)).pendingFor(item1.getId(), user2.getId());
+        }
+    }
+
+    @Nested
+    class GetByIds {
+        @Test
+        public void shouldKeepRequestOrderAndBatchBookingsOfOwnedItems() {
+            when(itemRepository.findAllById(List.of(3L, 2L, 1L))).thenReturn(List.of(item1, item2, item3));
+            when(bookingRepository.findLastByItemIdIn(eq(List.of(1L, 3L)), eq(Status.APPROVED), any()))
+                    .thenReturn(List.of(booking2));
+            when(bookingRepository.findNextByItemIdIn(eq(List.of(1L, 3L)), eq(Status.APPROVED), any()))
+                    .thenReturn(List.of());
+            when(itemMapper.toItemExtendedDto(any(), any(), any(), any(), anyInt())).thenCallRealMethod();
+            when(itemMapper.bookingToBookingItemDto(any())).thenCallRealMethod();
+
+            List<ItemExtendedDto> items = itemService.getByIds(user1.getId(), List.of(3L, 2L, 1L, 3L));
+
+            assertEquals(List.of(3L, 2L, 1L), items.stream().map(ItemExtendedDto::getId).collect(Collectors.toList()));
+            assertEquals(booking2.getId(), items.get(2).getLastBooking().getId());
+            assertNull(items.get(2).getNextBooking());
+            assertNull(items.get(1).getLastBooking());
+            verify(commentRepository, times(1)).findLatestIdsByItemIdIn(List.of(1L, 2L, 3L), 10);
+            verify(commentRepository, never()).findWithAuthorByIdIn(any());
+            verify(itemRepository, never()).findById(any());
+        }
+
+        @Test
+        public void shouldSkipMissingAndNotQueryBookingsForNotOwner() {
+            when(itemRepository.findAllById(List.of(99L, 2L))).thenReturn(List.of(item2));
+            when(itemMapper.toItemExtendedDto(any(), any(), any(), any(), anyInt())).thenCallRealMethod();
+
+            List<ItemExtendedDto> items = itemService.getByIds(user1.getId(), List.of(99L, 2L));
+
+            assertEquals(1, items.size());
+            assertEquals(item2.getId(), items.get(0).getId());
+            verify(bookingRepository, never()).findLastByItemIdIn(any(), any(), any());
+            verify(bookingRepository, never()).findNextByItemIdIn(any(), any(), any());
+        }
+
+        @Test
+        public void shouldCountOnlyItemsWithFullCommentPage() {
+            commentProperties.setEmbeddedLimit(1);
+            when(itemRepository.findAllById(List.of(1L, 3L))).thenReturn(List.of(item1, item3));
+            when(commentRepository.findLatestIdsByItemIdIn(List.of(1L, 3L), 1)).thenReturn(List.of(comment1.getId()));
+            when(commentRepository.findWithAuthorByIdIn(List.of(comment1.getId()))).thenReturn(List.of(comment1));
+            when(commentRepository.countByItemIdIn(List.of(1L))).thenReturn(List.of(new CommentCount() {
+                @Override
+                public Long getItemId() {
+                    return 1L;
+                }
+
+                @Override
+                public int getCount() {
+                    return 4;
+                }
+            }));
+            when(itemMapper.toItemExtendedDto(any(), any(), any(), any(), anyInt())).thenCallRealMethod();
+            when(itemMapper.commentToCommentDto(any())).thenCallRealMethod();
+
+            List<ItemExtendedDto> items = itemService.getByIds(user2.getId(), List.of(1L, 3L));
+
+            assertEquals(1, items.get(0).getComments().size());
+            assertEquals(4, items.get(0).getCommentCount());
+            assertTrue(items.get(1).getComments().isEmpty());
+            assertEquals(0, items.get(1).getCommentCount());
+        }
+    }
+
+    @Nested
+    class Comments {
+        private final Comment comment2 = Comment.builder()
+                .id(2L)
+                .text("comment2 text")
+                .createdDate(dateTime.plusDays(1))
+                .author(user2)
+                .itemId(1L)
+                .build();
+
+        @Test
+        public void shouldEmbedLatestCommentsWithCount() {
+            commentProperties.setEmbeddedLimit(2);
+            when(itemRepository.findById(item1.getId())).thenReturn(Optional.of(item1));
+            when(itemMapper.toItemExtendedDto(any(), any(), any(), any(), anyInt())).thenCallRealMethod();
+            when(itemMapper.commentToCommentDto(any())).thenCallRealMethod();
+            when(commentRepository.findLatestByItemId(item1.getId(), PageRequest.of(0, 2)))
+                    .thenReturn(List.of(comment2, comment1));
+            when(commentRepository.countByItemId(item1.getId())).thenReturn(5);
+
+            ItemExtendedDto itemFromService = itemService.getById(user2.getId(), item1.getId());
+
+            assertEquals(2, itemFromService.getComments().size());
+            assertEquals(comment1.getId(), itemFromService.getComments().get(0).getId());
+            assertEquals(comment2.getId(), itemFromService.getComments().get(1).getId());
+            assertEquals(5, itemFromService.getCommentCount());
+        }
+
+        @Test
+        public void shouldNotCountIfAllCommentsEmbedded() {
+            when(itemRepository.findById(item1.getId())).thenReturn(Optional.of(item1));
+            when(itemMapper.toItemExtendedDto(any(), any(), any(), any(), anyInt())).thenCallRealMethod();
+            when(itemMapper.commentToCommentDto(any())).thenCallRealMethod();
+            when(commentRepository.findLatestByItemId(any(), any())).thenReturn(List.of(comment1));
+
+            ItemExtendedDto itemFromService = itemService.getById(user2.getId(), item1.getId());
+
+            assertEquals(1, itemFromService.getCommentCount());
+            verify(commentRepository, never()).countByItemId(any());
+        }
+
+        @Test
+        public void shouldGetFirstPage() {
+            when(itemMapper.commentToCommentDto(any())).thenCallRealMethod();
+            when(commentRepository.findLatestByItemId(item1.getId(), PageRequest.of(0, 2)))
+                    .thenReturn(List.of(comment2, comment1));
+
+            List<CommentDto> comments = itemService.getComments(item1.getId(), null, null, 2);
+
+            assertEquals(2, comments.size());
+            assertEquals(comment2.getId(), comments.get(0).getId());
+            verify(commentRepository, never()).findLatestByItemIdBefore(any(), any(), any(), any());
+            verify(itemRepository, never()).existsById(any());
+        }
+
+        @Test
+        public void shouldGetPageBeforeCursor() {
+            when(itemMapper.commentToCommentDto(any())).thenCallRealMethod();
+            when(commentRepository.findLatestByItemIdBefore(item1.getId(), comment2.getCreatedDate(),
+                    comment2.getId(), PageRequest.of(0, 2))).thenReturn(List.of(comment1));
+
+            List<CommentDto> comments = itemService.getComments(item1.getId(), comment2.getCreatedDate(),
+                    comment2.getId(), 2);
+
+            assertEquals(1, comments.size());
+            assertEquals(comment1.getId(), comments.get(0).getId());
+        }
+
+        @Test
+        public void shouldUseLastIdIfCursorHasOnlyDate() {
+            when(itemRepository.existsById(item1.getId())).thenReturn(true);
+
+            itemService.getComments(item1.getId(), comment2.getCreatedDate(), null, 2);
+
+            verify(commentRepository, times(1)).findLatestByItemIdBefore(eq(item1.getId()),
+                    eq(comment2.getCreatedDate()), eq(Long.MAX_VALUE), eq(PageRequest.of(0, 2)));
+        }
+
+        @Test
+        public void shouldThrowExceptionIfCursorHasOnlyId() {
+            BookingException exception = assertThrows(BookingException.class,
+                    () -> itemService.getComments(item1.getId(), null, comment2.getId(), 2));
+            assertEquals("Параметр beforeId задаётся только вместе с beforeDate.", exception.getMessage());
+            verify(commentRepository, never()).findLatestByItemId(any(), any());
+        }
+
+        @Test
+        public void shouldThrowExceptionIfItemIdNotFound() {
+            when(itemRepository.existsById(99L)).thenReturn(false);
+
+            NotFoundException exception = assertThrows(NotFoundException.class,
+                    () -> itemService.getComments(99L, null, null, 2));
+            assertEquals("Вещи с таким id не существует.", exception.getMessage());
+        }
     }
 
     @Nested
@@ -430,5 +628,24 @@ public class ItemServiceImplTest {
                     .findByItemIdAndBookerIdAndEndIsBeforeAndStatusEquals(any(), any(), any(), any());
             verify(commentRepository, never()).save(any());
         }
+
+        @Test
+        public void shouldEnqueueIfWriteBehindEnabled() {
+            when(itemMapper.commentRequestDtoToComment(any(), any(), any(), any())).thenCallRealMethod();
+            when(userService.getUserById(user2.getId())).thenReturn(user2);
+            when(bookingRepository.findByItemIdAndBookerIdAndEndIsBeforeAndStatusEquals(any(), any(), any(), any()))
+                    .thenReturn(List.of(booking1, booking2));
+            when(commentWriteBehind.isEnabled()).thenReturn(true);
+            when(commentWriteBehind.enqueue(any())).thenAnswer(invocation ->
+                    ((PendingComment) invocation.getArgument(0)).toCommentDto());
+
+            CommentDto commentDto = itemService.addComment(user2.getId(), item1.getId(), comment1RequestDto);
+
+            assertNull(commentDto.getId());
+            assertEquals(comment1RequestDto.getText(), commentDto.getText());
+            assertEquals(user2.getName(), commentDto.getAuthorName());
+            verify(commentWriteBehind, times(1)).enqueue(any());
+            verify(commentRepository, never()).save(any());
+        }
     }
 }
@@ -0,0 +1,365 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.model.BookingRequestDto;
+import ru.practicum.shareit.booking.model.BookingResponseDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.comment.CommentProperties;
+import ru.practicum.shareit.item.comment.model.CommentDto;
+import ru.practicum.shareit.item.comment.model.CommentRequestDto;
+import ru.practicum.shareit.item.model.ItemDto;
+import ru.practicum.shareit.item.model.ItemExtendedDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.summary.model.BookingSlot;
+import ru.practicum.shareit.item.summary.model.ItemSummary;
+import ru.practicum.shareit.item.summary.service.ItemSummaryMaintenance;
+import ru.practicum.shareit.item.summary.storage.ItemSummaryRepository;
+import ru.practicum.shareit.user.model.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "shareit.item-summary.latest-comments=2",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ItemSummaryFullContextTest {
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final ItemSummaryRepository itemSummaryRepository;
+    private final ItemSummaryMaintenance itemSummaryMaintenance;
+    private final EntityManagerFactory entityManagerFactory;
+    private final CommentProperties commentProperties;
+
+    private UserDto owner;
+    private UserDto booker;
+    private ItemDto item;
+
+    @BeforeEach
+    public void beforeEach() {
+        owner = userService.create(UserDto.builder()
+                .name("Test user 1")
+                .email("tester1@yandex.ru")
+                .build());
+        booker = userService.create(UserDto.builder()
+                .name("Test user 2")
+                .email("tester2@yandex.ru")
+                .build());
+        item = itemService.create(owner.getId(), ItemDto.builder()
+                .name("Test item")
+                .description("Test item description")
+                .available(true)
+                .build());
+    }
+
+    @Nested
+    class Maintenance {
+        @Test
+        public void shouldBuildOnCreateAndUpdateOnPatch() {
+            ItemSummary itemSummary = itemSummaryRepository.findById(item.getId()).orElseThrow();
+
+            assertEquals(owner.getId(), itemSummary.getOwnerId());
+            assertEquals("Test item", itemSummary.getName());
+            assertEquals(0, itemSummary.getCommentCount());
+
+            itemService.patch(owner.getId(), item.getId(), ItemDto.builder()
+                    .name("Updated item")
+                    .available(false)
+                    .build());
+
+            itemSummary = itemSummaryRepository.findById(item.getId()).orElseThrow();
+            assertEquals("Updated item", itemSummary.getName());
+            assertFalse(itemSummary.getAvailable());
+        }
+
+        @Test
+        public void shouldUpdateBookingsOnApprove() {
+            BookingResponseDto booking = bookingService.create(booker.getId(), BookingRequestDto.builder()
+                    .start(LocalDateTime.now().plusDays(1))
+                    .end(LocalDateTime.now().plusDays(2))
+                    .itemId(item.getId())
+                    .build());
+
+            assertNull(itemSummaryRepository.findById(item.getId()).orElseThrow().getNextBooking());
+
+            bookingService.patch(owner.getId(), booking.getId(), true);
+
+            BookingSlot nextBooking = itemSummaryRepository.findById(item.getId()).orElseThrow().getNextBooking();
+            assertNotNull(nextBooking);
+            assertEquals(booking.getId(), nextBooking.getBookingId());
+            assertEquals(booker.getId(), nextBooking.getBookerId());
+            assertEquals(booking.getId(), itemService.getById(owner.getId(), item.getId()).getNextBooking().getId());
+            assertNull(itemService.getById(booker.getId(), item.getId()).getNextBooking());
+        }
+
+        @Test
+        public void shouldKeepLatestCommentsAndCount() {
+            addPastBooking();
+            for (int i = 1; i <= 3; i++) {
+                itemService.addComment(booker.getId(), item.getId(), new CommentRequestDto("Test comment " + i));
+            }
+
+            ItemSummary itemSummary = itemSummaryRepository.findById(item.getId()).orElseThrow();
+            assertEquals(3, itemSummary.getCommentCount());
+            assertFalse(itemSummary.getLatestComments().contains("Test comment 1"));
+            assertTrue(itemSummary.getLatestComments().contains("Test comment 3"));
+
+            List<String> comments = itemService.getById(booker.getId(), item.getId()).getComments().stream()
+                    .map(CommentDto::getText)
+                    .collect(Collectors.toList());
+            assertEquals(List.of("Test comment 1", "Test comment 2", "Test comment 3"), comments);
+        }
+
+        @Test
+        public void shouldCountConcurrentComments() throws Exception {
+            addPastBooking();
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 1; i <= 8; i++) {
+                    CommentRequestDto comment = new CommentRequestDto("Test comment " + i);
+                    futures.add(executor.submit(() -> itemService.addComment(booker.getId(), item.getId(), comment)));
+                }
+                for (Future<?> future : futures) {
+                    future.get(10, TimeUnit.SECONDS);
+                }
+            } finally {
+                executor.shutdown();
+            }
+
+            ItemSummary itemSummary = itemSummaryRepository.findById(item.getId()).orElseThrow();
+            assertEquals(8, itemSummary.getCommentCount());
+            assertEquals(8, itemService.getById(booker.getId(), item.getId()).getComments().size());
+        }
+
+        @Test
+        public void shouldRemoveWithItemAndOwner() {
+            itemService.delete(item.getId());
+
+            assertTrue(itemSummaryRepository.findById(item.getId()).isEmpty());
+
+            ItemDto other = itemService.create(owner.getId(), ItemDto.builder()
+                    .name("Other item")
+                    .description("Other item description")
+                    .available(true)
+                    .build());
+            userService.delete(owner.getId());
+
+            assertTrue(itemSummaryRepository.findById(other.getId()).isEmpty());
+        }
+
+        @Test
+        public void shouldRefreshCommentsOnAuthorRename() {
+            addPastBooking();
+            itemService.addComment(booker.getId(), item.getId(), new CommentRequestDto("Test comment"));
+
+            userService.patch(booker.getId(), UserDto.builder()
+                    .name("Renamed user")
+                    .build());
+
+            assertTrue(itemSummaryRepository.findById(item.getId()).orElseThrow().getLatestComments()
+                    .contains("Renamed user"));
+            assertEquals("Renamed user",
+                    itemService.getById(owner.getId(), item.getId()).getComments().get(0).getAuthorName());
+        }
+
+        @Test
+        public void shouldDropBookingsAndCommentsOfDeletedUser() {
+            addPastBooking();
+            itemService.addComment(booker.getId(), item.getId(), new CommentRequestDto("Test comment"));
+            BookingResponseDto booking = bookingService.create(booker.getId(), BookingRequestDto.builder()
+                    .start(LocalDateTime.now().plusDays(1))
+                    .end(LocalDateTime.now().plusDays(2))
+                    .itemId(item.getId())
+                    .build());
+            bookingService.patch(owner.getId(), booking.getId(), true);
+
+            ItemSummary itemSummary = itemSummaryRepository.findById(item.getId()).orElseThrow();
+            assertNotNull(itemSummary.getLastBooking());
+            assertNotNull(itemSummary.getNextBooking());
+            assertEquals(1, itemSummary.getCommentCount());
+
+            userService.delete(booker.getId());
+
+            itemSummary = itemSummaryRepository.findById(item.getId()).orElseThrow();
+            assertNull(itemSummary.getLastBooking());
+            assertNull(itemSummary.getNextBooking());
+            assertEquals(0, itemSummary.getCommentCount());
+            ItemExtendedDto itemDto = itemService.getById(owner.getId(), item.getId());
+            assertTrue(itemDto.getComments().isEmpty());
+            assertNull(itemDto.getLastBooking());
+            assertNull(itemDto.getNextBooking());
+        }
+
+        @Test
+        public void shouldBackfillMissingSummaries() {
+            itemSummaryRepository.deleteAll();
+
+            assertEquals(1, itemSummaryMaintenance.backfill());
+            assertEquals("Test item", itemSummaryRepository.findById(item.getId()).orElseThrow().getName());
+        }
+
+        @Test
+        public void shouldRefreshPassedNextBooking() {
+            BookingResponseDto booking = bookingService.create(booker.getId(), BookingRequestDto.builder()
+                    .start(LocalDateTime.now().plusDays(1))
+                    .end(LocalDateTime.now().plusDays(2))
+                    .itemId(item.getId())
+                    .build());
+            bookingService.patch(owner.getId(), booking.getId(), true);
+            ItemSummary itemSummary = itemSummaryRepository.findById(item.getId()).orElseThrow();
+            itemSummary.setNextBooking(BookingSlot.builder()
+                    .bookingId(-1L)
+                    .bookerId(booker.getId())
+                    .start(LocalDateTime.now().minusMinutes(1))
+                    .end(LocalDateTime.now().plusMinutes(1))
+                    .build());
+            itemSummaryRepository.save(itemSummary);
+
+            assertEquals(booking.getId(), itemService.getById(owner.getId(), item.getId()).getNextBooking().getId());
+
+            assertEquals(1, itemSummaryMaintenance.refreshPassedBookings());
+            assertEquals(booking.getId(),
+                    itemSummaryRepository.findById(item.getId()).orElseThrow().getNextBooking().getBookingId());
+        }
+    }
+
+    @Nested
+    class Reads {
+        @Test
+        public void shouldServeGetByIdWithSingleStatement() {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            ItemExtendedDto itemExtendedDto = itemService.getById(owner.getId(), item.getId());
+
+            assertEquals(item.getId(), itemExtendedDto.getId());
+            assertEquals(owner.getId(), itemExtendedDto.getOwnerId());
+            assertTrue(itemExtendedDto.getComments().isEmpty());
+            assertEquals(1, statistics.getPrepareStatementCount());
+        }
+
+        @Test
+        public void shouldServeGetByOwnerIdWithSingleStatement() {
+            itemService.create(owner.getId(), ItemDto.builder()
+                    .name("Other item")
+                    .description("Other item description")
+                    .available(true)
+                    .build());
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            List<ItemExtendedDto> items = itemService.getByOwnerId(owner.getId(),
+                    PageRequest.of(0, 10));
+
+            assertEquals(2, items.size());
+            assertEquals(item.getId(), items.get(0).getId());
+            assertEquals(1, statistics.getPrepareStatementCount());
+        }
+
+        @Test
+        public void shouldGetByIdsWithBookingsForOwnerOnly() {
+            commentProperties.setEmbeddedLimit(2);
+            addPastBooking();
+            for (int i = 1; i <= 3; i++) {
+                itemService.addComment(booker.getId(), item.getId(), new CommentRequestDto("Test comment " + i));
+            }
+            ItemDto other = itemService.create(owner.getId(), ItemDto.builder()
+                    .name("Other item")
+                    .description("Other item description")
+                    .available(true)
+                    .build());
+            itemSummaryRepository.deleteById(item.getId());
+
+            List<ItemExtendedDto> byOwner = itemService.getByIds(owner.getId(),
+                    List.of(other.getId(), 999L, item.getId()));
+            List<ItemExtendedDto> byBooker = itemService.getByIds(booker.getId(), List.of(item.getId()));
+
+            assertEquals(List.of(other.getId(), item.getId()), byOwner.stream()
+                    .map(ItemExtendedDto::getId)
+                    .collect(Collectors.toList()));
+            assertNotNull(byOwner.get(1).getLastBooking());
+            assertNull(byOwner.get(1).getNextBooking());
+            assertEquals(List.of("Test comment 2", "Test comment 3"), texts(byOwner.get(1).getComments()));
+            assertEquals(3, byOwner.get(1).getCommentCount());
+            assertTrue(byOwner.get(0).getComments().isEmpty());
+            assertNull(byBooker.get(0).getLastBooking());
+        }
+    }
+
+    @Nested
+    class Comments {
+        @Test
+        public void shouldEmbedLatestCommentsWithCount() {
+            commentProperties.setEmbeddedLimit(2);
+            addPastBooking();
+            for (int i = 1; i <= 3; i++) {
+                itemService.addComment(booker.getId(), item.getId(), new CommentRequestDto("Test comment " + i));
+            }
+
+            ItemExtendedDto itemExtendedDto = itemService.getById(booker.getId(), item.getId());
+
+            assertEquals(List.of("Test comment 2", "Test comment 3"), texts(itemExtendedDto.getComments()));
+            assertEquals(3, itemExtendedDto.getCommentCount());
+            assertEquals(3, itemService.getByOwnerId(owner.getId(), PageRequest.of(0, 10)).get(0)
+                    .getCommentCount());
+        }
+
+        @Test
+        public void shouldPageCommentsByKeyset() {
+            addPastBooking();
+            for (int i = 1; i <= 3; i++) {
+                itemService.addComment(booker.getId(), item.getId(), new CommentRequestDto("Test comment " + i));
+            }
+
+            List<CommentDto> firstPage = itemService.getComments(item.getId(), null, null, 2);
+            CommentDto last = firstPage.get(firstPage.size() - 1);
+            List<CommentDto> secondPage = itemService.getComments(item.getId(), last.getCreatedDate(), last.getId(),
+                    2);
+
+            assertEquals(List.of("Test comment 3", "Test comment 2"), texts(firstPage));
+            assertEquals(List.of("Test comment 1"), texts(secondPage));
+        }
+    }
+
+    private List<String> texts(List<CommentDto> comments) {
+        return comments.stream()
+                .map(CommentDto::getText)
+                .collect(Collectors.toList());
+    }
+
+    private void addPastBooking() {
+        BookingResponseDto booking = bookingService.create(booker.getId(), BookingRequestDto.builder()
+                .start(LocalDateTime.now().minusDays(2))
+                .end(LocalDateTime.now().minusDays(1))
+                .itemId(item.getId())
+                .build());
+        bookingService.patch(owner.getId(), booking.getId(), true);
+    }
+}
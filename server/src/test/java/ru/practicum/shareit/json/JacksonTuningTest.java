@@ -0,0 +1,71 @@
+package ru.practicum.shareit.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.model.BookingResponseDto;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JacksonTuningTest {
+    private final ObjectMapper tuned = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .modulesToInstall(new BlackbirdModule(), new IsoLocalDateTimeModule())
+            .build();
+    private final ObjectMapper plain = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @Nested
+    class LocalDateTimes {
+        @Test
+        public void shouldMatchIsoFormatter() throws Exception {
+            for (LocalDateTime value : List.of(
+                    LocalDateTime.of(2026, 1, 2, 3, 4, 5),
+                    LocalDateTime.of(2026, 12, 31, 23, 59, 0),
+                    LocalDateTime.of(2026, 10, 19, 17, 0, 0, 100_000_000),
+                    LocalDateTime.of(2026, 10, 19, 17, 0, 0, 123_456_000),
+                    LocalDateTime.of(2026, 10, 19, 17, 0, 0, 123_456_789),
+                    LocalDateTime.of(2026, 10, 19, 17, 0, 0, 1),
+                    LocalDateTime.of(33, 1, 1, 0, 0),
+                    LocalDateTime.of(12026, 1, 1, 0, 0))) {
+                assertEquals("\"" + value.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) + "\"",
+                        tuned.writeValueAsString(value));
+            }
+        }
+
+        @Test
+        public void shouldKeepTimestampsWhenEnabled() throws Exception {
+            LocalDateTime value = LocalDateTime.of(2026, 1, 2, 3, 4, 5);
+
+            assertEquals("[2026,1,2,3,4,5]", tuned.writer()
+                    .with(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                    .writeValueAsString(value));
+        }
+    }
+
+    @Nested
+    class Dtos {
+        @Test
+        public void shouldWriteSameJsonAsPlainMapper() throws Exception {
+            BookingResponseDto booking = BookingResponseDto.builder()
+                    .id(1L)
+                    .start(LocalDateTime.of(2026, 10, 19, 12, 0, 0, 500_000_000))
+                    .end(LocalDateTime.of(2026, 10, 20, 12, 0))
+                    .status(Status.APPROVED)
+                    .build();
+
+            assertEquals(plain.writeValueAsString(booking), tuned.writeValueAsString(booking));
+            assertTrue(tuned.getRegisteredModuleIds().contains(BlackbirdModule.class.getName()));
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.controller.BookingController;
+import ru.practicum.shareit.booking.storage.exception.NotFoundException;
+import ru.practicum.shareit.user.controller.UserController;
+import ru.practicum.shareit.user.model.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "shareit.sql-budget.default-budget=1")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class MetricsFullContextTest {
+    private final UserController userController;
+    private final UserService userService;
+    private final BookingController bookingController;
+    private final MeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void addUser() {
+        UserDto userDto = UserDto.builder()
+                .id(1L)
+                .name("Test user")
+                .email("tester@yandex.ru")
+                .build();
+        userService.create(userDto);
+    }
+
+    @Nested
+    class RequestMetrics {
+        @Test
+        public void shouldCountStatementsPerEndpoint() {
+            userController.getById(1L);
+
+            DistributionSummary statements = meterRegistry.find("shareit.request.sql.statements")
+                    .tag("endpoint", "GET /users/{id}")
+                    .summary();
+
+            assertNotNull(statements);
+            assertEquals(1, statements.count());
+            assertTrue(statements.totalAmount() >= 1);
+
+            Timer jdbcTime = meterRegistry.find("shareit.request.sql.time")
+                    .tag("endpoint", "GET /users/{id}")
+                    .timer();
+
+            assertNotNull(jdbcTime);
+            assertEquals(1, jdbcTime.count());
+            assertNull(QueryScope.current());
+        }
+
+        @Test
+        public void shouldCloseScopeOnException() {
+            assertThrows(NotFoundException.class, () -> userController.getById(99L));
+
+            assertNull(QueryScope.current());
+            assertNotNull(meterRegistry.find("shareit.request.sql.statements")
+                    .tag("endpoint", "GET /users/{id}")
+                    .summary());
+        }
+    }
+
+    @Nested
+    class ServiceMetrics {
+        @Test
+        public void shouldTagServiceTimerByState() {
+            bookingController.getAllByOwnerId(1L, "PAST", 0, 10);
+
+            Timer timer = meterRegistry.find("shareit.service")
+                    .tag("class", "BookingServiceImpl")
+                    .tag("method", "getAllByOwnerId")
+                    .tag("state", "PAST")
+                    .tag("exception", "none")
+                    .timer();
+
+            assertNotNull(timer);
+            assertEquals(1, timer.count());
+        }
+
+        @Test
+        public void shouldTagServiceTimerByException() {
+            assertThrows(NotFoundException.class, () -> bookingController.getAllByOwnerId(99L, "ALL", 0, 10));
+
+            Timer timer = meterRegistry.find("shareit.service")
+                    .tag("class", "BookingServiceImpl")
+                    .tag("method", "getAllByOwnerId")
+                    .tag("state", "ALL")
+                    .tag("exception", "NotFoundException")
+                    .timer();
+
+            assertNotNull(timer);
+            assertEquals(1, timer.count());
+        }
+    }
+
+    @Nested
+    class StatementBudgetCheck {
+        @Test
+        public void shouldPassWithinBudget() {
+            userController.getAll();
+
+            assertNull(meterRegistry.find("shareit.request.sql.budget.exceeded").counter());
+        }
+
+        @Test
+        public void shouldThrowExceptionIfBudgetExceeded() {
+            UserDto userDto = UserDto.builder()
+                    .name("Patched user")
+                    .build();
+
+            StatementBudgetExceededException exception = assertThrows(StatementBudgetExceededException.class,
+                    () -> userController.patch(1L, userDto));
+
+            assertTrue(exception.getMessage().contains("PATCH /users/{id}"));
+            assertTrue(exception.getMessage().contains("select"));
+            assertEquals(1, meterRegistry.find("shareit.request.sql.budget.exceeded")
+                    .tag("endpoint", "PATCH /users/{id}")
+                    .counter()
+                    .count());
+        }
+
+        @Test
+        public void shouldNormalizeStatementShape() {
+            assertEquals("select * from items where id in (?) and name = ? and owner_id=?",
+                    StatementBudgetChecker.shapeOf("select *\n  from items where id in (?, ?, ?) "
+                            + "and name = 'Дрель' and owner_id=42"));
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package ru.practicum.shareit.replication;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.storage.exception.NotFoundException;
+import ru.practicum.shareit.user.model.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "shareit.replication.enabled=true",
+        "shareit.replication.check-interval=1h",
+        "shareit.replication.lag-query=SELECT seconds FROM replica_lag",
+        "shareit.replication.replicas[0].url=" + ReplicationFullContextTest.REPLICA_URL,
+        "shareit.replication.replicas[0].username=test",
+        "shareit.replication.replicas[0].password=test"
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ReplicationFullContextTest {
+    static final String REPLICA_URL = "jdbc:h2:mem:shareit-replica";
+
+    private final UserService userService;
+    private final ReplicaRouter replicaRouter;
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+
+    @TempDir
+    Path snapshotDir;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+    private UserDto replicated;
+    private UserDto notReplicated;
+
+    @BeforeEach
+    public void beforeEach() {
+        primary = new JdbcTemplate(dataSource);
+        replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "test", "test"));
+
+        replicated = userService.create(UserDto.builder()
+                .name("Test user 1")
+                .email("tester1@yandex.ru")
+                .build());
+        String snapshot = snapshotDir.resolve("snapshot.sql").toString();
+        primary.execute("SCRIPT DROP TO '" + snapshot + "'");
+        replica.execute("RUNSCRIPT FROM '" + snapshot + "'");
+        replica.execute("CREATE TABLE replica_lag (seconds DOUBLE)");
+        replica.update("INSERT INTO replica_lag VALUES (0)");
+        replicaRouter.refresh();
+
+        notReplicated = userService.create(UserDto.builder()
+                .name("Test user 2")
+                .email("tester2@yandex.ru")
+                .build());
+    }
+
+    @Nested
+    class Routing {
+        @Test
+        public void shouldReadFromReplicaInReadOnlyTransaction() {
+            assertEquals(replicated.getName(), userService.getById(replicated.getId()).getName());
+            assertThrows(NotFoundException.class, () -> userService.getById(notReplicated.getId()));
+        }
+
+        @Test
+        public void shouldWriteToPrimary() {
+            userService.patch(replicated.getId(), UserDto.builder().name("Updated").build());
+
+            assertEquals("Updated", primary.queryForObject("SELECT name FROM users WHERE id = ?",
+                    String.class, replicated.getId()));
+            assertEquals("Test user 1", replica.queryForObject("SELECT name FROM users WHERE id = ?",
+                    String.class, replicated.getId()));
+        }
+    }
+
+    @Nested
+    class LagFallback {
+        @Test
+        public void shouldReadFromPrimaryWhenReplicaLags() {
+            replica.update("UPDATE replica_lag SET seconds = 60");
+            replicaRouter.refresh();
+
+            assertEquals(notReplicated.getName(), userService.getById(notReplicated.getId()).getName());
+            assertFalse(replicaRouter.isAvailable(replicaRouter.getReplicas().get(0)));
+        }
+
+        @Test
+        public void shouldReadFromPrimaryWhenLagCheckFails() {
+            replica.execute("DROP TABLE replica_lag");
+            replicaRouter.refresh();
+
+            assertEquals(notReplicated.getName(), userService.getById(notReplicated.getId()).getName());
+        }
+
+        @Test
+        public void shouldReturnToReplicaWhenCaughtUp() {
+            replica.update("UPDATE replica_lag SET seconds = 60");
+            replicaRouter.refresh();
+            replica.update("UPDATE replica_lag SET seconds = 0");
+            replicaRouter.refresh();
+
+            assertThrows(NotFoundException.class, () -> userService.getById(notReplicated.getId()));
+        }
+    }
+
+    @Nested
+    class Metrics {
+        @Test
+        public void shouldCountConnectionsPerTarget() {
+            double routed = meterRegistry.get("shareit.datasource.routed").tag("target", "replica-1")
+                    .functionCounter().count();
+
+            userService.getById(replicated.getId());
+
+            assertEquals(routed + 1, meterRegistry.get("shareit.datasource.routed").tag("target", "replica-1")
+                    .functionCounter().count());
+            assertEquals(0.0, meterRegistry.get("shareit.datasource.replica.lag").tag("replica", "replica-1")
+                    .gauge().value());
+        }
+
+        @Test
+        public void shouldCountFallbacks() {
+            replica.update("UPDATE replica_lag SET seconds = 60");
+            replicaRouter.refresh();
+
+            userService.getById(notReplicated.getId());
+
+            assertEquals(1, meterRegistry.get("shareit.datasource.replica.fallbacks").functionCounter().count());
+            assertEquals(0, meterRegistry.get("shareit.datasource.replica.available").tag("replica", "replica-1")
+                    .gauge().value());
+        }
+
+        @Test
+        public void shouldExportPoolMetricsPerTarget() {
+            assertNotNull(meterRegistry.find("hikaricp.connections").tag("pool", "primary").gauge());
+            assertNotNull(meterRegistry.find("hikaricp.connections").tag("pool", "replica-1").gauge());
+            assertTrue(replicaRouter.getReplicas().get(0).getDataSource().isReadOnly());
+        }
+    }
+}
@@ -14,6 +14,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.item.model.ItemDto;
 import ru.practicum.shareit.request.controller.ItemRequestController;
+import ru.practicum.shareit.request.events.service.ItemRequestSubscribers;
 import ru.practicum.shareit.request.model.ItemRequestCreateDto;
 import ru.practicum.shareit.request.model.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequestExtendedDto;
@@ -42,6 +43,9 @@ public class ItemRequestControllerTest {
     @MockBean
     private ItemRequestService itemRequestService;
 
+    @MockBean
+    private ItemRequestSubscribers itemRequestSubscribers;
+
     private final User user1 = User.builder()
             .id(1L)
             .name("Test user 1")
@@ -0,0 +1,150 @@
+package ru.practicum.shareit.request;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.item.model.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.events.model.ItemRequestEventDto;
+import ru.practicum.shareit.request.model.ItemRequestCreateDto;
+import ru.practicum.shareit.request.model.ItemRequestDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.controller.UserController;
+import ru.practicum.shareit.user.model.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ItemRequestEventsFullContextTest {
+    private final UserService userService;
+    private final ItemService itemService;
+    private final ItemRequestService itemRequestService;
+    private final ObjectMapper objectMapper;
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    private UserDto owner1;
+    private UserDto owner2;
+    private UserDto requester;
+    private ItemDto drill;
+
+    @BeforeEach
+    public void beforeEach() {
+        owner1 = createUser(1);
+        owner2 = createUser(2);
+        requester = createUser(3);
+        drill = createItem(owner1, "Дрель ударная");
+        createItem(owner2, "Лестница");
+        createItem(requester, "Старая дрель");
+    }
+
+    @Nested
+    class Stream {
+        @Test
+        public void shouldStreamMatchingRequestsToOwners() throws Exception {
+            HttpResponse<InputStream> owner1Stream = subscribe(owner1.getId());
+            HttpResponse<InputStream> owner2Stream = subscribe(owner2.getId());
+
+            assertEquals(200, owner1Stream.statusCode());
+            assertTrue(owner1Stream.headers().firstValue("Content-Type").orElseThrow()
+                    .startsWith("text/event-stream"));
+
+            ItemRequestDto drillRequest = createRequest("Нужна дрель на выходные");
+            ItemDto perforator = createItem(owner2, "Перфоратор");
+            ItemRequestDto perforatorRequest = createRequest("Перфоратор или дрель?");
+
+            List<ItemRequestEventDto> owner1Events = readEvents(owner1Stream, 2);
+            List<ItemRequestEventDto> owner2Events = readEvents(owner2Stream, 1);
+
+            assertEquals(drillRequest.getId(), owner1Events.get(0).getId());
+            assertEquals(requester.getId(), owner1Events.get(0).getRequesterId());
+            assertEquals(List.of(drill.getId()), owner1Events.get(0).getItemIds());
+            assertEquals(perforatorRequest.getId(), owner1Events.get(1).getId());
+            assertEquals(perforatorRequest.getId(), owner2Events.get(0).getId());
+            assertEquals(List.of(perforator.getId()), owner2Events.get(0).getItemIds());
+        }
+
+        @Test
+        public void shouldNotSubscribeUnknownUser() throws Exception {
+            HttpResponse<InputStream> response = subscribe(999L);
+
+            assertEquals(404, response.statusCode());
+            response.body().close();
+        }
+    }
+
+    private UserDto createUser(int number) {
+        return userService.create(UserDto.builder()
+                .name("Test user " + number)
+                .email("tester" + number + "@yandex.ru")
+                .build());
+    }
+
+    private ItemDto createItem(UserDto owner, String name) {
+        return itemService.create(owner.getId(), ItemDto.builder()
+                .name(name)
+                .description(name + " description")
+                .available(true)
+                .build());
+    }
+
+    private ItemRequestDto createRequest(String description) {
+        return itemRequestService.create(requester.getId(), ItemRequestCreateDto.builder()
+                .description(description)
+                .build());
+    }
+
+    private HttpResponse<InputStream> subscribe(Long userId) throws Exception {
+        return httpClient.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/requests/events"))
+                .header("Accept", "text/event-stream, application/json")
+                .header(UserController.headerUserId, String.valueOf(userId))
+                .build(), HttpResponse.BodyHandlers.ofInputStream());
+    }
+
+    private List<ItemRequestEventDto> readEvents(HttpResponse<InputStream> response, int count) throws Exception {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8));
+        return CompletableFuture.supplyAsync(() -> {
+            List<ItemRequestEventDto> events = new ArrayList<>();
+            try {
+                String line;
+                while (events.size() < count && (line = reader.readLine()) != null) {
+                    if (line.startsWith("data:")) {
+                        events.add(objectMapper.readValue(line.substring("data:".length()),
+                                ItemRequestEventDto.class));
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return events;
+        }).get(10, TimeUnit.SECONDS);
+    }
+}
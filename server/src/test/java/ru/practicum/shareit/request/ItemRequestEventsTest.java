@@ -0,0 +1,94 @@
+package ru.practicum.shareit.request;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.item.summary.event.ItemChangedEvent;
+import ru.practicum.shareit.item.summary.event.ItemDeletedEvent;
+import ru.practicum.shareit.request.events.ItemRequestEventsProperties;
+import ru.practicum.shareit.request.events.index.IndexedItem;
+import ru.practicum.shareit.request.events.index.ItemKeywordIndex;
+import ru.practicum.shareit.request.events.service.DropOldestBuffer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ItemRequestEventsTest {
+    @Mock
+    private ItemRepository itemRepository;
+
+    private ItemKeywordIndex index;
+
+    @BeforeEach
+    public void beforeEach() {
+        index = new ItemKeywordIndex(new ItemRequestEventsProperties(), itemRepository, new SimpleMeterRegistry());
+    }
+
+    @Nested
+    class Index {
+        @Test
+        public void shouldMatchOwnersByItemNameWords() {
+            when(itemRepository.findIndexedAfter(eq(0L), any())).thenReturn(List.of(
+                    new IndexedItem(1L, 10L, "Дрель ударная"),
+                    new IndexedItem(2L, 10L, "Аккумуляторная дрель"),
+                    new IndexedItem(3L, 20L, "Дрель-шуруповёрт"),
+                    new IndexedItem(4L, 30L, "Лестница")));
+
+            assertEquals(4, index.rebuild());
+
+            assertEquals(Map.of(10L, List.of(1L, 2L), 20L, List.of(3L)),
+                    index.match("Нужна ДРЕЛЬ на выходные", 99L));
+            assertEquals(Map.of(10L, List.of(1L, 2L)), index.match("дрель", 20L));
+            assertTrue(index.match("На час", 99L).isEmpty());
+        }
+
+        @Test
+        public void shouldFollowRenameAndDelete() {
+            when(itemRepository.findIndexedAfter(eq(0L), any())).thenReturn(List.of(
+                    new IndexedItem(1L, 10L, "Дрель")));
+            index.rebuild();
+            when(itemRepository.findIndexedById(1L)).thenReturn(Optional.of(new IndexedItem(1L, 10L, "Лестница")));
+
+            index.onItemChanged(new ItemChangedEvent(1L, false));
+
+            assertTrue(index.match("дрель", 99L).isEmpty());
+            assertEquals(Map.of(10L, List.of(1L)), index.match("лестница", 99L));
+
+            index.onItemDeleted(new ItemDeletedEvent(1L));
+
+            assertTrue(index.match("лестница", 99L).isEmpty());
+            assertEquals(0, index.size());
+        }
+    }
+
+    @Nested
+    class Buffer {
+        @Test
+        public void shouldDropOldestWhenFull() {
+            DropOldestBuffer<Integer> buffer = new DropOldestBuffer<>(2);
+
+            assertFalse(buffer.offer(1));
+            assertFalse(buffer.offer(2));
+            assertTrue(buffer.offer(3));
+
+            assertEquals(2, buffer.poll());
+            assertEquals(3, buffer.poll());
+            assertNull(buffer.poll());
+        }
+    }
+}
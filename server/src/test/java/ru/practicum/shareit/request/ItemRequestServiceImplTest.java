@@ -8,6 +8,7 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -15,6 +16,7 @@ import ru.practicum.shareit.booking.storage.exception.NotFoundException;
 import ru.practicum.shareit.item.mapper.ItemMapperImpl;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.model.ItemDto;
+import ru.practicum.shareit.request.events.ItemRequestCreatedEvent;
 import ru.practicum.shareit.request.mapper.ItemRequestMapperImpl;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.model.ItemRequestCreateDto;
@@ -54,6 +56,9 @@ public class ItemRequestServiceImplTest {
     @Mock
     private ItemMapperImpl itemMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ItemRequestServiceImpl itemRequestService;
 
@@ -117,6 +122,7 @@ public class ItemRequestServiceImplTest {
             assertEquals(user2.getEmail(), savedItemRequest.getRequesterId().getEmail());
             assertNotNull(savedItemRequest.getCreated());
             assertNull(savedItemRequest.getItems());
+            verify(eventPublisher, times(1)).publishEvent(any(ItemRequestCreatedEvent.class));
         }
     }
 
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.transport;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class SseDispatcherTest {
+    private static final Duration SEND_TIMEOUT = Duration.ofMillis(100);
+
+    @Mock
+    private SseEmitter slowEmitter;
+
+    @Mock
+    private SseEmitter fastEmitter;
+
+    private final List<SseSubscription> closed = new CopyOnWriteArrayList<>();
+    private SseDispatcher<TestSubscription> dispatcher;
+
+    @BeforeEach
+    public void beforeEach() {
+        dispatcher = new SseDispatcher<>("test-sse", 1, SEND_TIMEOUT, closed::add);
+    }
+
+    @AfterEach
+    public void afterEach() {
+        dispatcher.shutdown();
+    }
+
+    @Nested
+    class Stall {
+        @Test
+        public void shouldCloseStalledSubscriptionAndKeepDispatching() throws Exception {
+            CountDownLatch sending = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            doAnswer(invocation -> {
+                sending.countDown();
+                release.await(10, TimeUnit.SECONDS);
+                return null;
+            }).when(slowEmitter).send(any(SseEmitter.SseEventBuilder.class));
+            TestSubscription slow = new TestSubscription(slowEmitter);
+            TestSubscription fast = new TestSubscription(fastEmitter);
+
+            slow.offer(SseEmitter.event().comment("first"));
+            dispatcher.dispatch(slow);
+            assertTrue(sending.await(10, TimeUnit.SECONDS));
+
+            assertFalse(dispatcher.closeIfStalled(slow, System.nanoTime()));
+            assertTrue(dispatcher.closeIfStalled(slow, System.nanoTime() + SEND_TIMEOUT.toNanos()));
+            assertEquals(List.of(slow), closed);
+
+            fast.offer(SseEmitter.event().comment("second"));
+            dispatcher.dispatch(fast);
+            verify(fastEmitter, timeout(10000)).send(any(SseEmitter.SseEventBuilder.class));
+
+            release.countDown();
+            verify(slowEmitter, timeout(10000)).complete();
+        }
+    }
+
+    private static class TestSubscription extends SseSubscription {
+        private final Queue<SseEmitter.SseEventBuilder> buffer = new ConcurrentLinkedQueue<>();
+
+        TestSubscription(SseEmitter emitter) {
+            super(emitter);
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            buffer.offer(event);
+        }
+
+        @Override
+        protected SseEmitter.SseEventBuilder poll() {
+            return buffer.poll();
+        }
+
+        @Override
+        protected boolean isEmpty() {
+            return buffer.isEmpty();
+        }
+
+        @Override
+        protected void clear() {
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package ru.practicum.shareit.transport;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.user.model.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class TransportFullContextTest {
+    private final UserService userService;
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .build();
+
+    @BeforeEach
+    public void addUsers() {
+        for (int i = 1; i <= 50; i++) {
+            userService.create(UserDto.builder()
+                    .name("Test user " + i)
+                    .email("tester" + i + "@yandex.ru")
+                    .build());
+        }
+    }
+
+    @Nested
+    class H2c {
+        @Test
+        public void shouldServeGzippedJsonOverH2c() throws Exception {
+            HttpResponse<InputStream> response = get("/users");
+
+            assertEquals(200, response.statusCode());
+            assertEquals(HttpClient.Version.HTTP_2, response.version());
+            assertEquals(Optional.of("gzip"), response.headers().firstValue("Content-Encoding"));
+            String body = new String(unzip(response.body()), StandardCharsets.UTF_8);
+            assertTrue(body.contains("\"name\":\"Test user 50\""));
+        }
+
+        @Test
+        public void shouldNotCompressSmallResponses() throws Exception {
+            HttpResponse<InputStream> response = get("/users/1");
+
+            assertEquals(200, response.statusCode());
+            assertTrue(response.headers().firstValue("Content-Encoding").isEmpty());
+            response.body().close();
+        }
+    }
+
+    @Nested
+    class Smile {
+        @Test
+        public void shouldServeSmileWhenGatewayAsksForIt() throws Exception {
+            HttpResponse<InputStream> response = get("/users", "application/x-jackson-smile, application/json");
+
+            byte[] body = response.headers().firstValue("Content-Encoding").isPresent()
+                    ? unzip(response.body())
+                    : response.body().readAllBytes();
+
+            assertEquals(Optional.of("application/x-jackson-smile"), response.headers().firstValue("Content-Type"));
+            List<Map<String, Object>> users = new ObjectMapper(new SmileFactory()).readValue(body,
+                    new TypeReference<>() {
+                    });
+            assertEquals(50, users.size());
+            assertEquals("Test user 50", users.get(49).get("name"));
+        }
+
+        @Test
+        public void shouldServeSmallSmileWithLength() throws Exception {
+            HttpResponse<InputStream> response = get("/users/1", "application/x-jackson-smile, application/json");
+            byte[] body = response.body().readAllBytes();
+
+            assertEquals(Optional.of("application/x-jackson-smile"), response.headers().firstValue("Content-Type"));
+            assertTrue(response.headers().firstValue("Content-Encoding").isEmpty());
+            assertEquals("Test user 1", new ObjectMapper(new SmileFactory()).readValue(body, Map.class).get("name"));
+        }
+    }
+
+    private HttpResponse<InputStream> get(String path) throws IOException, InterruptedException {
+        return get(path, "application/json");
+    }
+
+    private HttpResponse<InputStream> get(String path, String accept) throws IOException, InterruptedException {
+        return httpClient.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Accept", accept)
+                .header("Accept-Encoding", "gzip")
+                .build(), HttpResponse.BodyHandlers.ofInputStream());
+    }
+
+    private static byte[] unzip(InputStream body) throws IOException {
+        try (InputStream in = new GZIPInputStream(body)) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -11,6 +11,7 @@ import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.booking.storage.exception.NotFoundException;
 import ru.practicum.shareit.user.controller.UserController;
 import ru.practicum.shareit.user.model.UserDto;
+import ru.practicum.shareit.user.service.UserService;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -24,6 +25,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 public class UserControllerFullContextTest {
     private final UserController userController;
+    private final UserService userService;
 
     @Nested
     class Create {
@@ -227,6 +229,51 @@ public class UserControllerFullContextTest {
         }
     }
 
+    @Nested
+    class GetPage {
+        @Test
+        public void shouldGetByKeyset() {
+            for (long i = 1; i <= 5; i++) {
+                userController.create(UserDto.builder()
+                        .name("Test user " + i)
+                        .email("tester" + i + "@yandex.ru")
+                        .build());
+            }
+
+            List<UserDto> firstPage = userController.getPage(0L, 2);
+            List<UserDto> secondPage = userController.getPage(firstPage.get(1).getId(), 2);
+            List<UserDto> lastPage = userController.getPage(secondPage.get(1).getId(), 2);
+
+            assertEquals(2, firstPage.size());
+            assertEquals(2, secondPage.size());
+            assertEquals(1, lastPage.size());
+            assertEquals(1L, firstPage.get(0).getId());
+            assertEquals(3L, secondPage.get(0).getId());
+            assertEquals(5L, lastPage.get(0).getId());
+            assertTrue(userController.getPage(lastPage.get(0).getId(), 2).isEmpty());
+        }
+    }
+
+    @Nested
+    class StreamAll {
+        @Test
+        public void shouldStreamAllInIdOrder() {
+            for (long i = 1; i <= 3; i++) {
+                userController.create(UserDto.builder()
+                        .name("Test user " + i)
+                        .email("tester" + i + "@yandex.ru")
+                        .build());
+            }
+
+            List<UserDto> usersFromService = new ArrayList<>();
+            userService.streamAll(usersFromService::add);
+
+            assertEquals(3, usersFromService.size());
+            assertEquals(1L, usersFromService.get(0).getId());
+            assertEquals(3L, usersFromService.get(2).getId());
+        }
+    }
+
     private void checkUserDto(UserDto userDto, UserDto userDtoFromController) {
         assertEquals(userDto.getId(), userDtoFromController.getId());
         assertEquals(userDto.getName(), userDtoFromController.getName());
@@ -11,21 +11,28 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import ru.practicum.shareit.user.controller.UserController;
 import ru.practicum.shareit.user.model.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = UserController.class)
@@ -107,6 +114,76 @@ public class UserControllerTest {
         }
     }
 
+    @Nested
+    class GetPage {
+        @Test
+        public void shouldGet() throws Exception {
+            when(userService.getPage(1L, 10)).thenReturn(List.of(userDto2));
+
+            mvc.perform(get("/users")
+                            .param("afterId", "1")
+                            .param("size", "10"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().json(mapper.writeValueAsString(List.of(userDto2))));
+
+            verify(userService, times(1)).getPage(1L, 10);
+            verify(userService, never()).getAll();
+        }
+
+        @Test
+        public void shouldGetFromStartByDefault() throws Exception {
+            when(userService.getPage(0L, 10)).thenReturn(List.of(userDto1, userDto2));
+
+            mvc.perform(get("/users")
+                            .param("size", "10"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().json(mapper.writeValueAsString(List.of(userDto1, userDto2))));
+
+            verify(userService, times(1)).getPage(0L, 10);
+        }
+    }
+
+    @Nested
+    class Stream {
+        @Test
+        public void shouldStreamNdjson() throws Exception {
+            doAnswer(invocation -> {
+                Consumer<UserDto> consumer = invocation.getArgument(0);
+                consumer.accept(userDto1);
+                consumer.accept(userDto2);
+                return null;
+            }).when(userService).streamAll(any());
+
+            MvcResult result = mvc.perform(get("/users/stream")
+                            .accept(MediaType.APPLICATION_NDJSON))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                    .andExpect(content().string(mapper.writeValueAsString(userDto1) + "\n"
+                            + mapper.writeValueAsString(userDto2) + "\n"));
+
+            verify(userService, times(1)).streamAll(any());
+        }
+    }
+
+    @Nested
+    class GetByIds {
+        @Test
+        public void shouldGet() throws Exception {
+            when(userService.getByIds(List.of(userDto2.getId(), userDto1.getId())))
+                    .thenReturn(List.of(userDto2, userDto1));
+
+            mvc.perform(get("/users?ids={ids}", userDto2.getId() + "," + userDto1.getId()))
+                    .andExpect(status().isOk())
+                    .andExpect(content().json(mapper.writeValueAsString(List.of(userDto2, userDto1))));
+
+            verify(userService, times(1)).getByIds(List.of(userDto2.getId(), userDto1.getId()));
+        }
+    }
+
     @Nested
     class GetById {
         @Test
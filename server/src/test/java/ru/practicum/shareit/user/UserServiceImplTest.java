@@ -9,6 +9,8 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.booking.storage.exception.NotFoundException;
 import ru.practicum.shareit.user.mapper.UserMapperImpl;
 import ru.practicum.shareit.user.model.User;
@@ -16,9 +18,11 @@ import ru.practicum.shareit.user.model.UserDto;
 import ru.practicum.shareit.user.service.UserServiceImpl;
 import ru.practicum.shareit.user.storage.UserRepository;
 
+import javax.persistence.EntityManager;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -37,6 +41,12 @@ class UserServiceImplTest {
     @Mock
     private UserMapperImpl userMapper;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -95,6 +105,40 @@ class UserServiceImplTest {
         }
     }
 
+    @Nested
+    class GetPage {
+        @Test
+        public void shouldGet() {
+            when(userRepository.findByIdGreaterThanOrderByIdAsc(1L, PageRequest.of(0, 10)))
+                    .thenReturn(List.of(user2));
+            when(userMapper.toUserDto(any())).thenCallRealMethod();
+
+            List<UserDto> usersFromService = userService.getPage(1L, 10);
+
+            assertEquals(1, usersFromService.size());
+            checkUserDto(user2, usersFromService.get(0));
+            verify(userRepository, times(1)).findByIdGreaterThanOrderByIdAsc(1L, PageRequest.of(0, 10));
+        }
+    }
+
+    @Nested
+    class StreamAll {
+        @Test
+        public void shouldStreamAndDetach() {
+            when(userRepository.streamAllOrderById()).thenReturn(Stream.of(user1, user2));
+            when(userMapper.toUserDto(any())).thenCallRealMethod();
+
+            List<UserDto> usersFromService = new ArrayList<>();
+            userService.streamAll(usersFromService::add);
+
+            assertEquals(2, usersFromService.size());
+            checkUserDto(user1, usersFromService.get(0));
+            checkUserDto(user2, usersFromService.get(1));
+            verify(entityManager, times(1)).detach(user1);
+            verify(entityManager, times(1)).detach(user2);
+        }
+    }
+
     @Nested
     class GetById {
         @Test
@@ -119,6 +163,22 @@ class UserServiceImplTest {
         }
     }
 
+    @Nested
+    class GetByIds {
+        @Test
+        public void shouldGetInRequestOrderSkippingMissing() {
+            when(userRepository.findAllById(List.of(2L, 99L, 1L))).thenReturn(List.of(user1, user2));
+            when(userMapper.toUserDto(any())).thenCallRealMethod();
+
+            List<UserDto> usersFromService = userService.getByIds(List.of(2L, 99L, 1L));
+
+            assertEquals(2, usersFromService.size());
+            checkUserDto(user2, usersFromService.get(0));
+            checkUserDto(user1, usersFromService.get(1));
+            verify(userRepository, never()).findById(any());
+        }
+    }
+
     @Nested
     class Create {
         @Test